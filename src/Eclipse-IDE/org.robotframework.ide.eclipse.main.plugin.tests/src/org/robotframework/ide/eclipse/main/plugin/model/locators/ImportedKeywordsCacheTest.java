@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.locators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.junit.Test;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.ImportedKeywordsCache.ImportedKeywords;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.ImportedKeywordsCache.ImportedKeywordsCollector;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+
+public class ImportedKeywordsCacheTest {
+
+    private final ImportedKeywordsCache cache = new ImportedKeywordsCache();
+
+    private final KeywordEntity keyword = mock(KeywordEntity.class);
+
+    @Test
+    public void keywordsAreCollectedOnce_andSharedByFilesImportingSameResources() {
+        final CountingCollector collector = new CountingCollector(new Path("/p/res.robot"),
+                new Path("/p/nested.robot"));
+
+        final Map<String, Collection<KeywordEntity>> keywords1 = cache
+                .getImportedKeywords(ImmutableList.<IPath> of(new Path("/p/res.robot")))
+                .getKeywords(Optional.of("kw"), collector);
+        final Map<String, Collection<KeywordEntity>> keywords2 = cache
+                .getImportedKeywords(ImmutableList.<IPath> of(new Path("/p/res.robot")))
+                .getKeywords(Optional.of("kw"), collector);
+
+        assertThat(keywords1).isSameAs(keywords2);
+        assertThat(keywords1.get("kw")).containsExactly(keyword);
+        assertThat(collector.count).isEqualTo(1);
+
+        cache.getImportedKeywords(ImmutableList.<IPath> of(new Path("/p/res.robot")))
+                .getKeywords(Optional.<String> absent(), collector);
+        assertThat(collector.count).isEqualTo(2);
+    }
+
+    @Test
+    public void closureIsRemoved_whenIndirectlyImportedResourceChanges() {
+        final CountingCollector collector = new CountingCollector(new Path("/p/res.robot"),
+                new Path("/p/nested.robot"));
+        final ImportedKeywords importedKeywords = cache
+                .getImportedKeywords(ImmutableList.<IPath> of(new Path("/p/res.robot")));
+        importedKeywords.getKeywords(Optional.of("kw"), collector);
+
+        assertThat(importedKeywords.getImportedPaths().get()).containsOnly(new Path("/p/res.robot"),
+                new Path("/p/nested.robot"));
+
+        cache.fileChanged(new Path("/p/other.robot"));
+        assertThat(cache.getImportedKeywords(ImmutableList.<IPath> of(new Path("/p/res.robot"))))
+                .isSameAs(importedKeywords);
+
+        cache.fileChanged(new Path("/p/nested.robot"));
+        assertThat(cache.getImportedKeywords(ImmutableList.<IPath> of(new Path("/p/res.robot"))))
+                .isNotSameAs(importedKeywords);
+    }
+
+    @Test
+    public void allClosuresAreRemoved_whenLibrariesChange() {
+        final ImportedKeywords importedKeywords = cache
+                .getImportedKeywords(ImmutableList.<IPath> of(new Path("/p/res.robot")));
+        importedKeywords.getKeywords(Optional.of("kw"), new CountingCollector(new Path("/p/res.robot")));
+
+        cache.librariesChanged();
+
+        assertThat(cache.getImportedKeywords(ImmutableList.<IPath> of(new Path("/p/res.robot"))))
+                .isNotSameAs(importedKeywords);
+    }
+
+    private class CountingCollector implements ImportedKeywordsCollector {
+
+        private final Set<IPath> paths;
+
+        private int count;
+
+        private CountingCollector(final IPath... paths) {
+            this.paths = Sets.newHashSet(paths);
+        }
+
+        @Override
+        public Set<IPath> collect(final Optional<String> keywordName,
+                final Map<String, Collection<KeywordEntity>> keywords) {
+            count++;
+            keywords.put("kw", Sets.newHashSet(keyword));
+            return paths;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.locators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.junit.Test;
+import org.robotframework.ide.eclipse.main.plugin.mockmodel.RobotSuiteFileCreator;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordDefinition;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordsSection;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+import org.robotframework.ide.eclipse.main.plugin.project.library.KeywordSpecification;
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+
+public class KeywordNamesIndexTest {
+
+    private final KeywordNamesIndex index = new KeywordNamesIndex();
+
+    @Test
+    public void libraryKeywordsAreFound_byUnifiedNameSourcePrefixAndEmbeddedArguments() {
+        final LibrarySpecification libSpec = createLibrary("Lib", "Log Many", "Open ${url} Page", "Other");
+
+        assertThat(names(index.findKeywords(libSpec, "log_many"))).containsExactly("Log Many");
+        assertThat(names(index.findKeywords(libSpec, "Lib.LogMany"))).containsExactly("Log Many");
+        assertThat(names(index.findKeywords(libSpec, "Open main Page"))).containsExactly("Open ${url} Page");
+        assertThat(index.findKeywords(libSpec, "Unknown")).isEmpty();
+    }
+
+    @Test
+    public void libraryKeywordsAreIndexedOnce_untilLibrariesChange() {
+        final LibrarySpecification libSpec = createLibrary("Lib", "Log Many");
+        assertThat(names(index.findKeywords(libSpec, "Log Many"))).containsExactly("Log Many");
+
+        libSpec.getKeywords().add(createKeyword("Added"));
+        assertThat(index.findKeywords(libSpec, "Added")).isEmpty();
+
+        index.librariesChanged();
+        assertThat(names(index.findKeywords(libSpec, "Added"))).containsExactly("Added");
+    }
+
+    @Test
+    public void nothingIsFound_whenFileHasNoKeywordsSection() {
+        final RobotSuiteFile file = createFile(new RobotSuiteFileCreator().appendLine("*** Test Cases ***")
+                .appendLine("case")
+                .appendLine("  kw"));
+
+        assertThat(index.findKeywords(file, "kw")).isEmpty();
+    }
+
+    @Test
+    public void fileKeywordsAreFound_byUnifiedNameAndEmbeddedArguments() {
+        final RobotSuiteFile file = createFile(new RobotSuiteFileCreator().appendLine("*** Keywords ***")
+                .appendLine("My Keyword")
+                .appendLine("  Log  1")
+                .appendLine("Open ${url} Page")
+                .appendLine("  Log  ${url}"));
+
+        assertThat(names(index.findKeywords(file, "my_keyword"))).containsExactly("My Keyword");
+        assertThat(names(index.findKeywords(file, "file.MyKeyword"))).containsExactly("My Keyword");
+        assertThat(names(index.findKeywords(file, "Open main Page"))).containsExactly("Open ${url} Page");
+        assertThat(index.findKeywords(file, "Unknown")).isEmpty();
+    }
+
+    @Test
+    public void fileKeywordsAreIndexedAgain_whenFileChanges() {
+        final RobotSuiteFile file = createFile(new RobotSuiteFileCreator().appendLine("*** Keywords ***")
+                .appendLine("My Keyword")
+                .appendLine("  Log  1"));
+        final RobotKeywordsSection section = file.findSection(RobotKeywordsSection.class).get();
+        assertThat(names(index.findKeywords(file, "My Keyword"))).containsExactly("My Keyword");
+
+        section.createKeywordDefinition("Added");
+        assertThat(index.findKeywords(file, "Added")).isEmpty();
+
+        index.fileChanged(file.getFile());
+        assertThat(names(index.findKeywords(file, "Added"))).containsExactly("Added");
+    }
+
+    @Test
+    public void fileKeywordsAreIndexedAgain_whenFileIsReparsed() {
+        final RobotSuiteFile file = createFile(new RobotSuiteFileCreator().appendLine("*** Keywords ***")
+                .appendLine("My Keyword")
+                .appendLine("  Log  1"));
+        assertThat(names(index.findKeywords(file, "My Keyword"))).containsExactly("My Keyword");
+
+        file.reparseEverything("*** Keywords ***\nOther Keyword\n  Log  1");
+
+        assertThat(index.findKeywords(file, "My Keyword")).isEmpty();
+        assertThat(names(index.findKeywords(file, "Other Keyword"))).containsExactly("Other Keyword");
+    }
+
+    private static RobotSuiteFile createFile(final RobotSuiteFileCreator creator) {
+        final RobotSuiteFile file = spy(creator.build());
+        doReturn(mock(IFile.class)).when(file).getFile();
+        return file;
+    }
+
+    private static LibrarySpecification createLibrary(final String name, final String... keywordNames) {
+        final LibrarySpecification libSpec = new LibrarySpecification();
+        libSpec.setName(name);
+        for (final String keywordName : keywordNames) {
+            libSpec.getKeywords().add(createKeyword(keywordName));
+        }
+        return libSpec;
+    }
+
+    private static KeywordSpecification createKeyword(final String name) {
+        final KeywordSpecification kwSpec = new KeywordSpecification();
+        kwSpec.setName(name);
+        return kwSpec;
+    }
+
+    private static List<String> names(final List<?> keywords) {
+        final List<String> names = new ArrayList<>();
+        for (final Object keyword : keywords) {
+            if (keyword instanceof KeywordSpecification) {
+                names.add(((KeywordSpecification) keyword).getName());
+            } else {
+                names.add(((RobotKeywordDefinition) keyword).getName());
+            }
+        }
+        return names;
+    }
+}
@@ -44,4 +44,12 @@ public class RedPreferencesInitializerTest {
         }
     }
 
+    @Test
+    public void byDefaultMessageLogKeepsFourMegabytesOfCharactersInMemory() {
+        final IEclipsePreferences preferences = mock(IEclipsePreferences.class);
+
+        new RedPreferencesInitializer().initializeDefaultPreferences(preferences);
+
+        verify(preferences).putInt(RedPreferences.MESSAGE_LOG_MEMORY_LIMIT, 4 * 1024 * 1024);
+    }
 }
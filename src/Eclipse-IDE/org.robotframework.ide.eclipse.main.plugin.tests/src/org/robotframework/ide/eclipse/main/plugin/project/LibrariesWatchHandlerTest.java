@@ -6,6 +6,7 @@
 package org.robotframework.ide.eclipse.main.plugin.project;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -94,7 +95,7 @@ public class LibrariesWatchHandlerTest {
         assertEquals(pythonLibraryFile.getParentFile().getPath(), registeredPaths.get(PYTHON_LIBRARY_FILE_NAME));
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec));
     }
 
@@ -112,7 +113,7 @@ public class LibrariesWatchHandlerTest {
         assertEquals(pythonLibraryFile.getParentFile().getPath(), registeredPaths.get(PYTHON_LIBRARY_FILE_NAME));
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec));
     }
 
@@ -142,11 +143,11 @@ public class LibrariesWatchHandlerTest {
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary2));
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary3));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec1));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec2));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec3));
     }
 
@@ -165,10 +166,10 @@ public class LibrariesWatchHandlerTest {
         assertEquals(pythonModuleLibraryFolder.getPath(), registeredPaths.get(PYTHON_MODULE_LIBRARY_FILE_NAME));
         assertEquals(new Path(pythonModuleLibraryInitFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary));
-        final List<String> moduleFilesNames = librariesWatchHandler.getLibrarySpecifications().get(libSpec);
-        assertTrue(moduleFilesNames.size() == 2);
-        assertTrue(moduleFilesNames.contains(pythonModuleLibraryFile.getName()));
-        assertTrue(moduleFilesNames.contains(pythonModuleLibraryInitFile.getName()));
+        final List<java.nio.file.Path> moduleFiles = librariesWatchHandler.getLibrarySpecifications().get(libSpec);
+        assertTrue(moduleFiles.size() == 2);
+        assertTrue(moduleFiles.contains(pythonModuleLibraryFile.toPath()));
+        assertTrue(moduleFiles.contains(pythonModuleLibraryInitFile.toPath()));
     }
 
     @Test
@@ -185,7 +186,7 @@ public class LibrariesWatchHandlerTest {
         assertEquals(javaLibraryFile.getParentFile().getPath(), registeredPaths.get(JAVA_LIBRARY_FILE_NAME));
         assertEquals(new Path(javaLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary));
-        assertEquals(newArrayList(javaLibraryFile.getName()),
+        assertEquals(newArrayList(javaLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec));
     }
 
@@ -238,10 +239,10 @@ public class LibrariesWatchHandlerTest {
         assertTrue(registeredRefLibraries.size() == 1);
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 registeredRefLibraries.get(referencedLibrary));
-        final ListMultimap<LibrarySpecification, String> librarySpecifications = librariesWatchHandler
+        final ListMultimap<LibrarySpecification, java.nio.file.Path> librarySpecifications = librariesWatchHandler
                 .getLibrarySpecifications();
         assertTrue(librarySpecifications.size() == 1);
-        assertEquals(newArrayList(pythonLibraryFile.getName()), librarySpecifications.get(libSpec));
+        assertEquals(newArrayList(pythonLibraryFile.toPath()), librarySpecifications.get(libSpec));
         assertEquals(kwSpec, librarySpecifications.keySet().iterator().next().getKeywords().get(0));
     }
 
@@ -300,7 +301,7 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
 
         librariesWatchHandler.setRebuildTasksQueueSizeBeforeBuilderInvoke(1);
-        librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonLibraryFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.getSpecificationsToRebuild().size() == 2);
@@ -320,7 +321,7 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
         librariesWatchHandler.setRebuildTasksQueueSizeBeforeBuilderInvoke(1);
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_INIT_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonModuleLibraryInitFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.getSpecificationsToRebuild().size() == 1);
@@ -330,7 +331,7 @@ public class LibrariesWatchHandlerTest {
 
         librariesWatchHandler.getSpecificationsToRebuild().clear();
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonModuleLibraryFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.getSpecificationsToRebuild().size() == 1);
@@ -354,9 +355,9 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
 
         librariesWatchHandler.setRebuildTasksQueueSizeBeforeBuilderInvoke(8);
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonModuleLibraryFile.toPath()));
         for (int i = 1; i <= 7; i++) {
-            librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+            librariesWatchHandler.handleModifyEvents(newHashSet(pythonLibraryFile.toPath()));
         }
 
         librariesWatchHandler.execAllAwaitingMessages();
@@ -384,7 +385,7 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary1, libSpec1);
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonLibraryFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.isLibSpecDirty(libSpec1));
@@ -411,7 +412,7 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
 
         for (int i = 1; i <= 5; i++) {
-            librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+            librariesWatchHandler.handleModifyEvents(newHashSet(pythonLibraryFile.toPath()));
         }
 
         librariesWatchHandler.execAllAwaitingMessages();
@@ -434,8 +435,8 @@ public class LibrariesWatchHandlerTest {
         final DummyLibrariesWatchHandler librariesWatchHandler = new DummyLibrariesWatchHandler(robotProject);
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_INIT_FILE_NAME);
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonModuleLibraryInitFile.toPath()));
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonModuleLibraryFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.isLibSpecDirty(libSpec));
@@ -454,7 +455,7 @@ public class LibrariesWatchHandlerTest {
         final RobotProject robotProject = createNewRobotProjectMock(project, false, refLibs);
         final DummyLibrariesWatchHandler librariesWatchHandler = new DummyLibrariesWatchHandler(robotProject);
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_INIT_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonModuleLibraryInitFile.toPath()));
         librariesWatchHandler.execAllAwaitingMessages();
 
         assertTrue(librariesWatchHandler.isLibSpecDirty(libSpec));
@@ -476,7 +477,7 @@ public class LibrariesWatchHandlerTest {
         final LibrarySpecification libSpec = createNewLibSpec(referencedLibrary);
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvents(newHashSet(pythonLibraryFile.toPath()));
 
         assertTrue(librariesWatchHandler.getSpecificationsToRebuild().isEmpty());
         assertTrue(librariesWatchHandler.getLibrarySpecifications().isEmpty());
@@ -554,7 +555,8 @@ public class LibrariesWatchHandlerTest {
         }
 
         @Override
-        public void unregisterFile(final String fileName, final IWatchEventHandler handler) {
+        public void unregisterFile(final java.nio.file.Path dir, final String fileName,
+                final IWatchEventHandler handler) {
             unregisteredFiles.add(fileName);
         }
 
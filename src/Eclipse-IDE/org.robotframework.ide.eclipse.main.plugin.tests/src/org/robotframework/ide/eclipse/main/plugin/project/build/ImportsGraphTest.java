@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.junit.Test;
+
+public class ImportsGraphTest {
+
+    private static final IPath SUITE_1 = new Path("/project/suite1.robot");
+
+    private static final IPath SUITE_2 = new Path("/project/suite2.robot");
+
+    private static final IPath RESOURCE = new Path("/project/res.robot");
+
+    private static final IPath NESTED_RESOURCE = new Path("/project/nested.robot");
+
+    private static final IPath VARIABLES = new Path("/vars.py");
+
+    @Test
+    public void thereAreNoImporters_whenGraphIsEmpty() {
+        final ImportsGraph graph = new ImportsGraph();
+
+        assertThat(graph.isEmpty()).isTrue();
+        assertThat(graph.getTransitiveImporters(newArrayList(RESOURCE))).isEmpty();
+    }
+
+    @Test
+    public void directAndTransitiveImportersAreReturned() {
+        final ImportsGraph graph = new ImportsGraph();
+        graph.setImports(SUITE_1, newArrayList(RESOURCE));
+        graph.setImports(SUITE_2, newArrayList(VARIABLES));
+        graph.setImports(RESOURCE, newArrayList(NESTED_RESOURCE, VARIABLES));
+
+        assertThat(graph.getTransitiveImporters(newArrayList(NESTED_RESOURCE))).containsOnly(RESOURCE, SUITE_1);
+        assertThat(graph.getTransitiveImporters(newArrayList(VARIABLES))).containsOnly(SUITE_2, RESOURCE, SUITE_1);
+        assertThat(graph.getTransitiveImporters(newArrayList(SUITE_1))).isEmpty();
+    }
+
+    @Test
+    public void importersAreFound_evenWhenFilesImportEachOther() {
+        final ImportsGraph graph = new ImportsGraph();
+        graph.setImports(RESOURCE, newArrayList(NESTED_RESOURCE));
+        graph.setImports(NESTED_RESOURCE, newArrayList(RESOURCE));
+
+        assertThat(graph.getTransitiveImporters(newArrayList(RESOURCE))).containsOnly(NESTED_RESOURCE, RESOURCE);
+    }
+
+    @Test
+    public void previousImportsAreReplaced_whenImportsOfFileAreSetAgain() {
+        final ImportsGraph graph = new ImportsGraph();
+        graph.setImports(SUITE_1, newArrayList(RESOURCE));
+        graph.setImports(SUITE_1, newArrayList(VARIABLES));
+
+        assertThat(graph.getTransitiveImporters(newArrayList(RESOURCE))).isEmpty();
+        assertThat(graph.getTransitiveImporters(newArrayList(VARIABLES))).containsOnly(SUITE_1);
+    }
+
+    @Test
+    public void fileIsNoLongerImporter_whenItsImportsAreRemoved() {
+        final ImportsGraph graph = new ImportsGraph();
+        graph.setImports(SUITE_1, newArrayList(RESOURCE));
+        graph.setImports(SUITE_2, newArrayList(RESOURCE));
+
+        graph.removeImports(SUITE_1);
+
+        assertThat(graph.getTransitiveImporters(newArrayList(RESOURCE))).containsOnly(SUITE_2);
+    }
+
+    @Test
+    public void graphIsEmpty_afterClearing() {
+        final ImportsGraph graph = new ImportsGraph();
+        graph.setImports(SUITE_1, newArrayList(RESOURCE));
+
+        graph.clear();
+
+        assertThat(graph.isEmpty()).isTrue();
+        assertThat(graph.getTransitiveImporters(newArrayList(RESOURCE))).isEmpty();
+    }
+}
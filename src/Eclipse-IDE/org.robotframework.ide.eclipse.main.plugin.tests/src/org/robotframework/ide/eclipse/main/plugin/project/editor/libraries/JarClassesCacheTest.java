@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.editor.libraries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JarClassesCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void classesAreReturned_onlyWhenJarWasNotModified() throws IOException {
+        final File jar = createFile("lib.jar", "content");
+        final JarClassesCache cache = new JarClassesCache(null);
+        cache.putJavaClasses(jar, Arrays.asList("a.A", "a.B"));
+        cache.putPythonClasses(jar, "jython", Arrays.asList("Lib"));
+
+        assertThat(cache.getJavaClasses(jar).get()).containsExactly("a.A", "a.B");
+        assertThat(cache.getPythonClasses(jar, "jython").get()).containsExactly("Lib");
+        assertThat(cache.getPythonClasses(jar, "python").isPresent()).isFalse();
+
+        Files.write(jar.toPath(), "changed content".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(cache.getJavaClasses(jar).isPresent()).isFalse();
+        assertThat(cache.getPythonClasses(jar, "jython").isPresent()).isFalse();
+    }
+
+    @Test
+    public void classesAreRead_fromStoreFileByOtherCache() throws IOException {
+        final File storeFile = new File(tempFolder.getRoot(), "jar_classes.cache");
+        final File jar1 = createFile("lib1.jar", "content");
+        final File jar2 = createFile("lib2.jar", "other content");
+        final JarClassesCache cache = new JarClassesCache(storeFile);
+        cache.putJavaClasses(jar1, Arrays.asList("a.A"));
+        cache.putPythonClasses(jar2, "jython", Arrays.asList("Lib"));
+        cache.saveChanges();
+
+        final JarClassesCache restoredCache = new JarClassesCache(storeFile);
+
+        assertThat(restoredCache.getJavaClasses(jar1).get()).containsExactly("a.A");
+        assertThat(restoredCache.getJavaClasses(jar2).isPresent()).isFalse();
+        assertThat(restoredCache.getPythonClasses(jar2, "jython").get()).containsExactly("Lib");
+    }
+
+    @Test
+    public void storeFileIsWritten_onlyWhenChangesAreSaved() throws IOException {
+        final File storeFile = new File(tempFolder.getRoot(), "jar_classes.cache");
+        final File jar = createFile("lib.jar", "content");
+        final JarClassesCache cache = new JarClassesCache(storeFile);
+        cache.putJavaClasses(jar, Arrays.asList("a.A"));
+        cache.putPythonClasses(jar, "jython", Arrays.asList("Lib"));
+
+        assertThat(storeFile).doesNotExist();
+
+        cache.saveChanges();
+
+        assertThat(storeFile).exists();
+        assertThat(new File(tempFolder.getRoot(), "jar_classes.cache.tmp")).doesNotExist();
+
+        final long lastModified = storeFile.lastModified();
+        storeFile.setLastModified(lastModified - 10_000);
+        cache.saveChanges();
+
+        assertThat(storeFile.lastModified()).isEqualTo(lastModified - 10_000);
+    }
+
+    @Test
+    public void nothingIsReturned_whenStoreFileIsCorrupted() throws IOException {
+        final File storeFile = createFile("jar_classes.cache", "corrupted");
+
+        final JarClassesCache cache = new JarClassesCache(storeFile);
+
+        assertThat(cache.getJavaClasses(createFile("lib.jar", "content")).isPresent()).isFalse();
+    }
+
+    private File createFile(final String name, final String content) throws IOException {
+        final File file = tempFolder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
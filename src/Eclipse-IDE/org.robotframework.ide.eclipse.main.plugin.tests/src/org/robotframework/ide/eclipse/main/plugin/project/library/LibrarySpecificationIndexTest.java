@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.library;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LibrarySpecificationIndexTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void nothingIsRead_whenThereIsNoIndex() throws IOException {
+        final File libspecFile = createLibspecFile("lib.libspec");
+
+        assertThat(LibrarySpecificationIndex.read(libspecFile)).isNull();
+    }
+
+    @Test
+    public void specificationReadFromIndex_isEqualToWrittenOne() throws IOException {
+        final File libspecFile = createLibspecFile("lib.libspec");
+        final LibrarySpecification spec = createSpecification();
+
+        LibrarySpecificationIndex.write(spec, libspecFile);
+        final LibrarySpecification readSpec = LibrarySpecificationIndex.read(libspecFile);
+
+        assertThat(readSpec).isEqualTo(spec);
+        assertThat(readSpec.getScope()).isEqualTo("GLOBAL");
+        assertThat(readSpec.getFormat()).isEqualTo("ROBOT");
+        assertThat(readSpec.getDocumentation()).isEqualTo("library doc");
+        assertThat(readSpec.getConstructor().getArguments()).containsExactly("x", "y=1");
+        assertThat(readSpec.getConstructor().getDocumentation()).isEqualTo("constructor doc");
+        assertThat(readSpec.getKeywords()).hasSize(2);
+        assertThat(readSpec.getKeywords().get(0).getArguments()).containsExactly("a", "*b");
+        assertThat(readSpec.getKeywords().get(0).getDocumentation()).isEqualTo("first doc äö");
+        assertThat(readSpec.getKeywords().get(0).isDeprecated()).isFalse();
+        assertThat(readSpec.getKeywords().get(1).getArguments()).isNull();
+        assertThat(readSpec.getKeywords().get(1).getDocumentation()).isNull();
+        assertThat(readSpec.getKeywords().get(1).isDeprecated()).isTrue();
+    }
+
+    @Test
+    public void indexIsNotUsed_whenSpecificationFileHasChanged() throws IOException {
+        final File libspecFile = createLibspecFile("lib.libspec");
+        LibrarySpecificationIndex.write(createSpecification(), libspecFile);
+
+        Files.write(libspecFile.toPath(), "<keywordspec name=\"changed\"/>".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(LibrarySpecificationIndex.read(libspecFile)).isNull();
+    }
+
+    @Test
+    public void documentationIsReadFromSpecificationFile_whenIndexWasRegenerated() throws IOException {
+        final File libspecFile = createLibspecFile("lib.libspec");
+        LibrarySpecificationIndex.write(createSpecification(), libspecFile);
+        final LibrarySpecification readSpec = LibrarySpecificationIndex.read(libspecFile);
+
+        final String newContent = "<keywordspec name=\"lib\"><doc>new library doc</doc>"
+                + "<kw name=\"first\"><doc>new first doc</doc></kw></keywordspec>";
+        Files.write(libspecFile.toPath(), newContent.getBytes(StandardCharsets.UTF_8));
+        LibrarySpecificationIndex.write(LibrarySpecificationReader.readSpecificationXml(libspecFile), libspecFile);
+
+        assertThat(readSpec.getDocumentation()).isEqualTo("new library doc");
+        assertThat(readSpec.getKeywords().get(0).getDocumentation()).isEqualTo("new first doc");
+    }
+
+    @Test
+    public void keywordDocumentationIsReadFromSpecificationFileByName_whenKeywordsOfRegeneratedSpecificationChanged()
+            throws IOException {
+        final File libspecFile = createLibspecFile("lib.libspec");
+        LibrarySpecificationIndex.write(createSpecification(), libspecFile);
+        final LibrarySpecification readSpec = LibrarySpecificationIndex.read(libspecFile);
+
+        final String newContent = "<keywordspec name=\"lib\"><doc>new library doc</doc>"
+                + "<kw name=\"added\"><doc>added doc</doc></kw>"
+                + "<kw name=\"first\"><doc>new first doc</doc></kw></keywordspec>";
+        Files.write(libspecFile.toPath(), newContent.getBytes(StandardCharsets.UTF_8));
+        LibrarySpecificationIndex.write(LibrarySpecificationReader.readSpecificationXml(libspecFile), libspecFile);
+
+        assertThat(readSpec.getKeywords().get(0).getDocumentation()).isEqualTo("new first doc");
+    }
+
+    private File createLibspecFile(final String name) throws IOException {
+        final File file = testFolder.newFile(name);
+        Files.write(file.toPath(), "<keywordspec name=\"lib\"/>".getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static LibrarySpecification createSpecification() {
+        final LibrarySpecification spec = new LibrarySpecification();
+        spec.setName("lib");
+        spec.setScope("GLOBAL");
+        spec.setFormat("ROBOT");
+        spec.setVersion("1.0");
+        spec.setDocumentation("library doc");
+
+        final LibraryConstructor constructor = new LibraryConstructor();
+        constructor.setArguments(newArrayList("x", "y=1"));
+        constructor.setDocumentation("constructor doc");
+        spec.setConstructor(constructor);
+
+        final KeywordSpecification first = new KeywordSpecification();
+        first.setName("first");
+        first.setArguments(newArrayList("a", "*b"));
+        first.setDocumentation("first doc äö");
+        final KeywordSpecification second = new KeywordSpecification();
+        second.setName("second");
+        second.setDeprecated(true);
+        spec.setKeywords(newArrayList(first, second));
+        return spec;
+    }
+}
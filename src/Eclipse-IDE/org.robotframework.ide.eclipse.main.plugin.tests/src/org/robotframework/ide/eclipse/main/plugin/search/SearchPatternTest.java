@@ -44,6 +44,13 @@ public class SearchPatternTest {
         assertThat(createMatcher("abc+*0+x", "abc+0+y").matches()).isFalse();
     }
 
+    @Test
+    public void literalFragmentsAreTheTextBetweenWildcards() {
+        assertThat(new SearchPattern("abc").getLiteralFragments()).containsExactly("abc");
+        assertThat(new SearchPattern("*ab?c*de*").getLiteralFragments()).containsExactly("ab", "c", "de");
+        assertThat(new SearchPattern("*?").getLiteralFragments()).isEmpty();
+    }
+
     private static Matcher createMatcher(final String simpleRegex, final String input) {
         return new SearchPattern(simpleRegex).buildPattern().matcher(input);
     }
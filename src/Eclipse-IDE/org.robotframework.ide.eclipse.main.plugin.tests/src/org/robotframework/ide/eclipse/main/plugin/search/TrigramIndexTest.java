@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.search;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TrigramIndexTest {
+
+    private static final List<String> DOCUMENTS = asList("Logs the given message", null, "Returns given value",
+            "Fails the test");
+
+    @Test
+    public void documentsContainingAllFragments_areCandidates() {
+        final TrigramIndex index = TrigramIndex.create(DOCUMENTS);
+
+        assertThat(index.getDocumentsCount()).isEqualTo(4);
+        assertThat(index.findCandidates(asList("given"))).isEqualTo(bits(0, 2));
+        assertThat(index.findCandidates(asList("given", "mess"))).isEqualTo(bits(0));
+        assertThat(index.findCandidates(asList("the test"))).isEqualTo(bits(3));
+        assertThat(index.findCandidates(asList("unknown"))).isEqualTo(bits());
+    }
+
+    @Test
+    public void shortFragmentsDoNotNarrowCandidates() {
+        final TrigramIndex index = TrigramIndex.create(DOCUMENTS);
+
+        assertThat(index.findCandidates(asList("Lo", "x"))).isEqualTo(bits(0, 1, 2, 3));
+        assertThat(index.findCandidates(new SearchPattern("va*e").getLiteralFragments())).isEqualTo(bits(0, 1, 2, 3));
+        assertThat(index.findCandidates(new SearchPattern("val*e").getLiteralFragments())).isEqualTo(bits(2));
+    }
+
+    @Test
+    public void indexIsTheSame_afterWritingAndReading() throws Exception {
+        final TrigramIndex index = TrigramIndex.create(DOCUMENTS);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.write(new DataOutputStream(bytes));
+        final TrigramIndex readIndex = TrigramIndex
+                .read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(readIndex).isEqualTo(index);
+        assertThat(readIndex.findCandidates(asList("given"))).isEqualTo(bits(0, 2));
+    }
+
+    private static BitSet bits(final int... indexes) {
+        final BitSet bits = new BitSet();
+        for (final int index : indexes) {
+            bits.set(index);
+        }
+        return bits;
+    }
+}
@@ -157,4 +157,26 @@ public class DocumentationSearchTest {
         assertThat(matches[1].getLength()).isEqualTo(2);
     }
 
+    @Test
+    public void onlyDocumentationsContainingPatternFragments_areMatchedInLibrary() {
+        final SearchPattern patern = new SearchPattern("doc*1");
+        final SearchResult result = new SearchResult(null);
+        final DocumentationSearch documentationSearch = new DocumentationSearch(patern, new RobotModel(), result);
+
+        final KeywordSpecification kwSpec1 = new KeywordSpecification();
+        kwSpec1.setDocumentation("this is documentation version 1 of some keyword");
+        final KeywordSpecification kwSpec2 = new KeywordSpecification();
+        kwSpec2.setDocumentation("this is description of other keyword");
+        final LibrarySpecification libSpec = new LibrarySpecification();
+        libSpec.setName("lib");
+        libSpec.setDocumentation("library description 1");
+        libSpec.getKeywords().add(kwSpec1);
+        libSpec.getKeywords().add(kwSpec2);
+
+        documentationSearch.locateMatchesInLibrary(projectProvider.getProject(), libSpec);
+
+        assertThat(result.getMatchCount()).isEqualTo(1);
+        assertThat(result.getMatches(new MatchesGroupingElement(projectProvider.getProject(), libSpec, kwSpec1)))
+                .hasSize(1);
+    }
 }
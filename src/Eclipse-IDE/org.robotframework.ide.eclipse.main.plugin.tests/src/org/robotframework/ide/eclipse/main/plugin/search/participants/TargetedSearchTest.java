@@ -19,6 +19,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.search.ui.text.Match;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
@@ -131,6 +132,64 @@ public class TargetedSearchTest {
         targetedSearch.run(monitor, libraries, new HashSet<IFile>());
     }
 
+    @Test
+    public void matchesLocatedInParallel_areAllAddedToResult_whenSearchEnds() {
+        final ProgressMonitorMock monitor = new ProgressMonitorMock();
+
+        final Set<IFile> files = newHashSet(projectProvider.getFile("file1.robot"),
+                projectProvider.getFile("file2.robot"), projectProvider.getFile("file3.robot"));
+
+        final SearchResult result = new SearchResult(null);
+        final TargetedSearch targetedSearch = new TargetedSearchSpy(new SearchPattern("doc"), new RobotModel(),
+                result) {
+
+            @Override
+            protected void locateMatchesInRobotFile(final RobotSuiteFile robotSuiteFile) {
+                for (int i = 0; i < 10; i++) {
+                    result.addMatch(new Match(robotSuiteFile, i, 1));
+                }
+            }
+        };
+        targetedSearch.run(monitor, LinkedHashMultimap.<IProject, LibrarySpecification> create(), files);
+
+        assertThat(result.getMatchCount()).isEqualTo(30);
+        assertThat(result.getElements()).hasSize(3);
+    }
+
+    @Test
+    public void matchesOfStartedUnitsAreAddedToResult_beforeCancelledSearchEnds() throws Exception {
+        final ProgressMonitorMock monitor = new ProgressMonitorMock();
+
+        final Set<IFile> files = newHashSet(projectProvider.getFile("file1.robot"),
+                projectProvider.getFile("file2.robot"), projectProvider.getFile("file3.robot"));
+
+        final SearchResult result = new SearchResult(null);
+        final TargetedSearch targetedSearch = new TargetedSearchSpy(new SearchPattern("doc"), new RobotModel(),
+                result) {
+
+            @Override
+            protected void locateMatchesInRobotFile(final RobotSuiteFile robotSuiteFile) {
+                monitor.setCanceled(true);
+                try {
+                    Thread.sleep(100);
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                result.addMatch(new Match(robotSuiteFile, 0, 1));
+            }
+        };
+        try {
+            targetedSearch.run(monitor, LinkedHashMultimap.<IProject, LibrarySpecification> create(), files);
+        } catch (final OperationCanceledException e) {
+            // expected
+        }
+        final int matchCount = result.getMatchCount();
+        Thread.sleep(300);
+
+        assertThat(matchCount).isGreaterThan(0);
+        assertThat(result.getMatchCount()).isEqualTo(matchCount);
+    }
+
     private static TargetedSearch createTargetedSearch(final SearchPattern pattern, final SearchResult result) {
         return spy(new TargetedSearchSpy(pattern, new RobotModel(), result));
     }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.tableeditor.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jface.text.Region;
+import org.junit.Test;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.text.read.TxtRobotFileParser;
+
+public class OccurrencesIndexTest {
+
+    private static final String CONTENT = "*** Test Cases ***\n"
+            + "case\n"
+            + "    My Keyword    ${var}\n"
+            + "    my_keyword    text ${VAR} text\n"
+            + "    Log    @{var}\n"
+            + "*** Keywords ***\n"
+            + "My Keyword\n"
+            + "    [Arguments]    ${other}\n"
+            + "    Log    ${other}\n";
+
+    @Test
+    public void nothingIsFound_whenThereIsNoCellAtOffset() {
+        final OccurrencesIndex index = createIndex(CONTENT);
+
+        assertThat(index.findOccurrences(CONTENT.indexOf("    My Keyword") + 1)).isEmpty();
+        assertThat(index.findOccurrences(CONTENT.length() + 10)).isEmpty();
+    }
+
+    @Test
+    public void allCellsWithSameNormalizedName_areFound() {
+        final OccurrencesIndex index = createIndex(CONTENT);
+
+        final int firstCall = CONTENT.indexOf("My Keyword");
+        final int secondCall = CONTENT.indexOf("my_keyword");
+        final int definition = CONTENT.indexOf("My Keyword\n    [Arg");
+
+        assertThat(index.findOccurrences(firstCall + 2)).containsOnly(new Region(firstCall, 10),
+                new Region(secondCall, 10), new Region(definition, 10));
+        assertThat(index.findOccurrences(secondCall + 10)).containsOnly(new Region(firstCall, 10),
+                new Region(secondCall, 10), new Region(definition, 10));
+    }
+
+    @Test
+    public void variablesAreFound_alsoInsideOfOtherCells() {
+        final OccurrencesIndex index = createIndex(CONTENT);
+
+        final int first = CONTENT.indexOf("${var}");
+        final int second = CONTENT.indexOf("${VAR}");
+        final int third = CONTENT.indexOf("@{var}");
+
+        assertThat(index.findOccurrences(first)).containsOnly(new Region(first, 6), new Region(second, 6),
+                new Region(third, 6));
+        assertThat(index.findOccurrences(second + 3)).containsOnly(new Region(first, 6), new Region(second, 6),
+                new Region(third, 6));
+    }
+
+    @Test
+    public void wholeCellIsFound_whenOffsetIsOutsideOfVariableInsideCell() {
+        final OccurrencesIndex index = createIndex(CONTENT);
+
+        final int cell = CONTENT.indexOf("text ${VAR} text");
+
+        assertThat(index.findOccurrences(cell + 1)).containsOnly(new Region(cell, 16));
+    }
+
+    private static OccurrencesIndex createIndex(final String content) {
+        final RobotFileOutput output = new RobotFileOutput(RobotVersion.from("2.9"));
+        new TxtRobotFileParser().parse(output, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                new File("file.robot"));
+        return OccurrencesIndex.create(output);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.tableeditor.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.robotframework.ide.eclipse.main.plugin.tableeditor.source.RobotDocument.ChangedRegion;
+
+public class RobotDocumentChangedRegionTest {
+
+    @Test
+    public void nullIsReturned_whenNothingWasChanged() {
+        assertThat(new ChangedRegion().getAndReset()).isNull();
+    }
+
+    @Test
+    public void singleChangeIsReturnedAsIs() {
+        final ChangedRegion region = new ChangedRegion();
+        region.include(10, 3, 5);
+
+        assertThat(region.getAndReset()).containsExactly(10, 3, 5);
+        assertThat(region.getAndReset()).isNull();
+    }
+
+    @Test
+    public void consecutiveTypingIsMergedIntoSingleRegion() {
+        final ChangedRegion region = new ChangedRegion();
+        region.include(10, 0, 1);
+        region.include(11, 0, 1);
+        region.include(12, 0, 1);
+
+        assertThat(region.getAndReset()).containsExactly(10, 0, 3);
+    }
+
+    @Test
+    public void changeBeforeAndAfterPreviousOneIsMergedUsingOriginalOffsets() {
+        final ChangedRegion region = new ChangedRegion();
+        region.include(10, 2, 6);
+        // offsets after first change are shifted by 4
+        region.include(30, 5, 0);
+        region.include(5, 1, 1);
+
+        assertThat(region.getAndReset()).containsExactly(5, 26, 25);
+    }
+}
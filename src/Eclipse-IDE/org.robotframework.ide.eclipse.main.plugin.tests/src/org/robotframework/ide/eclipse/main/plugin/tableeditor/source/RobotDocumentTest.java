@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.tableeditor.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionEvent;
+import org.eclipse.jface.text.DocumentRewriteSessionType;
+import org.eclipse.jface.text.IDocumentRewriteSessionListener;
+import org.junit.Test;
+import org.rf.ide.core.testdata.RobotParser;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.robotframework.ide.eclipse.main.plugin.tableeditor.source.RobotDocument.IRobotDocumentParsingListener;
+
+public class RobotDocumentTest {
+
+    @Test
+    public void documentIsReparsedAfterEachChange_outsideOfRewriteSession() throws Exception {
+        final List<String> parsedContents = new ArrayList<>();
+        final RobotDocument document = createDocument(parsedContents);
+
+        document.set("line1\nline2\nline3\n");
+        document.replace(0, 5, "first");
+        document.replace(12, 5, "third");
+
+        assertThat(parsedContents).containsExactly("line1\nline2\nline3\n", "first\nline2\nline3\n",
+                "first\nline2\nthird\n");
+    }
+
+    @Test
+    public void documentIsReparsedOnce_whenChangesAreMadeInRewriteSession() throws Exception {
+        final List<String> parsedContents = new ArrayList<>();
+        final RobotDocument document = createDocument(parsedContents);
+        document.set("line1\nline2\nline3\n");
+        parsedContents.clear();
+
+        final DocumentRewriteSession session = document.startRewriteSession(DocumentRewriteSessionType.UNRESTRICTED);
+        document.replace(12, 5, "third");
+        document.replace(0, 5, "first");
+        assertThat(parsedContents).isEmpty();
+
+        document.stopRewriteSession(session);
+        assertThat(parsedContents).containsExactly("first\nline2\nthird\n");
+        assertThat(document.hasNewestModel()).isTrue();
+    }
+
+    @Test
+    public void modelIsNotNewest_whenThereArePendingChangesInRewriteSession() throws Exception {
+        final RobotDocument document = createDocument(new ArrayList<String>());
+        document.set("line1\nline2\nline3\n");
+
+        final DocumentRewriteSession session = document.startRewriteSession(DocumentRewriteSessionType.UNRESTRICTED);
+        assertThat(document.hasNewestModel()).isTrue();
+
+        document.replace(0, 5, "first");
+        assertThat(document.hasNewestModel()).isFalse();
+        document.replace(12, 5, "third");
+        assertThat(document.hasNewestModel()).isFalse();
+
+        document.stopRewriteSession(session);
+        assertThat(document.hasNewestModel()).isTrue();
+    }
+
+    @Test
+    public void documentIsReparsedBeforeSessionListenersAreNotified_whenRewriteSessionEnds() throws Exception {
+        final List<String> parsedContents = new ArrayList<>();
+        final RobotDocument document = createDocument(parsedContents);
+        document.set("line1\nline2\nline3\n");
+        parsedContents.clear();
+
+        final List<String> parsedWhenSessionStopped = new ArrayList<>();
+        final List<Boolean> newestWhenSessionStopped = new ArrayList<>();
+        document.addDocumentRewriteSessionListener(new IDocumentRewriteSessionListener() {
+
+            @Override
+            public void documentRewriteSessionChanged(final DocumentRewriteSessionEvent event) {
+                if (event.getChangeType() == DocumentRewriteSessionEvent.SESSION_STOP) {
+                    parsedWhenSessionStopped.addAll(parsedContents);
+                    newestWhenSessionStopped.add(document.hasNewestModel());
+                }
+            }
+        });
+
+        final DocumentRewriteSession session = document.startRewriteSession(DocumentRewriteSessionType.UNRESTRICTED);
+        document.replace(0, 5, "first");
+        document.stopRewriteSession(session);
+
+        assertThat(parsedWhenSessionStopped).containsExactly("first\nline2\nline3\n");
+        assertThat(newestWhenSessionStopped).containsExactly(true);
+    }
+
+    private static RobotDocument createDocument(final List<String> parsedContents) {
+        final RobotParser parser = mock(RobotParser.class);
+        final RobotFileOutput output = mock(RobotFileOutput.class);
+        when(parser.parseEditorContent(anyString(), any(File.class))).thenReturn(output);
+        when(parser.reparseEditorContent(any(RobotFileOutput.class), anyString(), any(File.class), anyInt(),
+                anyInt(), anyInt())).thenReturn(output);
+
+        final RobotDocument document = new RobotDocument(parser, new File("file.robot"));
+        document.addParseListener(new IRobotDocumentParsingListener() {
+
+            @Override
+            public void reparsingFinished(final RobotFileOutput parsedOutput) {
+                parsedContents.add(document.get());
+            }
+        });
+        return document;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.views;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.eclipse.swt.custom.TextChangingEvent;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.rf.ide.core.execution.MessageLogStore;
+
+public class MessageLogContentTest {
+
+    private final MessageLogStore store = new MessageLogStore(1000);
+
+    @After
+    public void afterTest() {
+        store.close();
+    }
+
+    @Test
+    public void appendedLinesAreNotVisible_untilContentIsRefreshed() {
+        store.append("first\n");
+        final MessageLogContent content = new MessageLogContent(store);
+        final TextChangeListener listener = mock(TextChangeListener.class);
+        content.addTextChangeListener(listener);
+
+        store.append("second\n");
+
+        assertThat(content.getLineCount()).isEqualTo(2);
+        assertThat(content.getCharCount()).isEqualTo(6);
+        verifyZeroInteractions(listener);
+
+        assertThat(content.refresh()).isTrue();
+
+        final ArgumentCaptor<TextChangingEvent> captor = ArgumentCaptor.forClass(TextChangingEvent.class);
+        verify(listener).textChanging(captor.capture());
+        verify(listener).textChanged(any(TextChangedEvent.class));
+        assertThat(captor.getValue().start).isEqualTo(6);
+        assertThat(captor.getValue().newText).isEqualTo("second\n");
+        assertThat(captor.getValue().newCharCount).isEqualTo(7);
+        assertThat(captor.getValue().newLineCount).isEqualTo(1);
+
+        assertThat(content.getLineCount()).isEqualTo(3);
+        assertThat(content.getLine(1)).isEqualTo("second");
+        assertThat(content.getLine(2)).isEmpty();
+        assertThat(content.getOffsetAtLine(2)).isEqualTo(13);
+        assertThat(content.getLineAtOffset(8)).isEqualTo(1);
+        assertThat(content.getTextRange(3, 6)).isEqualTo("st\nsec");
+        assertThat(content.refresh()).isFalse();
+    }
+
+    @Test
+    public void contentIsReplaced_whenStoreWasCleared() {
+        store.append("first\nsecond\n");
+        final MessageLogContent content = new MessageLogContent(store);
+        final TextChangeListener listener = mock(TextChangeListener.class);
+        content.addTextChangeListener(listener);
+
+        store.clear();
+        store.append("third\n");
+
+        assertThat(content.getLine(0)).isEmpty();
+
+        assertThat(content.refresh()).isTrue();
+        verify(listener).textSet(any(TextChangedEvent.class));
+        assertThat(content.getLineCount()).isEqualTo(2);
+        assertThat(content.getCharCount()).isEqualTo(6);
+        assertThat(content.getLine(0)).isEqualTo("third");
+    }
+
+    @Test
+    public void onlyLinesOfFilteredLevelAreVisible() {
+        store.append("20160101 12:00:00.000 : INFO : info 1\n");
+        store.append("20160101 12:00:00.000 : WARN : warning\n");
+        final MessageLogContent content = new MessageLogContent(store);
+
+        content.setLevelFilter("INFO");
+        store.append("20160101 12:00:00.000 : INFO : info 2\n");
+        content.refresh();
+
+        assertThat(content.getLineCount()).isEqualTo(3);
+        assertThat(content.getLine(0)).isEqualTo("20160101 12:00:00.000 : INFO : info 1");
+        assertThat(content.getLine(1)).isEqualTo("20160101 12:00:00.000 : INFO : info 2");
+        assertThat(content.getOffsetAtLine(1)).isEqualTo(38);
+        assertThat(content.getLineAtOffset(40)).isEqualTo(1);
+        assertThat(content.getCharCount()).isEqualTo(76);
+
+        content.setLevelFilter(null);
+        assertThat(content.getLineCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void oldContentIsVisibleWhenChangeIsAnnounced_andNewContentAfterItIsDone() {
+        store.append("20160101 12:00:00.000 : INFO : info 1\n");
+        final MessageLogContent content = new MessageLogContent(store);
+        content.setLevelFilter("INFO");
+        final List<String> states = new ArrayList<>();
+        content.addTextChangeListener(new TextChangeListener() {
+
+            @Override
+            public void textChanging(final TextChangingEvent event) {
+                states.add(content.getLineCount() + ":" + content.getCharCount() + ":" + content.getLine(1));
+            }
+
+            @Override
+            public void textChanged(final TextChangedEvent event) {
+                states.add(content.getLineCount() + ":" + content.getCharCount() + ":" + content.getLine(1));
+            }
+
+            @Override
+            public void textSet(final TextChangedEvent event) {
+                states.add("set");
+            }
+        });
+
+        store.append("20160101 12:00:00.000 : WARN : warning\n");
+        store.append("20160101 12:00:00.000 : INFO : info 2\n");
+        content.refresh();
+
+        assertThat(states).containsExactly("2:38:", "3:76:20160101 12:00:00.000 : INFO : info 2");
+    }
+}
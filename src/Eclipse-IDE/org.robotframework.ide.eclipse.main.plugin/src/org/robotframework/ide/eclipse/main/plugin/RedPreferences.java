@@ -44,6 +44,8 @@ public class RedPreferences {
     
     public static final String PROJECT_MODULES_RECURSIVE_ADDITION_ON_VIRTUALENV_ENABLED = "projectModulesRecursiveAdditionOnVirtualenvEnabled";
 
+    public static final String MESSAGE_LOG_MEMORY_LIMIT = "messageLogMemoryLimit";
+
     public static final String SYNTAX_COLORING_PREFIX = "syntaxColoring.";
 
     public String getActiveRuntime() {
@@ -108,6 +110,10 @@ public class RedPreferences {
         return store.getBoolean(PROJECT_MODULES_RECURSIVE_ADDITION_ON_VIRTUALENV_ENABLED);
     }
 
+    public int getMessageLogMemoryLimit() {
+        return store.getInt(MESSAGE_LOG_MEMORY_LIMIT);
+    }
+
     public EnumSet<FoldableElements> getFoldableElements() {
         final EnumSet<FoldableElements> elements = EnumSet.noneOf(FoldableElements.class);
         if(store.getBoolean(FOLDABLE_SECTIONS)) {
@@ -10,10 +10,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
-import org.codehaus.jackson.map.ObjectMapper;
-import org.codehaus.jackson.type.TypeReference;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -28,6 +25,8 @@ import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
+import org.rf.ide.core.execution.AgentEvent;
+import org.rf.ide.core.execution.AgentEventReader;
 import org.rf.ide.core.execution.ExecutionElementsParser;
 import org.rf.ide.core.execution.context.RobotDebugExecutionContext;
 import org.rf.ide.core.execution.context.RobotDebugExecutionContext.KeywordPosition;
@@ -92,47 +91,40 @@ public class RobotDebugEventDispatcher extends Job {
     }
 
     private void runEventsLoop(final BufferedReader eventReader) throws IOException, MissingFileToExecuteException {
-        String event = eventReader.readLine();
-        final ObjectMapper mapper = new ObjectMapper();
+        final AgentEventReader events = new AgentEventReader(eventReader);
+        AgentEvent event = events.nextEvent();
         while (!target.isTerminated() && event != null) {
-            
-            final TypeReference<Map<String, Object>> stringToObjectMapType = new TypeReference<Map<String, Object>>() {};
-            final Map<String, Object> eventMap = mapper.readValue(event, stringToObjectMapType);
-            final String eventType = getEventType(eventMap);
-            if (eventType == null) {
-                continue;
-            }
 
-            switch (eventType) {
+            switch (event.getName()) {
                 case "pid":
                     handlePidEvent();
                     break;
                 case "resource_import": //since Robot 2.9
-                    handleResourceImportEvent(eventMap);
+                    handleResourceImportEvent(event);
                     break;
                 case "start_suite":
-                    handleStartSuiteEvent(eventMap);
+                    handleStartSuiteEvent(event);
                     break;
                 case "start_test":
-                    handleStartTestEvent(eventMap);
+                    handleStartTestEvent(event);
                     break;
                 case "start_keyword":
-                    handleStartKeywordEvent(eventMap);
+                    handleStartKeywordEvent(event);
                     break;
                 case "vars":
-                    handleVarsEvent(eventMap);
+                    handleVarsEvent(event);
                     break;
                 case "global_vars":
-                    handleGlobalVarsEvent(eventMap);
+                    handleGlobalVarsEvent(event);
                     break;
                 case "check_condition":
                     handleCheckConditionEvent();
                     break;
                 case "condition_result":
-                    handleConditionResultEvent(eventMap);
+                    handleConditionResultEvent(event);
                     break;
                 case "condition_error":
-                    handleConditionErrorEvent(eventMap);
+                    handleConditionErrorEvent(event);
                     break;
                 case "condition_checked":
                     handleConditionCheckedEvent();
@@ -141,22 +133,22 @@ public class RobotDebugEventDispatcher extends Job {
                     handlePausedEvent();
                     break;
                 case "end_keyword":
-                    handleEndKeywordEvent(eventMap);
+                    handleEndKeywordEvent(event);
                     break;
                 case "end_test":
-                    handleEndTestEvent(eventMap);
+                    handleEndTestEvent(event);
                     break;
                 case "end_suite":
-                    handleEndSuiteEvent(eventMap);
+                    handleEndSuiteEvent(event);
                     break;
                 case "close":
                     handleCloseEvent();
                     break;
                 case "log_message":
-                    handleLogMessageEvent(eventMap);
+                    handleLogMessageEvent(event);
                     break;
                 case "output_file":
-                    handleOutputFile(eventMap);
+                    handleOutputFile(event);
                     break;
                 case "error":
                     break;
@@ -164,7 +156,7 @@ public class RobotDebugEventDispatcher extends Job {
                     break;
             }
 
-            event = eventReader.readLine();
+            event = events.nextEvent();
         }
     }
 
@@ -173,15 +165,15 @@ public class RobotDebugEventDispatcher extends Job {
         target.started();
     }
     
-    private void handleResourceImportEvent(final Map<String, ?> eventMap) {
-        final List<?> importList = (List<?>) eventMap.get("resource_import");
+    private void handleResourceImportEvent(final AgentEvent event) {
+        final List<?> importList = event.getArguments();
         final Map<?, ?> importElements = (Map<?, ?>) importList.get(1);
         final String resourceFilePath = (String) importElements.get("source");
         executionContext.resourceImport(resourceFilePath);
     }
 
-    private void handleStartSuiteEvent(final Map<String, ?> eventMap) {
-        final List<?> suiteList = (List<?>) eventMap.get("start_suite");
+    private void handleStartSuiteEvent(final AgentEvent event) {
+        final List<?> suiteList = event.getArguments();
         final Map<?, ?> suiteElements = (Map<?, ?>) suiteList.get(1);
         final IPath suiteFilePath = new Path((String) suiteElements.get("source"));
         printRemoteDebugSuiteMessage(suiteFilePath);
@@ -198,8 +190,8 @@ public class RobotDebugEventDispatcher extends Job {
                 (String) suiteList.get(0), (String) suiteElements.get("source")));
     }
     
-    private void handleStartTestEvent(final Map<String, ?> eventMap) {
-        final List<?> testList = (List<?>) eventMap.get("start_test");
+    private void handleStartTestEvent(final AgentEvent event) {
+        final List<?> testList = event.getArguments();
         final Map<?, ?> testElements = (Map<?, ?>) testList.get(1);
         final String line = "Starting test: " + testElements.get("longname") + '\n';
         final String testCaseName = (String) testList.get(0);
@@ -212,8 +204,8 @@ public class RobotDebugEventDispatcher extends Job {
     }
     
     @SuppressWarnings({ "unchecked" })
-    private void handleStartKeywordEvent(final Map<String, ?> eventMap) {
-        final List<?> startList = (List<?>) eventMap.get("start_keyword");
+    private void handleStartKeywordEvent(final AgentEvent event) {
+        final List<?> startList = event.getArguments();
         final String currentKeywordName = (String) startList.get(0);
         final Map<?, ?> keywordDetails = (Map<?, ?>) startList.get(1);
         final String keywordType = (String) keywordDetails.get("type");
@@ -255,16 +247,16 @@ public class RobotDebugEventDispatcher extends Job {
     }
     
     @SuppressWarnings("unchecked")
-    private void handleVarsEvent(final Map<String, ?> eventMap) {
-        final List<?> varList = (List<?>) eventMap.get("vars");
+    private void handleVarsEvent(final AgentEvent event) {
+        final List<?> varList = event.getArguments();
         final Map<?, ?> vars = (Map<?, ?>) varList.get(1);
         target.getLastKeywordFromCurrentContextMap().setVariables((Map<String, Object>) vars);
         target.getRobotVariablesManager().sortVariablesNames((Map<String, Object>) vars);
     }
 
     @SuppressWarnings("unchecked")
-    private void handleGlobalVarsEvent(final Map<String, ?> eventMap) {
-        final List<?> globalVarList = (List<?>) eventMap.get("global_vars");
+    private void handleGlobalVarsEvent(final AgentEvent event) {
+        final List<?> globalVarList = event.getArguments();
         final Map<?, ?> globalVars = (Map<?, ?>) globalVarList.get(1);
         target.getRobotVariablesManager().setGlobalVariables((Map<String, String>) globalVars);
     }
@@ -278,17 +270,17 @@ public class RobotDebugEventDispatcher extends Job {
         }
     }
 
-    private void handleConditionResultEvent(final Map<String, ?> eventMap) {
-        final List<?> resultList = (List<?>) eventMap.get("condition_result");
+    private void handleConditionResultEvent(final AgentEvent event) {
+        final List<?> resultList = event.getArguments();
         final Object result = resultList.get(0);
         if (result instanceof Boolean) {
             isBreakpointConditionFulfilled = (Boolean) result;
         }
     }
 
-    private void handleConditionErrorEvent(final Map<String, ?> eventMap) {
+    private void handleConditionErrorEvent(final AgentEvent event) {
         isBreakpointConditionFulfilled = true;
-        final List<?> errorList = (List<?>) eventMap.get("condition_error");
+        final List<?> errorList = event.getArguments();
         showError("Conditional Breakpoint Error", "Reason:\n" + errorList.get(0));
     }
 
@@ -305,8 +297,8 @@ public class RobotDebugEventDispatcher extends Job {
         target.suspended(DebugEvent.CLIENT_REQUEST);
     }
 
-    private void handleEndKeywordEvent(final Map<String, ?> eventMap) {
-        final List<?> endList = (List<?>) eventMap.get("end_keyword");
+    private void handleEndKeywordEvent(final AgentEvent event) {
+        final List<?> endList = event.getArguments();
         final String keyword = (String) endList.get(0);
         target.getCurrentKeywordsContextMap().remove(keyword);
         
@@ -315,8 +307,8 @@ public class RobotDebugEventDispatcher extends Job {
         executionContext.endKeyword(keywordType);
     }
 
-    private void handleEndTestEvent(final Map<String, ?> eventMap) {
-        final List<?> testList = (List<?>) eventMap.get("end_test");
+    private void handleEndTestEvent(final AgentEvent event) {
+        final List<?> testList = event.getArguments();
         final Map<?, ?> testElements = (Map<?, ?>) testList.get(1);
         
         executionContext.endTest();
@@ -327,8 +319,8 @@ public class RobotDebugEventDispatcher extends Job {
                 (String) testList.get(0), testElements));
     }
     
-    private void handleEndSuiteEvent(final Map<String, ?> eventMap) {
-        final List<?> suiteList = (List<?>) eventMap.get("end_suite");
+    private void handleEndSuiteEvent(final AgentEvent event) {
+        final List<?> suiteList = event.getArguments();
         target.clearStackFrames();
         robotEventBroker.sendExecutionEventToExecutionView(ExecutionElementsParser.createEndSuiteExecutionElement(
                 (String) suiteList.get(0), (Map<?, ?>) suiteList.get(1)));
@@ -340,26 +332,18 @@ public class RobotDebugEventDispatcher extends Job {
         target.terminated();
     }
 
-    private void handleLogMessageEvent(final Map<String, ?> eventMap) {
-        final List<?> messageList = (List<?>) eventMap.get("log_message");
+    private void handleLogMessageEvent(final AgentEvent event) {
+        final List<?> messageList = event.getArguments();
         final Map<?, ?> messageElements = (Map<?, ?>) messageList.get(0);
         final String line = messageElements.get("timestamp") + " : " + messageElements.get("level") + " : "
                 + messageElements.get("message") + '\n';
         robotEventBroker.sendAppendLineEventToMessageLogView(line);
     }
     
-    private void handleOutputFile(final Map<?, ?> eventMap) {
-        final List<?> outputFileList = (List<?>) eventMap.get("output_file");
+    private void handleOutputFile(final AgentEvent event) {
+        final List<?> outputFileList = event.getArguments();
         robotEventBroker.sendExecutionEventToExecutionView(ExecutionElementsParser.createOutputFileExecutionElement((String) outputFileList.get(0)));
     }
-
-    private String getEventType(final Map<String, ?> eventMap) {
-        if (eventMap == null) {
-            return null;
-        }
-        final Set<String> keySet = eventMap.keySet();
-        return keySet.isEmpty() ? null : keySet.iterator().next();
-    }
     
     private void resetSteppingState() {
         if (target.getRobotThread().isStepping()) {
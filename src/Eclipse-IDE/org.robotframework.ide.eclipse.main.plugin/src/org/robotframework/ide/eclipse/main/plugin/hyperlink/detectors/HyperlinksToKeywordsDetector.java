@@ -37,6 +37,7 @@ import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.AccessibleKeywordsEntities;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.AccessibleKeywordsEntities.AccessibleKeywordsCollector;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.AccessibleKeywordsEntities.NamedKeywordsCollector;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.ContinueDecision;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.KeywordDefinitionLocator;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.KeywordDefinitionLocator.KeywordDetector;
@@ -147,7 +148,7 @@ abstract class HyperlinksToKeywordsDetector {
         return new AccessibleKeywordsEntities(suiteFile.getFile().getFullPath(), collector);
     }
 
-    private static final class HyperlinksKeywordCollector implements AccessibleKeywordsCollector {
+    private static final class HyperlinksKeywordCollector implements NamedKeywordsCollector {
 
         private final RobotModel model;
         private final IFile file;
@@ -159,57 +160,65 @@ abstract class HyperlinksToKeywordsDetector {
 
         @Override
         public Map<String, Collection<KeywordEntity>> collect() {
-            return collectAccessibleKeywordNames(file);
+            final Map<String, Collection<KeywordEntity>> accessibleKeywords = newHashMap();
+            new KeywordDefinitionLocator(file, model).locateKeywordDefinition(createKeywordsDetector(accessibleKeywords));
+            return accessibleKeywords;
         }
 
-        private Map<String, Collection<KeywordEntity>> collectAccessibleKeywordNames(final IFile file) {
+        @Override
+        public Map<String, Collection<KeywordEntity>> collect(final String keywordName) {
             final Map<String, Collection<KeywordEntity>> accessibleKeywords = newHashMap();
-            new KeywordDefinitionLocator(file, model)
-                    .locateKeywordDefinition(new KeywordDetector() {
-
-                        @Override
-                        public ContinueDecision libraryKeywordDetected(final LibrarySpecification libSpec,
-                                final KeywordSpecification kwSpec, final String libraryAlias,
-                                final RobotSuiteFile exposingFile) {
-
-                            final KeywordScope scope = libSpec.isReferenced() ? KeywordScope.REF_LIBRARY
-                                    : KeywordScope.STD_LIBRARY;
-                            final KeywordHyperlinkEntity keyword = KeywordHyperlinkEntity.from(scope, libraryAlias,
-                                    exposingFile, libSpec, kwSpec);
-
-                            addAccessibleKeyword(kwSpec.getName(), keyword);
-                            return ContinueDecision.CONTINUE;
-                        }
-
-                        @Override
-                        public ContinueDecision keywordDetected(final RobotSuiteFile suiteFile,
-                                final RobotKeywordDefinition kwDefinition) {
-
-                            final KeywordScope scope = suiteFile.getFile().equals(file) ? KeywordScope.LOCAL
-                                    : KeywordScope.RESOURCE;
-
-                            final DefinitionPosition position = kwDefinition.getDefinitionPosition();
-                            final KeywordHyperlinkEntity keyword = KeywordHyperlinkEntity.from(scope, suiteFile,
-                                    position, kwDefinition);
-
-                            addAccessibleKeyword(kwDefinition.getName(), keyword);
-                            return ContinueDecision.CONTINUE;
-                        }
-
-                        private void addAccessibleKeyword(final String keywordName,
-                                final KeywordHyperlinkEntity keyword) {
-                            final String unifiedName = QualifiedKeywordName.unifyDefinition(keywordName);
-                            if (accessibleKeywords.containsKey(unifiedName)) {
-                                accessibleKeywords.get(unifiedName).add(keyword);
-                            } else {
-                                final LinkedHashSet<KeywordEntity> setOfKeywords = newLinkedHashSet();
-                                setOfKeywords.add(keyword);
-                                accessibleKeywords.put(unifiedName, setOfKeywords);
-                            }
-                        }
-                    });
+            new KeywordDefinitionLocator(file, model).locateKeywordDefinition(keywordName,
+                    createKeywordsDetector(accessibleKeywords));
             return accessibleKeywords;
         }
+
+        private KeywordDetector createKeywordsDetector(
+                final Map<String, Collection<KeywordEntity>> accessibleKeywords) {
+            return new KeywordDetector() {
+
+                @Override
+                public ContinueDecision libraryKeywordDetected(final LibrarySpecification libSpec,
+                        final KeywordSpecification kwSpec, final String libraryAlias,
+                        final RobotSuiteFile exposingFile) {
+
+                    final KeywordScope scope = libSpec.isReferenced() ? KeywordScope.REF_LIBRARY
+                            : KeywordScope.STD_LIBRARY;
+                    final KeywordHyperlinkEntity keyword = KeywordHyperlinkEntity.from(scope, libraryAlias,
+                            exposingFile, libSpec, kwSpec);
+
+                    addAccessibleKeyword(kwSpec.getName(), keyword);
+                    return ContinueDecision.CONTINUE;
+                }
+
+                @Override
+                public ContinueDecision keywordDetected(final RobotSuiteFile suiteFile,
+                        final RobotKeywordDefinition kwDefinition) {
+
+                    final KeywordScope scope = suiteFile.getFile().equals(file) ? KeywordScope.LOCAL
+                            : KeywordScope.RESOURCE;
+
+                    final DefinitionPosition position = kwDefinition.getDefinitionPosition();
+                    final KeywordHyperlinkEntity keyword = KeywordHyperlinkEntity.from(scope, suiteFile,
+                            position, kwDefinition);
+
+                    addAccessibleKeyword(kwDefinition.getName(), keyword);
+                    return ContinueDecision.CONTINUE;
+                }
+
+                private void addAccessibleKeyword(final String keywordName,
+                        final KeywordHyperlinkEntity keyword) {
+                    final String unifiedName = QualifiedKeywordName.unifyDefinition(keywordName);
+                    if (accessibleKeywords.containsKey(unifiedName)) {
+                        accessibleKeywords.get(unifiedName).add(keyword);
+                    } else {
+                        final LinkedHashSet<KeywordEntity> setOfKeywords = newLinkedHashSet();
+                        setOfKeywords.add(keyword);
+                        accessibleKeywords.put(unifiedName, setOfKeywords);
+                    }
+                }
+            };
+        }
     }
 
     static class KeywordHyperlinkEntity extends KeywordEntity {
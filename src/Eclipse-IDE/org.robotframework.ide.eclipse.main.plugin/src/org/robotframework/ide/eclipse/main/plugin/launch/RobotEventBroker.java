@@ -11,12 +11,14 @@ import java.util.List;
 
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.rf.ide.core.execution.ExecutionElement;
+import org.rf.ide.core.execution.MessageLogStore;
+import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 
 public class RobotEventBroker {
 
     private final IEventBroker broker;
     
-    private static StringBuilder messageLogViewContent = new StringBuilder();
+    private static MessageLogStore messageLogStore;
     private static List<ExecutionElement> executionViewContent = Collections.synchronizedList(new ArrayList<ExecutionElement>());
 
     public RobotEventBroker(final IEventBroker broker) {
@@ -24,15 +26,14 @@ public class RobotEventBroker {
     }
 
     public void sendAppendLineEventToMessageLogView(final String line) {
+        // the view reads appended lines from the store, so they have to be stored first
+        getMessageLogStore().append(line);
         broker.send("MessageLogView/AppendLine", line);
-        messageLogViewContent.append(line);
     }
 
     public void sendClearEventToMessageLogView() {
+        getMessageLogStore().clear();
         broker.send("MessageLogView/Clear", "");
-        if(messageLogViewContent.length() > 0) {
-            messageLogViewContent.setLength(0);
-        }
     }
 
     public void sendExecutionEventToExecutionView(final ExecutionElement executionElement) {
@@ -45,8 +46,11 @@ public class RobotEventBroker {
         executionViewContent.clear();
     }
     
-    public static String getMessageLogViewContent() {
-        return messageLogViewContent.toString();
+    public static synchronized MessageLogStore getMessageLogStore() {
+        if (messageLogStore == null) {
+            messageLogStore = new MessageLogStore(RedPlugin.getDefault().getPreferences().getMessageLogMemoryLimit());
+        }
+        return messageLogStore;
     }
 
     public static List<ExecutionElement> getExecutionViewContent() {
@@ -19,6 +19,7 @@ import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.CoreException;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig;
 import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecificationIndex;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
@@ -102,11 +103,22 @@ public class LibspecsFolder {
                 || changedLibspecFolder.getKind() == IResourceDelta.REMOVED) {
             return true;
         } else if (changedLibspecFolder.getKind() == IResourceDelta.CHANGED) {
-            return changedLibspecFolder.getAffectedChildren().length > 0;
+            for (final IResourceDelta child : changedLibspecFolder.getAffectedChildren()) {
+                // indexes are written by specifications reader, not by build
+                if (!isIndexFile(child.getResource())) {
+                    return true;
+                }
+            }
         }
         return false;
     }
 
+    private static boolean isIndexFile(final IResource resource) {
+        final String name = resource.getName();
+        return name.endsWith(LIBSPEC_FILE_EXTENSION + LibrarySpecificationIndex.FILE_EXTENSION)
+                || name.endsWith(LIBSPEC_FILE_EXTENSION + LibrarySpecificationIndex.FILE_EXTENSION + ".tmp");
+    }
+
     public List<IFile> collectSpecsWithDifferentVersion(final List<String> stdLibs, final String version)
             throws CoreException {
         final List<IFile> toRecreate = newArrayList(Lists.transform(stdLibs, new Function<String, IFile>() {
@@ -9,11 +9,16 @@ import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.ui.PlatformUI;
+import org.rf.ide.core.executor.VariableFilesEvaluationCache;
 import org.rf.ide.core.fileWatcher.RedFileWatcher;
 
 public final class RobotModelManager {
@@ -28,6 +33,7 @@ public final class RobotModelManager {
 
                 notifyAboutChanges(changes);
             } else if (event.getType() == IResourceChangeEvent.POST_CHANGE) {
+                invalidateVariableFilesEvaluations(event.getDelta());
                 changes = InstanceHolder.INSTANCE.getModel().synchronizeChanges(event.getDelta());
 
                 notifyAboutChanges(changes);
@@ -36,6 +42,27 @@ public final class RobotModelManager {
             }
         }
 
+        private void invalidateVariableFilesEvaluations(final IResourceDelta rootDelta) {
+            try {
+                rootDelta.accept(new IResourceDeltaVisitor() {
+
+                    @Override
+                    public boolean visit(final IResourceDelta delta) throws CoreException {
+                        final IResource resource = delta.getResource();
+                        final boolean contentChanged = delta.getKind() != IResourceDelta.CHANGED
+                                || (delta.getFlags() & IResourceDelta.CONTENT) != 0;
+                        if (resource.getType() == IResource.FILE && "py".equals(resource.getFileExtension())
+                                && resource.getLocation() != null && contentChanged) {
+                            VariableFilesEvaluationCache.getInstance().fileChanged(resource.getLocation().toFile());
+                        }
+                        return true;
+                    }
+                });
+            } catch (final CoreException e) {
+                // changed variable files are still recognized by modification time
+            }
+        }
+
         private void notifyAboutChanges(final List<RobotElementChange> changes) {
             final IEventBroker eventBroker = (IEventBroker) PlatformUI.getWorkbench().getService(IEventBroker.class);
             
@@ -16,10 +16,15 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.ui.IEditorPart;
@@ -27,13 +32,19 @@ import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.part.FileEditorInput;
+import org.rf.ide.core.dryrun.RobotDryRunLibraryImportsCache;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.testdata.RobotFileOutputCache;
 import org.rf.ide.core.testdata.RobotParser;
+import org.rf.ide.core.testdata.RobotParser.RobotParserConfig;
 import org.rf.ide.core.testdata.model.RobotExpressions;
 import org.rf.ide.core.testdata.model.RobotProjectHolder;
 import org.rf.ide.core.testdata.model.table.variables.names.VariableNamesSupport;
 import org.robotframework.ide.eclipse.main.plugin.PathsConverter;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotElementChange.Kind;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.ImportedKeywordsCache;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.KeywordNamesIndex;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.PathsResolver.PathResolvingException;
 import org.robotframework.ide.eclipse.main.plugin.project.LibrariesWatchHandler;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig;
@@ -45,11 +56,13 @@ import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.Sea
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.VariableMapping;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfigReader;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfigReader.CannotReadProjectConfigurationException;
+import org.robotframework.ide.eclipse.main.plugin.project.build.ImportsGraph;
 import org.robotframework.ide.eclipse.main.plugin.project.editor.RedProjectEditor;
 import org.robotframework.ide.eclipse.main.plugin.project.editor.RedProjectEditorInput;
 import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
 import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecificationReader;
 import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecificationReader.CannotReadLibrarySpecificationException;
+import org.robotframework.ide.eclipse.main.plugin.search.DocumentationSearchIndex;
 import org.robotframework.red.swt.SwtThread;
 import org.robotframework.red.swt.SwtThread.Evaluation;
 
@@ -57,46 +70,136 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicates;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 public class RobotProject extends RobotContainer {
 
-    private RobotProjectHolder projectHolder;
-    
-    private Map<String, LibrarySpecification> stdLibsSpecs;
-    private Map<ReferencedLibrary, LibrarySpecification> refLibsSpecs;
-    private List<ReferencedVariableFile> referencedVariableFiles;
-    
-    private RobotProjectConfig configuration;
+    private static final ExecutorService LIBRARIES_LOADING_EXECUTOR = Executors.newFixedThreadPool(2,
+            new ThreadFactoryBuilder().setNameFormat("RED libraries loading %d").setDaemon(true).build());
 
-    private List<File> modulesSearchPath;
-    
+    private final AtomicReference<ProjectState> state = new AtomicReference<>(ProjectState.EMPTY);
+
     private final LibrariesWatchHandler librariesWatchHandler;
+
+    private volatile RobotFileOutputCache parsingCache;
+
+    private final KeywordNamesIndex keywordNamesIndex = new KeywordNamesIndex();
+
+    private final ImportedKeywordsCache importedKeywordsCache = new ImportedKeywordsCache();
+
+    private final ImportsGraph importsGraph = new ImportsGraph();
+
+    private final RobotDryRunLibraryImportsCache dryRunImportsCache = new RobotDryRunLibraryImportsCache();
+
+    private volatile DocumentationSearchIndex documentationSearchIndex;
 
     RobotProject(final IProject project) {
         super(null, project);
         librariesWatchHandler = new LibrariesWatchHandler(this);
     }
     
-    public synchronized RobotProjectHolder getRobotProjectHolder() {
-        if (projectHolder == null) {
-            projectHolder = new RobotProjectHolder(getRuntimeEnvironment());
+    public RobotProjectHolder getRobotProjectHolder() {
+        RobotProjectHolder holder = state.get().projectHolder;
+        if (holder == null) {
+            // python environment is created on first use, without holding any lock
+            holder = new RobotProjectHolder(getRuntimeEnvironment());
+            while (true) {
+                final ProjectState current = state.get();
+                if (current.projectHolder != null) {
+                    holder = current.projectHolder;
+                    break;
+                } else if (state.compareAndSet(current, current.withProjectHolder(holder))) {
+                    break;
+                }
+            }
         }
-        provideVariableMappingsForProjectHolder();
-        return projectHolder;
+        provideVariableMappingsForProjectHolder(holder);
+        return holder;
     }
 
     public RobotParser getEagerRobotParser() {
-        return RobotParser.createEager(getRobotProjectHolder());
+        final RobotParserConfig cfg = new RobotParserConfig();
+        cfg.setEagerImport(true);
+        cfg.setCache(getParsingCache());
+        cfg.setParallelism(Runtime.getRuntime().availableProcessors());
+        return RobotParser.create(getRobotProjectHolder(), cfg);
     }
     
     public RobotParser getRobotParser() {
-        return RobotParser.create(getRobotProjectHolder());
+        final RobotParserConfig cfg = new RobotParserConfig();
+        cfg.setCache(getParsingCache());
+        cfg.setParallelism(Runtime.getRuntime().availableProcessors());
+        return RobotParser.create(getRobotProjectHolder(), cfg);
+    }
+
+    private RobotFileOutputCache getParsingCache() {
+        if (parsingCache == null) {
+            synchronized (this) {
+                if (parsingCache == null) {
+                    final IPath workingLocation = getProject().getWorkingLocation(RedPlugin.PLUGIN_ID);
+                    if (workingLocation != null) {
+                        parsingCache = new RobotFileOutputCache(workingLocation.append("parsing").toFile(),
+                                RedPlugin.getDefault().getBundle().getVersion().toString());
+                    }
+                }
+            }
+        }
+        return parsingCache;
+    }
+
+    public DocumentationSearchIndex getDocumentationSearchIndex() {
+        if (documentationSearchIndex == null) {
+            synchronized (this) {
+                if (documentationSearchIndex == null) {
+                    final IPath workingLocation = getProject().getWorkingLocation(RedPlugin.PLUGIN_ID);
+                    documentationSearchIndex = new DocumentationSearchIndex(
+                            workingLocation == null ? null : workingLocation.append("search").toFile());
+                }
+            }
+        }
+        return documentationSearchIndex;
     }
 
     public IProject getProject() {
         return (IProject) container;
     }
 
+    public KeywordNamesIndex getKeywordNamesIndex() {
+        return keywordNamesIndex;
+    }
+
+    public ImportedKeywordsCache getImportedKeywordsCache() {
+        return importedKeywordsCache;
+    }
+
+    public ImportsGraph getImportsGraph() {
+        return importsGraph;
+    }
+
+    public RobotDryRunLibraryImportsCache getDryRunImportsCache() {
+        return dryRunImportsCache;
+    }
+
+    @Override
+    List<RobotElementChange> synchronizeChanges(final IResourceDelta delta) {
+        final List<RobotElementChange> changes = super.synchronizeChanges(delta);
+        for (final RobotElementChange change : changes) {
+            if (change.getKind() != Kind.ADDED && change.getElement() instanceof RobotSuiteFile) {
+                keywordNamesIndex.fileChanged(((RobotSuiteFile) change.getElement()).getFile());
+            }
+            if (change.getElement() instanceof RobotSuiteFile) {
+                // added file could be imported by path which was not resolved before
+                importedKeywordsCache.fileChanged(((RobotSuiteFile) change.getElement()).getFile().getFullPath());
+            }
+        }
+        return changes;
+    }
+
     public String getVersion() {
         readProjectConfigurationIfNeeded();
         final RobotRuntimeEnvironment env = getRuntimeEnvironment();
@@ -110,72 +213,207 @@ public class RobotProject extends RobotContainer {
         return newArrayList(filter(specifications, Predicates.notNull()));
     }
 
-    public synchronized boolean hasStandardLibraries() {
-        readProjectConfigurationIfNeeded();
-        if (stdLibsSpecs != null && !stdLibsSpecs.isEmpty()) {
-            return true;
-        }
-        return configuration != null;
+    public boolean hasStandardLibraries() {
+        final RobotProjectConfig config = readProjectConfigurationIfNeeded();
+        return isLoadedAndNotEmpty(state.get().stdLibsSpecs) || config != null;
     }
 
-    public synchronized Map<String, LibrarySpecification> getStandardLibraries() {
-        if (stdLibsSpecs != null) {
-            return stdLibsSpecs;
-        }
-        readProjectConfigurationIfNeeded();
-        final RobotRuntimeEnvironment env = getRuntimeEnvironment();
-        if (env == null || configuration == null) {
+    /**
+     * Returns specifications of standard libraries, waiting until they are loaded. When loading
+     * was not started by background thread yet, it is done by the caller.
+     */
+    public Map<String, LibrarySpecification> getStandardLibraries() {
+        final ListenableFuture<Map<String, LibrarySpecification>> loading = loadStandardLibraries();
+        final Map<String, LibrarySpecification> libs = getLoaded(loading);
+        if (libs == null) {
+            // there is no environment or configuration yet, so loading will be repeated
+            while (true) {
+                final ProjectState current = state.get();
+                if (current.stdLibsSpecs != loading
+                        || state.compareAndSet(current, current.withStandardLibraries(null))) {
+                    break;
+                }
+            }
             return newLinkedHashMap();
         }
-        stdLibsSpecs = newLinkedHashMap();
-        for (final String stdLib : env.getStandardLibrariesNames()) {
-            stdLibsSpecs.put(stdLib, stdLibToSpec(getProject()).apply(stdLib));
+        return libs;
+    }
+
+    /**
+     * Starts loading specifications of standard libraries in background, unless they are already
+     * loaded or being loaded. Python environment is started by loading task.
+     *
+     * @return future of standard libraries specifications
+     */
+    public ListenableFuture<Map<String, LibrarySpecification>> loadStandardLibraries() {
+        final ListenableFuture<Map<String, LibrarySpecification>> loading = state.get().stdLibsSpecs;
+        if (loading != null) {
+            return loading;
         }
-        for (final RemoteLocation location : configuration.getRemoteLocations()) {
-            stdLibsSpecs.put("Remote " + location.getUri(), remoteLibToSpec(getProject()).apply(location));
+        final ListenableFutureTask<Map<String, LibrarySpecification>> task = ListenableFutureTask
+                .create(new Callable<Map<String, LibrarySpecification>>() {
+
+                    @Override
+                    public Map<String, LibrarySpecification> call() {
+                        final RobotProjectConfig config = readProjectConfigurationIfNeeded();
+                        final RobotRuntimeEnvironment env = getRuntimeEnvironment();
+                        if (env == null || config == null) {
+                            return null;
+                        }
+                        final Map<String, LibrarySpecification> libs = newLinkedHashMap();
+                        for (final String stdLib : env.getStandardLibrariesNames()) {
+                            libs.put(stdLib, stdLibToSpec(getProject()).apply(stdLib));
+                        }
+                        for (final RemoteLocation location : config.getRemoteLocations()) {
+                            libs.put("Remote " + location.getUri(), remoteLibToSpec(getProject()).apply(location));
+                        }
+                        return libs;
+                    }
+                });
+        while (true) {
+            final ProjectState current = state.get();
+            if (current.stdLibsSpecs != null) {
+                return current.stdLibsSpecs;
+            } else if (state.compareAndSet(current, current.withStandardLibraries(task))) {
+                LIBRARIES_LOADING_EXECUTOR.execute(task);
+                return task;
+            }
         }
-        return stdLibsSpecs;
+    }
+
+    /**
+     * Returns names of standard libraries, as keys of {@link #getStandardLibraries()}, without
+     * waiting for specifications when they are not loaded yet.
+     */
+    public Set<String> getStandardLibrariesNames() {
+        final ListenableFuture<Map<String, LibrarySpecification>> loading = state.get().stdLibsSpecs;
+        if (loading != null && loading.isDone()) {
+            return getStandardLibraries().keySet();
+        }
+        final RobotProjectConfig config = readProjectConfigurationIfNeeded();
+        final RobotRuntimeEnvironment env = getRuntimeEnvironment();
+        final Set<String> names = newLinkedHashSet();
+        if (env != null && config != null) {
+            names.addAll(env.getStandardLibrariesNames());
+            for (final RemoteLocation location : config.getRemoteLocations()) {
+                names.add("Remote " + location.getUri());
+            }
+        }
+        return names;
     }
 
     @VisibleForTesting
     public void setStandardLibraries(final Map<String, LibrarySpecification> libs) {
-        stdLibsSpecs = libs;
+        final ListenableFuture<Map<String, LibrarySpecification>> loaded = libs == null ? null
+                : Futures.immediateFuture(libs);
+        ProjectState current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, current.withStandardLibraries(loaded)));
+        keywordNamesIndex.librariesChanged();
+        importedKeywordsCache.librariesChanged();
     }
 
-    public synchronized boolean hasReferencedLibraries() {
-        readProjectConfigurationIfNeeded();
-        if (refLibsSpecs != null && !refLibsSpecs.isEmpty()) {
-            return true;
-        }
-        return configuration != null && configuration.hasReferencedLibraries();
+    public boolean hasReferencedLibraries() {
+        final RobotProjectConfig config = readProjectConfigurationIfNeeded();
+        return isLoadedAndNotEmpty(state.get().refLibsSpecs) || config != null && config.hasReferencedLibraries();
     }
 
-    public synchronized Map<ReferencedLibrary, LibrarySpecification> getReferencedLibraries() {
-        if (refLibsSpecs != null) {
-            return refLibsSpecs;
-        }
-        readProjectConfigurationIfNeeded();
-        if (configuration == null) {
+    /**
+     * Returns specifications of referenced libraries, waiting until they are loaded. When loading
+     * was not started by background thread yet, it is done by the caller.
+     */
+    public Map<ReferencedLibrary, LibrarySpecification> getReferencedLibraries() {
+        final ListenableFuture<Map<ReferencedLibrary, LibrarySpecification>> loading = loadReferencedLibraries();
+        final Map<ReferencedLibrary, LibrarySpecification> libs = getLoaded(loading);
+        if (libs == null) {
+            // there is no configuration yet, so loading will be repeated
+            while (true) {
+                final ProjectState current = state.get();
+                if (current.refLibsSpecs != loading
+                        || state.compareAndSet(current, current.withReferencedLibraries(null))) {
+                    break;
+                }
+            }
             return newLinkedHashMap();
         }
+        return libs;
+    }
 
-        refLibsSpecs = newLinkedHashMap();
-        for (final ReferencedLibrary library : configuration.getLibraries()) {
-            final LibrarySpecification spec = reflibToSpec(getProject()).apply(library);
-            librariesWatchHandler.registerLibrary(library, spec);
-            if(librariesWatchHandler.isLibSpecDirty(spec)) {
-                spec.setIsModified(true);
+    /**
+     * Starts loading specifications of referenced libraries in background, unless they are
+     * already loaded or being loaded. Python environment is not needed for loading.
+     *
+     * @return future of referenced libraries specifications
+     */
+    public ListenableFuture<Map<ReferencedLibrary, LibrarySpecification>> loadReferencedLibraries() {
+        final ListenableFuture<Map<ReferencedLibrary, LibrarySpecification>> loading = state.get().refLibsSpecs;
+        if (loading != null) {
+            return loading;
+        }
+        final ListenableFutureTask<Map<ReferencedLibrary, LibrarySpecification>> task = ListenableFutureTask
+                .create(new Callable<Map<ReferencedLibrary, LibrarySpecification>>() {
+
+                    @Override
+                    public Map<ReferencedLibrary, LibrarySpecification> call() {
+                        final RobotProjectConfig config = readProjectConfigurationIfNeeded();
+                        if (config == null) {
+                            return null;
+                        }
+                        final Map<ReferencedLibrary, LibrarySpecification> libs = newLinkedHashMap();
+                        for (final ReferencedLibrary library : config.getLibraries()) {
+                            final LibrarySpecification spec = reflibToSpec(getProject()).apply(library);
+                            librariesWatchHandler.registerLibrary(library, spec);
+                            if (librariesWatchHandler.isLibSpecDirty(spec)) {
+                                spec.setIsModified(true);
+                            }
+                            libs.put(library, spec);
+                        }
+                        removeUnusedLibspecFiles(libs);
+                        return libs;
+                    }
+                });
+        while (true) {
+            final ProjectState current = state.get();
+            if (current.refLibsSpecs != null) {
+                return current.refLibsSpecs;
+            } else if (state.compareAndSet(current, current.withReferencedLibraries(task))) {
+                LIBRARIES_LOADING_EXECUTOR.execute(task);
+                return task;
             }
-            refLibsSpecs.put(library, spec);
         }
-        removeUnusedLibspecFiles(refLibsSpecs);
-
-        return refLibsSpecs;
     }
 
     @VisibleForTesting
     public void setReferencedLibraries(final Map<ReferencedLibrary, LibrarySpecification> libs) {
-        refLibsSpecs = libs;
+        final ListenableFuture<Map<ReferencedLibrary, LibrarySpecification>> loaded = libs == null ? null
+                : Futures.immediateFuture(libs);
+        ProjectState current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, current.withReferencedLibraries(loaded)));
+        keywordNamesIndex.librariesChanged();
+        importedKeywordsCache.librariesChanged();
+    }
+
+    private static boolean isLoadedAndNotEmpty(final ListenableFuture<? extends Map<?, ?>> loading) {
+        if (loading == null || !loading.isDone()) {
+            return false;
+        }
+        final Map<?, ?> libs = getLoaded(loading);
+        return libs != null && !libs.isEmpty();
+    }
+
+    private static <T> T getLoaded(final ListenableFuture<T> loading) {
+        if (loading instanceof ListenableFutureTask<?>) {
+            // caller loads libraries itself if loading was not started yet by executor
+            ((ListenableFutureTask<T>) loading).run();
+        }
+        try {
+            return Futures.getUnchecked(loading);
+        } catch (final UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
     }
 
     public synchronized void unregisterWatchingOnReferencedLibraries(final List<ReferencedLibrary> libraries) {
@@ -184,6 +422,8 @@ public class RobotProject extends RobotContainer {
     
     public void clearDirtyLibSpecs(final Collection<LibrarySpecification> libSpecs) {
         librariesWatchHandler.removeDirtySpecs(libSpecs);
+        keywordNamesIndex.librariesChanged();
+        importedKeywordsCache.librariesChanged();
     }
 
     private static Function<String, LibrarySpecification> stdLibToSpec(final IProject project) {
@@ -239,20 +479,40 @@ public class RobotProject extends RobotContainer {
         };
     }
 
-    private synchronized RobotProjectConfig readProjectConfigurationIfNeeded() {
-        if (configuration == null) {
+    private RobotProjectConfig readProjectConfigurationIfNeeded() {
+        ProjectState current = state.get();
+        while (current.configuration == null) {
+            final RobotProjectConfig config;
             try {
-                configuration = new RobotProjectConfigReader().readConfiguration(getProject());
+                config = new RobotProjectConfigReader().readConfiguration(getProject());
             } catch (final CannotReadProjectConfigurationException e) {
                 // oh well...
+                return null;
+            }
+            if (publishConfiguration(current.generation, config)) {
+                // referenced libraries do not need python, so they are read ahead in background
+                loadReferencedLibraries();
+                return config;
             }
+            current = state.get();
         }
-        return configuration;
+        return current.configuration;
     }
-    
-    public synchronized RobotProjectConfig getRobotProjectConfig() {
-        readProjectConfigurationIfNeeded();
-        return configuration;
+
+    private boolean publishConfiguration(final int generation, final RobotProjectConfig config) {
+        while (true) {
+            final ProjectState current = state.get();
+            if (current.generation != generation || current.configuration != null) {
+                // configuration was cleared while reading or it was read by other thread
+                return false;
+            } else if (state.compareAndSet(current, current.withConfiguration(config))) {
+                return true;
+            }
+        }
+    }
+
+    public RobotProjectConfig getRobotProjectConfig() {
+        return readProjectConfigurationIfNeeded();
     }
 
     /**
@@ -288,32 +548,42 @@ public class RobotProject extends RobotContainer {
     }
 
     public void clearCachedData() {
-        if (projectHolder != null) {
-            projectHolder.clearModelFiles();
+        final RobotProjectHolder holder = state.get().projectHolder;
+        if (holder != null) {
+            holder.clearModelFiles();
         }
     }
 
     /**
      * Clearing should be done when user changed his/hers execution environment (python+robot)
      */
-    public synchronized void clearAll() {
-        projectHolder = null;
-        clearConfiguration();
+    public void clearAll() {
+        ProjectState current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, current.cleared().withProjectHolder(null)));
+        keywordNamesIndex.librariesChanged();
+        importedKeywordsCache.librariesChanged();
+        dryRunImportsCache.clear();
     }
 
-    public synchronized void clearConfiguration() {
-        configuration = null;
-        referencedVariableFiles = null;
-        stdLibsSpecs = null;
-        refLibsSpecs = null;
+    public void clearConfiguration() {
+        ProjectState current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, current.cleared()));
+        keywordNamesIndex.librariesChanged();
+        importedKeywordsCache.librariesChanged();
+        dryRunImportsCache.clear();
     }
 
-    public synchronized RobotRuntimeEnvironment getRuntimeEnvironment() {
-        readProjectConfigurationIfNeeded();
-        if (configuration == null || configuration.usesPreferences()) {
+    public RobotRuntimeEnvironment getRuntimeEnvironment() {
+        // environment may be created by starting python, so it is done without holding the lock
+        final RobotProjectConfig config = readProjectConfigurationIfNeeded();
+        if (config == null || config.usesPreferences()) {
             return RedPlugin.getDefault().getActiveRobotInstallation();
         }
-        return RedPlugin.getDefault().getRobotInstallation(configuration.providePythonLocation());
+        return RedPlugin.getDefault().getRobotInstallation(config.providePythonLocation());
     }
 
     public IFile getConfigurationFile() {
@@ -324,16 +594,24 @@ public class RobotProject extends RobotContainer {
         return getProject().getFile(filename);
     }
 
-    public synchronized List<File> getModuleSearchPaths() {
-        if (modulesSearchPath != null) {
-            return modulesSearchPath;
+    public List<File> getModuleSearchPaths() {
+        final List<File> paths = state.get().modulesSearchPath;
+        if (paths != null) {
+            return paths;
         }
-        modulesSearchPath = getRuntimeEnvironment().getModuleSearchPaths();
-        return modulesSearchPath;
+        final List<File> newPaths = getRuntimeEnvironment().getModuleSearchPaths();
+        while (true) {
+            final ProjectState current = state.get();
+            if (current.modulesSearchPath != null) {
+                return current.modulesSearchPath;
+            } else if (state.compareAndSet(current, current.withModulesSearchPath(newPaths))) {
+                return newPaths;
+            }
+        }
     }
     
-    public synchronized List<String> getPythonpath() {
-        readProjectConfigurationIfNeeded();
+    public List<String> getPythonpath() {
+        final RobotProjectConfig configuration = readProjectConfigurationIfNeeded();
         if (configuration != null) {
             final Set<String> pp = newLinkedHashSet();
             for (final ReferencedLibrary lib : configuration.getLibraries()) {
@@ -346,7 +624,7 @@ public class RobotProject extends RobotContainer {
             for (final SearchPath searchPath : configuration.getPythonPath()) {
                 try {
                     final String path = searchPath
-                            .toAbsolutePath(getProject(), getRobotProjectConfig().getRelativityPoint()).getPath();
+                            .toAbsolutePath(getProject(), configuration.getRelativityPoint()).getPath();
                     pp.add(path);
                 } catch (final PathResolvingException e) {
                     // we don't want to add syntax-problematic paths
@@ -357,8 +635,8 @@ public class RobotProject extends RobotContainer {
         return newArrayList();
     }
     
-    public synchronized List<String> getClasspath() {
-        readProjectConfigurationIfNeeded();
+    public List<String> getClasspath() {
+        final RobotProjectConfig configuration = readProjectConfigurationIfNeeded();
         if (configuration != null) {
             final Set<String> cp = newLinkedHashSet();
             cp.add(".");
@@ -372,7 +650,7 @@ public class RobotProject extends RobotContainer {
             for (final SearchPath searchPath : configuration.getClassPath()) {
                 try {
                     final String path = searchPath
-                            .toAbsolutePath(getProject(), getRobotProjectConfig().getRelativityPoint()).getPath();
+                            .toAbsolutePath(getProject(), configuration.getRelativityPoint()).getPath();
                     cp.add(path);
                 } catch (final PathResolvingException e) {
                     // we don't want to add syntax-problematic paths
@@ -383,12 +661,12 @@ public class RobotProject extends RobotContainer {
         return newArrayList(".");
     }
     
-    public synchronized boolean isStandardLibrary(final LibrarySpecification spec) {
+    public boolean isStandardLibrary(final LibrarySpecification spec) {
         final Map<String, LibrarySpecification> stdLibs = getStandardLibraries();
         return isLibraryFrom(spec, stdLibs == null ? null : stdLibs.values());
     }
     
-    public synchronized boolean isReferencedLibrary(final LibrarySpecification spec) {
+    public boolean isReferencedLibrary(final LibrarySpecification spec) {
         final Map<ReferencedLibrary, LibrarySpecification> refLibs = getReferencedLibraries();
         return isLibraryFrom(spec, refLibs == null ? null : refLibs.values());
     }
@@ -405,8 +683,8 @@ public class RobotProject extends RobotContainer {
         return false;
     }
     
-    public synchronized String getPythonLibraryPath(final String libName) {
-        readProjectConfigurationIfNeeded();
+    public String getPythonLibraryPath(final String libName) {
+        final RobotProjectConfig configuration = readProjectConfigurationIfNeeded();
         if (configuration != null) {
             for (final ReferencedLibrary lib : configuration.getLibraries()) {
                 if (lib.provideType() == LibraryType.PYTHON && lib.getName().equals(libName)) {
@@ -419,7 +697,7 @@ public class RobotProject extends RobotContainer {
     }
     
     public List<String> getVariableFilePaths() {
-        readProjectConfigurationIfNeeded();
+        final RobotProjectConfig configuration = readProjectConfigurationIfNeeded();
         if (configuration != null) {
             final List<String> list = newArrayList();
             for (final ReferencedVariableFile variableFile : configuration.getReferencedVariableFiles()) {
@@ -436,17 +714,23 @@ public class RobotProject extends RobotContainer {
     
     @VisibleForTesting
     public void setReferencedVariablesFiles(final List<ReferencedVariableFile> varFiles) {
-        this.referencedVariableFiles = varFiles;
+        ProjectState current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, current.withReferencedVariableFiles(varFiles)));
     }
 
-    public synchronized List<ReferencedVariableFile> getVariablesFromReferencedFiles() {
-        if(referencedVariableFiles != null) {
-            return referencedVariableFiles;
+    public List<ReferencedVariableFile> getVariablesFromReferencedFiles() {
+        final ProjectState initial = state.get();
+        if (initial.referencedVariableFiles != null) {
+            return initial.referencedVariableFiles;
         }
-        readProjectConfigurationIfNeeded();
+        final RobotProjectConfig configuration = readProjectConfigurationIfNeeded();
         if (configuration != null) {
-            referencedVariableFiles = newArrayList();
-            for (final ReferencedVariableFile variableFile : configuration.getReferencedVariableFiles()) {
+            final List<ReferencedVariableFile> variableFiles = configuration.getReferencedVariableFiles();
+            final List<String> paths = newArrayList();
+            final List<List<String>> arguments = newArrayList();
+            for (final ReferencedVariableFile variableFile : variableFiles) {
                 IPath path = new Path(variableFile.getPath());
                 if (!path.isAbsolute()) {
                     final IResource targetFile = getProject().getWorkspace().getRoot().findMember(path);
@@ -454,31 +738,51 @@ public class RobotProject extends RobotContainer {
                         path = targetFile.getLocation();
                     }
                 }
+                paths.add(path.toPortableString());
+                arguments.add(variableFile.getArguments());
+            }
 
-                final Map<String, Object> varsMap = getRuntimeEnvironment()
-                        .getVariablesFromFile(path.toPortableString(), variableFile.getArguments());
-                if (varsMap != null && !varsMap.isEmpty()) {
-                    variableFile.setVariables(varsMap);
-                    referencedVariableFiles.add(variableFile);
+            final List<ReferencedVariableFile> referencedVariableFiles = newArrayList();
+            if (!paths.isEmpty()) {
+                // all files are read by python at once
+                final List<Map<String, Object>> variables = getRuntimeEnvironment().getVariablesFromFiles(paths,
+                        arguments);
+                for (int i = 0; i < variables.size(); i++) {
+                    final Map<String, Object> varsMap = variables.get(i);
+                    if (varsMap != null && !varsMap.isEmpty()) {
+                        variableFiles.get(i).setVariables(varsMap);
+                        referencedVariableFiles.add(variableFiles.get(i));
+                    }
+                }
+            }
+            while (true) {
+                final ProjectState current = state.get();
+                if (current.generation != initial.generation) {
+                    // configuration was cleared while variables were read
+                    return referencedVariableFiles;
+                } else if (current.referencedVariableFiles != null) {
+                    return current.referencedVariableFiles;
+                } else if (state.compareAndSet(current, current.withReferencedVariableFiles(referencedVariableFiles))) {
+                    return referencedVariableFiles;
                 }
             }
-            return referencedVariableFiles;
         }
         return newArrayList();
     }
 
     public String resolve(final String expression) {
-        readProjectConfigurationIfNeeded();
-        return RobotExpressions.resolve(extractVariableMappingsFromProjectConfiguration(), expression);
+        return RobotExpressions.resolve(
+                extractVariableMappingsFromProjectConfiguration(readProjectConfigurationIfNeeded()), expression);
     }
     
-    private void provideVariableMappingsForProjectHolder() {
-        if (projectHolder != null && projectHolder.getVariableMappings().isEmpty()) {
-            projectHolder.setVariableMappings(extractVariableMappingsFromProjectConfiguration());
+    private void provideVariableMappingsForProjectHolder(final RobotProjectHolder holder) {
+        if (holder.getVariableMappings().isEmpty()) {
+            holder.setVariableMappings(extractVariableMappingsFromProjectConfiguration(state.get().configuration));
         }
     }
 
-    private synchronized Map<String, String> extractVariableMappingsFromProjectConfiguration() {
+    private Map<String, String> extractVariableMappingsFromProjectConfiguration(
+            final RobotProjectConfig configuration) {
         final Map<String, String> knownVariables = newHashMap();
         knownVariables.put("${/}", File.separator);
         knownVariables.put("${curdir}", ".");
@@ -515,5 +819,78 @@ public class RobotProject extends RobotContainer {
             getRuntimeEnvironment().resetCommandExecutors();    //needed when user will add a library again after removal
         }
     }
-    
+
+    /**
+     * Immutable snapshot of project configuration and of data derived from it. Readers never lock
+     * the project; changes replace whole snapshot with compare-and-set, so readers see either old
+     * or new state. Generation is increased when configuration is cleared, so data computed from
+     * configuration read before clearing is not published into new state.
+     */
+    private static final class ProjectState {
+
+        private static final ProjectState EMPTY = new ProjectState(0, null, null, null, null, null, null);
+
+        private final int generation;
+
+        private final RobotProjectConfig configuration;
+
+        private final ListenableFuture<Map<String, LibrarySpecification>> stdLibsSpecs;
+
+        private final ListenableFuture<Map<ReferencedLibrary, LibrarySpecification>> refLibsSpecs;
+
+        private final List<ReferencedVariableFile> referencedVariableFiles;
+
+        private final RobotProjectHolder projectHolder;
+
+        private final List<File> modulesSearchPath;
+
+        private ProjectState(final int generation, final RobotProjectConfig configuration,
+                final ListenableFuture<Map<String, LibrarySpecification>> stdLibsSpecs,
+                final ListenableFuture<Map<ReferencedLibrary, LibrarySpecification>> refLibsSpecs,
+                final List<ReferencedVariableFile> referencedVariableFiles, final RobotProjectHolder projectHolder,
+                final List<File> modulesSearchPath) {
+            this.generation = generation;
+            this.configuration = configuration;
+            this.stdLibsSpecs = stdLibsSpecs;
+            this.refLibsSpecs = refLibsSpecs;
+            this.referencedVariableFiles = referencedVariableFiles;
+            this.projectHolder = projectHolder;
+            this.modulesSearchPath = modulesSearchPath;
+        }
+
+        ProjectState cleared() {
+            return new ProjectState(generation + 1, null, null, null, null, projectHolder, modulesSearchPath);
+        }
+
+        ProjectState withConfiguration(final RobotProjectConfig configuration) {
+            return new ProjectState(generation, configuration, stdLibsSpecs, refLibsSpecs, referencedVariableFiles,
+                    projectHolder, modulesSearchPath);
+        }
+
+        ProjectState withStandardLibraries(final ListenableFuture<Map<String, LibrarySpecification>> stdLibsSpecs) {
+            return new ProjectState(generation, configuration, stdLibsSpecs, refLibsSpecs, referencedVariableFiles,
+                    projectHolder, modulesSearchPath);
+        }
+
+        ProjectState withReferencedLibraries(
+                final ListenableFuture<Map<ReferencedLibrary, LibrarySpecification>> refLibsSpecs) {
+            return new ProjectState(generation, configuration, stdLibsSpecs, refLibsSpecs, referencedVariableFiles,
+                    projectHolder, modulesSearchPath);
+        }
+
+        ProjectState withReferencedVariableFiles(final List<ReferencedVariableFile> referencedVariableFiles) {
+            return new ProjectState(generation, configuration, stdLibsSpecs, refLibsSpecs, referencedVariableFiles,
+                    projectHolder, modulesSearchPath);
+        }
+
+        ProjectState withProjectHolder(final RobotProjectHolder projectHolder) {
+            return new ProjectState(generation, configuration, stdLibsSpecs, refLibsSpecs, referencedVariableFiles,
+                    projectHolder, modulesSearchPath);
+        }
+
+        ProjectState withModulesSearchPath(final List<File> modulesSearchPath) {
+            return new ProjectState(generation, configuration, stdLibsSpecs, refLibsSpecs, referencedVariableFiles,
+                    projectHolder, modulesSearchPath);
+        }
+    }
 }
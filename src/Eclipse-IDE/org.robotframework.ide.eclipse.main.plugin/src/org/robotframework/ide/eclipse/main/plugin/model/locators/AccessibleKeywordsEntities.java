@@ -7,6 +7,7 @@ package org.robotframework.ide.eclipse.main.plugin.model.locators;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +33,8 @@ public class AccessibleKeywordsEntities {
 
     private Map<String, Collection<KeywordEntity>> accessibleKeywords;
 
+    private final Map<String, Map<String, Collection<KeywordEntity>>> accessibleKeywordsByName = new HashMap<>();
+
     public AccessibleKeywordsEntities(final IPath filepath, final AccessibleKeywordsCollector collector) {
         this.filepath = filepath;
         this.collector = collector;
@@ -44,6 +47,18 @@ public class AccessibleKeywordsEntities {
         return accessibleKeywords;
     }
 
+    private Map<String, Collection<KeywordEntity>> getAccessibleKeywords(final String keywordName) {
+        if (accessibleKeywords != null || !(collector instanceof NamedKeywordsCollector)) {
+            return getAccessibleKeywords();
+        }
+        Map<String, Collection<KeywordEntity>> keywords = accessibleKeywordsByName.get(keywordName);
+        if (keywords == null) {
+            keywords = ((NamedKeywordsCollector) collector).collect(keywordName);
+            accessibleKeywordsByName.put(keywordName, keywords);
+        }
+        return keywords;
+    }
+
     protected IPath getFilepath() {
         return this.filepath;
     }
@@ -157,20 +172,21 @@ public class AccessibleKeywordsEntities {
 
     private Collection<? extends KeywordEntity> getPossibleEntities(final String name) {
         final QualifiedKeywordName qualifiedName = QualifiedKeywordName.fromOccurrence(name);
-        Collection<? extends KeywordEntity> keywords = getAccessibleKeywords()
-                .get(qualifiedName.getKeywordName());
+        final Map<String, Collection<KeywordEntity>> candidates = getAccessibleKeywords(name);
+        Collection<? extends KeywordEntity> keywords = candidates.get(qualifiedName.getKeywordName());
         
         if (keywords == null && name.contains(".")) { 
             // try to find keyword name with dots, ignore keyword source
-            keywords = getAccessibleKeywords().get(QualifiedKeywordName.fromOccurrenceWithDots(name).getKeywordName());
+            keywords = candidates.get(QualifiedKeywordName.fromOccurrenceWithDots(name).getKeywordName());
         }
         
-        return keywords != null ? keywords : tryWithEmbeddedArguments(qualifiedName);
+        return keywords != null ? keywords : tryWithEmbeddedArguments(candidates, qualifiedName);
     }
 
-    private Collection<? extends KeywordEntity> tryWithEmbeddedArguments(final QualifiedKeywordName qualifiedName) {
+    private Collection<? extends KeywordEntity> tryWithEmbeddedArguments(
+            final Map<String, Collection<KeywordEntity>> candidates, final QualifiedKeywordName qualifiedName) {
         final List<KeywordEntity> matchingKeywordsWithEmbeddedArguments = new ArrayList<>();
-        for (final Entry<String, Collection<KeywordEntity>> entry : getAccessibleKeywords().entrySet()) {
+        for (final Entry<String, Collection<KeywordEntity>> entry : candidates.entrySet()) {
             if (EmbeddedKeywordNamesSupport.matches(entry.getKey(), qualifiedName)) {
                 matchingKeywordsWithEmbeddedArguments.addAll(entry.getValue());
             }
@@ -182,4 +198,13 @@ public class AccessibleKeywordsEntities {
 
         Map<String, Collection<KeywordEntity>> collect();
     }
+
+    /**
+     * Collector which is able to collect only keywords which may be called with given name, which
+     * is much cheaper than collecting all accessible keywords when only few names are looked up.
+     */
+    public interface NamedKeywordsCollector extends AccessibleKeywordsCollector {
+
+        Map<String, Collection<KeywordEntity>> collect(String keywordName);
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.locators;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.runtime.IPath;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Keywords exposed by closures of resource imports, shared by all files of single project which
+ * import the same resources in the same order. Each closure holds immutable snapshots of
+ * accessible keywords: all of them and those which may be called with given name. Keywords
+ * defined in file itself and keywords of libraries imported directly by the file are exposed by
+ * that file only, so they are not part of the closure.
+ * <p>
+ * Closure is removed when any resource imported directly or indirectly is changed in workspace
+ * (also when not existing resource is created) and all closures are removed when libraries are
+ * changed. Similarly as in {@link KeywordNamesIndex} keywords changed in model of resource without
+ * reparsing it are visible after the resource is saved.
+ */
+public class ImportedKeywordsCache {
+
+    private final ConcurrentMap<List<IPath>, ImportedKeywords> closures = new ConcurrentHashMap<>();
+
+    /**
+     * Returns keywords exposed by closure of given resource imports.
+     *
+     * @param resources
+     *            Workspace relative paths of resources imported by the file, in import order
+     */
+    public ImportedKeywords getImportedKeywords(final List<IPath> resources) {
+        ImportedKeywords keywords = closures.get(resources);
+        if (keywords == null) {
+            keywords = new ImportedKeywords();
+            final ImportedKeywords existing = closures.putIfAbsent(ImmutableList.copyOf(resources), keywords);
+            keywords = existing == null ? keywords : existing;
+        }
+        return keywords;
+    }
+
+    public void fileChanged(final IPath path) {
+        final Iterator<ImportedKeywords> iterator = closures.values().iterator();
+        while (iterator.hasNext()) {
+            final Set<IPath> importedPaths = iterator.next().importedPaths;
+            // closure not collected yet could be collected from old content
+            if (importedPaths == null || importedPaths.contains(path)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public void librariesChanged() {
+        closures.clear();
+    }
+
+    public static final class ImportedKeywords {
+
+        private volatile Set<IPath> importedPaths;
+
+        private volatile Map<String, Collection<KeywordEntity>> allKeywords;
+
+        private final ConcurrentMap<String, Map<String, Collection<KeywordEntity>>> keywordsByName = new ConcurrentHashMap<>();
+
+        private ImportedKeywords() {
+            // created by cache only
+        }
+
+        /**
+         * Returns paths of resources imported directly or indirectly, so the file which is itself
+         * in this set cannot use the closure, as it would be visited when locating keywords.
+         *
+         * @return imported paths or empty optional when no keywords were collected yet
+         */
+        public Optional<Set<IPath>> getImportedPaths() {
+            return Optional.fromNullable(importedPaths);
+        }
+
+        /**
+         * Returns keywords exposed by closure, grouped by unified names. Keywords are collected
+         * when called for the first time.
+         *
+         * @param keywordName
+         *            Name of keyword occurrence, when absent all keywords are returned
+         */
+        public Map<String, Collection<KeywordEntity>> getKeywords(final Optional<String> keywordName,
+                final ImportedKeywordsCollector collector) {
+            Map<String, Collection<KeywordEntity>> keywords = keywordName.isPresent()
+                    ? keywordsByName.get(keywordName.get()) : allKeywords;
+            if (keywords == null) {
+                final Map<String, Collection<KeywordEntity>> collected = new HashMap<>();
+                final Set<IPath> paths = collector.collect(keywordName, collected);
+                keywords = snapshotOf(collected);
+                if (importedPaths == null) {
+                    importedPaths = ImmutableSet.copyOf(paths);
+                }
+                if (keywordName.isPresent()) {
+                    keywordsByName.putIfAbsent(keywordName.get(), keywords);
+                } else {
+                    allKeywords = keywords;
+                }
+            }
+            return keywords;
+        }
+
+        private static Map<String, Collection<KeywordEntity>> snapshotOf(
+                final Map<String, Collection<KeywordEntity>> keywords) {
+            final Map<String, Collection<KeywordEntity>> snapshot = new HashMap<>(keywords.size());
+            for (final Entry<String, Collection<KeywordEntity>> entry : keywords.entrySet()) {
+                snapshot.put(entry.getKey(), ImmutableList.copyOf(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(snapshot);
+        }
+    }
+
+    public interface ImportedKeywordsCollector {
+
+        /**
+         * Collects keywords exposed by closure of resource imports into given map.
+         *
+         * @return paths of all resources imported directly or indirectly
+         */
+        Set<IPath> collect(Optional<String> keywordName, Map<String, Collection<KeywordEntity>> keywords);
+    }
+}
@@ -8,7 +8,10 @@ package org.robotframework.ide.eclipse.main.plugin.model.locators;
 import static com.google.common.collect.Iterables.filter;
 import static com.google.common.collect.Sets.newHashSet;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,13 +40,20 @@ public class KeywordDefinitionLocator {
 
     private final RobotModel model;
 
+    private final ResourceImportsCache importsCache;
+
     public KeywordDefinitionLocator(final IFile file) {
         this(file, RedPlugin.getModelManager().getModel());
     }
 
     public KeywordDefinitionLocator(final IFile file, final RobotModel model) {
+        this(file, model, new ResourceImportsCache());
+    }
+
+    public KeywordDefinitionLocator(final IFile file, final RobotModel model, final ResourceImportsCache importsCache) {
         this.file = file;
         this.model = model;
+        this.importsCache = importsCache;
     }
 
     public void locateKeywordDefinitionInLibraries(final RobotProject project, final KeywordDetector detector) {
@@ -68,24 +78,109 @@ public class KeywordDefinitionLocator {
 
     public void locateKeywordDefinition(final KeywordDetector detector) {
         final RobotSuiteFile startingFile = model.createSuiteFile(file);
-        ContinueDecision shouldContinue = locateInCurrentFile(startingFile, detector);
+        locateKeywordDefinition(startingFile, new AllKeywords(), detector);
+    }
+
+    /**
+     * Locates definitions of keywords which may be called with given name. Detector is notified
+     * in the same order as by {@link #locateKeywordDefinition(KeywordDetector)}, but only about
+     * keywords with matching names, which are found using {@link KeywordNamesIndex} of the
+     * project.
+     *
+     * @param keywordName
+     *            Name of keyword occurrence, possibly prefixed with source name
+     * @param detector
+     *            Detector notified about matching keywords
+     */
+    public void locateKeywordDefinition(final String keywordName, final KeywordDetector detector) {
+        final RobotSuiteFile startingFile = model.createSuiteFile(file);
+        final KeywordNamesIndex index = startingFile.getProject().getKeywordNamesIndex();
+        locateKeywordDefinition(startingFile, new IndexedKeywords(index, keywordName), detector);
+    }
+
+    /**
+     * @return workspace relative paths of resources imported by given file, in import order
+     */
+    public List<IPath> getImportedResourcesPaths() {
+        return PathsResolver.getWorkspaceRelativeResourceFilesPaths(model.createSuiteFile(file));
+    }
+
+    /**
+     * Locates definitions of keywords defined in given file only.
+     *
+     * @param keywordName
+     *            Name of keyword occurrence, when absent all keywords are located
+     * @param detector
+     *            Detector notified about keywords
+     */
+    public void locateKeywordDefinitionInFile(final Optional<String> keywordName, final KeywordDetector detector) {
+        final RobotSuiteFile startingFile = model.createSuiteFile(file);
+        locateInCurrentFile(startingFile, createKeywordsProvider(startingFile, keywordName), detector);
+    }
+
+    /**
+     * Locates definitions of keywords exposed by given resources, by resources imported by them
+     * and by libraries imported in those resources, in the same order as
+     * {@link #locateKeywordDefinition(KeywordDetector)} does. Given file itself is not skipped if
+     * it is imported by resources.
+     *
+     * @param resources
+     *            Workspace relative paths of imported resources
+     * @param keywordName
+     *            Name of keyword occurrence, when absent all keywords are located
+     * @param detector
+     *            Detector notified about keywords
+     * @return paths of all resources imported directly or indirectly, including not existing ones
+     */
+    public Set<IPath> locateKeywordDefinitionInResources(final List<IPath> resources,
+            final Optional<String> keywordName, final KeywordDetector detector) {
+        final RobotSuiteFile startingFile = model.createSuiteFile(file);
+        final Set<IPath> importedPaths = new LinkedHashSet<>();
+        locateInResourceFiles(resources, new LinkedHashSet<IFile>(), importedPaths, startingFile,
+                createKeywordsProvider(startingFile, keywordName), detector);
+        return importedPaths;
+    }
+
+    /**
+     * Locates definitions of keywords of libraries imported by given file only.
+     *
+     * @param keywordName
+     *            Name of keyword occurrence, when absent all keywords are located
+     * @param detector
+     *            Detector notified about keywords
+     */
+    public void locateKeywordDefinitionInImportedLibraries(final Optional<String> keywordName,
+            final KeywordDetector detector) {
+        final RobotSuiteFile startingFile = model.createSuiteFile(file);
+        locateInLibraries(startingFile, startingFile.getImportedLibraries(),
+                createKeywordsProvider(startingFile, keywordName), detector);
+    }
+
+    private KeywordsProvider createKeywordsProvider(final RobotSuiteFile startingFile,
+            final Optional<String> keywordName) {
+        return keywordName.isPresent()
+                ? new IndexedKeywords(startingFile.getProject().getKeywordNamesIndex(), keywordName.get())
+                : new AllKeywords();
+    }
+
+    private void locateKeywordDefinition(final RobotSuiteFile startingFile, final KeywordsProvider keywordsProvider,
+            final KeywordDetector detector) {
+        ContinueDecision shouldContinue = locateInCurrentFile(startingFile, keywordsProvider, detector);
         if (shouldContinue == ContinueDecision.STOP) {
             return;
         }
         final List<IPath> resources = PathsResolver.getWorkspaceRelativeResourceFilesPaths(startingFile);
-        shouldContinue = locateInResourceFiles(resources, newHashSet(startingFile.getFile()), startingFile, detector);
+        shouldContinue = locateInResourceFiles(resources, newHashSet(startingFile.getFile()), new HashSet<IPath>(),
+                startingFile, keywordsProvider, detector);
         if (shouldContinue == ContinueDecision.STOP) {
             return;
         }
-        locateInLibraries(startingFile, detector);
+        locateInLibraries(startingFile, startingFile.getImportedLibraries(), keywordsProvider, detector);
     }
 
-    private ContinueDecision locateInCurrentFile(final RobotSuiteFile file, final KeywordDetector detector) {
-        final Optional<RobotKeywordsSection> section = file.findSection(RobotKeywordsSection.class);
-        if (!section.isPresent()) {
-            return ContinueDecision.CONTINUE;
-        }
-        for (final RobotKeywordDefinition keyword : section.get().getChildren()) {
+    private ContinueDecision locateInCurrentFile(final RobotSuiteFile file, final KeywordsProvider keywordsProvider,
+            final KeywordDetector detector) {
+        for (final RobotKeywordDefinition keyword : keywordsProvider.getKeywords(file)) {
             final ContinueDecision shouldContinue = detector.keywordDetected(file, keyword);
             if (shouldContinue == ContinueDecision.STOP) {
                 return ContinueDecision.STOP;
@@ -95,8 +190,10 @@ public class KeywordDefinitionLocator {
     }
 
     private ContinueDecision locateInResourceFiles(final List<IPath> resources, final Set<IFile> alreadyVisited,
-            final RobotSuiteFile startingFile, final KeywordDetector detector) {
+            final Set<IPath> importedPaths, final RobotSuiteFile startingFile, final KeywordsProvider keywordsProvider,
+            final KeywordDetector detector) {
         for (final IPath path : resources) {
+            importedPaths.add(path);
             final IResource resourceFile = file.getWorkspace().getRoot().findMember(path);
             if (resourceFile == null || !resourceFile.exists() || resourceFile.getType() != IResource.FILE
                     || alreadyVisited.contains(resourceFile)) {
@@ -105,17 +202,18 @@ public class KeywordDefinitionLocator {
             alreadyVisited.add((IFile) resourceFile);
 
             final RobotSuiteFile resourceSuiteFile = model.createSuiteFile((IFile) resourceFile);
-            final List<IPath> nestedResources = PathsResolver.getWorkspaceRelativeResourceFilesPaths(resourceSuiteFile);
-            ContinueDecision shouldContinue = locateInResourceFiles(nestedResources, alreadyVisited, startingFile,
-                    detector);
+            final List<IPath> nestedResources = importsCache.getWorkspaceRelativeResourceFilesPaths(resourceSuiteFile);
+            ContinueDecision shouldContinue = locateInResourceFiles(nestedResources, alreadyVisited, importedPaths,
+                    startingFile, keywordsProvider, detector);
             if (shouldContinue == ContinueDecision.STOP) {
                 return ContinueDecision.STOP;
             }
-            shouldContinue = locateInLibraries(resourceSuiteFile, detector);
+            shouldContinue = locateInLibraries(resourceSuiteFile, importsCache.getImportedLibraries(resourceSuiteFile),
+                    keywordsProvider, detector);
             if (shouldContinue == ContinueDecision.STOP) {
                 return ContinueDecision.STOP;
             }
-            shouldContinue = locateInCurrentFile(resourceSuiteFile, detector);
+            shouldContinue = locateInCurrentFile(resourceSuiteFile, keywordsProvider, detector);
             if (shouldContinue == ContinueDecision.STOP) {
                 return ContinueDecision.STOP;
             }
@@ -124,10 +222,10 @@ public class KeywordDefinitionLocator {
     }
 
     private ContinueDecision locateInLibraries(final RobotSuiteFile file,
+            final Map<LibrarySpecification, String> librariesMap, final KeywordsProvider keywordsProvider,
             final KeywordDetector detector) {
-        final Map<LibrarySpecification, String> librariesMap = file.getImportedLibraries();
         for (final LibrarySpecification libSpec : librariesMap.keySet()) {
-            final List<KeywordSpecification> keywords = libSpec.getKeywords();
+            final List<KeywordSpecification> keywords = keywordsProvider.getKeywords(libSpec);
             for (final KeywordSpecification kwSpec : keywords) {
                 final ContinueDecision shouldContinue = detector.libraryKeywordDetected(libSpec, kwSpec,
                         librariesMap.get(libSpec), file);
@@ -139,6 +237,55 @@ public class KeywordDefinitionLocator {
         return ContinueDecision.CONTINUE;
     }
 
+    private interface KeywordsProvider {
+
+        List<RobotKeywordDefinition> getKeywords(RobotSuiteFile file);
+
+        List<KeywordSpecification> getKeywords(LibrarySpecification libSpec);
+    }
+
+    private static class AllKeywords implements KeywordsProvider {
+
+        @Override
+        public List<RobotKeywordDefinition> getKeywords(final RobotSuiteFile file) {
+            final Optional<RobotKeywordsSection> section = file.findSection(RobotKeywordsSection.class);
+            return section.isPresent() ? section.get().getChildren() : new ArrayList<RobotKeywordDefinition>();
+        }
+
+        @Override
+        public List<KeywordSpecification> getKeywords(final LibrarySpecification libSpec) {
+            return libSpec.getKeywords();
+        }
+    }
+
+    private class IndexedKeywords implements KeywordsProvider {
+
+        private final KeywordNamesIndex index;
+
+        private final String keywordName;
+
+        private IndexedKeywords(final KeywordNamesIndex index, final String keywordName) {
+            this.index = index;
+            this.keywordName = keywordName;
+        }
+
+        @Override
+        public List<RobotKeywordDefinition> getKeywords(final RobotSuiteFile suiteFile) {
+            if (suiteFile.getFile().equals(file)) {
+                // keywords of current file may be changed in editor without reparsing
+                final Optional<RobotKeywordsSection> section = suiteFile.findSection(RobotKeywordsSection.class);
+                return section.isPresent() ? KeywordNamesIndex.keywordNamesOf(section.get()).find(keywordName)
+                        : new ArrayList<RobotKeywordDefinition>();
+            }
+            return index.findKeywords(suiteFile, keywordName);
+        }
+
+        @Override
+        public List<KeywordSpecification> getKeywords(final LibrarySpecification libSpec) {
+            return index.findKeywords(libSpec, keywordName);
+        }
+    }
+
     public interface KeywordDetector {
 
         /**
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.locators;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.resources.IFile;
+import org.rf.ide.core.testdata.model.table.keywords.names.EmbeddedKeywordNamesSupport;
+import org.rf.ide.core.testdata.model.table.keywords.names.QualifiedKeywordName;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordDefinition;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordsSection;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+import org.robotframework.ide.eclipse.main.plugin.project.library.KeywordSpecification;
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.MapMaker;
+
+/**
+ * Index of keywords defined in libraries and suite files of single project. Keywords of each
+ * library and file are grouped by unified names, so finding definitions which may match given
+ * keyword call requires hash lookups and matching of embedded names only, instead of iterating
+ * over all keywords.
+ * <p>
+ * Libraries are indexed by specification identity, so specifications read again are indexed anew.
+ * Files are indexed until they are changed in workspace or reparsed; keywords changed in model of
+ * file without reparsing it are indexed after the file is saved.
+ */
+public class KeywordNamesIndex {
+
+    private final ConcurrentMap<LibrarySpecification, KeywordNames<KeywordSpecification>> librariesKeywords = new MapMaker()
+            .weakKeys()
+            .makeMap();
+
+    private final ConcurrentMap<IFile, FileKeywordNames> filesKeywords = new ConcurrentHashMap<>();
+
+    public List<KeywordSpecification> findKeywords(final LibrarySpecification libSpec, final String keywordName) {
+        KeywordNames<KeywordSpecification> keywords = librariesKeywords.get(libSpec);
+        if (keywords == null) {
+            keywords = new KeywordNames<>();
+            for (final KeywordSpecification kwSpec : libSpec.getKeywords()) {
+                keywords.add(kwSpec.getName(), kwSpec);
+            }
+            librariesKeywords.put(libSpec, keywords);
+        }
+        return keywords.find(keywordName);
+    }
+
+    public List<RobotKeywordDefinition> findKeywords(final RobotSuiteFile file, final String keywordName) {
+        final Optional<RobotKeywordsSection> section = file.findSection(RobotKeywordsSection.class);
+        if (!section.isPresent()) {
+            return new ArrayList<>();
+        }
+        FileKeywordNames keywords = filesKeywords.get(file.getFile());
+        if (keywords == null || keywords.section != section.get()) {
+            keywords = new FileKeywordNames(section.get());
+            filesKeywords.put(file.getFile(), keywords);
+        }
+        return keywords.find(keywordName);
+    }
+
+    public void fileChanged(final IFile file) {
+        filesKeywords.remove(file);
+    }
+
+    public void librariesChanged() {
+        librariesKeywords.clear();
+    }
+
+    static KeywordNames<RobotKeywordDefinition> keywordNamesOf(final RobotKeywordsSection section) {
+        final KeywordNames<RobotKeywordDefinition> keywords = new KeywordNames<>();
+        for (final RobotKeywordDefinition keyword : section.getChildren()) {
+            keywords.add(keyword.getName(), keyword);
+        }
+        return keywords;
+    }
+
+    static class KeywordNames<T> {
+
+        private final ListMultimap<String, T> keywords = ArrayListMultimap.create();
+
+        private final Set<String> embeddedNames = new LinkedHashSet<>();
+
+        void add(final String name, final T keyword) {
+            final String unifiedName = QualifiedKeywordName.unifyDefinition(name);
+            keywords.put(unifiedName, keyword);
+            if (unifiedName.indexOf('$') != -1) {
+                embeddedNames.add(unifiedName);
+            }
+        }
+
+        /**
+         * Finds all keywords which may be called with given name: keywords with the same unified
+         * name (with or without source prefix) and keywords with matching embedded arguments.
+         */
+        List<T> find(final String keywordName) {
+            final QualifiedKeywordName qualifiedName = QualifiedKeywordName.fromOccurrence(keywordName);
+
+            final Set<String> names = new LinkedHashSet<>();
+            names.add(qualifiedName.getKeywordName());
+            if (keywordName.contains(".")) {
+                names.add(QualifiedKeywordName.fromOccurrenceWithDots(keywordName).getKeywordName());
+            }
+            for (final String embeddedName : embeddedNames) {
+                if (EmbeddedKeywordNamesSupport.matches(embeddedName, qualifiedName)) {
+                    names.add(embeddedName);
+                }
+            }
+
+            final List<T> found = new ArrayList<>();
+            for (final String name : names) {
+                found.addAll(keywords.get(name));
+            }
+            return found;
+        }
+    }
+
+    private static class FileKeywordNames {
+
+        private final RobotKeywordsSection section;
+
+        private final KeywordNames<RobotKeywordDefinition> keywords;
+
+        FileKeywordNames(final RobotKeywordsSection section) {
+            this.section = section;
+            this.keywords = keywordNamesOf(section);
+        }
+
+        List<RobotKeywordDefinition> find(final String keywordName) {
+            return keywords.find(keywordName);
+        }
+    }
+}
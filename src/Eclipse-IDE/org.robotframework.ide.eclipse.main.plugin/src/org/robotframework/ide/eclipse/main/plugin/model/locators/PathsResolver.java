@@ -33,7 +33,7 @@ public class PathsResolver {
     private static final Pattern notEscapedWindowsPathSeparatorPattern = Pattern
             .compile("^.*[^\\\\][\\\\]{1}[^\\\\].*$");
 
-    static List<IPath> getWorkspaceRelativeResourceFilesPaths(final RobotSuiteFile file) {
+    public static List<IPath> getWorkspaceRelativeResourceFilesPaths(final RobotSuiteFile file) {
         return getWorkspaceRelativePaths(file.getResourcesPaths(), file);
     }
 
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.locators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+
+/**
+ * Imports of resource files resolved by locators. Resolving imports requires resolving paths and
+ * finding library specifications, so when the same resources are visited from many files (e.g.
+ * during validation of whole project) single cache instance should be shared by locators, in order
+ * to resolve imports of each resource only once.
+ * <p>
+ * Cache is not invalidated, so it should live only as long as the files are not changed.
+ */
+public class ResourceImportsCache {
+
+    private final ConcurrentMap<IFile, List<IPath>> resourcesPaths = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<IFile, Map<LibrarySpecification, String>> importedLibraries = new ConcurrentHashMap<>();
+
+    public List<IFile> getImportedResourceFiles(final RobotSuiteFile file) {
+        final List<IFile> resources = new ArrayList<>();
+        for (final IPath path : getWorkspaceRelativeResourceFilesPaths(file)) {
+            final IResource resource = file.getFile().getWorkspace().getRoot().findMember(path);
+            if (resource != null && resource.exists() && resource.getType() == IResource.FILE) {
+                resources.add((IFile) resource);
+            }
+        }
+        return resources;
+    }
+
+    List<IPath> getWorkspaceRelativeResourceFilesPaths(final RobotSuiteFile resourceFile) {
+        List<IPath> paths = resourcesPaths.get(resourceFile.getFile());
+        if (paths == null) {
+            paths = PathsResolver.getWorkspaceRelativeResourceFilesPaths(resourceFile);
+            resourcesPaths.putIfAbsent(resourceFile.getFile(), paths);
+        }
+        return paths;
+    }
+
+    Map<LibrarySpecification, String> getImportedLibraries(final RobotSuiteFile resourceFile) {
+        Map<LibrarySpecification, String> libraries = importedLibraries.get(resourceFile.getFile());
+        if (libraries == null) {
+            libraries = resourceFile.getImportedLibraries();
+            importedLibraries.putIfAbsent(resourceFile.getFile(), libraries);
+        }
+        return libraries;
+    }
+}
@@ -49,13 +49,21 @@ public class VariableDefinitionLocator {
 
     private final RobotModel model;
 
+    private final ResourceImportsCache importsCache;
+
     public VariableDefinitionLocator(final IFile file) {
         this(file, RedPlugin.getModelManager().getModel());
     }
 
     public VariableDefinitionLocator(final IFile file, final RobotModel model) {
+        this(file, model, new ResourceImportsCache());
+    }
+
+    public VariableDefinitionLocator(final IFile file, final RobotModel model,
+            final ResourceImportsCache importsCache) {
         this.file = file;
         this.model = model;
+        this.importsCache = importsCache;
     }
 
     public void locateVariableDefinitionWithLocalScope(final VariableDetector detector, final int sourceOffset) {
@@ -247,7 +255,7 @@ public class VariableDefinitionLocator {
             alreadyVisited.add((IFile) resourceFile);
 
             final RobotSuiteFile resourceSuiteFile = model.createSuiteFile((IFile) resourceFile);
-            final List<IPath> nestedResources = PathsResolver.getWorkspaceRelativeResourceFilesPaths(resourceSuiteFile);
+            final List<IPath> nestedResources = importsCache.getWorkspaceRelativeResourceFilesPaths(resourceSuiteFile);
             ContinueDecision result = locateInResourceFiles(nestedResources, alreadyVisited, detector);
             if (result == ContinueDecision.STOP) {
                 return ContinueDecision.STOP;
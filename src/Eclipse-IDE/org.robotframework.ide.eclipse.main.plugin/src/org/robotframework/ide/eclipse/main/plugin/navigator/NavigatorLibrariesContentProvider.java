@@ -31,8 +31,12 @@ import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotModelEvents;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotProject;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig;
+import org.robotframework.red.swt.SwtThread;
 import org.robotframework.red.viewers.TreeContentProvider;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
 public class NavigatorLibrariesContentProvider extends TreeContentProvider {
 
     protected TreeViewer viewer;
@@ -132,11 +136,36 @@ public class NavigatorLibrariesContentProvider extends TreeContentProvider {
             }
             return dependencies.toArray();
         } else if (parentElement instanceof RobotProjectDependencies) {
-            return ((RobotProjectDependencies) parentElement).getLibraries().toArray();
+            final RobotProjectDependencies dependencies = (RobotProjectDependencies) parentElement;
+            final ListenableFuture<?> loading = dependencies.loadLibraries();
+            if (!loading.isDone()) {
+                // libraries are loaded in background, the node is refreshed when they are ready
+                loading.addListener(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        refreshWhenLoaded(dependencies);
+                    }
+                }, MoreExecutors.sameThreadExecutor());
+                return new Object[0];
+            }
+            return dependencies.getLibraries().toArray();
         }
         return new Object[0];
     }
 
+    private void refreshWhenLoaded(final RobotProjectDependencies dependencies) {
+        SwtThread.asyncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                if (viewer != null && !viewer.getControl().isDisposed()) {
+                    viewer.refresh(dependencies);
+                }
+            }
+        });
+    }
+
     @Override
     public Object getParent(final Object element) {
         return null;
@@ -16,6 +16,8 @@ import org.robotframework.ide.eclipse.main.plugin.model.RobotProject;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.RemoteLocation;
 import org.robotframework.ide.eclipse.main.plugin.project.library.KeywordSpecification;
 import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+
+import com.google.common.util.concurrent.ListenableFuture;
 
 class RobotProjectDependencies {
 
@@ -25,6 +27,10 @@ class RobotProjectDependencies {
         this.project = robotProject;
     }
 
+    ListenableFuture<?> loadLibraries() {
+        return project.loadStandardLibraries();
+    }
+
     List<LibrarySpecification> getLibraries() {
         final List<LibrarySpecification> libraries = newArrayList();
 
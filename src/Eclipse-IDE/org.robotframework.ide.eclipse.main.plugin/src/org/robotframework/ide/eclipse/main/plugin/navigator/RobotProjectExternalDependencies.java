@@ -21,12 +21,19 @@ import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.Lib
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.ReferencedLibrary;
 import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 class RobotProjectExternalDependencies extends RobotProjectDependencies {
 
     RobotProjectExternalDependencies(final RobotProject project) {
         super(project);
     }
 
+    @Override
+    ListenableFuture<?> loadLibraries() {
+        return project.loadReferencedLibraries();
+    }
+
     @Override
     List<LibrarySpecification> getLibraries() {
         final List<LibrarySpecification> libraries = newArrayList();
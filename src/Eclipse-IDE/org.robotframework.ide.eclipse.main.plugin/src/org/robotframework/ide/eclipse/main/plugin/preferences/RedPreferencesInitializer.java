@@ -40,6 +40,7 @@ public class RedPreferencesInitializer extends AbstractPreferenceInitializer {
         initializeSourceEditorAssistantPreferences(preferences);
         initializeSyntaxColoringPreferences(preferences);
         initializeAutodiscoveringPreferences(preferences);
+        initializeLaunchingPreferences(preferences);
     }
 
     private void initializeFrameworkPreferences(final IEclipsePreferences preferences) {
@@ -97,6 +98,11 @@ public class RedPreferencesInitializer extends AbstractPreferenceInitializer {
         preferences.putBoolean(RedPreferences.PROJECT_MODULES_RECURSIVE_ADDITION_ON_VIRTUALENV_ENABLED, false);
     }
 
+    private void initializeLaunchingPreferences(final IEclipsePreferences preferences) {
+        // number of message log characters kept in memory, older lines are moved to temporary file
+        preferences.putInt(RedPreferences.MESSAGE_LOG_MEMORY_LIMIT, 4 * 1024 * 1024);
+    }
+
     static String getFontStyleIdentifierFor(final SyntaxHighlightingCategory category) {
         return RedPreferences.SYNTAX_COLORING_PREFIX + category.getId() + ".fontStyle";
     }
@@ -13,11 +13,22 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -38,15 +49,19 @@ import org.rf.ide.core.dryrun.RobotDryRunLibraryImport;
 import org.rf.ide.core.dryrun.RobotDryRunLibraryImport.DryRunLibraryImportStatus;
 import org.rf.ide.core.dryrun.RobotDryRunLibraryImport.DryRunLibraryType;
 import org.rf.ide.core.dryrun.RobotDryRunOutputParser;
-import org.rf.ide.core.executor.ILineHandler;
+import org.rf.ide.core.execution.IAgentEventHandler;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
 import org.rf.ide.core.executor.RunCommandLineCallBuilder.RunCommandLine;
+import org.rf.ide.core.testdata.model.RobotExpressions;
 import org.robotframework.ide.eclipse.main.plugin.PathsConverter;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotLaunchConfigurationDelegate;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordCall;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotProject;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSettingsSection;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.PathsResolver;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.LibraryType;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.ReferencedLibrary;
 import org.robotframework.ide.eclipse.main.plugin.project.editor.libraries.JarStructureBuilder;
@@ -55,14 +70,24 @@ import org.robotframework.ide.eclipse.main.plugin.project.editor.libraries.Pytho
 import org.robotframework.ide.eclipse.main.plugin.project.editor.libraries.PythonLibStructureBuilder.PythonClass;
 import org.robotframework.red.swt.SwtThread;
 
+import com.google.common.base.Charsets;
 import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * @author mmarzec
  */
 public class LibrariesAutoDiscoverer {
 
+    private static final int MAX_DRY_RUN_PROCESSES = Math.max(1,
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private static final int MIN_SUITES_PER_DRY_RUN_PROCESS = 20;
+
     private IEventBroker eventBroker;
 
     private final RobotProject robotProject;
@@ -71,7 +96,11 @@ public class LibrariesAutoDiscoverer {
 
     private final RobotDryRunOutputParser dryRunOutputParser;
 
-    private final RobotDryRunHandler dryRunHandler;
+    private final Set<String> standardLibrariesNames;
+
+    private final List<RobotDryRunHandler> runningDryRunHandlers = new ArrayList<>();
+
+    private volatile boolean isDryRunCanceled;
 
     private boolean isSummaryWindowEnabled;
 
@@ -97,9 +126,9 @@ public class LibrariesAutoDiscoverer {
         this.robotProject = robotProject;
         this.suiteFiles.addAll(suiteFiles);
         this.isSummaryWindowEnabled = isSummaryWindowEnabled;
+        standardLibrariesNames = robotProject.getStandardLibrariesNames();
         dryRunOutputParser = new RobotDryRunOutputParser();
-        dryRunOutputParser.setupRobotDryRunLibraryImportCollector(robotProject.getStandardLibraries().keySet());
-        dryRunHandler = new RobotDryRunHandler();
+        dryRunOutputParser.setupRobotDryRunLibraryImportCollector(standardLibrariesNames);
     }
 
     public void start() {
@@ -134,7 +163,7 @@ public class LibrariesAutoDiscoverer {
                 @Override
                 protected void canceling() {
                     isSummaryWindowEnabled = false;
-                    dryRunHandler.destroyDryRunProcess();
+                    destroyDryRunProcesses();
                     this.cancel();
                 }
             };
@@ -152,11 +181,12 @@ public class LibrariesAutoDiscoverer {
         final LibrariesSourcesCollector librariesSourcesCollector = collectPythonpathAndClasspathLocations();
         subMonitor.worked(1);
 
-        final RunCommandLine dryRunCommandLine = createDryRunCommandLine(librariesSourcesCollector);
+        final DryRunTargetsCollector dryRunTargetsCollector = new DryRunTargetsCollector();
+        dryRunTargetsCollector.collectSuiteNamesAndAdditionalProjectsLocations();
         subMonitor.worked(1);
 
         subMonitor.subTask("Executing Robot dry run...");
-        executeDryRun(dryRunCommandLine, subMonitor);
+        executeDryRun(librariesSourcesCollector, dryRunTargetsCollector, subMonitor);
         subMonitor.worked(1);
 
         subMonitor.done();
@@ -177,43 +207,135 @@ public class LibrariesAutoDiscoverer {
         return librariesSourcesCollector;
     }
 
-    private RunCommandLine createDryRunCommandLine(final LibrariesSourcesCollector librariesSourcesCollector)
+    private void executeDryRun(final LibrariesSourcesCollector librariesSourcesCollector,
+            final DryRunTargetsCollector dryRunTargetsCollector, final SubMonitor subMonitor)
             throws InvocationTargetException {
-        final DryRunTargetsCollector dryRunTargetsCollector = new DryRunTargetsCollector();
-        dryRunTargetsCollector.collectSuiteNamesAndAdditionalProjectsLocations();
+        final RobotRuntimeEnvironment runtimeEnvironment = robotProject.getRuntimeEnvironment();
+        final List<List<DryRunTarget>> targetsGroups = dryRunTargetsCollector.groupTargetsToRun();
+        if (runtimeEnvironment == null || targetsGroups.isEmpty()) {
+            return;
+        }
 
-        RunCommandLine runCommandLine = null;
+        final ExecutorService executor = Executors.newFixedThreadPool(targetsGroups.size(),
+                new ThreadFactoryBuilder().setNameFormat("RED libraries discovering %d").setDaemon(true).build());
         try {
-            final RobotRuntimeEnvironment runtimeEnvironment = robotProject.getRuntimeEnvironment();
-            if (runtimeEnvironment == null) {
-                return null;
-            }
-            runCommandLine = dryRunHandler.buildDryRunCommand(runtimeEnvironment, getProjectLocationFile(),
-                    dryRunTargetsCollector.getSuiteNames(), librariesSourcesCollector.getPythonpathLocations(),
-                    librariesSourcesCollector.getClasspathLocations(),
-                    dryRunTargetsCollector.getAdditionalProjectsLocations());
-        } catch (final IOException e) {
+            final List<Future<List<RobotDryRunLibraryImport>>> results = new ArrayList<>();
+            for (final List<DryRunTarget> targets : targetsGroups) {
+                results.add(executor.submit(new Callable<List<RobotDryRunLibraryImport>>() {
+
+                    @Override
+                    public List<RobotDryRunLibraryImport> call() throws InvocationTargetException {
+                        return executeDryRun(runtimeEnvironment, librariesSourcesCollector,
+                                dryRunTargetsCollector.getAdditionalProjectsLocations(), targets, subMonitor);
+                    }
+                }));
+            }
+            // imports are merged in order of groups, so result does not depend on which process ends first
+            for (final Future<List<RobotDryRunLibraryImport>> result : results) {
+                dryRunOutputParser.collectImportedLibraries(result.get());
+            }
+        } catch (final InterruptedException e) {
+            destroyDryRunProcesses();
             throw new InvocationTargetException(e);
+        } catch (final ExecutionException e) {
+            destroyDryRunProcesses();
+            throw e.getCause() instanceof InvocationTargetException ? (InvocationTargetException) e.getCause()
+                    : new InvocationTargetException(e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
-        return runCommandLine;
     }
 
-    private void executeDryRun(final RunCommandLine dryRunCommandLine, final SubMonitor subMonitor)
-            throws InvocationTargetException {
-        if (dryRunCommandLine != null) {
-            dryRunOutputParser.setStartSuiteHandler(new IDryRunStartSuiteHandler() {
+    private List<RobotDryRunLibraryImport> executeDryRun(final RobotRuntimeEnvironment runtimeEnvironment,
+            final LibrariesSourcesCollector librariesSourcesCollector, final List<String> additionalProjectsLocations,
+            final List<DryRunTarget> targets, final SubMonitor subMonitor) throws InvocationTargetException {
+        final List<String> suiteNames = new ArrayList<>();
+        for (final DryRunTarget target : targets) {
+            suiteNames.add(target.suiteName);
+        }
+        final RobotDryRunHandler dryRunHandler = new RobotDryRunHandler();
+        final RunCommandLine dryRunCommandLine;
+        try {
+            dryRunCommandLine = dryRunHandler.buildDryRunCommand(runtimeEnvironment, getProjectLocationFile(),
+                    suiteNames, librariesSourcesCollector.getPythonpathLocations(),
+                    librariesSourcesCollector.getClasspathLocations(), additionalProjectsLocations);
+        } catch (final IOException e) {
+            throw new InvocationTargetException(e);
+        }
 
-                @Override
-                public void processStartSuiteEvent(final String suiteName) {
+        final RobotDryRunOutputParser outputParser = new RobotDryRunOutputParser();
+        outputParser.setupRobotDryRunLibraryImportCollector(standardLibrariesNames);
+        outputParser.setStartSuiteHandler(new IDryRunStartSuiteHandler() {
+
+            @Override
+            public void processStartSuiteEvent(final String suiteName) {
+                synchronized (subMonitor) {
                     subMonitor.subTask("Executing Robot dry run on suite: " + suiteName);
                 }
-            });
+            }
+        });
 
-            final List<ILineHandler> dryRunOutputlisteners = newArrayList();
-            dryRunOutputlisteners.add(dryRunOutputParser);
+        synchronized (runningDryRunHandlers) {
+            if (isDryRunCanceled) {
+                return new ArrayList<>();
+            }
+            runningDryRunHandlers.add(dryRunHandler);
+        }
+        try {
+            final List<IAgentEventHandler> dryRunOutputlisteners = newArrayList();
+            dryRunOutputlisteners.add(outputParser);
             dryRunHandler.startDryRunHandlerThread(dryRunCommandLine.getPort(), dryRunOutputlisteners);
 
             dryRunHandler.executeDryRunProcess(dryRunCommandLine, getProjectLocationFile());
+        } finally {
+            synchronized (runningDryRunHandlers) {
+                runningDryRunHandlers.remove(dryRunHandler);
+            }
+        }
+
+        final List<RobotDryRunLibraryImport> libraryImports = outputParser.getImportedLibraries();
+        if (!isDryRunCanceled && dryRunHandler.hasFinishedNormally()) {
+            cacheDiscoveredImports(targets, libraryImports);
+        }
+        return libraryImports;
+    }
+
+    private void cacheDiscoveredImports(final List<DryRunTarget> targets,
+            final List<RobotDryRunLibraryImport> libraryImports) {
+        final Map<DryRunTarget, List<RobotDryRunLibraryImport>> importsOfTargets = new LinkedHashMap<>();
+        for (final DryRunTarget target : targets) {
+            if (!target.isSuite()) {
+                return;
+            }
+            importsOfTargets.put(target, new ArrayList<RobotDryRunLibraryImport>());
+        }
+        for (final RobotDryRunLibraryImport libraryImport : libraryImports) {
+            boolean isAssigned = false;
+            for (final DryRunTarget target : targets) {
+                if (targets.size() == 1 || target.isImporting(libraryImport)) {
+                    importsOfTargets.get(target).add(libraryImport);
+                    isAssigned = true;
+                }
+            }
+            if (!isAssigned) {
+                // suites run together can be told apart only by importers paths
+                return;
+            }
+        }
+        for (final Entry<DryRunTarget, List<RobotDryRunLibraryImport>> entry : importsOfTargets.entrySet()) {
+            final DryRunTarget target = entry.getKey();
+            if (target.isCacheable()) {
+                robotProject.getDryRunImportsCache().put(target.suitePath, target.importsHash, entry.getValue());
+            }
+        }
+    }
+
+    private void destroyDryRunProcesses() {
+        synchronized (runningDryRunHandlers) {
+            isDryRunCanceled = true;
+            for (final RobotDryRunHandler dryRunHandler : runningDryRunHandlers) {
+                dryRunHandler.destroyDryRunProcess();
+            }
         }
     }
 
@@ -429,7 +551,9 @@ public class LibrariesAutoDiscoverer {
 
     private class DryRunTargetsCollector {
 
-        private final List<String> suiteNames = newArrayList();
+        private final List<DryRunTarget> suiteTargets = newArrayList();
+
+        private final List<DryRunTarget> otherTargets = newArrayList();
 
         private final List<String> additionalProjectsLocations = newArrayList();
 
@@ -445,38 +569,118 @@ public class LibrariesAutoDiscoverer {
                             .toWorkspaceRelativeIfPossible(resource.getProjectRelativePath());
                     resourcesPaths.add(resourceFilePath.toString());
                 } else {
-                    if (resource.isLinked()) {
-                        collectLinkedSuiteNamesAndProjectsLocations(resource);
+                    final String suiteName = resource.isLinked()
+                            ? collectLinkedSuiteNameAndProjectLocation(resource)
+                            : RobotLaunchConfigurationDelegate.createSuiteName(resource);
+                    if (suiteName == null) {
+                        continue;
+                    } else if (suiteFile != null) {
+                        collectSuiteTarget(suiteName, suiteFile);
                     } else {
-                        suiteNames.add(RobotLaunchConfigurationDelegate.createSuiteName(resource));
+                        otherTargets.add(new DryRunTarget(suiteName));
                     }
                 }
             }
             if (!resourcesPaths.isEmpty()) {
-                final File tempSuiteFileWithResources = dryRunHandler.createTempSuiteFile(resourcesPaths);
+                final File tempSuiteFileWithResources = new RobotDryRunHandler().createTempSuiteFile(resourcesPaths);
                 if (tempSuiteFileWithResources != null) {
-                    suiteNames.add(Files.getNameWithoutExtension(tempSuiteFileWithResources.getPath()));
+                    otherTargets.add(
+                            new DryRunTarget(Files.getNameWithoutExtension(tempSuiteFileWithResources.getPath())));
                     additionalProjectsLocations.add(tempSuiteFileWithResources.getParent());
                 }
             }
         }
 
-        private void collectLinkedSuiteNamesAndProjectsLocations(final IResource resource) {
+        private String collectLinkedSuiteNameAndProjectLocation(final IResource resource) {
             final IPath linkedFileLocation = resource.getLocation();
             if (linkedFileLocation != null) {
                 final File linkedFile = linkedFileLocation.toFile();
                 if (linkedFile.exists()) {
-                    suiteNames.add(Files.getNameWithoutExtension(linkedFile.getName()));
                     final String linkedFileParentPath = linkedFile.getParent();
                     if (!additionalProjectsLocations.contains(linkedFileParentPath)) {
                         additionalProjectsLocations.add(linkedFileParentPath);
                     }
+                    return Files.getNameWithoutExtension(linkedFile.getName());
+                }
+            }
+            return null;
+        }
+
+        private void collectSuiteTarget(final String suiteName, final RobotSuiteFile suiteFile) {
+            final Hasher hasher = Hashing.sha1().newHasher();
+            for (final String variableFilePath : robotProject.getVariableFilePaths()) {
+                putString(hasher, variableFilePath);
+            }
+            final Set<IPath> importingFilesLocations = new HashSet<>();
+            final boolean areImportsResolved = hashImports(suiteFile, hasher, importingFilesLocations,
+                    new HashSet<IFile>());
+            // imports using variables unknown before running depend on more than imports settings
+            final String importsHash = areImportsResolved ? hasher.hash().toString() : null;
+            final String suitePath = suiteFile.getFile().getFullPath().toPortableString();
+
+            final Optional<List<RobotDryRunLibraryImport>> cachedImports = importsHash == null
+                    ? Optional.<List<RobotDryRunLibraryImport>> absent()
+                    : robotProject.getDryRunImportsCache().get(suitePath, importsHash);
+            if (cachedImports.isPresent()) {
+                dryRunOutputParser.collectImportedLibraries(cachedImports.get());
+            } else {
+                suiteTargets.add(new DryRunTarget(suiteName, suitePath, importsHash, importingFilesLocations));
+            }
+        }
+
+        private boolean hashImports(final RobotSuiteFile suiteFile, final Hasher hasher,
+                final Set<IPath> importingFilesLocations, final Set<IFile> visitedFiles) {
+            if (!visitedFiles.add(suiteFile.getFile())) {
+                return true;
+            }
+            final IPath location = suiteFile.getFile().getLocation();
+            if (location != null) {
+                importingFilesLocations.add(location);
+            }
+            putString(hasher, suiteFile.getFile().getFullPath().toPortableString());
+            boolean areResolved = true;
+            final Optional<RobotSettingsSection> section = suiteFile.findSection(RobotSettingsSection.class);
+            if (section.isPresent()) {
+                for (final RobotKeywordCall setting : section.get().getImportSettings()) {
+                    putString(hasher, setting.getName());
+                    for (final String argument : setting.getArguments()) {
+                        final String resolvedArgument = RobotExpressions.isParameterized(argument)
+                                ? robotProject.resolve(argument) : argument;
+                        putString(hasher, resolvedArgument);
+                        areResolved &= !RobotExpressions.isParameterized(resolvedArgument);
+                    }
                 }
             }
+            for (final IPath path : PathsResolver.getWorkspaceRelativeResourceFilesPaths(suiteFile)) {
+                final IResource resource = ResourcesPlugin.getWorkspace().getRoot().findMember(path);
+                if (resource != null && resource.exists() && resource.getType() == IResource.FILE) {
+                    areResolved &= hashImports(RedPlugin.getModelManager().createSuiteFile((IFile) resource), hasher,
+                            importingFilesLocations, visitedFiles);
+                }
+            }
+            return areResolved;
         }
 
-        public List<String> getSuiteNames() {
-            return suiteNames;
+        private void putString(final Hasher hasher, final String value) {
+            hasher.putInt(value.length()).putString(value, Charsets.UTF_8);
+        }
+
+        /**
+         * Suites with imports which are not cached are split into groups run by separate
+         * processes; other targets are run together in own process.
+         */
+        public List<List<DryRunTarget>> groupTargetsToRun() {
+            final List<List<DryRunTarget>> groups = newArrayList();
+            if (!otherTargets.isEmpty()) {
+                groups.add(otherTargets);
+            }
+            if (!suiteTargets.isEmpty()) {
+                final int groupsCount = Math.min(MAX_DRY_RUN_PROCESSES,
+                        (suiteTargets.size() + MIN_SUITES_PER_DRY_RUN_PROCESS - 1) / MIN_SUITES_PER_DRY_RUN_PROCESS);
+                final int groupSize = (suiteTargets.size() + groupsCount - 1) / groupsCount;
+                groups.addAll(Lists.partition(suiteTargets, groupSize));
+            }
+            return groups;
         }
 
         public List<String> getAdditionalProjectsLocations() {
@@ -484,4 +688,44 @@ public class LibrariesAutoDiscoverer {
         }
     }
 
+    private static final class DryRunTarget {
+
+        private final String suiteName;
+
+        private final String suitePath;
+
+        private final String importsHash;
+
+        private final Set<IPath> importingFilesLocations;
+
+        DryRunTarget(final String suiteName) {
+            this(suiteName, null, null, new HashSet<IPath>());
+        }
+
+        DryRunTarget(final String suiteName, final String suitePath, final String importsHash,
+                final Set<IPath> importingFilesLocations) {
+            this.suiteName = suiteName;
+            this.suitePath = suitePath;
+            this.importsHash = importsHash;
+            this.importingFilesLocations = importingFilesLocations;
+        }
+
+        boolean isSuite() {
+            return suitePath != null;
+        }
+
+        boolean isCacheable() {
+            return importsHash != null;
+        }
+
+        boolean isImporting(final RobotDryRunLibraryImport libraryImport) {
+            for (final String importerPath : libraryImport.getImportersPaths()) {
+                if (importingFilesLocations.contains(new Path(importerPath))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
 }
@@ -5,6 +5,8 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.project;
 
+import static com.google.common.collect.Sets.newHashSet;
+
 import java.io.File;
 import java.io.FilenameFilter;
 import java.lang.reflect.InvocationTargetException;
@@ -15,6 +17,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -60,8 +63,8 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
 
     private IEventBroker eventBroker = null;
 
-    private ListMultimap<LibrarySpecification, String> registeredLibrarySpecifications = Multimaps
-            .synchronizedListMultimap(ArrayListMultimap.<LibrarySpecification, String> create());
+    private ListMultimap<LibrarySpecification, Path> registeredLibrarySpecifications = Multimaps
+            .synchronizedListMultimap(ArrayListMultimap.<LibrarySpecification, Path> create());
 
     private Set<LibrarySpecification> dirtySpecs = Collections.synchronizedSet(new HashSet<LibrarySpecification>());
     
@@ -83,15 +86,16 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
                 final File libFile = new File(absolutePathToLibraryFile);
                 final File libDir = libFile.getParentFile();
                 if (libDir != null && libDir.exists() && libDir.isDirectory()) {
+                    final Path libDirPath = normalize(libDir);
                     if (isPythonModule(absolutePathToLibraryFile)) {
                         final String[] moduleFilesList = extractPythonModuleFiles(libDir);
                         if (moduleFilesList != null) {
                             for (int i = 0; i < moduleFilesList.length; i++) {
-                                addLibraryToWatch(moduleFilesList[i], libDir.toPath(), spec);
+                                addLibraryToWatch(moduleFilesList[i], libDirPath, spec);
                             }
                         }
                     } else {
-                        addLibraryToWatch(libFile.getName(), libDir.toPath(), spec);
+                        addLibraryToWatch(libFile.getName(), libDirPath, spec);
                     }
                 }
             }
@@ -109,11 +113,11 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
                         String[] moduleFilesList = extractPythonModuleFiles(libDir);
                         if (moduleFilesList != null) {
                             for (int i = 0; i < moduleFilesList.length; i++) {
-                                removeLibraryToWatch(moduleFilesList[i]);
+                                removeLibraryToWatch(moduleFilesList[i], normalize(libDir));
                             }
                         }
-                    } else {
-                        removeLibraryToWatch(libFile.getName());
+                    } else if (libDir != null) {
+                        removeLibraryToWatch(libFile.getName(), normalize(libDir));
                     }
                     registeredRefLibraries.remove(referencedLibrary);
                 }
@@ -121,6 +125,10 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
         }
     }
 
+    private static Path normalize(final File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
     private boolean isPythonModule(final String absolutePathToLibraryFile) {
         return absolutePathToLibraryFile.endsWith("__init__.py");
     }
@@ -139,31 +147,32 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
     }
 
     private void addLibraryToWatch(final String fileName, final Path dir, final LibrarySpecification spec) {
+        final Path file = dir.resolve(fileName);
         final List<LibrarySpecification> specsToReplace = new ArrayList<>();
         synchronized (registeredLibrarySpecifications) {
-            for (Entry<LibrarySpecification, String> entry : registeredLibrarySpecifications.entries()) {
-                if (entry.getValue().equals(fileName) && entry.getKey().equalsIgnoreKeywords(spec)) {
+            for (Entry<LibrarySpecification, Path> entry : registeredLibrarySpecifications.entries()) {
+                if (entry.getValue().equals(file) && entry.getKey().equalsIgnoreKeywords(spec)) {
                     specsToReplace.add(entry.getKey());
                 }
             }
             for (final LibrarySpecification specToReplace : specsToReplace) {
                 registeredLibrarySpecifications.removeAll(specToReplace);
             }
-            registeredLibrarySpecifications.put(spec, fileName);
+            registeredLibrarySpecifications.put(spec, file);
         }
         registerPath(dir, fileName, this);
     }
 
-    private void removeLibraryToWatch(final String fileName) {
-        removeLibrarySpecification(fileName);
-        unregisterFile(fileName, this);
+    private void removeLibraryToWatch(final String fileName, final Path dir) {
+        removeLibrarySpecifications(newHashSet(dir.resolve(fileName)));
+        unregisterFile(dir, fileName, this);
     }
 
-    private void removeLibrarySpecification(final String fileName) {
+    private void removeLibrarySpecifications(final Set<Path> files) {
         final List<LibrarySpecification> specsToRemove = new ArrayList<>();
         synchronized (registeredLibrarySpecifications) {
-            for (Entry<LibrarySpecification, String> entry : registeredLibrarySpecifications.entries()) {
-                if (entry.getValue().equals(fileName)) {
+            for (Entry<LibrarySpecification, Path> entry : registeredLibrarySpecifications.entries()) {
+                if (files.contains(entry.getValue())) {
                     specsToRemove.add(entry.getKey());
                 }
             }
@@ -188,8 +197,8 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
     }
 
     @Override
-    public void unregisterFile(final String fileName, final IWatchEventHandler handler) {
-        RedFileWatcher.getInstance().unregisterFile(fileName, this);
+    public void unregisterFile(final Path dir, final String fileName, final IWatchEventHandler handler) {
+        RedFileWatcher.getInstance().unregisterFile(dir, fileName, this);
     }
     
     @Override
@@ -198,13 +207,19 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
         registeredRefLibraries.clear();
     }
 
+    /**
+     * All files modified in the same time are handled together, so libraries of this project are
+     * rebuilt once, even if many of their files were changed e.g. by pulling library repository.
+     */
     @Override
-    public void handleModifyEvent(final String modifiedFileName) {
-        if (registeredLibrarySpecifications.containsValue(modifiedFileName)) {
+    public void handleModifyEvents(final Set<Path> modifiedFiles) {
+        final Set<Path> modifiedLibraryFiles = new HashSet<>(modifiedFiles);
+        modifiedLibraryFiles.retainAll(registeredLibrarySpecifications.values());
+        if (!modifiedLibraryFiles.isEmpty()) {
 
             final IProject project = robotProject.getProject();
             if (project == null || !project.exists()) {
-                clearHandler(modifiedFileName);
+                clearHandler(modifiedLibraryFiles);
                 return;
             }
 
@@ -212,7 +227,7 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
 
                 @Override
                 public void run() {
-                    final List<LibrarySpecification> libSpecsToRebuild = collectModifiedLibSpecs(modifiedFileName);
+                    final List<LibrarySpecification> libSpecsToRebuild = collectModifiedLibSpecs();
                     if (robotProject.getRobotProjectConfig().isReferencedLibrariesAutoReloadEnabled()) {
                         rebuildLibSpecs(project, libSpecsToRebuild);
                     } else {
@@ -221,16 +236,16 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
                     refreshNavigator(project);
                 }
 
-                private List<LibrarySpecification> collectModifiedLibSpecs(final String modifiedFileName) {
-                    final List<LibrarySpecification> specsToRebuild = new ArrayList<>();
+                private List<LibrarySpecification> collectModifiedLibSpecs() {
+                    final Set<LibrarySpecification> specsToRebuild = new LinkedHashSet<>();
                     synchronized (registeredLibrarySpecifications) {
-                        for (Entry<LibrarySpecification, String> entry : registeredLibrarySpecifications.entries()) {
-                            if (entry.getValue().equals(modifiedFileName)) {
+                        for (Entry<LibrarySpecification, Path> entry : registeredLibrarySpecifications.entries()) {
+                            if (modifiedLibraryFiles.contains(entry.getValue())) {
                                 specsToRebuild.add(entry.getKey());
                             }
                         }
                     }
-                    return specsToRebuild;
+                    return new ArrayList<>(specsToRebuild);
                 }
             });
         }
@@ -303,11 +318,12 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
     }
 
     private void markLibSpecsAsModified(final List<LibrarySpecification> specsToRebuild) {
+        // libraries are loaded before taking the lock, as loading checks dirty specifications
+        final Map<ReferencedLibrary, LibrarySpecification> referencedLibraries = robotProject
+                .getReferencedLibraries();
         synchronized (dirtySpecs) {
             if(!dirtySpecs.containsAll(specsToRebuild)) {
                 dirtySpecs.addAll(specsToRebuild);
-                final Map<ReferencedLibrary, LibrarySpecification> referencedLibraries = robotProject
-                        .getReferencedLibraries();
                 for (final ReferencedLibrary refLib : referencedLibraries.keySet()) {
                     final LibrarySpecification librarySpecification = referencedLibraries.get(refLib);
                     if (specsToRebuild.contains(librarySpecification)) {
@@ -382,8 +398,8 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
         return null;
     }
     
-    private void clearHandler(final String modifiedFileName) {
-        removeLibrarySpecification(modifiedFileName);
+    private void clearHandler(final Set<Path> modifiedFiles) {
+        removeLibrarySpecifications(modifiedFiles);
         registeredRefLibraries.clear();
     }
     
@@ -405,7 +421,7 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
     /**
      * for testing purposes only
      */
-    protected ListMultimap<LibrarySpecification, String> getLibrarySpecifications() {
+    protected ListMultimap<LibrarySpecification, Path> getLibrarySpecifications() {
         return registeredLibrarySpecifications;
     }
     
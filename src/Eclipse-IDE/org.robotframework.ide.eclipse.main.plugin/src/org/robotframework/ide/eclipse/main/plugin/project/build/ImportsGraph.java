@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Graph of files imported by validated files of single project. Files are identified by their
+ * file system locations, so files outside of workspace (e.g. variable files) can be imported
+ * too. Locations of imported files which do not exist are kept as well, so files importing them
+ * can be found when they are created. Imports of file are replaced each time the file is
+ * validated, so after full build the graph describes whole project and then it is kept up to date
+ * by incremental validations. Graph is not persisted, so it is empty until the first full build.
+ */
+public class ImportsGraph {
+
+    private final Map<IPath, Set<IPath>> imports = new HashMap<>();
+
+    private final Map<IPath, Set<IPath>> importers = new HashMap<>();
+
+    public synchronized void setImports(final IPath file, final Collection<IPath> importedFiles) {
+        removeImports(file);
+
+        final Set<IPath> imported = new HashSet<>(importedFiles);
+        imported.remove(file);
+        imports.put(file, imported);
+        for (final IPath importedFile : imported) {
+            Set<IPath> fileImporters = importers.get(importedFile);
+            if (fileImporters == null) {
+                fileImporters = new HashSet<>();
+                importers.put(importedFile, fileImporters);
+            }
+            fileImporters.add(file);
+        }
+    }
+
+    public synchronized void removeImports(final IPath file) {
+        final Set<IPath> imported = imports.remove(file);
+        if (imported != null) {
+            for (final IPath importedFile : imported) {
+                final Set<IPath> fileImporters = importers.get(importedFile);
+                fileImporters.remove(file);
+                if (fileImporters.isEmpty()) {
+                    importers.remove(importedFile);
+                }
+            }
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return imports.isEmpty();
+    }
+
+    public synchronized void clear() {
+        imports.clear();
+        importers.clear();
+    }
+
+    /**
+     * Returns all files which import any of given files directly or through other files. Given
+     * files are not part of result, unless they import each other.
+     *
+     * @param files
+     * @return locations of importing files
+     */
+    public synchronized Set<IPath> getTransitiveImporters(final Collection<IPath> files) {
+        final Set<IPath> result = new LinkedHashSet<>();
+        final Deque<IPath> toVisit = new ArrayDeque<>(files);
+        while (!toVisit.isEmpty()) {
+            final Set<IPath> fileImporters = importers.get(toVisit.poll());
+            if (fileImporters != null) {
+                for (final IPath importer : fileImporters) {
+                    if (result.add(importer)) {
+                        toVisit.add(importer);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -8,10 +8,7 @@ package org.robotframework.ide.eclipse.main.plugin.project.build;
 import static com.google.common.collect.Lists.newArrayList;
 
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -27,7 +24,6 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
@@ -45,7 +41,6 @@ import org.robotframework.ide.eclipse.main.plugin.project.build.validation.Robot
 import org.robotframework.ide.eclipse.main.plugin.project.build.validation.ValidationContext;
 
 import com.google.common.base.Optional;
-import com.google.common.collect.Queues;
 
 public class RobotArtifactsValidator {
 
@@ -113,36 +108,35 @@ public class RobotArtifactsValidator {
                     logger.log("VALIDATING: validation of '" + project.getName() + "' project started");
                     logger.log("VALIDATING: gathering files to be validated");
 
-                    final Queue<ModelUnitValidator> unitValidators = Queues.newArrayDeque();
                     final ValidationContext context = new ValidationContext(project, logger);
-
-                    if (delta == null || kind == IncrementalProjectBuilder.FULL_BUILD) {
-                        unitValidators.addAll(createValidationUnitsForWholeProject(context, reporter));
+                    final ImportsGraph importsGraph = RedPlugin.getModelManager()
+                            .createProject(project)
+                            .getImportsGraph();
+                    final ValidationScheduler scheduler = new ValidationScheduler(context, importsGraph, logger);
+
+                    // graph is kept only in memory, so it is empty e.g. after restart and files
+                    // importing changed ones cannot be found without validating whole project
+                    final boolean isValidatingWholeProject = delta == null
+                            || kind == IncrementalProjectBuilder.FULL_BUILD || importsGraph.isEmpty();
+                    if (isValidatingWholeProject) {
+                        importsGraph.clear();
+                        addValidationUnitsForWholeProject(scheduler, context, reporter);
                         project.deleteMarkers(RobotProblem.TYPE_ID, true, IResource.DEPTH_INFINITE);
-                    } else if (delta != null) {
-                        unitValidators.addAll(createValidationUnitsForChangedFiles(context, delta, reporter));
+                    } else {
+                        final List<IPath> changedLocations = addValidationUnitsForChangedFiles(scheduler, context,
+                                delta, reporter);
+                        addValidationUnitsForImportingFiles(scheduler, context, importsGraph, changedLocations,
+                                reporter);
                     }
 
-                    final SubMonitor subMonitor = SubMonitor.convert(monitor, 100);
-                    subMonitor.beginTask("Validating files", 100);
-
-                    final SubMonitor validationSubMonitor = subMonitor.newChild(100);
-                    validationSubMonitor.setWorkRemaining(unitValidators.size());
-
-                    final int threadPoolSize = Runtime.getRuntime().availableProcessors();
-                    logger.log("VALIDATING: " + threadPoolSize + " threads will be used");
-                    final ExecutorService threadPool = Executors.newFixedThreadPool(threadPoolSize);
-
-                    int current = 1;
-                    final int total = unitValidators.size();
-                    while (!unitValidators.isEmpty()) {
-                        final ModelUnitValidator validator = unitValidators.poll();
-                        threadPool.submit(
-                                createValidationRunnable(monitor, validationSubMonitor, current, total, validator));
-                        current++;
+                    final long start = System.currentTimeMillis();
+                    scheduler.run(monitor);
+                    if (isValidatingWholeProject && monitor.isCanceled()) {
+                        // incomplete graph would miss importers, so whole project is validated again
+                        importsGraph.clear();
                     }
-                    threadPool.shutdown();
-                    threadPool.awaitTermination(1, TimeUnit.HOURS);
+                    logger.log("VALIDATING: " + scheduler.size() + " files of '" + project.getName()
+                            + "' project validated in " + (System.currentTimeMillis() - start) + " ms");
 
                     final Optional<LibrariesAutoDiscoverer> librariesAutoDiscoverer = context.getLibrariesAutoDiscoverer();
                     if (librariesAutoDiscoverer.isPresent() && librariesAutoDiscoverer.get().hasSuiteFilesToDiscovering()) {
@@ -157,36 +151,11 @@ public class RobotArtifactsValidator {
                     monitor.done();
                 }
             }
-
-            private Runnable createValidationRunnable(final IProgressMonitor monitor,
-                    final SubMonitor validationSubMonitor, final int id, final int total,
-                    final ModelUnitValidator validator) {
-                return new Runnable() {
-                    @Override
-                    public void run() {
-                        try {
-                            if (monitor.isCanceled()) {
-                                logger.log("VALIDATING: cancelled (" + id + "/" + total + ")");
-                                return;
-                            }
-                            validator.validate(monitor);
-                            logger.log("VALIDATING: done (" + id + "/" + total + ")");
-                        } catch (final Exception e) {
-                            logger.log("VALIDATING: error (" + id + "/" + total + ")");
-                            logger.logError("VALIDATING: error\n" + e.getMessage());
-                        } finally {
-                            validationSubMonitor.worked(1);
-                        }
-                    }
-                };
-            }
         };
     }
 
-    private List<ModelUnitValidator> createValidationUnitsForWholeProject(final ValidationContext context,
-            final ProblemsReportingStrategy reporter)
-            throws CoreException {
-        final List<ModelUnitValidator> validators = newArrayList();
+    private void addValidationUnitsForWholeProject(final ValidationScheduler scheduler,
+            final ValidationContext context, final ProblemsReportingStrategy reporter) throws CoreException {
         project.accept(new IResourceVisitor() {
 
             @Override
@@ -195,40 +164,74 @@ public class RobotArtifactsValidator {
                         reporter, false, true);
                 if (validationUnit.isPresent()) {
                     final ModelUnitValidator unit = validationUnit.get();
-                    validators.add(unit);
+                    scheduler.add((IFile) resource, unit);
                 }
                 return true;
             }
         });
-        return validators;
     }
 
-    private List<ModelUnitValidator> createValidationUnitsForChangedFiles(final ValidationContext context,
-            final IResourceDelta delta, final ProblemsReportingStrategy reporter) throws CoreException {
-        final List<ModelUnitValidator> validators = newArrayList();
+    private List<IPath> addValidationUnitsForChangedFiles(final ValidationScheduler scheduler,
+            final ValidationContext context, final IResourceDelta delta, final ProblemsReportingStrategy reporter)
+            throws CoreException {
+        final List<IPath> changedLocations = newArrayList();
         delta.accept(new IResourceDeltaVisitor() {
 
             @Override
             public boolean visit(final IResourceDelta delta) throws CoreException {
-                if (delta.getKind() != IResourceDelta.REMOVED && (delta.getFlags() & IResourceDelta.CONTENT) != 0) {
-                    final IResource file = delta.getResource();
-                    final Optional<? extends ModelUnitValidator> validationUnit = createValidationUnits(context, file,
-                            reporter, false, false);
-                    if (validationUnit.isPresent()) {
-                        validators.add(new ModelUnitValidator() {
-
-                            @Override
-                            public void validate(final IProgressMonitor monitor) throws CoreException {
-                                file.deleteMarkers(RobotProblem.TYPE_ID, true, 1);
-                                validationUnit.get().validate(monitor);
-                            }
-                        });
-                    }
+                final IResource file = delta.getResource();
+                if (file.getType() != IResource.FILE || file.getLocation() == null) {
+                    return true;
+                }
+                if (delta.getKind() == IResourceDelta.REMOVED) {
+                    changedLocations.add(file.getLocation());
+                } else if (delta.getKind() == IResourceDelta.ADDED
+                        || (delta.getFlags() & IResourceDelta.CONTENT) != 0) {
+                    // added file may be imported by files which reported it as not existing
+                    changedLocations.add(file.getLocation());
+                    addValidationUnitForChangedFile(scheduler, context, (IFile) file, reporter);
                 }
                 return true;
             }
         });
-        return validators;
+        return changedLocations;
+    }
+
+    private void addValidationUnitsForImportingFiles(final ValidationScheduler scheduler,
+            final ValidationContext context, final ImportsGraph importsGraph, final List<IPath> changedLocations,
+            final ProblemsReportingStrategy reporter) throws CoreException {
+        final Set<IPath> importingLocations = importsGraph.getTransitiveImporters(changedLocations);
+        for (final IPath changedLocation : changedLocations) {
+            final IFile changedFile = project.getWorkspace().getRoot().getFileForLocation(changedLocation);
+            if (changedFile == null || !changedFile.exists()) {
+                importsGraph.removeImports(changedLocation);
+            }
+        }
+        logger.log("VALIDATING: " + importingLocations.size() + " files import changed files");
+
+        for (final IPath location : importingLocations) {
+            final IFile file = project.getWorkspace().getRoot().getFileForLocation(location);
+            if (file != null && file.exists() && !scheduler.contains(file)) {
+                addValidationUnitForChangedFile(scheduler, context, file, reporter);
+            }
+        }
+    }
+
+    private static void addValidationUnitForChangedFile(final ValidationScheduler scheduler,
+            final ValidationContext context, final IFile file, final ProblemsReportingStrategy reporter)
+            throws CoreException {
+        final Optional<? extends ModelUnitValidator> validationUnit = createValidationUnits(context, file, reporter,
+                false, false);
+        if (validationUnit.isPresent()) {
+            scheduler.add(file, new ModelUnitValidator() {
+
+                @Override
+                public void validate(final IProgressMonitor monitor) throws CoreException {
+                    file.deleteMarkers(RobotProblem.TYPE_ID, true, 1);
+                    validationUnit.get().validate(monitor);
+                }
+            });
+        }
     }
 
     private static Optional<? extends ModelUnitValidator> createValidationUnits(final ValidationContext context,
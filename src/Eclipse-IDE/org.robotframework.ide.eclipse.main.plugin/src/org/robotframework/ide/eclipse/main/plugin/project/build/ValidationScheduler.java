@@ -0,0 +1,235 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.robotframework.ide.eclipse.main.plugin.project.ASuiteFileDescriber;
+import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig;
+import org.robotframework.ide.eclipse.main.plugin.project.build.RobotArtifactsValidator.ModelUnitValidator;
+import org.robotframework.ide.eclipse.main.plugin.project.build.validation.ValidationContext;
+
+/**
+ * Runs validation units of single validation job on work-stealing pool shared by all jobs.
+ * <p>
+ * Resource files are scheduled before other files and each unit waits for units of resources
+ * imported by its file, which were scheduled earlier, so imports of resources (paths of imported
+ * resources and imported libraries) are resolved once and then reused from caches of
+ * {@link ValidationContext} by files importing them. Variables of resources are still collected
+ * separately for each importing file. Waiting unit helps executing the units it waits for, so no
+ * thread is blocked.
+ * <p>
+ * Cancellation is checked before each unit starts; units which were not started when monitor
+ * has been cancelled are skipped, while units already started are awaited, so no markers are
+ * written after the build has ended.
+ * <p>
+ * Files imported by each validated file are recorded in {@link ImportsGraph} of the project.
+ */
+class ValidationScheduler {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private static final int CANCELLATION_CHECK_INTERVAL = 100;
+
+    private final ValidationContext context;
+
+    private final ImportsGraph importsGraph;
+
+    private final BuildLogger logger;
+
+    private final Map<IFile, ValidationTask> tasks = new LinkedHashMap<>();
+
+    ValidationScheduler(final ValidationContext context, final ImportsGraph importsGraph, final BuildLogger logger) {
+        this.context = context;
+        this.importsGraph = importsGraph;
+        this.logger = logger;
+    }
+
+    void add(final IFile file, final ModelUnitValidator validator) {
+        tasks.put(file, new ValidationTask(file, validator));
+    }
+
+    boolean contains(final IFile file) {
+        return tasks.containsKey(file);
+    }
+
+    int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Runs all added units and waits until they are finished or skipped after cancellation.
+     * Started units are always awaited.
+     *
+     * @param monitor
+     * @throws InterruptedException
+     */
+    void run(final IProgressMonitor monitor) throws InterruptedException {
+        final SubMonitor subMonitor = SubMonitor.convert(monitor, 100);
+        subMonitor.beginTask("Validating files", 100);
+
+        final SubMonitor validationSubMonitor = subMonitor.newChild(100);
+        validationSubMonitor.setWorkRemaining(tasks.size());
+
+        final List<ValidationTask> ordered = orderResourcesFirst(tasks.values());
+        final CountDownLatch finished = new CountDownLatch(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            ordered.get(i).prepare(monitor, validationSubMonitor, finished, i + 1, ordered.size());
+        }
+
+        logger.log("VALIDATING: " + POOL.getParallelism() + " threads will be used");
+        for (final ValidationTask task : ordered) {
+            POOL.execute(task);
+        }
+        while (!finished.await(CANCELLATION_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+            if (monitor.isCanceled()) {
+                int skipped = 0;
+                for (final ValidationTask task : ordered) {
+                    if (task.skip()) {
+                        skipped++;
+                    }
+                }
+                logger.log("VALIDATING: cancelled, " + skipped + " files skipped, waiting for "
+                        + finished.getCount() + " started files");
+                finished.await();
+                break;
+            }
+        }
+    }
+
+    private static List<ValidationTask> orderResourcesFirst(final Iterable<ValidationTask> tasks) {
+        final List<ValidationTask> resources = new ArrayList<>();
+        final List<ValidationTask> others = new ArrayList<>();
+        for (final ValidationTask task : tasks) {
+            if (ASuiteFileDescriber.isResourceFile(task.file)) {
+                resources.add(task);
+            } else {
+                others.add(task);
+            }
+        }
+        resources.addAll(others);
+        return resources;
+    }
+
+    private class ValidationTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IFile file;
+
+        private final ModelUnitValidator validator;
+
+        private final AtomicBoolean isClaimed = new AtomicBoolean();
+
+        private IProgressMonitor monitor;
+
+        private SubMonitor validationSubMonitor;
+
+        private CountDownLatch finished;
+
+        private int id;
+
+        private int total;
+
+        ValidationTask(final IFile file, final ModelUnitValidator validator) {
+            this.file = file;
+            this.validator = validator;
+        }
+
+        void prepare(final IProgressMonitor monitor, final SubMonitor validationSubMonitor,
+                final CountDownLatch finished, final int id, final int total) {
+            this.monitor = monitor;
+            this.validationSubMonitor = validationSubMonitor;
+            this.finished = finished;
+            this.id = id;
+            this.total = total;
+        }
+
+        /**
+         * Marks the unit as finished without running it, unless it has been already started.
+         *
+         * @return true when unit was skipped
+         */
+        boolean skip() {
+            if (isClaimed.compareAndSet(false, true)) {
+                finished.countDown();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        protected void compute() {
+            if (!isClaimed.compareAndSet(false, true)) {
+                // skipped after cancellation
+                return;
+            }
+            try {
+                if (monitor.isCanceled()) {
+                    logger.log("VALIDATING: cancelled (" + id + "/" + total + ")");
+                    return;
+                }
+                waitForImportedResources();
+
+                final long start = System.currentTimeMillis();
+                validator.validate(monitor);
+                recordImports();
+                logger.log("VALIDATING: done (" + id + "/" + total + ") '" + file.getFullPath() + "' in "
+                        + (System.currentTimeMillis() - start) + " ms");
+            } catch (final Exception e) {
+                logger.log("VALIDATING: error (" + id + "/" + total + ") '" + file.getFullPath() + "'");
+                logger.logError("VALIDATING: error\n" + e.getMessage());
+            } finally {
+                synchronized (validationSubMonitor) {
+                    validationSubMonitor.worked(1);
+                }
+                finished.countDown();
+            }
+        }
+
+        private void recordImports() throws CoreException {
+            if (file.getLocation() == null) {
+                return;
+            }
+            if (isRobotFile()) {
+                importsGraph.setImports(file.getLocation(), context.collectImportedLocations(file));
+            } else if (file.getName().equals(RobotProjectConfig.FILENAME)) {
+                importsGraph.setImports(file.getLocation(),
+                        context.collectConfigurationImportedLocations(file.getProject()));
+            }
+        }
+
+        private void waitForImportedResources() {
+            if (!isRobotFile()) {
+                return;
+            }
+            for (final IFile resource : context.getImportedResourceFiles(file)) {
+                final ValidationTask resourceTask = tasks.get(resource);
+                // waiting only for earlier tasks, so there are no cycles
+                if (resourceTask != null && resourceTask.id < id) {
+                    resourceTask.join();
+                }
+            }
+        }
+
+        private boolean isRobotFile() {
+            return ASuiteFileDescriber.isSuiteFile(file) || ASuiteFileDescriber.isResourceFile(file)
+                    || ASuiteFileDescriber.isInitializationFile(file);
+        }
+    }
+}
@@ -9,6 +9,14 @@ import static com.google.common.collect.Lists.newArrayList;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -16,6 +24,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.SubMonitor;
+import org.rf.ide.core.executor.EnvironmentSearchPaths;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
 import org.rf.ide.core.executor.SuiteExecutor;
@@ -39,6 +48,8 @@ import com.google.common.collect.Multimap;
 
 public class LibrariesBuilder {
 
+    private static final int CANCELLATION_CHECK_INTERVAL = 100;
+
     private final BuildLogger logger;
 
     public LibrariesBuilder(final BuildLogger logger) {
@@ -129,23 +140,54 @@ public class LibrariesBuilder {
         libdocGenerators.addAll(getRemoteLibrariesToRecreate(configuration, libspecsFolder));
 
         monitor.setWorkRemaining(libdocGenerators.size());
-        
-        for (final ILibdocGenerator generator : libdocGenerators) {
-            if (monitor.isCanceled()) {
-                return;
+        if (libdocGenerators.isEmpty()) {
+            monitor.done();
+            return;
+        }
+
+        // each generation uses its own python session server, so libdocs are generated in parallel
+        final int threads = Math.min(libdocGenerators.size(), RobotRuntimeEnvironment.getLibdocGenerationParallelism());
+        logger.log("BUILDING: " + threads + " threads will be used for " + libdocGenerators.size() + " libraries");
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CompletionService<RobotEnvironmentException> completionService = new ExecutorCompletionService<>(
+                    executor);
+            final List<Future<RobotEnvironmentException>> futures = newArrayList();
+            for (final ILibdocGenerator generator : libdocGenerators) {
+                final EnvironmentSearchPaths searchPaths = configuration
+                        .createEnvironmentSearchPaths(robotProject.getProject());
+                futures.add(completionService.submit(new LibdocGeneration(generator, runtimeEnvironment, searchPaths)));
             }
 
-            logger.log("BUILDING: " + generator.getMessage());
-            monitor.subTask(generator.getMessage());
-            try {
-                generator.generateLibdoc(runtimeEnvironment,
-                        configuration.createEnvironmentSearchPaths(robotProject.getProject()));
-            } catch (final RobotEnvironmentException e) {
-                final RobotProblem problem = RobotProblem.causedBy(
-                        ProjectConfigurationProblem.LIBRARY_SPEC_CANNOT_BE_GENERATED).formatMessageWith(e.getMessage());
-                reporter.handleProblem(problem, robotProject.getFile(".project"), 1);
+            int finished = 0;
+            while (finished < futures.size()) {
+                if (monitor.isCanceled()) {
+                    for (final Future<RobotEnvironmentException> future : futures) {
+                        future.cancel(false);
+                    }
+                    return;
+                }
+                final Future<RobotEnvironmentException> result = completionService.poll(CANCELLATION_CHECK_INTERVAL,
+                        TimeUnit.MILLISECONDS);
+                if (result == null) {
+                    continue;
+                }
+                finished++;
+                final RobotEnvironmentException e = result.get();
+                if (e != null) {
+                    final RobotProblem problem = RobotProblem
+                            .causedBy(ProjectConfigurationProblem.LIBRARY_SPEC_CANNOT_BE_GENERATED)
+                            .formatMessageWith(e.getMessage());
+                    reporter.handleProblem(problem, robotProject.getFile(".project"), 1);
+                }
+                monitor.worked(1);
             }
-            monitor.worked(1);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException e) {
+            logger.logError("BUILDING: libdoc generation failed\n" + e.getCause().getMessage());
+        } finally {
+            executor.shutdown();
         }
 
         monitor.done();
@@ -239,6 +281,33 @@ public class LibrariesBuilder {
         return generators;
     }
 
+    private final class LibdocGeneration implements Callable<RobotEnvironmentException> {
+
+        private final ILibdocGenerator generator;
+
+        private final RobotRuntimeEnvironment runtimeEnvironment;
+
+        private final EnvironmentSearchPaths searchPaths;
+
+        LibdocGeneration(final ILibdocGenerator generator, final RobotRuntimeEnvironment runtimeEnvironment,
+                final EnvironmentSearchPaths searchPaths) {
+            this.generator = generator;
+            this.runtimeEnvironment = runtimeEnvironment;
+            this.searchPaths = searchPaths;
+        }
+
+        @Override
+        public RobotEnvironmentException call() {
+            logger.log("BUILDING: " + generator.getMessage());
+            try {
+                generator.generateLibdoc(runtimeEnvironment, searchPaths);
+                return null;
+            } catch (final RobotEnvironmentException e) {
+                return e;
+            }
+        }
+    }
+
     private static final class GeneratorWithSource {
 
         private final IFile sourceLibdocFile;
@@ -87,7 +87,7 @@ public class FileValidationContext extends AccessibleKeywordsEntities {
         return context.getLibrariesAutoDiscoverer();
     }
 
-    private static final class ValidationKeywordCollector implements AccessibleKeywordsCollector {
+    private static final class ValidationKeywordCollector implements NamedKeywordsCollector {
 
         private final IFile file;
 
@@ -102,6 +102,11 @@ public class FileValidationContext extends AccessibleKeywordsEntities {
         public Map<String, Collection<KeywordEntity>> collect() {
             return context.collectAccessibleKeywordNames(file);
         }
+
+        @Override
+        public Map<String, Collection<KeywordEntity>> collect(final String keywordName) {
+            return context.collectAccessibleKeywordNames(file, keywordName);
+        }
     }
 
     public static final class ValidationKeywordEntity extends KeywordEntity {
@@ -5,23 +5,33 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.project.build.validation;
 
+import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Maps.newLinkedHashMap;
 import static com.google.common.collect.Sets.newHashSet;
 import static com.google.common.collect.Sets.newLinkedHashSet;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.executor.SuiteExecutor;
+import org.rf.ide.core.testdata.importer.VariablesFileImportReference;
 import org.rf.ide.core.testdata.model.RobotVersion;
 import org.rf.ide.core.testdata.model.table.keywords.names.QualifiedKeywordName;
 import org.rf.ide.core.testdata.model.table.variables.names.VariableNamesSupport;
@@ -35,9 +45,15 @@ import org.robotframework.ide.eclipse.main.plugin.model.RobotProject;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotVariable;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.ContinueDecision;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.ImportedKeywordsCache;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.ImportedKeywordsCache.ImportedKeywords;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.ImportedKeywordsCache.ImportedKeywordsCollector;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.KeywordDefinitionLocator;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.KeywordDefinitionLocator.KeywordDetector;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.KeywordEntity;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.PathsResolver;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.PathsResolver.PathResolvingException;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.ResourceImportsCache;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.VariableDefinitionLocator;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.VariableDefinitionLocator.VariableDetector;
 import org.robotframework.ide.eclipse.main.plugin.project.LibrariesAutoDiscoverer;
@@ -77,6 +93,12 @@ public class ValidationContext {
     
     private Optional<LibrariesAutoDiscoverer> librariesAutoDiscoverer = Optional.absent();
 
+    private final ResourceImportsCache importsCache = new ResourceImportsCache();
+
+    private final ConcurrentMap<Object, ValidationKeywordEntity> keywordEntities = new ConcurrentHashMap<>();
+
+    private final ImportedKeywordsCache importedKeywordsCache;
+
     public ValidationContext(final IProject project, final BuildLogger logger) {
         this(RedPlugin.getModelManager().getModel(), project, logger);
     }
@@ -100,6 +122,7 @@ public class ValidationContext {
 
         this.accessibleLibraries = collectLibraries(robotProject);
         this.referencedAccessibleLibraries = newHashMap(robotProject.getReferencedLibraries());
+        this.importedKeywordsCache = robotProject.getImportedKeywordsCache();
     }
 
     @VisibleForTesting
@@ -110,6 +133,7 @@ public class ValidationContext {
         this.executorInUse = executor;
         this.accessibleLibraries = libs;
         this.referencedAccessibleLibraries = refLibs;
+        this.importedKeywordsCache = new ImportedKeywordsCache();
     }
 
     BuildLogger getLogger() {
@@ -157,6 +181,82 @@ public class ValidationContext {
         return new FileValidationContext(this, file);
     }
 
+    public List<IFile> getImportedResourceFiles(final IFile file) {
+        return importsCache.getImportedResourceFiles(model.createSuiteFile(file));
+    }
+
+    /**
+     * Collects locations of all files which may affect validation of given suite, resource or
+     * initialization file: imported resources, specifications of imported libraries, imported
+     * variable files, initialization files of enclosing directories and project configuration.
+     * Possible locations of imported resources and variable files are collected even if no file
+     * exists there, so that creating missing file affects the importing one.
+     *
+     * @param file
+     * @return locations of files imported by given file
+     * @throws CoreException
+     */
+    public List<IPath> collectImportedLocations(final IFile file) throws CoreException {
+        final RobotSuiteFile suiteFile = model.createSuiteFile(file);
+        final List<IPath> locations = newArrayList();
+        for (final IFile resource : importsCache.getImportedResourceFiles(suiteFile)) {
+            addLocation(locations, resource);
+        }
+        for (final LibrarySpecification libSpec : suiteFile.getImportedLibraries().keySet()) {
+            addLocation(locations, libSpec.getSourceFile());
+        }
+        for (final VariablesFileImportReference variablesImport : suiteFile.getVariablesFromLocalReferencedFiles()) {
+            if (variablesImport.getVariablesFile() != null) {
+                locations.add(new Path(variablesImport.getVariablesFile().getAbsolutePath()));
+            }
+        }
+        addPossibleLocations(locations, suiteFile, suiteFile.getResourcesPaths());
+        addPossibleLocations(locations, suiteFile, suiteFile.getVariablesPaths());
+        for (IContainer container = file.getParent(); container != null
+                && container.getType() != IResource.ROOT; container = container.getParent()) {
+            for (final IResource member : container.members()) {
+                if (member.getType() == IResource.FILE && member.getName().startsWith("__init__.")) {
+                    addLocation(locations, (IFile) member);
+                }
+            }
+        }
+        addLocation(locations, file.getProject().getFile(RobotProjectConfig.FILENAME));
+        return locations;
+    }
+
+    /**
+     * Collects locations of variable files referenced in project configuration.
+     *
+     * @return locations of files referenced by red.xml file
+     */
+    public List<IPath> collectConfigurationImportedLocations(final IProject project) {
+        final List<IPath> locations = newArrayList();
+        for (final String path : model.createRobotProject(project).getVariableFilePaths()) {
+            locations.add(new Path(path));
+        }
+        return locations;
+    }
+
+    private static void addLocation(final List<IPath> locations, final IFile file) {
+        if (file != null && file.getLocation() != null) {
+            locations.add(file.getLocation());
+        }
+    }
+
+    private static void addPossibleLocations(final List<IPath> locations, final RobotSuiteFile suiteFile,
+            final List<IPath> importedPaths) {
+        for (final IPath importedPath : importedPaths) {
+            try {
+                final IPath resolvedPath = PathsResolver.resolveParametrizedPath(suiteFile.getProject(),
+                        importedPath.toPortableString());
+                locations.addAll(
+                        PathsResolver.resolveToAbsolutePossiblePaths(suiteFile, resolvedPath.toPortableString()));
+            } catch (final PathResolvingException e) {
+                // path which cannot be resolved never points to a file
+            }
+        }
+    }
+
     private static Map<String, LibrarySpecification> collectLibraries(final RobotProject robotProject) {
         final Map<String, LibrarySpecification> libs = newLinkedHashMap();
         libs.putAll(robotProject.getStandardLibraries());
@@ -173,7 +273,7 @@ public class ValidationContext {
 
     public Set<String> collectAccessibleVariables(final IFile file) {
         final Set<String> variables = newHashSet();
-        new VariableDefinitionLocator(file, model).locateVariableDefinition(new VariableDetector() {
+        new VariableDefinitionLocator(file, model, importsCache).locateVariableDefinition(new VariableDetector() {
 
             @Override
             public ContinueDecision variableDetected(final RobotVariable variable) {
@@ -207,17 +307,76 @@ public class ValidationContext {
     }
 
     public Map<String, Collection<KeywordEntity>> collectAccessibleKeywordNames(final IFile file) {
+        return collectAccessibleKeywordNames(file, Optional.<String> absent());
+    }
+
+    public Map<String, Collection<KeywordEntity>> collectAccessibleKeywordNames(final IFile file,
+            final String keywordName) {
+        return collectAccessibleKeywordNames(file, Optional.of(keywordName));
+    }
+
+    /**
+     * Keywords exposed by imported resources are taken from snapshots shared by all files
+     * importing the same resources, only keywords of the file and of libraries imported by it are
+     * located for each file.
+     */
+    private Map<String, Collection<KeywordEntity>> collectAccessibleKeywordNames(final IFile file,
+            final Optional<String> keywordName) {
+        final KeywordDefinitionLocator locator = new KeywordDefinitionLocator(file, model, importsCache);
+        final List<IPath> resources = locator.getImportedResourcesPaths();
+        final ImportedKeywords importedKeywords = importedKeywordsCache.getImportedKeywords(resources);
+        final Map<String, Collection<KeywordEntity>> resourcesKeywords = importedKeywords.getKeywords(keywordName,
+                new ImportedKeywordsCollector() {
+
+                    @Override
+                    public Set<IPath> collect(final Optional<String> name,
+                            final Map<String, Collection<KeywordEntity>> keywords) {
+                        return locator.locateKeywordDefinitionInResources(resources, name,
+                                createKeywordsDetector(keywords));
+                    }
+                });
+
         final Map<String, Collection<KeywordEntity>> accessibleKeywords = newHashMap();
-        new KeywordDefinitionLocator(file, model).locateKeywordDefinition(new KeywordDetector() {
+        final KeywordDetector detector = createKeywordsDetector(accessibleKeywords);
+        if (importedKeywords.getImportedPaths().get().contains(file.getFullPath())) {
+            // file imported by its resources is not visited again, so shared keywords cannot be used
+            if (keywordName.isPresent()) {
+                locator.locateKeywordDefinition(keywordName.get(), detector);
+            } else {
+                locator.locateKeywordDefinition(detector);
+            }
+            return accessibleKeywords;
+        }
+        locator.locateKeywordDefinitionInFile(keywordName, detector);
+        for (final Entry<String, Collection<KeywordEntity>> entry : resourcesKeywords.entrySet()) {
+            Collection<KeywordEntity> keywords = accessibleKeywords.get(entry.getKey());
+            if (keywords == null) {
+                keywords = newLinkedHashSet();
+                accessibleKeywords.put(entry.getKey(), keywords);
+            }
+            keywords.addAll(entry.getValue());
+        }
+        locator.locateKeywordDefinitionInImportedLibraries(keywordName, detector);
+        return accessibleKeywords;
+    }
+
+    private KeywordDetector createKeywordsDetector(final Map<String, Collection<KeywordEntity>> accessibleKeywords) {
+        return new KeywordDetector() {
 
             @Override
             public ContinueDecision libraryKeywordDetected(final LibrarySpecification libSpec,
                     final KeywordSpecification kwSpec, final String libraryAlias, final RobotSuiteFile exposingFile) {
 
-                final KeywordScope scope = libSpec.isReferenced() ? KeywordScope.REF_LIBRARY : KeywordScope.STD_LIBRARY;
-                final ValidationKeywordEntity keyword = new ValidationKeywordEntity(scope, libSpec.getName(),
-                        kwSpec.getName(), libraryAlias, kwSpec.isDeprecated(), exposingFile.getFile().getFullPath(), 0,
-                        kwSpec.createArgumentsDescriptor());
+                final List<Object> key = Arrays.<Object> asList(libSpec, kwSpec, libraryAlias, exposingFile.getFile());
+                ValidationKeywordEntity keyword = keywordEntities.get(key);
+                if (keyword == null) {
+                    final KeywordScope scope = libSpec.isReferenced() ? KeywordScope.REF_LIBRARY
+                            : KeywordScope.STD_LIBRARY;
+                    keyword = new ValidationKeywordEntity(scope, libSpec.getName(), kwSpec.getName(), libraryAlias,
+                            kwSpec.isDeprecated(), exposingFile.getFile().getFullPath(), 0,
+                            kwSpec.createArgumentsDescriptor());
+                    keywordEntities.putIfAbsent(key, keyword);
+                }
 
                 addAccessibleKeyword(kwSpec.getName(), keyword);
                 return ContinueDecision.CONTINUE;
@@ -226,10 +385,14 @@ public class ValidationContext {
             @Override
             public ContinueDecision keywordDetected(final RobotSuiteFile suiteFile,
                     final RobotKeywordDefinition kwDefinition) {
-                final ValidationKeywordEntity keyword = new ValidationKeywordEntity(null,
-                        Files.getNameWithoutExtension(suiteFile.getName()), kwDefinition.getName(), "",
-                        kwDefinition.isDeprecated(), suiteFile.getFile().getFullPath(),
-                        kwDefinition.getDefinitionPosition().getOffset(), kwDefinition.createArgumentsDescriptor());
+                ValidationKeywordEntity keyword = keywordEntities.get(kwDefinition);
+                if (keyword == null) {
+                    keyword = new ValidationKeywordEntity(null, Files.getNameWithoutExtension(suiteFile.getName()),
+                            kwDefinition.getName(), "", kwDefinition.isDeprecated(),
+                            suiteFile.getFile().getFullPath(), kwDefinition.getDefinitionPosition().getOffset(),
+                            kwDefinition.createArgumentsDescriptor());
+                    keywordEntities.putIfAbsent(kwDefinition, keyword);
+                }
 
                 addAccessibleKeyword(kwDefinition.getName(), keyword);
                 return ContinueDecision.CONTINUE;
@@ -245,7 +408,6 @@ public class ValidationContext {
                     accessibleKeywords.put(unifiedName, setOfKeywords);
                 }
             }
-        });
-        return accessibleKeywords;
+        };
     }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.editor.libraries;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Names of classes found inside jar files, remembered for each jar together with its size and
+ * modification time. Names of python classes are remembered separately for each interpreter and
+ * search paths used. Cache is stored in plugin state location, so after restart jars are not read
+ * again as long as they were not modified. Changes are written on {@link #saveChanges()} into
+ * temporary file which then replaces the store file, so the store file is never partially written.
+ */
+class JarClassesCache {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int MAX_JARS = 200;
+
+    private static class InstanceHolder {
+
+        private static final JarClassesCache INSTANCE = new JarClassesCache(getStoreFile());
+
+        private static File getStoreFile() {
+            final RedPlugin plugin = RedPlugin.getDefault();
+            return plugin == null ? null : plugin.getStateLocation().append("jar_classes.cache").toFile();
+        }
+    }
+
+    static JarClassesCache getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    private final File storeFile;
+
+    private final Map<String, JarClasses> jars = new LinkedHashMap<String, JarClasses>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Entry<String, JarClasses> eldest) {
+            return size() > MAX_JARS;
+        }
+    };
+
+    private boolean isLoaded;
+
+    private boolean isModified;
+
+    @VisibleForTesting
+    JarClassesCache(final File storeFile) {
+        this.storeFile = storeFile;
+    }
+
+    synchronized Optional<List<String>> getJavaClasses(final File jarFile) {
+        final JarClasses classes = getValidClasses(jarFile);
+        return classes == null ? Optional.<List<String>> absent() : Optional.fromNullable(classes.javaClasses);
+    }
+
+    synchronized void putJavaClasses(final File jarFile, final List<String> javaClasses) {
+        getClassesToUpdate(jarFile).javaClasses = ImmutableList.copyOf(javaClasses);
+        isModified = true;
+    }
+
+    synchronized Optional<List<String>> getPythonClasses(final File jarFile, final String interpreterKey) {
+        final JarClasses classes = getValidClasses(jarFile);
+        return classes == null ? Optional.<List<String>> absent()
+                : Optional.fromNullable(classes.pythonClasses.get(interpreterKey));
+    }
+
+    synchronized void putPythonClasses(final File jarFile, final String interpreterKey,
+            final List<String> pythonClasses) {
+        getClassesToUpdate(jarFile).pythonClasses.put(interpreterKey, ImmutableList.copyOf(pythonClasses));
+        isModified = true;
+    }
+
+    synchronized void saveChanges() {
+        if (isModified) {
+            isModified = false;
+            store();
+        }
+    }
+
+    private JarClasses getValidClasses(final File jarFile) {
+        load();
+        final String path = jarFile.getAbsolutePath();
+        final JarClasses classes = jars.get(path);
+        if (classes != null && !classes.isStampOf(jarFile)) {
+            jars.remove(path);
+            return null;
+        }
+        return classes;
+    }
+
+    private JarClasses getClassesToUpdate(final File jarFile) {
+        JarClasses classes = getValidClasses(jarFile);
+        if (classes == null) {
+            classes = new JarClasses(jarFile.length(), jarFile.lastModified());
+            jars.put(jarFile.getAbsolutePath(), classes);
+        }
+        return classes;
+    }
+
+    private void load() {
+        if (isLoaded) {
+            return;
+        }
+        isLoaded = true;
+        if (storeFile == null || !storeFile.isFile()) {
+            return;
+        }
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(storeFile)))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            final int jarsCount = input.readInt();
+            for (int i = 0; i < jarsCount; i++) {
+                final String path = input.readUTF();
+                final JarClasses classes = new JarClasses(input.readLong(), input.readLong());
+                if (input.readBoolean()) {
+                    classes.javaClasses = readNames(input);
+                }
+                final int interpretersCount = input.readInt();
+                for (int j = 0; j < interpretersCount; j++) {
+                    classes.pythonClasses.put(input.readUTF(), readNames(input));
+                }
+                jars.put(path, classes);
+            }
+        } catch (final IOException e) {
+            // cache is only rebuilt
+            jars.clear();
+        }
+    }
+
+    private void store() {
+        if (storeFile == null) {
+            return;
+        }
+        final File tempFile = new File(storeFile.getPath() + ".tmp");
+        try {
+            write(tempFile);
+            Files.move(tempFile.toPath(), storeFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            // classes will be read from jars again
+            tempFile.delete();
+        }
+    }
+
+    private void write(final File file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(jars.size());
+            for (final Entry<String, JarClasses> entry : jars.entrySet()) {
+                final JarClasses classes = entry.getValue();
+                output.writeUTF(entry.getKey());
+                output.writeLong(classes.length);
+                output.writeLong(classes.lastModified);
+                output.writeBoolean(classes.javaClasses != null);
+                if (classes.javaClasses != null) {
+                    writeNames(output, classes.javaClasses);
+                }
+                output.writeInt(classes.pythonClasses.size());
+                for (final Entry<String, List<String>> pythonEntry : classes.pythonClasses.entrySet()) {
+                    output.writeUTF(pythonEntry.getKey());
+                    writeNames(output, pythonEntry.getValue());
+                }
+            }
+        }
+    }
+
+    private static List<String> readNames(final DataInputStream input) throws IOException {
+        final int count = input.readInt();
+        final List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(input.readUTF());
+        }
+        return ImmutableList.copyOf(names);
+    }
+
+    private static void writeNames(final DataOutputStream output, final List<String> names) throws IOException {
+        output.writeInt(names.size());
+        for (final String name : names) {
+            output.writeUTF(name);
+        }
+    }
+
+    private static final class JarClasses {
+
+        private final long length;
+
+        private final long lastModified;
+
+        private List<String> javaClasses;
+
+        private final Map<String, List<String>> pythonClasses = new HashMap<>();
+
+        JarClasses(final long length, final long lastModified) {
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        boolean isStampOf(final File jarFile) {
+            return length == jarFile.length() && lastModified == jarFile.lastModified();
+        }
+    }
+}
@@ -8,15 +8,21 @@ package org.robotframework.ide.eclipse.main.plugin.project.editor.libraries;
 import static com.google.common.collect.Lists.newArrayList;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.Path;
+import org.rf.ide.core.executor.EnvironmentSearchPaths;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.robotframework.ide.eclipse.main.plugin.PathsConverter;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig;
@@ -24,10 +30,19 @@ import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.Lib
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.ReferencedLibrary;
 import org.robotframework.ide.eclipse.main.plugin.project.editor.libraries.PythonLibStructureBuilder.PythonClass;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Ordering;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 public class JarStructureBuilder {
 
+    private static final ExecutorService PYTHON_ENTRIES_EXECUTOR = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("RED jar python entries %d").setDaemon(true).build());
+
     private final RobotRuntimeEnvironment environment;
 
     private final RobotProjectConfig config;
@@ -55,36 +70,87 @@ public class JarStructureBuilder {
     }
 
     private List<JarClass> provideEntriesFromJarFile(final File file) {
+        final JarClassesCache cache = JarClassesCache.getInstance();
+        // python is asked in background while java classes are read
+        final Future<List<String>> pythonClasses = providePythonClassesFromJarFile(file, cache);
+
         final List<JarClass> jarClasses = newArrayList();
-        try (ZipInputStream zipStream = new ZipInputStream(new FileInputStream(file))) {
-            ZipEntry entry = zipStream.getNextEntry();
-            while (entry != null) {
-                if (isJavaClass(entry.getName())) {
-                    jarClasses.add(JarClass.createFromZipJavaEntry(entry.getName()));
+        for (final String name : provideJavaClassesFromJarFile(file, cache)) {
+            jarClasses.add(new JarClass(name));
+        }
+        for (final String name : getPythonClasses(pythonClasses)) {
+            jarClasses.add(new JarClass(name));
+        }
+        cache.saveChanges();
+        return jarClasses;
+    }
+
+    private List<String> provideJavaClassesFromJarFile(final File file, final JarClassesCache cache) {
+        final Optional<List<String>> cachedClasses = cache.getJavaClasses(file);
+        if (cachedClasses.isPresent()) {
+            return cachedClasses.get();
+        }
+        final List<String> classes = newArrayList();
+        // entries are listed from central directory, so contents of archive are not read
+        try (ZipFile zipFile = new ZipFile(file)) {
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                final String entryName = entries.nextElement().getName();
+                if (isJavaClass(entryName)) {
+                    classes.add(JarClass.createFromZipJavaEntry(entryName).getQualifiedName());
                 }
-                entry = zipStream.getNextEntry();
             }
         } catch (final IOException e) {
-            // nothing to do
+            return classes;
         }
-
-        jarClasses.addAll(providePythonEntriesFromJarFile(file));
-
-        return jarClasses;
+        cache.putJavaClasses(file, classes);
+        return classes;
     }
 
-    private List<JarClass> providePythonEntriesFromJarFile(final File file) {
+    private Future<List<String>> providePythonClassesFromJarFile(final File file, final JarClassesCache cache) {
+        // classes found depend on interpreter and on search paths from red.xml
+        final String interpreterKey = environment == null || environment.getFile() == null ? null
+                : environment.getFile().getAbsolutePath() + "|" + environment.getInterpreter() + "|"
+                        + createSearchPathsKey(config.createEnvironmentSearchPaths(project));
+        if (interpreterKey != null) {
+            final Optional<List<String>> cachedClasses = cache.getPythonClasses(file, interpreterKey);
+            if (cachedClasses.isPresent()) {
+                return Futures.immediateFuture(cachedClasses.get());
+            }
+        }
         final PythonLibStructureBuilder pythonLibStructureBuilder = new PythonLibStructureBuilder(environment, config,
                 project);
-        final Collection<PythonClass> entriesFromFile = pythonLibStructureBuilder.provideEntriesFromFile(file.getPath(),
-                Optional.<String> absent(), false);
+        return PYTHON_ENTRIES_EXECUTOR.submit(new Callable<List<String>>() {
+
+            @Override
+            public List<String> call() {
+                final List<String> classes = newArrayList();
+                for (final PythonClass pythonClass : pythonLibStructureBuilder.provideEntriesFromFile(file.getPath(),
+                        Optional.<String> absent(), false)) {
+                    classes.add(pythonClass.getQualifiedName());
+                }
+                if (interpreterKey != null) {
+                    cache.putPythonClasses(file, interpreterKey, classes);
+                }
+                return classes;
+            }
+        });
+    }
 
-        final List<JarClass> jarClasses = newArrayList();
-        for (final PythonClass pythonClass : entriesFromFile) {
-            jarClasses.add(JarClass.createFromZipPythonEntry(pythonClass.getQualifiedName()));
-        }
+    private static String createSearchPathsKey(final EnvironmentSearchPaths searchPaths) {
+        return sortedPaths(searchPaths.getClassPaths()) + "|" + sortedPaths(searchPaths.getPythonPaths());
+    }
 
-        return jarClasses;
+    private static String sortedPaths(final Collection<String> paths) {
+        return Joiner.on(File.pathSeparator).join(Ordering.natural().sortedCopy(paths));
+    }
+
+    private static List<String> getPythonClasses(final Future<List<String>> pythonClasses) {
+        try {
+            return Uninterruptibles.getUninterruptibly(pythonClasses);
+        } catch (final ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
     }
 
     private boolean isJavaClass(final String entryName) {
@@ -105,10 +171,6 @@ public class JarStructureBuilder {
             return new JarClass(qualifiedName);
         }
 
-        private static JarClass createFromZipPythonEntry(final String name) {
-            return new JarClass(name);
-        }
-
         public String getQualifiedName() {
             return qualifiedName;
         }
@@ -12,6 +12,9 @@ import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecificationIndex.IndexedDocumentation;
 
 import com.google.common.base.Objects;
 
@@ -22,6 +25,9 @@ public class KeywordSpecification {
     private String format;
     private String documentation;
 
+    @XmlTransient
+    private volatile IndexedDocumentation lazyDocumentation;
+
     private List<String> arguments;
 
     private Boolean isDeprecated;
@@ -40,12 +46,23 @@ public class KeywordSpecification {
     }
 
     public String getDocumentation() {
+        final IndexedDocumentation lazyDoc = lazyDocumentation;
+        if (lazyDoc != null) {
+            documentation = lazyDoc.load();
+            lazyDocumentation = null;
+        }
         return documentation;
     }
 
     @XmlElement(name = "doc")
     public void setDocumentation(final String documentation) {
         this.documentation = documentation;
+        this.lazyDocumentation = null;
+    }
+
+    void setLazyDocumentation(final IndexedDocumentation documentation) {
+        this.documentation = null;
+        this.lazyDocumentation = documentation;
     }
 
     public List<String> getArguments() {
@@ -64,7 +81,7 @@ public class KeywordSpecification {
 
     public String getDocumentationAsHtml() {
         if ("ROBOT".equals(format)) {
-            return new RobotToHtmlConverter().convert(documentation);
+            return new RobotToHtmlConverter().convert(getDocumentation());
         }
         throw new IllegalArgumentException("Only ROBOT format can be converted to HTML");
     }
@@ -75,12 +92,17 @@ public class KeywordSpecification {
 
     public boolean isDeprecated() {
         if (isDeprecated == null) {
-            isDeprecated = Boolean.valueOf(documentation != null
-                    && Pattern.compile("^\\*deprecated[^\\n\\r]*\\*.*").matcher(documentation.toLowerCase()).find());
+            final String doc = getDocumentation();
+            isDeprecated = Boolean.valueOf(
+                    doc != null && Pattern.compile("^\\*deprecated[^\\n\\r]*\\*.*").matcher(doc.toLowerCase()).find());
         }
         return isDeprecated.booleanValue();
     }
 
+    void setDeprecated(final boolean isDeprecated) {
+        this.isDeprecated = Boolean.valueOf(isDeprecated);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == null) {
@@ -10,6 +10,9 @@ import java.util.List;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecificationIndex.IndexedDocumentation;
 
 /**
  * @author Michal Anglart
@@ -20,15 +23,29 @@ public class LibraryConstructor {
 
     private String documentation;
 
+    @XmlTransient
+    private volatile IndexedDocumentation lazyDocumentation;
+
     private List<String> arguments;
 
     public String getDocumentation() {
+        final IndexedDocumentation lazyDoc = lazyDocumentation;
+        if (lazyDoc != null) {
+            documentation = lazyDoc.load();
+            lazyDocumentation = null;
+        }
         return documentation;
     }
 
     @XmlElement(name = "doc")
     public void setDocumentation(final String documentation) {
         this.documentation = documentation;
+        this.lazyDocumentation = null;
+    }
+
+    void setLazyDocumentation(final IndexedDocumentation documentation) {
+        this.documentation = null;
+        this.lazyDocumentation = documentation;
     }
 
     public List<String> getArguments() {
@@ -15,6 +15,7 @@ import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
 
 import org.eclipse.core.resources.IFile;
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecificationIndex.IndexedDocumentation;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.ReferencedLibrary;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.RemoteLocation;
 
@@ -51,6 +52,9 @@ public class LibrarySpecification {
 
     private String documentation;
 
+    @XmlTransient
+    private volatile IndexedDocumentation lazyDocumentation;
+
     private List<KeywordSpecification> keywords = new ArrayList<>();
 
     private String secondaryKey = "";
@@ -92,12 +96,23 @@ public class LibrarySpecification {
     }
 
     public String getDocumentation() {
+        final IndexedDocumentation lazyDoc = lazyDocumentation;
+        if (lazyDoc != null) {
+            documentation = lazyDoc.load();
+            lazyDocumentation = null;
+        }
         return documentation;
     }
 
     @XmlElement(name = "doc")
     public void setDocumentation(final String documentation) {
         this.documentation = documentation;
+        this.lazyDocumentation = null;
+    }
+
+    void setLazyDocumentation(final IndexedDocumentation documentation) {
+        this.documentation = null;
+        this.lazyDocumentation = documentation;
     }
 
     public List<KeywordSpecification> getKeywords() {
@@ -148,7 +163,7 @@ public class LibrarySpecification {
 
     public String getDocumentationAsHtml() {
         if ("ROBOT".equals(format)) {
-            return new RobotToHtmlConverter().convert(documentation);
+            return new RobotToHtmlConverter().convert(getDocumentation());
         }
         throw new IllegalArgumentException("Only ROBOT format can be converted to HTML");
     }
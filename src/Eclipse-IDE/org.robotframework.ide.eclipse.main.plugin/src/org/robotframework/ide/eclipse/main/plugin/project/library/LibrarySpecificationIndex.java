@@ -0,0 +1,362 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.library;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary index of library specification stored next to its .libspec file. Index holds everything
+ * which is needed to create specification, except documentations. Documentations are stored at
+ * the end of index file and are read only when they are requested (e.g. by documentation view,
+ * hovers or content assist), so reading index neither parses XML nor keeps documentations of all
+ * keywords in memory.
+ * <p>
+ * Index remembers modification time and length of .libspec file it was created from, so it is not
+ * used after the specification was generated again.
+ */
+public class LibrarySpecificationIndex {
+
+    public static final String FILE_EXTENSION = ".index";
+
+    private static final int MAGIC = 0x52454449;
+
+    private static final int FORMAT_VERSION = 1;
+
+    // magic, format version, libspec modification time and length, index section length
+    private static final int HEADER_LENGTH = 4 + 4 + 8 + 8 + 4;
+
+    static final int LIBRARY_DOCUMENTATION = -1;
+
+    static final int CONSTRUCTOR_DOCUMENTATION = -2;
+
+    static final int KEYWORD_DOCUMENTATION = 0;
+
+    static File getIndexFile(final File libspecFile) {
+        return new File(libspecFile.getPath() + FILE_EXTENSION);
+    }
+
+    /**
+     * Reads specification from index of given .libspec file.
+     *
+     * @param libspecFile
+     * @return specification or null when there is no up to date index
+     * @throws IOException
+     */
+    static LibrarySpecification read(final File libspecFile) throws IOException {
+        final File indexFile = getIndexFile(libspecFile);
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        final Stamp stamp = new Stamp(libspecFile);
+        try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer header = readFully(channel, 0, HEADER_LENGTH);
+            if (header == null || header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION
+                    || !stamp.equals(new Stamp(header.getLong(), header.getLong()))) {
+                return null;
+            }
+            final int indexLength = header.getInt();
+            final ByteBuffer index = readFully(channel, HEADER_LENGTH, indexLength);
+            if (index == null) {
+                return null;
+            }
+            final DocumentationsFile docs = new DocumentationsFile(libspecFile, stamp, HEADER_LENGTH + indexLength);
+            return readSpecification(index, docs);
+        }
+    }
+
+    private static LibrarySpecification readSpecification(final ByteBuffer index, final DocumentationsFile docs) {
+        final LibrarySpecification spec = new LibrarySpecification();
+        spec.setName(readString(index));
+        spec.setScope(readString(index));
+        spec.setFormat(readString(index));
+        spec.setVersion(readString(index));
+        spec.setLazyDocumentation(readDocumentation(index, docs, LIBRARY_DOCUMENTATION, null));
+
+        if (index.get() != 0) {
+            final LibraryConstructor constructor = new LibraryConstructor();
+            constructor.setArguments(readStrings(index));
+            constructor.setLazyDocumentation(readDocumentation(index, docs, CONSTRUCTOR_DOCUMENTATION, null));
+            spec.setConstructor(constructor);
+        }
+
+        final int keywordsCount = index.getInt();
+        if (keywordsCount < 0) {
+            spec.setKeywords(null);
+        } else {
+            final List<KeywordSpecification> keywords = new ArrayList<>(keywordsCount);
+            for (int i = 0; i < keywordsCount; i++) {
+                final KeywordSpecification keyword = new KeywordSpecification();
+                keyword.setName(readString(index));
+                keyword.setArguments(readStrings(index));
+                keyword.setLazyDocumentation(readDocumentation(index, docs, KEYWORD_DOCUMENTATION, keyword.getName()));
+                keyword.setDeprecated(index.get() != 0);
+                keywords.add(keyword);
+            }
+            spec.setKeywords(keywords);
+        }
+        return spec;
+    }
+
+    /**
+     * Writes index of given specification read from given .libspec file. Index is written to
+     * temporary file first and then moved, so documentations are never read from partially written
+     * index.
+     *
+     * @param spec
+     * @param libspecFile
+     * @throws IOException
+     */
+    static void write(final LibrarySpecification spec, final File libspecFile) throws IOException {
+        final Stamp stamp = new Stamp(libspecFile);
+
+        final ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        final ByteArrayOutputStream docsBytes = new ByteArrayOutputStream();
+        final DataOutputStream index = new DataOutputStream(indexBytes);
+        writeString(index, spec.getName());
+        writeString(index, spec.getScope());
+        writeString(index, spec.getFormat());
+        writeString(index, spec.getVersion());
+        writeDocumentation(index, docsBytes, spec.getDocumentation());
+
+        final LibraryConstructor constructor = spec.getConstructor();
+        index.writeBoolean(constructor != null);
+        if (constructor != null) {
+            writeStrings(index, constructor.getArguments());
+            writeDocumentation(index, docsBytes, constructor.getDocumentation());
+        }
+
+        final List<KeywordSpecification> keywords = spec.getKeywords();
+        index.writeInt(keywords == null ? -1 : keywords.size());
+        if (keywords != null) {
+            for (final KeywordSpecification keyword : keywords) {
+                writeString(index, keyword.getName());
+                writeStrings(index, keyword.getArguments());
+                writeDocumentation(index, docsBytes, keyword.getDocumentation());
+                index.writeBoolean(keyword.isDeprecated());
+            }
+        }
+        index.flush();
+
+        final File indexFile = getIndexFile(libspecFile);
+        final File tmpFile = new File(indexFile.getPath() + ".tmp");
+        try (OutputStream output = new FileOutputStream(tmpFile)) {
+            final DataOutputStream out = new DataOutputStream(output);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(stamp.lastModified);
+            out.writeLong(stamp.length);
+            out.writeInt(indexBytes.size());
+            indexBytes.writeTo(out);
+            docsBytes.writeTo(out);
+            out.flush();
+        }
+        try {
+            Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            tmpFile.delete();
+            throw e;
+        }
+    }
+
+    private static void writeDocumentation(final DataOutputStream index, final ByteArrayOutputStream docs,
+            final String documentation) throws IOException {
+        if (documentation == null) {
+            index.writeInt(-1);
+            index.writeInt(0);
+        } else {
+            final byte[] bytes = documentation.getBytes(StandardCharsets.UTF_8);
+            index.writeInt(docs.size());
+            index.writeInt(bytes.length);
+            docs.write(bytes);
+        }
+    }
+
+    private static IndexedDocumentation readDocumentation(final ByteBuffer index, final DocumentationsFile docs,
+            final int kind, final String keywordName) {
+        final int offset = index.getInt();
+        final int length = index.getInt();
+        return offset < 0 ? null : new IndexedDocumentation(docs, offset, length, kind, keywordName);
+    }
+
+    private static void writeStrings(final DataOutputStream out, final List<String> strings) throws IOException {
+        out.writeInt(strings == null ? -1 : strings.size());
+        if (strings != null) {
+            for (final String string : strings) {
+                writeString(out, string);
+            }
+        }
+    }
+
+    private static List<String> readStrings(final ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        if (size < 0) {
+            return null;
+        }
+        final List<String> strings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            strings.add(readString(buffer));
+        }
+        return strings;
+    }
+
+    private static void writeString(final DataOutputStream out, final String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return string;
+    }
+
+    private static ByteBuffer readFully(final FileChannel channel, final long position, final int length)
+            throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static final class Stamp {
+
+        private final long lastModified;
+
+        private final long length;
+
+        Stamp(final File file) {
+            this(file.lastModified(), file.length());
+        }
+
+        Stamp(final long lastModified, final long length) {
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj != null && obj.getClass() == Stamp.class) {
+                final Stamp that = (Stamp) obj;
+                return this.lastModified == that.lastModified && this.length == that.length;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (lastModified ^ length);
+        }
+    }
+
+    /**
+     * Documentations section of single index file, shared by all documentations of library.
+     */
+    private static final class DocumentationsFile {
+
+        private final File libspecFile;
+
+        private final Stamp stamp;
+
+        private final long docsStart;
+
+        DocumentationsFile(final File libspecFile, final Stamp stamp, final long docsStart) {
+            this.libspecFile = libspecFile;
+            this.stamp = stamp;
+            this.docsStart = docsStart;
+        }
+
+        String read(final int offset, final int length, final int kind, final String keywordName) {
+            try (FileChannel channel = FileChannel.open(getIndexFile(libspecFile).toPath(),
+                    StandardOpenOption.READ)) {
+                final ByteBuffer header = readFully(channel, 0, HEADER_LENGTH);
+                if (header != null && header.getInt() == MAGIC && header.getInt() == FORMAT_VERSION
+                        && stamp.equals(new Stamp(header.getLong(), header.getLong()))) {
+                    final ByteBuffer doc = readFully(channel, docsStart + offset, length);
+                    if (doc != null) {
+                        return new String(doc.array(), 0, length, StandardCharsets.UTF_8);
+                    }
+                }
+            } catch (final IOException e) {
+                // documentation will be read from specification file
+            }
+            return readFromSpecification(kind, keywordName);
+        }
+
+        private String readFromSpecification(final int kind, final String keywordName) {
+            // index was regenerated or removed in the meantime, so keywords may have been changed
+            final LibrarySpecification spec = LibrarySpecificationReader.readSpecificationXml(libspecFile);
+            if (kind == LIBRARY_DOCUMENTATION) {
+                return spec.getDocumentation();
+            } else if (kind == CONSTRUCTOR_DOCUMENTATION) {
+                return spec.getConstructor() == null ? null : spec.getConstructor().getDocumentation();
+            } else if (spec.getKeywords() != null) {
+                for (final KeywordSpecification keyword : spec.getKeywords()) {
+                    if (keyword.getName() != null && keyword.getName().equals(keywordName)) {
+                        return keyword.getDocumentation();
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Documentation of library, its constructor or keyword, which is read from index when needed.
+     */
+    static final class IndexedDocumentation {
+
+        private final DocumentationsFile file;
+
+        private final int offset;
+
+        private final int length;
+
+        private final int kind;
+
+        private final String keywordName;
+
+        IndexedDocumentation(final DocumentationsFile file, final int offset, final int length, final int kind,
+                final String keywordName) {
+            this.file = file;
+            this.offset = offset;
+            this.length = length;
+            this.kind = kind;
+            this.keywordName = keywordName;
+        }
+
+        String load() {
+            return file.read(offset, length, kind, keywordName);
+        }
+    }
+}
@@ -6,30 +6,70 @@
 package org.robotframework.ide.eclipse.main.plugin.project.library;
 
 import java.io.File;
+import java.io.IOException;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 
 import org.eclipse.core.resources.IFile;
+import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.LibraryType;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.ReferencedLibrary;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.RemoteLocation;
 
 public class LibrarySpecificationReader {
 
     static LibrarySpecification readSpecification(final IFile libraryFile) {
+        return readSpecification(libraryFile, true);
+    }
+
+    /**
+     * Reads specification from given .libspec file. When index usage is requested specification is
+     * read from up to date binary index if possible, otherwise index is written after reading the
+     * XML, so it can be used next time.
+     *
+     * @see LibrarySpecificationIndex
+     */
+    private static LibrarySpecification readSpecification(final IFile libraryFile, final boolean useIndex) {
+        final File file = new File(libraryFile.getLocationURI());
+        LibrarySpecification specification = useIndex ? readSpecificationIndex(file) : null;
+        if (specification == null) {
+            specification = readSpecificationXml(file);
+            if (useIndex) {
+                writeSpecificationIndex(specification, file);
+            }
+        }
+        specification.propagateFormat();
+        specification.setSourceFile(libraryFile);
+        return specification;
+    }
+
+    static LibrarySpecification readSpecificationXml(final File libraryFile) {
         try {
             final JAXBContext jaxbContext = JAXBContext.newInstance(LibrarySpecification.class);
             final Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-            final LibrarySpecification specification = (LibrarySpecification) jaxbUnmarshaller.unmarshal(new File(libraryFile.getLocationURI()));
-            specification.propagateFormat();
-            specification.setSourceFile(libraryFile);
-
-            return specification;
+            return (LibrarySpecification) jaxbUnmarshaller.unmarshal(libraryFile);
 
         } catch (final JAXBException e) {
             throw new CannotReadLibrarySpecificationException("Unable to read library specification file", e);
         }
+    }
+
+    private static LibrarySpecification readSpecificationIndex(final File libraryFile) {
+        try {
+            return LibrarySpecificationIndex.read(libraryFile);
+        } catch (final IOException | RuntimeException e) {
+            // specification will be read from XML
+            return null;
+        }
+    }
+
+    private static void writeSpecificationIndex(final LibrarySpecification specification, final File libraryFile) {
+        try {
+            LibrarySpecificationIndex.write(specification, libraryFile);
+        } catch (final IOException e) {
+            // specification will be read from XML next time too
+        }
     }
 
     public static LibrarySpecification readStandardLibrarySpecification(final IFile libraryFile,
@@ -47,7 +87,8 @@ public class LibrarySpecificationReader {
     
     public static LibrarySpecification readReferencedSpecification(final IFile libraryFile,
             final ReferencedLibrary library) {
-        final LibrarySpecification spec = readSpecification(libraryFile);
+        // virtual libraries may point to libspec files of user, so no index is written next to them
+        final LibrarySpecification spec = readSpecification(libraryFile, library.provideType() != LibraryType.VIRTUAL);
         spec.setReferenced(library);
         spec.setSecondaryKey(library.getPath());
         return spec;
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IPath;
+import org.robotframework.ide.eclipse.main.plugin.project.library.KeywordSpecification;
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.hash.Hashing;
+
+/**
+ * Trigram indexes of documentations of libraries used by single project. In index of library the
+ * document 0 is documentation of library itself and document i + 1 is documentation of i-th
+ * keyword.
+ * <p>
+ * Libraries are indexed by specification identity, so specifications read again after libspec
+ * regeneration are indexed anew. Index of specification read from .libspec file is also stored in
+ * given directory together with modification time and length of the file, so after restart
+ * documentations are read only when the file was generated again.
+ */
+public class DocumentationSearchIndex {
+
+    private static final int MAGIC = 0x52454453;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final ConcurrentMap<LibrarySpecification, TrigramIndex> librariesIndexes = new MapMaker().weakKeys()
+            .makeMap();
+
+    private final File indexesDirectory;
+
+    /**
+     * @param indexesDirectory
+     *            directory where indexes are stored or null if indexes should be kept in memory
+     *            only
+     */
+    public DocumentationSearchIndex(final File indexesDirectory) {
+        this.indexesDirectory = indexesDirectory;
+    }
+
+    /**
+     * Finds documents of given library which may match given pattern.
+     *
+     * @return candidates: 0 for library documentation, i + 1 for documentation of i-th keyword
+     */
+    public BitSet findCandidates(final LibrarySpecification libSpec, final SearchPattern pattern) {
+        return getIndex(libSpec).findCandidates(pattern.getLiteralFragments());
+    }
+
+    private TrigramIndex getIndex(final LibrarySpecification libSpec) {
+        TrigramIndex index = librariesIndexes.get(libSpec);
+        if (index == null) {
+            final int documentsCount = libSpec.getKeywords().size() + 1;
+            final File libspecFile = getLibspecFile(libSpec);
+            final File indexFile = libspecFile == null || indexesDirectory == null ? null
+                    : new File(indexesDirectory, libSpec.getName() + "_"
+                            + Hashing.sha1().hashString(libspecFile.getPath(), StandardCharsets.UTF_8) + ".trigrams");
+
+            index = indexFile == null ? null : read(indexFile, libspecFile);
+            if (index == null || index.getDocumentsCount() != documentsCount) {
+                // stamp is taken before documentations are read, so index is never newer than stamp
+                final long lastModified = libspecFile == null ? 0 : libspecFile.lastModified();
+                final long length = libspecFile == null ? 0 : libspecFile.length();
+                index = TrigramIndex.create(getDocuments(libSpec));
+                if (indexFile != null) {
+                    write(index, indexFile, lastModified, length);
+                }
+            }
+            librariesIndexes.put(libSpec, index);
+        }
+        return index;
+    }
+
+    private static File getLibspecFile(final LibrarySpecification libSpec) {
+        final IFile sourceFile = libSpec.getSourceFile();
+        final IPath location = sourceFile == null ? null : sourceFile.getLocation();
+        return location == null || !location.toFile().isFile() ? null : location.toFile();
+    }
+
+    private static List<String> getDocuments(final LibrarySpecification libSpec) {
+        final List<String> documents = new ArrayList<>();
+        documents.add(libSpec.getDocumentation());
+        for (final KeywordSpecification kwSpec : libSpec.getKeywords()) {
+            documents.add(kwSpec.getDocumentation());
+        }
+        return documents;
+    }
+
+    private static TrigramIndex read(final File indexFile, final File libspecFile) {
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION
+                    || input.readLong() != libspecFile.lastModified() || input.readLong() != libspecFile.length()) {
+                return null;
+            }
+            return TrigramIndex.read(input);
+        } catch (final IOException e) {
+            // index will be created again
+            return null;
+        }
+    }
+
+    private static void write(final TrigramIndex index, final File indexFile, final long lastModified,
+            final long length) {
+        final File tmpFile = new File(indexFile.getPath() + ".tmp");
+        try {
+            Files.createDirectories(indexFile.getParentFile().toPath());
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeLong(lastModified);
+                output.writeLong(length);
+                index.write(output);
+            }
+            Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            // index is still used from memory
+            tmpFile.delete();
+        }
+    }
+}
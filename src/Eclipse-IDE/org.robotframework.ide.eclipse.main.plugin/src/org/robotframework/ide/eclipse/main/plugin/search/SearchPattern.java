@@ -5,8 +5,12 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.search;
 
+import java.util.List;
 import java.util.regex.Pattern;
 
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+
 /**
  * Class for simplified search regexes (where * and ? are possible as any string or any character
  * respectively). This object micro-caches the compiled pattern in order to be quickly re-use during
@@ -33,6 +37,13 @@ public final class SearchPattern {
         this.compiledPattern = null;
     }
 
+    /**
+     * @return fragments of the pattern which have to occur literally in every matching text
+     */
+    public List<String> getLiteralFragments() {
+        return Splitter.on(CharMatcher.anyOf("*?")).omitEmptyStrings().splitToList(pattern);
+    }
+
     public Pattern buildPattern() {
         if (compiledPattern == null) {
             final StringBuilder translatedPattern = new StringBuilder();
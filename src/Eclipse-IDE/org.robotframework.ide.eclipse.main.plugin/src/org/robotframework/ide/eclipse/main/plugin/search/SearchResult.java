@@ -5,6 +5,11 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.search;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.search.ui.ISearchQuery;
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
@@ -21,6 +26,10 @@ public class SearchResult extends AbstractTextSearchResult {
 
     private final SearchQuery query;
 
+    private final Queue<Match> bufferedMatches = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean isBuffering;
+
     public SearchResult(final ISearchQuery query) {
         this.query = (SearchQuery) query;
     }
@@ -57,7 +66,34 @@ public class SearchResult extends AbstractTextSearchResult {
 
     @Override
     public void addMatch(final Match match) {
-        super.addMatch(match);
+        if (isBuffering) {
+            bufferedMatches.add(match);
+        } else {
+            super.addMatch(match);
+        }
+    }
+
+    /**
+     * When buffering is turned on matches added from many threads are collected and added to the
+     * result only by {@link #publishBufferedMatches()}, so listeners are notified once per batch.
+     * Turning buffering off publishes matches collected so far.
+     */
+    public void setMatchesBuffering(final boolean isBuffering) {
+        this.isBuffering = isBuffering;
+        if (!isBuffering) {
+            publishBufferedMatches();
+        }
+    }
+
+    public void publishBufferedMatches() {
+        final List<Match> matches = new ArrayList<>();
+        Match match;
+        while ((match = bufferedMatches.poll()) != null) {
+            matches.add(match);
+        }
+        if (!matches.isEmpty()) {
+            super.addMatches(matches.toArray(new Match[0]));
+        }
     }
 
     boolean containMatches(final Object element) {
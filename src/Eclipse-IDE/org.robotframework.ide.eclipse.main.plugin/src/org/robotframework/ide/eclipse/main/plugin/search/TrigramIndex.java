@@ -0,0 +1,153 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Inverted index from trigrams (three consecutive characters) to documents containing them. Text
+ * matching search pattern has to contain every trigram of each literal fragment of the pattern, so
+ * intersecting postings of those trigrams gives the documents which may match. Candidates still
+ * have to be verified with the pattern, but documents without required trigrams are never read.
+ */
+public final class TrigramIndex {
+
+    private final int documentsCount;
+
+    private final Map<Long, int[]> postings;
+
+    private TrigramIndex(final int documentsCount, final Map<Long, int[]> postings) {
+        this.documentsCount = documentsCount;
+        this.postings = postings;
+    }
+
+    /**
+     * Creates index of given documents, document is identified by its position on the list.
+     * Documents may be null.
+     */
+    public static TrigramIndex create(final List<String> documents) {
+        final Map<Long, BitSet> documentsOfTrigrams = new HashMap<>();
+        for (int i = 0; i < documents.size(); i++) {
+            final String document = documents.get(i);
+            for (int j = 0; document != null && j + 3 <= document.length(); j++) {
+                final Long trigram = trigram(document, j);
+                BitSet docs = documentsOfTrigrams.get(trigram);
+                if (docs == null) {
+                    docs = new BitSet();
+                    documentsOfTrigrams.put(trigram, docs);
+                }
+                docs.set(i);
+            }
+        }
+        final Map<Long, int[]> postings = new HashMap<>(documentsOfTrigrams.size());
+        for (final Entry<Long, BitSet> entry : documentsOfTrigrams.entrySet()) {
+            final BitSet docs = entry.getValue();
+            final int[] ids = new int[docs.cardinality()];
+            for (int i = docs.nextSetBit(0), k = 0; i >= 0; i = docs.nextSetBit(i + 1)) {
+                ids[k++] = i;
+            }
+            postings.put(entry.getKey(), ids);
+        }
+        return new TrigramIndex(documents.size(), postings);
+    }
+
+    private static Long trigram(final CharSequence text, final int start) {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+
+    public int getDocumentsCount() {
+        return documentsCount;
+    }
+
+    /**
+     * Finds documents which contain all given literal fragments, or at least all their trigrams.
+     * Fragments shorter than three characters do not narrow the candidates.
+     *
+     * @param fragments
+     * @return documents which may contain all fragments
+     */
+    public BitSet findCandidates(final List<String> fragments) {
+        final BitSet candidates = new BitSet(documentsCount);
+        candidates.set(0, documentsCount);
+        for (final String fragment : fragments) {
+            for (int j = 0; j + 3 <= fragment.length() && !candidates.isEmpty(); j++) {
+                final int[] ids = postings.get(trigram(fragment, j));
+                if (ids == null) {
+                    candidates.clear();
+                } else {
+                    final BitSet docs = new BitSet(documentsCount);
+                    for (final int id : ids) {
+                        docs.set(id);
+                    }
+                    candidates.and(docs);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    public void write(final DataOutput output) throws IOException {
+        output.writeInt(documentsCount);
+        output.writeInt(postings.size());
+        for (final Entry<Long, int[]> entry : postings.entrySet()) {
+            output.writeLong(entry.getKey());
+            output.writeInt(entry.getValue().length);
+            // ids are increasing, so differences are written
+            int previous = 0;
+            for (final int id : entry.getValue()) {
+                output.writeInt(id - previous);
+                previous = id;
+            }
+        }
+    }
+
+    public static TrigramIndex read(final DataInput input) throws IOException {
+        final int documentsCount = input.readInt();
+        final int size = input.readInt();
+        final Map<Long, int[]> postings = new HashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            final long trigram = input.readLong();
+            final int[] ids = new int[input.readInt()];
+            int previous = 0;
+            for (int j = 0; j < ids.length; j++) {
+                ids[j] = previous + input.readInt();
+                previous = ids[j];
+            }
+            postings.put(trigram, ids);
+        }
+        return new TrigramIndex(documentsCount, postings);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj != null && obj.getClass() == TrigramIndex.class) {
+            final TrigramIndex that = (TrigramIndex) obj;
+            if (this.documentsCount != that.documentsCount || !this.postings.keySet().equals(that.postings.keySet())) {
+                return false;
+            }
+            for (final Entry<Long, int[]> entry : postings.entrySet()) {
+                if (!Arrays.equals(entry.getValue(), that.postings.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * documentsCount + postings.keySet().hashCode();
+    }
+}
@@ -5,6 +5,8 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.search.participants;
 
+import java.util.BitSet;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -13,6 +15,7 @@ import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
 import org.robotframework.ide.eclipse.main.plugin.project.library.KeywordSpecification;
 import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+import org.robotframework.ide.eclipse.main.plugin.search.DocumentationSearchIndex;
 import org.robotframework.ide.eclipse.main.plugin.search.KeywordDocumentationMatch;
 import org.robotframework.ide.eclipse.main.plugin.search.LibraryDocumentationMatch;
 import org.robotframework.ide.eclipse.main.plugin.search.SearchPattern;
@@ -28,6 +31,20 @@ public class DocumentationSearch extends TargetedSearch {
         super(searchPattern, model, result);
     }
 
+    @Override
+    protected void locateMatchesInLibrary(final IProject project, final LibrarySpecification librarySpecification) {
+        // only documentations containing literal fragments of pattern are matched
+        final DocumentationSearchIndex index = model.createRobotProject(project).getDocumentationSearchIndex();
+        final BitSet candidates = index.findCandidates(librarySpecification, searchPattern);
+        if (candidates.get(0)) {
+            locateMatchesInLibrarySpecification(project, librarySpecification);
+        }
+        final List<KeywordSpecification> keywords = librarySpecification.getKeywords();
+        for (int i = candidates.nextSetBit(1); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            locateMatchesInKeywordSpecification(project, librarySpecification, keywords.get(i - 1));
+        }
+    }
+
     @Override
     protected void locateMatchesInLibrarySpecification(final IProject project,
             final LibrarySpecification librarySpecification) {
@@ -5,7 +5,15 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.search.participants;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -19,14 +27,25 @@ import org.robotframework.ide.eclipse.main.plugin.search.SearchPattern;
 import org.robotframework.ide.eclipse.main.plugin.search.SearchResult;
 
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 /**
- * @author Michal Anglart
+ * Libraries of each project and files are searched in parallel on work-stealing pool shared by
+ * all searches. Matches found are buffered in {@link SearchResult} and published in batches every
+ * {@link #MATCHES_PUBLISHING_INTERVAL} milliseconds, so first matches are shown while the rest is
+ * still searched. Progress and cancellation are handled in the thread which runs the search; units
+ * not started when monitor has been cancelled are skipped and the search waits for the started
+ * ones, so no match is reported after it has returned.
  *
+ * @author Michal Anglart
  */
 public abstract class TargetedSearch {
 
-    private final RobotModel model;
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private static final int MATCHES_PUBLISHING_INTERVAL = 50;
+
+    protected final RobotModel model;
 
     protected final SearchResult result;
 
@@ -43,31 +62,75 @@ public abstract class TargetedSearch {
 
         monitor.beginTask("Searching for '" + searchPattern.getPattern() + "'",
                 libraries.values().size() + files.size());
+        if (monitor.isCanceled()) {
+            throw new OperationCanceledException();
+        }
 
+        final List<SearchUnit> units = new ArrayList<>();
         for (final IProject project : libraries.keySet()) {
             for (final LibrarySpecification librarySpecification : libraries.get(project)) {
+                units.add(new LibrarySearchUnit(project, librarySpecification));
+            }
+        }
+        for (final IFile file : files) {
+            units.add(new FileSearchUnit(file));
+        }
+
+        final BlockingQueue<SearchUnit> finished = new LinkedBlockingQueue<>();
+        int done = 0;
+        result.setMatchesBuffering(true);
+        try {
+            for (final SearchUnit unit : units) {
+                unit.prepare(monitor, finished);
+                POOL.execute(unit);
+            }
+            long lastPublishingTime = System.currentTimeMillis();
+            while (done < units.size()) {
+                final SearchUnit unit = finished.poll(MATCHES_PUBLISHING_INTERVAL, TimeUnit.MILLISECONDS);
+                if (unit != null) {
+                    done++;
+                    if (unit.failure != null) {
+                        throw unit.failure;
+                    }
+                    monitor.subTask(unit.getDescription());
+                    monitor.worked(1);
+                }
+                if (System.currentTimeMillis() - lastPublishingTime >= MATCHES_PUBLISHING_INTERVAL) {
+                    result.publishBufferedMatches();
+                    lastPublishingTime = System.currentTimeMillis();
+                }
                 if (monitor.isCanceled()) {
                     throw new OperationCanceledException();
                 }
-                monitor.subTask("locating matches in " + librarySpecification.getName() + " library used by '"
-                        + project.getName() + "' project");
-
-                locateMatchesInLibrarySpecification(project, librarySpecification);
-
-                for (final KeywordSpecification keywordSpecification : librarySpecification.getKeywords()) {
-                    locateMatchesInKeywordSpecification(project, librarySpecification, keywordSpecification);
-                }
-                monitor.worked(1);
-    
             }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationCanceledException();
+        } finally {
+            skipNotStartedAndAwaitStartedUnits(units, finished, done);
+            result.setMatchesBuffering(false);
         }
+    }
 
-        for (final IFile file : files) {
-            if (monitor.isCanceled()) {
-                throw new OperationCanceledException();
+    private static void skipNotStartedAndAwaitStartedUnits(final List<SearchUnit> units,
+            final BlockingQueue<SearchUnit> finished, final int done) {
+        int started = 0;
+        for (final SearchUnit unit : units) {
+            if (!unit.skip()) {
+                started++;
             }
-            locateMatchesInRobotFile(model.createSuiteFile(file));
-            monitor.worked(1);
+        }
+        // started units may still report matches, so those are awaited
+        for (int i = done; i < started; i++) {
+            Uninterruptibles.takeUninterruptibly(finished);
+        }
+    }
+
+    protected void locateMatchesInLibrary(final IProject project, final LibrarySpecification librarySpecification) {
+        locateMatchesInLibrarySpecification(project, librarySpecification);
+
+        for (final KeywordSpecification keywordSpecification : librarySpecification.getKeywords()) {
+            locateMatchesInKeywordSpecification(project, librarySpecification, keywordSpecification);
         }
     }
 
@@ -78,4 +141,93 @@ public abstract class TargetedSearch {
             final LibrarySpecification librarySpecification, final KeywordSpecification keywordSpecification);
 
     protected abstract void locateMatchesInRobotFile(final RobotSuiteFile robotSuiteFile);
+
+    private abstract static class SearchUnit extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private IProgressMonitor monitor;
+
+        private BlockingQueue<SearchUnit> finished;
+
+        private RuntimeException failure;
+
+        private final AtomicBoolean isClaimed = new AtomicBoolean(false);
+
+        void prepare(final IProgressMonitor monitor, final BlockingQueue<SearchUnit> finished) {
+            this.monitor = monitor;
+            this.finished = finished;
+        }
+
+        boolean skip() {
+            return isClaimed.compareAndSet(false, true);
+        }
+
+        @Override
+        protected void compute() {
+            if (!isClaimed.compareAndSet(false, true)) {
+                // skipped when search has been finished
+                return;
+            }
+            try {
+                if (!monitor.isCanceled()) {
+                    search();
+                }
+            } catch (final RuntimeException e) {
+                failure = e;
+            } finally {
+                finished.add(this);
+            }
+        }
+
+        abstract void search();
+
+        abstract String getDescription();
+    }
+
+    private class LibrarySearchUnit extends SearchUnit {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IProject project;
+
+        private final LibrarySpecification librarySpecification;
+
+        LibrarySearchUnit(final IProject project, final LibrarySpecification librarySpecification) {
+            this.project = project;
+            this.librarySpecification = librarySpecification;
+        }
+
+        @Override
+        void search() {
+            locateMatchesInLibrary(project, librarySpecification);
+        }
+
+        @Override
+        String getDescription() {
+            return "located matches in " + librarySpecification.getName() + " library used by '"
+                    + project.getName() + "' project";
+        }
+    }
+
+    private class FileSearchUnit extends SearchUnit {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IFile file;
+
+        FileSearchUnit(final IFile file) {
+            this.file = file;
+        }
+
+        @Override
+        void search() {
+            locateMatchesInRobotFile(model.createSuiteFile(file));
+        }
+
+        @Override
+        String getDescription() {
+            return "located matches in '" + file.getFullPath() + "' file";
+        }
+    }
 }
@@ -28,9 +28,15 @@ import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.ui.di.UIEventTopic;
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.text.undo.DocumentUndoManagerRegistry;
+import org.eclipse.text.undo.IDocumentUndoManager;
 import org.eclipse.ui.IEditorDescriptor;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorPart;
@@ -54,6 +60,8 @@ import org.rf.ide.core.testdata.mapping.TwoModelReferencesLinker;
 import org.rf.ide.core.testdata.model.RobotFile;
 import org.rf.ide.core.testdata.model.RobotFileOutput;
 import org.rf.ide.core.testdata.text.read.separators.TokenSeparatorBuilder.FileFormat;
+import org.rf.ide.core.testdata.text.write.TextChanges;
+import org.rf.ide.core.testdata.text.write.TextChanges.TextChange;
 import org.robotframework.ide.eclipse.main.plugin.RedImages;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.documentation.DocumentationViewPartListener;
@@ -81,6 +89,8 @@ import org.robotframework.red.graphics.ImagesManager;
 import org.robotframework.red.jface.dialogs.ErrorDialogWithLinkToPreferences;
 import org.robotframework.red.swt.SwtThread;
 
+import com.google.common.collect.Lists;
+
 public class RobotFormEditor extends FormEditor {
 
     private static final String EDITOR_CONTEXT_ID = "org.robotframework.ide.eclipse.tableeditor.context";
@@ -475,10 +485,46 @@ public class RobotFormEditor extends FormEditor {
                 new QuickTokenListenerBaseTwoModelReferencesLinker().update(currentRobotOutputFile, dumpResult);
             }
 
+            replaceChangedLines(document, content);
+        }
+    }
+
+    private static void replaceChangedLines(final IDocument document, final String content) {
+        final List<TextChange> changes = TextChanges.between(document.get(), content);
+        if (changes.isEmpty()) {
+            return;
+        }
+        final IDocumentUndoManager undoManager = DocumentUndoManagerRegistry.getDocumentUndoManager(document);
+        if (undoManager != null) {
+            undoManager.beginCompoundChange();
+        }
+        // all the changes are made in single session, so the document is reparsed once
+        final DocumentRewriteSession session = startRewriteSession(document);
+        try {
+            // offsets are relative to current content, so changes are applied starting from the end
+            for (final TextChange change : Lists.reverse(changes)) {
+                document.replace(change.getOffset(), change.getLength(), change.getText());
+            }
+        } catch (final BadLocationException e) {
             document.set(content);
+        } finally {
+            if (session != null) {
+                ((IDocumentExtension4) document).stopRewriteSession(session);
+            }
+            if (undoManager != null) {
+                undoManager.endCompoundChange();
+            }
         }
     }
 
+    private static DocumentRewriteSession startRewriteSession(final IDocument document) {
+        if (document instanceof IDocumentExtension4
+                && ((IDocumentExtension4) document).getActiveRewriteSession() == null) {
+            return ((IDocumentExtension4) document).startRewriteSession(DocumentRewriteSessionType.UNRESTRICTED);
+        }
+        return null;
+    }
+
     private void saveActivePage(final String activePageClassName) {
         if (getEditorInput() instanceof IFileEditorInput) {
             final IFileEditorInput fileInput = (IFileEditorInput) getEditorInput();
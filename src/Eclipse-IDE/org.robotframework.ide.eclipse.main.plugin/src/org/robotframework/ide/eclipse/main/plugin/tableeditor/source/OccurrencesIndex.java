@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.tableeditor.source;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.text.read.IRobotLineElement;
+import org.rf.ide.core.testdata.text.read.RobotLine;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+
+/**
+ * Index of names used in cells of parsed file. Each cell is indexed under its text normalized the
+ * way Robot normalizes keyword names (case, spaces and underscores are ignored) and each variable
+ * used inside a cell is indexed under its normalized name, so occurrences of name at given offset
+ * are found without searching the document text.
+ */
+class OccurrencesIndex {
+
+    private static final Pattern VARIABLE = Pattern.compile("[$@&%]\\{[^{}]+\\}");
+
+    private final List<Occurrence> cells = new ArrayList<>();
+
+    private final List<Occurrence> variables = new ArrayList<>();
+
+    private final ListMultimap<String, IRegion> regions = ArrayListMultimap.create();
+
+    static OccurrencesIndex create(final RobotFileOutput output) {
+        final OccurrencesIndex index = new OccurrencesIndex();
+        for (final RobotLine line : output.getFileModel().getFileContent()) {
+            for (final IRobotLineElement element : line.getLineElements()) {
+                if (element instanceof RobotToken) {
+                    index.add((RobotToken) element);
+                }
+            }
+        }
+        return index;
+    }
+
+    private void add(final RobotToken token) {
+        final String text = token.getText();
+        final int offset = token.getStartOffset();
+        if (offset == IRobotLineElement.NOT_SET || text == null || text.trim().isEmpty()) {
+            return;
+        }
+
+        final Matcher matcher = VARIABLE.matcher(text);
+        boolean isWholeCellVariable = false;
+        while (matcher.find()) {
+            final String variable = matcher.group();
+            add(variables, normalizeVariable(variable), offset + matcher.start(), variable.length());
+            isWholeCellVariable = matcher.start() == 0 && matcher.end() == text.length();
+        }
+        if (!isWholeCellVariable) {
+            add(cells, normalizeName(text), offset, text.length());
+        }
+    }
+
+    private void add(final List<Occurrence> occurrences, final String name, final int offset, final int length) {
+        final Region region = new Region(offset, length);
+        occurrences.add(new Occurrence(name, region));
+        regions.put(name, region);
+    }
+
+    /**
+     * Finds all occurrences of name used at given offset. Variable containing given offset is
+     * preferred over the whole cell.
+     *
+     * @param offset
+     * @return regions of all occurrences or empty set when there is no name at given offset
+     */
+    Set<IRegion> findOccurrences(final int offset) {
+        Occurrence occurrence = find(variables, offset);
+        if (occurrence == null) {
+            occurrence = find(cells, offset);
+        }
+        return occurrence == null ? new LinkedHashSet<IRegion>() : new LinkedHashSet<>(regions.get(occurrence.name));
+    }
+
+    private static Occurrence find(final List<Occurrence> occurrences, final int offset) {
+        // tokens are indexed line by line, so occurrences are sorted by offsets
+        int low = 0;
+        int high = occurrences.size() - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (occurrences.get(middle).region.getOffset() <= offset) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (high >= 0) {
+            final Occurrence occurrence = occurrences.get(high);
+            if (offset <= occurrence.region.getOffset() + occurrence.region.getLength()) {
+                return occurrence;
+            }
+        }
+        return null;
+    }
+
+    private static String normalizeName(final String name) {
+        return name.toLowerCase().replaceAll("[\\s_]", "");
+    }
+
+    private static String normalizeVariable(final String variable) {
+        // scalar, list and dictionary of the same name are the same variable
+        return "${" + normalizeName(variable.substring(2, variable.length() - 1)) + "}";
+    }
+
+    private static final class Occurrence {
+
+        private final String name;
+
+        private final IRegion region;
+
+        Occurrence(final String name, final IRegion region) {
+            this.name = name;
+            this.region = region;
+        }
+    }
+}
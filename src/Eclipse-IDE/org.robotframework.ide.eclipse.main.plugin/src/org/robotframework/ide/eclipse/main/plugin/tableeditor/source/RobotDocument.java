@@ -15,6 +15,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.DocumentRewriteSession;
 import org.eclipse.jface.text.IDocumentListener;
 import org.rf.ide.core.testdata.RobotParser;
 import org.rf.ide.core.testdata.RobotParser.RobotParserConfig;
@@ -35,6 +36,8 @@ public class RobotDocument extends Document {
     private final Semaphore parsingSemaphore = new Semaphore(1, true);
     private final Semaphore parsingFinishedSemaphore = new Semaphore(1, true);
     private boolean reparseInSameThread = true;
+    private boolean hasChangesInRewriteSession = false;
+    private boolean isParsingSemaphoreAcquiredInRewriteSession = false;
 
     private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
 
@@ -42,7 +45,14 @@ public class RobotDocument extends Document {
     private RobotParser parser;
     private File file;
 
-    private RobotFileOutput output;
+    private volatile RobotFileOutput output;
+
+    private int parsedContentLength;
+
+    private final ChangedRegion changedRegion = new ChangedRegion();
+
+    // guarded by changedRegion; content is modified between about-to-be-changed and changed events
+    private int changesInProgress = 0;
 
     private final List<IRobotDocumentParsingListener> parseListeners = new ArrayList<>();
     private ScheduledFuture<?> scheduledOperation;
@@ -93,6 +103,32 @@ public class RobotDocument extends Document {
     @Override
     protected void fireDocumentAboutToBeChanged(final DocumentEvent event) {
         createParserIfNeeded();
+        synchronized (changedRegion) {
+            changesInProgress++;
+        }
+        if (getActiveRewriteSession() == null) {
+            prepareReparsing();
+        } else {
+            // all the changes made in rewrite session are parsed once, when session ends
+            hasChangesInRewriteSession = true;
+            invalidateModelInRewriteSession();
+        }
+        super.fireDocumentAboutToBeChanged(event);
+    }
+
+    private void invalidateModelInRewriteSession() {
+        if (hasNewestVersion.getAndSet(false)) {
+            try {
+                // released when the session ends and the content is parsed
+                parsingSemaphore.acquire();
+                isParsingSemaphoreAcquiredInRewriteSession = true;
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException("Document reparsing interrupted!", e);
+            }
+        }
+    }
+
+    private void prepareReparsing() {
         reparseInSameThread = getNumberOfLines() < LIMIT;
         if (!reparseInSameThread && hasNewestVersion.getAndSet(false)) {
             try {
@@ -102,7 +138,6 @@ public class RobotDocument extends Document {
                 throw new IllegalStateException("Document reparsing interrupted!", e);
             }
         }
-        super.fireDocumentAboutToBeChanged(event);
     }
 
     private void createParserIfNeeded() {
@@ -117,6 +152,44 @@ public class RobotDocument extends Document {
 
     @Override
     protected void fireDocumentChanged(final DocumentEvent event) {
+        synchronized (changedRegion) {
+            changedRegion.include(event.getOffset(), event.getLength(),
+                    event.getText() == null ? 0 : event.getText().length());
+            changesInProgress--;
+        }
+        if (getActiveRewriteSession() == null) {
+            startReparsing();
+        }
+        super.fireDocumentChanged(event);
+    }
+
+    @Override
+    public void stopRewriteSession(final DocumentRewriteSession session) {
+        if (hasChangesInRewriteSession && getActiveRewriteSession() == session) {
+            // session listeners (e.g. viewer) ask for the model as soon as they are notified, so
+            // it has to be parsed, or scheduled for parsing with the semaphore held, before
+            hasChangesInRewriteSession = false;
+            invalidateModelInRewriteSession();
+            reparseInSameThread = getNumberOfLines() < LIMIT;
+            if (isParsingSemaphoreAcquiredInRewriteSession) {
+                isParsingSemaphoreAcquiredInRewriteSession = false;
+                if (reparseInSameThread) {
+                    reparse();
+                    parsingSemaphore.release();
+                } else {
+                    reparseInSeparateThread();
+                }
+            } else if (scheduledOperation != null && !scheduledOperation.isDone()) {
+                // semaphore is held by parsing scheduled before the session, which is replaced
+                reparseInSeparateThread();
+            } else {
+                reparse();
+            }
+        }
+        super.stopRewriteSession(session);
+    }
+
+    private void startReparsing() {
         if (reparseInSameThread) {
             // short documents can be reparsed in the same thread as this does not
             // affect performance too much
@@ -124,11 +197,27 @@ public class RobotDocument extends Document {
         } else {
             reparseInSeparateThread();
         }
-        super.fireDocumentChanged(event);
     }
 
     private synchronized void reparse() {
-        output = parser.parseEditorContent(get(), file);
+        final String content;
+        final int[] region;
+        final boolean isRegionComplete;
+        synchronized (changedRegion) {
+            content = get();
+            region = changedRegion.getAndReset();
+            // content may already contain a change which is not yet included in region
+            isRegionComplete = changesInProgress == 0;
+        }
+        if (output == null || region == null || !isRegionComplete
+                || parsedContentLength + region[2] - region[1] != content.length()) {
+            output = parser.parseEditorContent(content, file);
+        } else {
+            // only the section of the file which contains changed region is parsed again into
+            // new output, so the previous one can be still safely used by other threads
+            output = parser.reparseEditorContent(output, content, file, region[0], region[1], region[2]);
+        }
+        parsedContentLength = content.length();
         for (final IRobotDocumentParsingListener listener : parseListeners) {
             listener.reparsingFinished(output);
         }
@@ -224,6 +313,46 @@ public class RobotDocument extends Document {
         return RobotParser.create(holder, parserCfg);
     }
     
+    /**
+     * Accumulates all the changes made since last parsing into single region. Changes are described
+     * by offset, length of replaced text and length of inserted text.
+     */
+    @VisibleForTesting
+    static class ChangedRegion {
+
+        private int start = -1;
+
+        private int oldEnd;
+
+        private int newEnd;
+
+        synchronized void include(final int offset, final int replacedLength, final int insertedLength) {
+            if (start == -1) {
+                start = offset;
+                oldEnd = offset + replacedLength;
+                newEnd = offset + insertedLength;
+            } else {
+                final int shift = newEnd - oldEnd;
+                start = Math.min(start, offset);
+                oldEnd = Math.max(oldEnd, offset + replacedLength - shift);
+                newEnd = Math.max(newEnd, offset + replacedLength) + insertedLength - replacedLength;
+            }
+        }
+
+        /**
+         * @return offset, replaced length and inserted length of all the changes or null if nothing
+         *         was changed
+         */
+        synchronized int[] getAndReset() {
+            if (start == -1) {
+                return null;
+            }
+            final int[] region = new int[] { start, oldEnd - start, newEnd - start };
+            start = -1;
+            return region;
+        }
+    }
+
     public static interface IRobotDocumentParsingListener {
 
         void reparsingFinished(RobotFileOutput parsedOutput);
@@ -112,7 +112,7 @@ public class SuiteSourceEditor extends TextEditor {
 
         installProjectionAndFolding(viewer);
         new SuiteSourceCurrentCellHighlighter(this, fileModel.getFile(), viewer.getDocument()).install(viewer);
-        new SuiteSourceOccurrenceMarksHighlighter(fileModel.getFile(), viewer.getDocument()).install(viewer);
+        new SuiteSourceOccurrenceMarksHighlighter((RobotDocument) viewer.getDocument()).install(viewer);
         installBreakpointTogglingOnDoubleClick();
         installStatusBarUpdater(viewer);
 
@@ -7,58 +7,78 @@ package org.robotframework.ide.eclipse.main.plugin.tableeditor.source;
 
 import static com.google.common.collect.Sets.newHashSet;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IMarker;
-import org.eclipse.core.resources.IResource;
-import org.eclipse.core.resources.WorkspaceJob;
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
-import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.FindReplaceDocumentAdapter;
-import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ISynchronizable;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationModelExtension;
 import org.eclipse.jface.text.source.SourceViewer;
 import org.eclipse.swt.custom.CaretEvent;
 import org.eclipse.swt.custom.CaretListener;
 import org.eclipse.swt.events.DisposeEvent;
 import org.eclipse.swt.events.DisposeListener;
-import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.robotframework.ide.eclipse.main.plugin.tableeditor.source.RobotDocument.IRobotDocumentParsingListener;
 
-import com.google.common.base.Optional;
-
+/**
+ * Marks occurrences of name under the caret with annotations. Occurrences are taken from
+ * {@link OccurrencesIndex} built from newest parsed model of the document; the index is dropped
+ * whenever document is reparsed and built again by next refresh.
+ */
 class SuiteSourceOccurrenceMarksHighlighter {
 
-    private static final String MARKER_ID = "org.robotframework.ide.texteditor.occurrencesMark";
+    private static final String ANNOTATION_TYPE = "org.robotframework.ide.texteditor.occurrencesMark";
 
-    private final IFile file;
+    private final RobotDocument document;
 
-    private final IDocument document;
+    private final AtomicInteger modelVersion = new AtomicInteger();
 
-    private final FindReplaceDocumentAdapter findAdapter;
+    private volatile OccurrencesIndex index;
 
     private Set<IRegion> occurencesRegions;
 
+    private Annotation[] occurencesAnnotations;
+
+    private IAnnotationModel annotationModel;
+
+    private volatile int lastOffset = -1;
+
     private Job refreshingJob;
 
-    SuiteSourceOccurrenceMarksHighlighter(final IFile editedFile, final IDocument document) {
+    SuiteSourceOccurrenceMarksHighlighter(final RobotDocument document) {
         this.document = document;
-        this.file = editedFile;
-        this.findAdapter = new FindReplaceDocumentAdapter(document);
         this.occurencesRegions = newHashSet();
+        this.occurencesAnnotations = new Annotation[0];
         this.refreshingJob = null;
     }
 
     void install(final SourceViewer viewer) {
-        if (file == null) {
+        annotationModel = viewer.getAnnotationModel();
+        if (annotationModel == null) {
             return;
         }
+        final IRobotDocumentParsingListener parsingListener = new IRobotDocumentParsingListener() {
+            @Override
+            public void reparsingFinished(final RobotFileOutput parsedOutput) {
+                modelVersion.incrementAndGet();
+                index = null;
+                if (lastOffset != -1) {
+                    scheduleRefresh(lastOffset);
+                }
+            }
+        };
+        document.addParseListener(parsingListener);
         viewer.getTextWidget().addCaretListener(new CaretListener() {
             @Override
             public void caretMoved(final CaretEvent event) {
@@ -68,12 +88,14 @@ class SuiteSourceOccurrenceMarksHighlighter {
         viewer.getTextWidget().addDisposeListener(new DisposeListener() {
             @Override
             public void widgetDisposed(final DisposeEvent e) {
+                document.removeParseListener(parsingListener);
                 scheduleRefresh(-1);
             }
         });
     }
 
-    private void scheduleRefresh(final int offset) {
+    private synchronized void scheduleRefresh(final int offset) {
+        lastOffset = offset;
         if (refreshingJob != null && refreshingJob.getState() == Job.SLEEPING) {
             refreshingJob.cancel();
         }
@@ -89,97 +111,68 @@ class SuiteSourceOccurrenceMarksHighlighter {
         refreshingJob.schedule(50);
     }
 
-    private void refreshOccurences(final int offset) {
-        try {
-            final Optional<IRegion> currentRegion = offset == -1 ? Optional.<IRegion> absent()
-                    : getCurrentRegion(offset);
-            if (!currentRegion.isPresent()) {
-                removeOccurencesHighlighting();
-                occurencesRegions = newHashSet();
-            } else {
-                final Set<IRegion> regions = findOccurencesRegions(currentRegion.get());
-                if (!Objects.equals(occurencesRegions, regions)) {
-                    removeOccurencesHighlighting();
-                    highlightOccurences(currentRegion.get(), regions);
-                    occurencesRegions = regions;
-                }
-            }
-        } catch (final BadLocationException | InterruptedException e) {
-            RedPlugin.logError("Unable to create occurences markers", e);
+    private synchronized void refreshOccurences(final int offset) {
+        if (offset == -1) {
+            replaceAnnotations(newHashSet());
+            return;
         }
-    }
-
-    private Optional<IRegion> getCurrentRegion(final int offset) throws BadLocationException {
-        final boolean isTsv = isTsv();
-        return DocumentUtilities.findVariable(document, isTsv, offset)
-                .or(DocumentUtilities.findCellRegion(document, isTsv, offset));
-    }
-
-    private boolean isTsv() {
-        return file.getFileExtension().equals("tsv");
-    }
-
-    private Set<IRegion> findOccurencesRegions(final IRegion region) throws BadLocationException {
-        final Set<IRegion> regions = newHashSet();
-
-        final String selectedText = document.get(region.getOffset(), region.getLength()).trim();
-        if (selectedText.isEmpty()) {
-            return regions;
+        final OccurrencesIndex currentIndex = getIndex();
+        if (currentIndex == null) {
+            // document was changed while index was built; refresh is scheduled again after reparse
+            return;
         }
-
-        int currentOffset = 0;
-        IRegion foundedRegion = findAdapter.find(currentOffset, selectedText, true, true, !isVariable(selectedText),
-                false);
-        while (foundedRegion != null) {
-            regions.add(foundedRegion);
-
-            currentOffset = foundedRegion.getOffset() + foundedRegion.getLength();
-            foundedRegion = findAdapter.find(currentOffset, selectedText, true, true, !isVariable(selectedText), false);
+        final Set<IRegion> regions = currentIndex.findOccurrences(offset);
+        if (!Objects.equals(occurencesRegions, regions)) {
+            replaceAnnotations(regions);
         }
-
-        return regions;
-    }
-
-    private static boolean isVariable(final String text) {
-        return Pattern.matches("[@$&%]\\{.+\\}", text);
     }
 
-    private void removeOccurencesHighlighting() {
-        try {
-            if (file.exists()) {
-                file.deleteMarkers(MARKER_ID, true, IResource.DEPTH_ONE);
+    private OccurrencesIndex getIndex() {
+        OccurrencesIndex currentIndex = index;
+        if (currentIndex == null) {
+            final int version = modelVersion.get();
+            final RobotFileOutput output = document.getNewestFileOutput();
+            currentIndex = OccurrencesIndex.create(output);
+            if (version != modelVersion.get() || !document.hasNewestModel()) {
+                return null;
             }
-        } catch (final CoreException e) {
-            RedPlugin.logError("Unable to remove occurences markers", e);
+            index = currentIndex;
         }
+        return currentIndex;
     }
 
-    private void highlightOccurences(final IRegion selectedRegion, final Set<IRegion> regions)
-            throws BadLocationException, InterruptedException {
-        final String selectedText = document.get(selectedRegion.getOffset(), selectedRegion.getLength());
-        final WorkspaceJob wsJob = new WorkspaceJob("Creating occurences markers") {
+    private void replaceAnnotations(final Set<IRegion> regions) {
+        final Map<Annotation, Position> annotations = new HashMap<>();
+        for (final IRegion region : regions) {
+            annotations.put(new Annotation(ANNOTATION_TYPE, false, null),
+                    new Position(region.getOffset(), region.getLength()));
+        }
 
-            @Override
-            public IStatus runInWorkspace(final IProgressMonitor monitor) throws CoreException {
-                for (final IRegion region : regions) {
-                    createMarker(region, selectedText);
+        final Object lock = getLockObject();
+        synchronized (lock) {
+            if (annotationModel instanceof IAnnotationModelExtension) {
+                ((IAnnotationModelExtension) annotationModel).replaceAnnotations(occurencesAnnotations,
+                        annotations);
+            } else {
+                for (final Annotation annotation : occurencesAnnotations) {
+                    annotationModel.removeAnnotation(annotation);
+                }
+                for (final Map.Entry<Annotation, Position> entry : annotations.entrySet()) {
+                    annotationModel.addAnnotation(entry.getKey(), entry.getValue());
                 }
-                return Status.OK_STATUS;
             }
-        };
-        wsJob.setSystem(true);
-        wsJob.schedule();
-        wsJob.join();
+        }
+        occurencesAnnotations = annotations.keySet().toArray(new Annotation[0]);
+        occurencesRegions = regions;
     }
 
-    private void createMarker(final IRegion region, final String selectedText) {
-        try {
-            final IMarker marker = file.createMarker(MARKER_ID);
-            marker.setAttribute(IMarker.TRANSIENT, true);
-            marker.setAttribute(IMarker.CHAR_START, region.getOffset());
-            marker.setAttribute(IMarker.CHAR_END, region.getOffset() + region.getLength());
-        } catch (final CoreException e) {
-            RedPlugin.logError("Unable to create occurences marker for '" + selectedText + "'", e);
-        }
+    private Object getLockObject() {
+        if (annotationModel instanceof ISynchronizable) {
+            final Object lock = ((ISynchronizable) annotationModel).getLockObject();
+            if (lock != null) {
+                return lock;
+            }
+        }
+        return annotationModel;
     }
 }
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.views;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.swt.custom.StyledTextContent;
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.eclipse.swt.custom.TextChangingEvent;
+import org.rf.ide.core.execution.MessageLogStore;
+
+/**
+ * Read-only content of message log text widget backed by {@link MessageLogStore}, so only the
+ * lines which are displayed are materialized. Lines appended to the store become visible after
+ * {@link #refresh()} is called in UI thread, so between refreshes the content stays consistent for
+ * the widget. When level filter is set only lines of given level are visible.
+ */
+class MessageLogContent implements StyledTextContent {
+
+    private final MessageLogStore store;
+
+    private final List<TextChangeListener> listeners = new ArrayList<>();
+
+    private int generation;
+
+    // number of store lines already included in this content
+    private int storeLineCount;
+
+    private int charCount;
+
+    private String level;
+
+    // indexes of store lines visible when filter is set and offsets of those lines
+    private int[] filteredLines = new int[0];
+
+    private int[] filteredOffsets = new int[1];
+
+    private int filteredLineCount;
+
+    MessageLogContent(final MessageLogStore store) {
+        this.store = store;
+        reset();
+    }
+
+    void setLevelFilter(final String level) {
+        this.level = level;
+        reset();
+        fireTextSet();
+    }
+
+    String getLevelFilter() {
+        return level;
+    }
+
+    /**
+     * Includes lines appended to the store since last refresh. When the store was cleared the
+     * whole content is replaced.
+     *
+     * @return true if content was changed
+     */
+    boolean refresh() {
+        final boolean wasCleared;
+        synchronized (store) {
+            wasCleared = isStale();
+            if (wasCleared) {
+                reset();
+            }
+        }
+        if (wasCleared) {
+            fireTextSet();
+            return true;
+        }
+        return appendNewLines();
+    }
+
+    private boolean appendNewLines() {
+        final TextChangingEvent event = new TextChangingEvent(this);
+        final int[] newLines;
+        final int[] newLinesLengths;
+        final int newStoreLineCount;
+        synchronized (store) {
+            if (isStale() || store.getLineCount() == storeLineCount) {
+                // lines of cleared store are replaced on next refresh
+                return false;
+            }
+            newStoreLineCount = store.getLineCount();
+            newLines = level == null ? null : store.findLines(level, null, storeLineCount);
+            newLinesLengths = level == null ? null : getLinesLengths(newLines);
+            final int newLineCount = level == null ? newStoreLineCount - storeLineCount : newLines.length;
+            if (newLineCount == 0) {
+                // none of new lines is visible, so the content does not change
+                storeLineCount = newStoreLineCount;
+                return false;
+            }
+
+            final StringBuilder newText = new StringBuilder();
+            for (int i = 0; i < newLineCount; i++) {
+                newText.append(store.getLine(level == null ? storeLineCount + i : newLines[i])).append('\n');
+            }
+            event.start = charCount;
+            event.replaceCharCount = 0;
+            event.replaceLineCount = 0;
+            event.newText = newText.toString();
+            event.newCharCount = newText.length();
+            event.newLineCount = newLineCount;
+        }
+
+        // listeners have to see the old content while the change is announced
+        for (final TextChangeListener listener : new ArrayList<>(listeners)) {
+            listener.textChanging(event);
+        }
+        if (level != null) {
+            addFilteredLines(newLines, newLinesLengths);
+        }
+        storeLineCount = newStoreLineCount;
+        charCount += event.newCharCount;
+        for (final TextChangeListener listener : new ArrayList<>(listeners)) {
+            listener.textChanged(new TextChangedEvent(this));
+        }
+        return true;
+    }
+
+    private void reset() {
+        synchronized (store) {
+            generation = store.getGeneration();
+            storeLineCount = store.getLineCount();
+            filteredLineCount = 0;
+            filteredLines = new int[0];
+            filteredOffsets = new int[1];
+            if (level == null) {
+                charCount = store.getCharCount();
+            } else {
+                final int[] lines = store.findLines(level, null, 0);
+                addFilteredLines(lines, getLinesLengths(lines));
+                charCount = filteredOffsets[filteredLineCount];
+            }
+        }
+    }
+
+    private int[] getLinesLengths(final int[] lines) {
+        final int[] lengths = new int[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            lengths[i] = store.getLineLength(lines[i]);
+        }
+        return lengths;
+    }
+
+    private void addFilteredLines(final int[] lines, final int[] lengths) {
+        final int size = filteredLineCount + lines.length;
+        if (size > filteredLines.length) {
+            filteredLines = Arrays.copyOf(filteredLines, Math.max(size, 2 * filteredLines.length));
+            filteredOffsets = Arrays.copyOf(filteredOffsets, filteredLines.length + 1);
+        }
+        for (int i = 0; i < lines.length; i++) {
+            filteredLines[filteredLineCount] = lines[i];
+            filteredOffsets[filteredLineCount + 1] = filteredOffsets[filteredLineCount] + lengths[i] + 1;
+            filteredLineCount++;
+        }
+    }
+
+    private void fireTextSet() {
+        for (final TextChangeListener listener : new ArrayList<>(listeners)) {
+            listener.textSet(new TextChangedEvent(this));
+        }
+    }
+
+    private int visibleLineCount() {
+        return level == null ? storeLineCount : filteredLineCount;
+    }
+
+    // the store could be cleared in background, those lines are not available until refresh
+    private boolean isStale() {
+        return store.getGeneration() != generation;
+    }
+
+    @Override
+    public int getCharCount() {
+        return charCount;
+    }
+
+    @Override
+    public int getLineCount() {
+        // there is always empty line after last delimiter
+        return visibleLineCount() + 1;
+    }
+
+    @Override
+    public String getLineDelimiter() {
+        return "\n";
+    }
+
+    @Override
+    public String getLine(final int lineIndex) {
+        synchronized (store) {
+            if (lineIndex >= visibleLineCount() || isStale()) {
+                return "";
+            }
+            return store.getLine(level == null ? lineIndex : filteredLines[lineIndex]);
+        }
+    }
+
+    @Override
+    public int getOffsetAtLine(final int lineIndex) {
+        if (lineIndex >= visibleLineCount()) {
+            return charCount;
+        } else if (level != null) {
+            return filteredOffsets[lineIndex];
+        }
+        synchronized (store) {
+            return isStale() ? Math.min(lineIndex, charCount) : store.getOffsetAtLine(lineIndex);
+        }
+    }
+
+    @Override
+    public int getLineAtOffset(final int offset) {
+        if (offset >= charCount) {
+            return visibleLineCount();
+        } else if (level != null) {
+            final int index = Arrays.binarySearch(filteredOffsets, 0, filteredLineCount, offset);
+            return index >= 0 ? index : -index - 2;
+        }
+        synchronized (store) {
+            return isStale() ? Math.min(offset, visibleLineCount()) : store.getLineAtOffset(offset);
+        }
+    }
+
+    @Override
+    public String getTextRange(final int start, final int length) {
+        if (length == 0) {
+            return "";
+        }
+        final StringBuilder text = new StringBuilder();
+        final int firstLine = getLineAtOffset(start);
+        final int firstLineOffset = getOffsetAtLine(firstLine);
+        for (int line = firstLine; line < getLineCount() && text.length() < start - firstLineOffset + length; line++) {
+            text.append(getLine(line));
+            if (line < visibleLineCount()) {
+                text.append('\n');
+            }
+        }
+        final int from = Math.min(start - firstLineOffset, text.length());
+        return text.substring(from, Math.min(from + length, text.length()));
+    }
+
+    @Override
+    public void addTextChangeListener(final TextChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeTextChangeListener(final TextChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void replaceTextRange(final int start, final int replaceLength, final String text) {
+        throw new UnsupportedOperationException("Message log content cannot be modified");
+    }
+
+    @Override
+    public void setText(final String text) {
+        throw new UnsupportedOperationException("Message log content cannot be modified");
+    }
+}
@@ -11,11 +11,16 @@ import javax.inject.Inject;
 import org.eclipse.e4.core.di.annotations.Optional;
 import org.eclipse.e4.ui.di.Focus;
 import org.eclipse.e4.ui.di.UIEventTopic;
+import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StyledText;
-import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotEventBroker;
 
 
@@ -26,22 +31,44 @@ import org.robotframework.ide.eclipse.main.plugin.launch.RobotEventBroker;
 public class MessageLogView {
     
     public static final String ID = "org.robotframework.ide.MessageLogView";
+
+    private static final String ALL_LEVELS = "All";
+
+    private static final String[] LEVELS = new String[] { ALL_LEVELS, "FAIL", "ERROR", "WARN", "INFO", "HTML",
+            "DEBUG", "TRACE" };
     
     private StyledText styledText;
+
+    private MessageLogContent content;
     
     @PostConstruct
     public void postConstruct(final Composite parent) {
         
-        final FillLayout layout = new FillLayout();
-        layout.marginHeight=2;
-        layout.marginWidth=2;
-        parent.setLayout(layout);
+        GridLayoutFactory.fillDefaults().numColumns(2).margins(2, 2).applyTo(parent);
+
+        final Label levelLabel = new Label(parent, SWT.NONE);
+        levelLabel.setText("Level:");
+        final Combo levelCombo = new Combo(parent, SWT.DROP_DOWN | SWT.READ_ONLY);
+        levelCombo.setItems(LEVELS);
+        levelCombo.select(0);
+        levelCombo.addSelectionListener(new SelectionAdapter() {
+
+            @Override
+            public void widgetSelected(final SelectionEvent event) {
+                final String level = levelCombo.getText();
+                content.setLevelFilter(ALL_LEVELS.equals(level) ? null : level);
+                scrollToEnd();
+            }
+        });
         
         styledText = new StyledText(parent, SWT.H_SCROLL | SWT.V_SCROLL);
+        GridDataFactory.fillDefaults().grab(true, true).span(2, 1).applyTo(styledText);
         styledText.setFont(JFaceResources.getTextFont());
         styledText.setEditable(false);
         
-        styledText.setText(RobotEventBroker.getMessageLogViewContent());
+        // only the displayed lines are read from the store
+        content = new MessageLogContent(RobotEventBroker.getMessageLogStore());
+        styledText.setContent(content);
     }
     
     @Focus
@@ -49,20 +76,25 @@ public class MessageLogView {
         styledText.setFocus();
     }
     
-    public void appendLine(final String line) {
-        styledText.append(line);
+    private void refresh() {
+        if (content.refresh()) {
+            scrollToEnd();
+        }
+    }
+
+    private void scrollToEnd() {
         styledText.setTopIndex(styledText.getLineCount() - 1);
     }
     
     @Inject
     @Optional
     private void lineEvent(@UIEventTopic("MessageLogView/AppendLine") final String line) {
-        appendLine(line);
+        refresh();
     }
     
     @Inject
     @Optional
     private void clearEvent(@UIEventTopic("MessageLogView/Clear") final String s) {
-        styledText.setText("");
+        refresh();
     }
 }
@@ -14,8 +14,9 @@ import java.io.PrintWriter;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-import org.rf.ide.core.executor.ILineHandler;
+import org.rf.ide.core.execution.IAgentEventHandler;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.executor.RunCommandLineCallBuilder;
 import org.rf.ide.core.executor.TestRunnerAgentHandler;
@@ -26,9 +27,19 @@ import org.rf.ide.core.executor.RunCommandLineCallBuilder.RunCommandLine;
  * @author mmarzec
  */
 public class RobotDryRunHandler {
+
+    private static final long HANDLER_FINISH_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    private static final int MAX_FAILED_TESTS_EXIT_CODE = 250;
     
     private Process dryRunProcess;
 
+    private Thread handlerThread;
+
+    private volatile boolean destroyed;
+
+    private boolean finishedNormally;
+
     public RunCommandLine buildDryRunCommand(final RobotRuntimeEnvironment environment, final File projectLocation,
             final Collection<String> suites, final Collection<String> pythonPathLocations,
             final Collection<String> classPathLocations, final Collection<String> additionalProjectsLocations)
@@ -47,12 +58,12 @@ public class RobotDryRunHandler {
         return builder.build();
     }
 
-    public void startDryRunHandlerThread(final int port, final List<ILineHandler> listeners) {
+    public void startDryRunHandlerThread(final int port, final List<IAgentEventHandler> listeners) {
         final TestRunnerAgentHandler testRunnerAgentHandler = new TestRunnerAgentHandler(port);
-        for (final ILineHandler listener : listeners) {
+        for (final IAgentEventHandler listener : listeners) {
             testRunnerAgentHandler.addListener(listener);
         }
-        final Thread handlerThread = new Thread(testRunnerAgentHandler);
+        handlerThread = new Thread(testRunnerAgentHandler);
         handlerThread.start();
     }
 
@@ -66,7 +77,10 @@ public class RobotDryRunHandler {
                 dryRunProcess = processBuilder.start();
                 drainProcessOutputAndErrorStreams(dryRunProcess);
                 if (dryRunProcess != null) {
-                    dryRunProcess.waitFor();
+                    final int exitCode = dryRunProcess.waitFor();
+                    final boolean allEventsDispatched = waitForHandlerThread();
+                    finishedNormally = allEventsDispatched && !destroyed
+                            && exitCode <= MAX_FAILED_TESTS_EXIT_CODE;
                 }
             } catch (InterruptedException | IOException e) {
                 throw new InvocationTargetException(e);
@@ -74,7 +88,26 @@ public class RobotDryRunHandler {
         }
     }
     
+    private boolean waitForHandlerThread() throws InterruptedException {
+        if (handlerThread == null) {
+            return false;
+        }
+        // the handler finishes after all events sent by the agent were passed to listeners
+        handlerThread.join(HANDLER_FINISH_TIMEOUT);
+        return !handlerThread.isAlive();
+    }
+
+    /**
+     * Tells whether last dry run process exited on its own with exit code other than
+     * the Robot Framework error codes and all its events were passed to listeners, so
+     * the listeners have complete results.
+     */
+    public boolean hasFinishedNormally() {
+        return finishedNormally;
+    }
+
     public void destroyDryRunProcess() {
+        destroyed = true;
         if (dryRunProcess != null) {
             dryRunProcess.destroy();
         }
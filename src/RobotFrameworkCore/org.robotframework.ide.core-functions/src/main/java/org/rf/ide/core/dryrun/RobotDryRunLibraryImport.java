@@ -113,6 +113,14 @@ public class RobotDryRunLibraryImport {
         return args;
     }
 
+    public RobotDryRunLibraryImport copy() {
+        final RobotDryRunLibraryImport copy = new RobotDryRunLibraryImport(name, sourcePath, "", args);
+        copy.type = type;
+        copy.importersPaths.addAll(importersPaths);
+        copy.setStatusAndAdditionalInfo(status, additionalInfo);
+        return copy;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == null) {
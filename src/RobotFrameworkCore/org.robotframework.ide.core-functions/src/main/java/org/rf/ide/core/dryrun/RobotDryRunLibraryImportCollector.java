@@ -6,6 +6,7 @@
 package org.rf.ide.core.dryrun;
 
 import java.io.File;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
@@ -55,6 +56,24 @@ public class RobotDryRunLibraryImportCollector {
         resetCurrentLibraryImportWithFail();
     }
 
+    public void collectFromImportedLibraries(final Collection<RobotDryRunLibraryImport> libraryImports) {
+        for (final RobotDryRunLibraryImport libraryImport : libraryImports) {
+            final int index = importedLibraries.indexOf(libraryImport);
+            if (index < 0) {
+                importedLibraries.add(libraryImport);
+            } else {
+                final RobotDryRunLibraryImport existingImport = importedLibraries.get(index);
+                for (final String importerPath : libraryImport.getImportersPaths()) {
+                    existingImport.addImporterPath(importerPath);
+                }
+                if (existingImport.getStatus() == null && libraryImport.getStatus() != null) {
+                    existingImport.setStatusAndAdditionalInfo(libraryImport.getStatus(),
+                            libraryImport.getAdditionalInfo());
+                }
+            }
+        }
+    }
+
     public void collectFromFailMessageEvent(final String message) {
         if (message != null) {
             String libraryName = extractLibName(message);
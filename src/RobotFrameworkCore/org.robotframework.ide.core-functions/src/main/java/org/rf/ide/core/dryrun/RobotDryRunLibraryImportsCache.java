@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.dryrun;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Libraries imports discovered by dry run, remembered for each suite together with hash of its
+ * imports. Imports are returned only as long as the hash computed for the suite is the same, so
+ * only suites with changed imports have to be run again. Copies are stored and returned, because
+ * imports are modified when they are added to project configuration.
+ */
+public class RobotDryRunLibraryImportsCache {
+
+    private static final int MAX_SUITES = 5000;
+
+    private final Cache<String, SuiteImports> importsBySuite = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SUITES)
+            .build();
+
+    public Optional<List<RobotDryRunLibraryImport>> get(final String suitePath, final String importsHash) {
+        final SuiteImports suiteImports = importsBySuite.getIfPresent(suitePath);
+        if (suiteImports == null || !suiteImports.importsHash.equals(importsHash)) {
+            return Optional.absent();
+        }
+        return Optional.of(copy(suiteImports.libraryImports));
+    }
+
+    public void put(final String suitePath, final String importsHash,
+            final Collection<RobotDryRunLibraryImport> libraryImports) {
+        importsBySuite.put(suitePath, new SuiteImports(importsHash, copy(libraryImports)));
+    }
+
+    public void clear() {
+        importsBySuite.invalidateAll();
+    }
+
+    private static List<RobotDryRunLibraryImport> copy(final Collection<RobotDryRunLibraryImport> libraryImports) {
+        final List<RobotDryRunLibraryImport> copies = new ArrayList<>();
+        for (final RobotDryRunLibraryImport libraryImport : libraryImports) {
+            copies.add(libraryImport.copy());
+        }
+        return copies;
+    }
+
+    private static final class SuiteImports {
+
+        private final String importsHash;
+
+        private final List<RobotDryRunLibraryImport> libraryImports;
+
+        SuiteImports(final String importsHash, final List<RobotDryRunLibraryImport> libraryImports) {
+            this.importsHash = importsHash;
+            this.libraryImports = libraryImports;
+        }
+    }
+}
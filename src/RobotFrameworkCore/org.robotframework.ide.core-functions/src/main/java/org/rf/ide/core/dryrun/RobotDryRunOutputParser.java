@@ -5,20 +5,19 @@
  */
 package org.rf.ide.core.dryrun;
 
-import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.codehaus.jackson.map.ObjectMapper;
-import org.rf.ide.core.executor.ILineHandler;
+import org.rf.ide.core.execution.AgentEvent;
+import org.rf.ide.core.execution.IAgentEventHandler;
 
 /**
  * @author mmarzec
  */
-public class RobotDryRunOutputParser implements ILineHandler {
+public class RobotDryRunOutputParser implements IAgentEventHandler {
 
     private static final String MESSAGE_EVENT_NAME = "message";
 
@@ -26,31 +25,16 @@ public class RobotDryRunOutputParser implements ILineHandler {
     
     private static final String START_SUITE_EVENT_NAME = "start_suite";
 
-    private final ObjectMapper mapper;
-
-    private Map<String, Object> parsedLine;
-
     private RobotDryRunLibraryImportCollector dryRunLibraryImportCollector;
     
     private IDryRunStartSuiteHandler startSuiteHandler;
 
-    public RobotDryRunOutputParser() {
-        this.mapper = new ObjectMapper();
-        this.parsedLine = new HashMap<String, Object>();
-    }
-
     @SuppressWarnings("unchecked")
     @Override
-    public void processLine(final String line) {
-        try {
-            parsedLine = mapper.readValue(line, Map.class);
-        } catch (final IOException e) {
-            e.printStackTrace();
-        }
-        if (parsedLine.containsKey(LIBRARY_IMPORT_EVENT_NAME)) {
-            final List<Object> libraryImportList = (List<Object>) parsedLine.get(LIBRARY_IMPORT_EVENT_NAME);
-            final Map<String, Object> details = (Map<String, Object>) libraryImportList.get(1);
-            String libraryName = (String) libraryImportList.get(0);
+    public void processEvent(final AgentEvent event) {
+        if (event.getName().equals(LIBRARY_IMPORT_EVENT_NAME)) {
+            final Map<String, Object> details = event.getMapArgument(1);
+            String libraryName = event.getStringArgument(0);
             final String originalName = (String) details.get("originalname");
             if(originalName != null && !originalName.isEmpty() && !originalName.equals(libraryName)) {
                 libraryName = originalName;
@@ -63,9 +47,8 @@ public class RobotDryRunOutputParser implements ILineHandler {
                 dryRunLibraryImportCollector.collectFromLibraryImportEvent(libraryName, importer, source, args);
             }
             
-        } else if (parsedLine.containsKey(MESSAGE_EVENT_NAME)) {
-            final List<Object> messageList = (List<Object>) parsedLine.get(MESSAGE_EVENT_NAME);
-            final Map<String, String> details = (Map<String, String>) messageList.get(0);
+        } else if (event.getName().equals(MESSAGE_EVENT_NAME)) {
+            final Map<String, String> details = event.getMapArgument(0);
             final String messageLevel = details.get("level");
 
             if (dryRunLibraryImportCollector != null && messageLevel != null) {
@@ -79,9 +62,8 @@ public class RobotDryRunOutputParser implements ILineHandler {
                 }
             }
             
-        } else if (parsedLine.containsKey(START_SUITE_EVENT_NAME)) {
-            final List<?> suiteList = (List<?>) parsedLine.get(START_SUITE_EVENT_NAME);
-            final String suiteName = (String) suiteList.get(0);
+        } else if (event.getName().equals(START_SUITE_EVENT_NAME)) {
+            final String suiteName = event.getStringArgument(0);
             if (startSuiteHandler != null && suiteName != null) {
                 startSuiteHandler.processStartSuiteEvent(suiteName);
             }
@@ -93,6 +75,15 @@ public class RobotDryRunOutputParser implements ILineHandler {
                 : new ArrayList<RobotDryRunLibraryImport>();
     }
     
+    /**
+     * Merges libraries imports collected by other parser, e.g. from dry run of other suites.
+     */
+    public void collectImportedLibraries(final Collection<RobotDryRunLibraryImport> libraryImports) {
+        if (dryRunLibraryImportCollector != null) {
+            dryRunLibraryImportCollector.collectFromImportedLibraries(libraryImports);
+        }
+    }
+
     public void filterImportedLibrariesByName(final String libraryName) {
         dryRunLibraryImportCollector.filterImportedLibrariesByName(libraryName);
     }
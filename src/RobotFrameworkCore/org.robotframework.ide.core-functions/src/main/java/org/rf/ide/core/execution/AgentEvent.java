@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single event sent by TestRunnerAgent, decoded once and shared by all handlers, so handlers
+ * should not modify neither the event nor the objects it contains. Agent sends each event as JSON
+ * object with single field: name of the event mapped to list of its arguments.
+ */
+public final class AgentEvent {
+
+    private final String name;
+
+    private final List<Object> arguments;
+
+    public AgentEvent(final String name, final List<?> arguments) {
+        this.name = name;
+        this.arguments = Collections.unmodifiableList(new ArrayList<Object>(arguments));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Object> getArguments() {
+        return arguments;
+    }
+
+    public Object getArgument(final int index) {
+        return index < arguments.size() ? arguments.get(index) : null;
+    }
+
+    public String getStringArgument(final int index) {
+        final Object argument = getArgument(index);
+        return argument instanceof String ? (String) argument : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> Map<String, V> getMapArgument(final int index) {
+        final Object argument = getArgument(index);
+        return argument instanceof Map ? (Map<String, V>) argument : Collections.<String, V> emptyMap();
+    }
+
+    @Override
+    public String toString() {
+        return name + arguments;
+    }
+}
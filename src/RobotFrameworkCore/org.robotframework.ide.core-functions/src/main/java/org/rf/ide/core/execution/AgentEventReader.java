@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.List;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.ObjectMapper;
+
+/**
+ * Decodes events sent by TestRunnerAgent directly from the stream with streaming JSON parser, so
+ * no intermediate lines nor maps of whole events are created.
+ */
+public class AgentEventReader implements Closeable {
+
+    private final ObjectMapper mapper;
+
+    private final JsonParser parser;
+
+    public AgentEventReader(final InputStream stream) throws IOException {
+        this.mapper = new ObjectMapper();
+        this.parser = mapper.getJsonFactory().createJsonParser(stream);
+    }
+
+    public AgentEventReader(final Reader reader) throws IOException {
+        this.mapper = new ObjectMapper();
+        this.parser = mapper.getJsonFactory().createJsonParser(reader);
+    }
+
+    /**
+     * Reads next event, blocking until it is available.
+     *
+     * @return next event or null when the stream has ended
+     * @throws IOException
+     *             when stream could not be read or does not contain valid JSON
+     */
+    public AgentEvent nextEvent() throws IOException {
+        JsonToken token = parser.nextToken();
+        while (token != null) {
+            if (token == JsonToken.START_OBJECT && parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                parser.nextToken();
+                final Object value = mapper.readValue(parser, Object.class);
+                skipRemainingFields();
+                return new AgentEvent(name, value instanceof List<?> ? (List<?>) value : Collections.singletonList(value));
+            }
+            parser.skipChildren();
+            token = parser.nextToken();
+        }
+        return null;
+    }
+
+    private void skipRemainingFields() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
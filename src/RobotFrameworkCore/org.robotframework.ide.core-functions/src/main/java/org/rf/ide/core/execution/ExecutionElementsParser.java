@@ -5,20 +5,14 @@
  */
 package org.rf.ide.core.execution;
 
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
-import org.codehaus.jackson.map.ObjectMapper;
 import org.rf.ide.core.execution.ExecutionElement.ExecutionElementType;
-import org.rf.ide.core.executor.ILineHandler;
 
 /**
  * @author mmarzec
  */
-public class ExecutionElementsParser implements ILineHandler {
+public class ExecutionElementsParser implements IAgentEventHandler {
 
     public static final String ROBOT_EXECUTION_PASS_STATUS = "PASS";
     
@@ -33,62 +27,38 @@ public class ExecutionElementsParser implements ILineHandler {
     
     private static final String OUTPUT_FILE_EVENT = "output_file";
 
-    private final ObjectMapper mapper;
-
-    private Map<String, Object> eventMap;
-
     private final IExecutionHandler executionHandler;
 
     public ExecutionElementsParser(final IExecutionHandler executionHandler) {
-        this.mapper = new ObjectMapper();
-        this.eventMap = new HashMap<String, Object>();
         this.executionHandler = executionHandler;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public void processLine(final String line) {
-        try {
-            eventMap = mapper.readValue(line, Map.class);
-        } catch (final IOException e) {
-            e.printStackTrace();
-        }
-        
-        final String eventType = getEventType(eventMap);
-        if (eventType == null) {
-            return;
-        }
-
-        switch (eventType) {
+    public void processEvent(final AgentEvent event) {
+        switch (event.getName()) {
             case START_SUITE_EVENT:
-                final List<Object> startSuiteList = (List<Object>) eventMap.get(START_SUITE_EVENT);
-                final Map<String, String> startSuiteDetails = (Map<String, String>) startSuiteList.get(1);
+                final Map<String, String> startSuiteDetails = event.getMapArgument(1);
                 final ExecutionElement startSuiteElement = createStartSuiteExecutionElement(
-                        (String) startSuiteList.get(0), startSuiteDetails.get("source"));
+                        event.getStringArgument(0), startSuiteDetails.get("source"));
                 executionHandler.processExecutionElement(startSuiteElement);
                 break;
             case END_SUITE_EVENT:
-                final List<Object> endSuiteList = (List<Object>) eventMap.get(END_SUITE_EVENT);
-                final Map<String, Object> endSuiteDetails = (Map<String, Object>) endSuiteList.get(1);
-                final ExecutionElement endSuiteElement = createEndSuiteExecutionElement((String) endSuiteList.get(0),
-                        endSuiteDetails);
+                final ExecutionElement endSuiteElement = createEndSuiteExecutionElement(event.getStringArgument(0),
+                        event.getMapArgument(1));
                 executionHandler.processExecutionElement(endSuiteElement);
                 break;
             case START_TEST_EVENT:
-                final List<Object> testList = (List<Object>) eventMap.get(START_TEST_EVENT);
-                final ExecutionElement startTestElement = createStartTestExecutionElement((String)testList.get(0));
+                final ExecutionElement startTestElement = createStartTestExecutionElement(event.getStringArgument(0));
                 executionHandler.processExecutionElement(startTestElement);
                 break;
             case END_TEST_EVENT:
-                final List<Object> endTestList = (List<Object>) eventMap.get(END_TEST_EVENT);
-                final Map<String, Object> endTestDetails = (Map<String, Object>) endTestList.get(1);
-                final ExecutionElement endTestElement = createEndTestExecutionElement((String) endTestList.get(0),
-                        endTestDetails);
+                final ExecutionElement endTestElement = createEndTestExecutionElement(event.getStringArgument(0),
+                        event.getMapArgument(1));
                 executionHandler.processExecutionElement(endTestElement);
                 break;
             case OUTPUT_FILE_EVENT:
-                final List<Object> outputFileList = (List<Object>) eventMap.get(OUTPUT_FILE_EVENT);
-                final ExecutionElement outputFilePathElement = createOutputFileExecutionElement((String) outputFileList.get(0));
+                final ExecutionElement outputFilePathElement = createOutputFileExecutionElement(
+                        event.getStringArgument(0));
                 executionHandler.processExecutionElement(outputFilePathElement);
                 break;
             default:
@@ -132,15 +102,4 @@ public class ExecutionElementsParser implements ILineHandler {
     private static ExecutionElement createNewExecutionElement(final String name, final ExecutionElementType type) {
         return new ExecutionElement(name, type);
     }
-    
-    private String getEventType(final Map<?, ?> eventMap) {
-        if (eventMap == null) {
-            return null;
-        }
-        final Set<?> keySet = eventMap.keySet();
-        if (!keySet.isEmpty()) {
-            return (String) keySet.iterator().next();
-        }
-        return null;
-    }
 }
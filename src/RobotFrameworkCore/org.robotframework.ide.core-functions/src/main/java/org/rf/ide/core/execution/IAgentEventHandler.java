@@ -0,0 +1,10 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution;
+
+public interface IAgentEventHandler {
+    public void processEvent(final AgentEvent event);
+}
@@ -0,0 +1,460 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+
+/**
+ * Storage of message log lines of execution. Lines are kept in chunks of fixed number of lines;
+ * when text of lines kept in memory exceeds given limit, the oldest chunks are spilled to temporary
+ * file and read back (and cached) only when their lines are requested. Offsets, levels and tests
+ * of all lines always stay in memory, so lines can be located and filtered without touching the
+ * spilled text.
+ * <p>
+ * Level of line is taken from lines formatted as <code>timestamp : LEVEL : message</code>, test of
+ * line is tracked using <code>Starting test: name</code> and <code>Ending test: name</code> lines.
+ * Line which was not yet ended with line delimiter is not visible until it is ended.
+ */
+public class MessageLogStore implements Closeable {
+
+    private static final int DEFAULT_LINES_PER_CHUNK = 1000;
+
+    private static final int CACHED_CHUNKS = 4;
+
+    private static final String STARTING_TEST_PREFIX = "Starting test: ";
+
+    private static final String ENDING_TEST_PREFIX = "Ending test: ";
+
+    private static final String SEPARATOR = " : ";
+
+    public static final int NO_TEST = -1;
+
+    private final int maxCharsInMemory;
+
+    private final int linesPerChunk;
+
+    private final List<Chunk> chunks = new ArrayList<>();
+
+    private final Map<Chunk, List<String>> loadedChunks = new LinkedHashMap<Chunk, List<String>>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Entry<Chunk, List<String>> eldest) {
+            return size() > CACHED_CHUNKS;
+        }
+    };
+
+    private final List<String> levels = new ArrayList<>();
+
+    private final List<String> tests = new ArrayList<>();
+
+    private final Map<String, Integer> testIds = new HashMap<>();
+
+    private final StringBuilder openLine = new StringBuilder();
+
+    private int currentTest = NO_TEST;
+
+    private byte currentLevel = -1;
+
+    private int lineCount = 0;
+
+    private int charCount = 0;
+
+    private int charsInMemory = 0;
+
+    private int generation = 0;
+
+    private File spillFile;
+
+    private RandomAccessFile spill;
+
+    public MessageLogStore(final int maxCharsInMemory) {
+        this(maxCharsInMemory, DEFAULT_LINES_PER_CHUNK);
+    }
+
+    @VisibleForTesting
+    MessageLogStore(final int maxCharsInMemory, final int linesPerChunk) {
+        this.maxCharsInMemory = maxCharsInMemory;
+        this.linesPerChunk = linesPerChunk;
+    }
+
+    public synchronized void append(final String text) {
+        int start = 0;
+        int delimiter = text.indexOf('\n');
+        while (delimiter >= 0) {
+            openLine.append(text, start, delimiter);
+            addLine(openLine.toString());
+            openLine.setLength(0);
+
+            start = delimiter + 1;
+            delimiter = text.indexOf('\n', start);
+        }
+        openLine.append(text, start, text.length());
+        spillIfNeeded();
+    }
+
+    private void addLine(final String line) {
+        final boolean isStartingTest = line.startsWith(STARTING_TEST_PREFIX);
+        final boolean isEndingTest = line.startsWith(ENDING_TEST_PREFIX);
+        if (isStartingTest) {
+            currentTest = testId(line.substring(STARTING_TEST_PREFIX.length()));
+        }
+        if (isStartingTest || isEndingTest) {
+            currentLevel = -1;
+        } else {
+            // lines of multi-line message have the level of message
+            final byte level = parseLevel(line);
+            if (level >= 0) {
+                currentLevel = level;
+            }
+        }
+
+        Chunk chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (chunk == null || chunk.lineCount == linesPerChunk) {
+            chunk = new Chunk(lineCount, charCount, linesPerChunk);
+            chunks.add(chunk);
+        }
+        chunk.add(line, currentLevel, currentTest);
+        lineCount++;
+        charCount += line.length() + 1;
+        charsInMemory += line.length() + 1;
+
+        if (isEndingTest) {
+            currentTest = NO_TEST;
+        }
+    }
+
+    private int testId(final String test) {
+        Integer id = testIds.get(test);
+        if (id == null) {
+            id = tests.size();
+            tests.add(test);
+            testIds.put(test, id);
+        }
+        return id;
+    }
+
+    private byte parseLevel(final String line) {
+        final int levelStart = line.indexOf(SEPARATOR);
+        if (levelStart < 0) {
+            return -1;
+        }
+        final int levelEnd = line.indexOf(SEPARATOR, levelStart + SEPARATOR.length());
+        if (levelEnd < 0) {
+            return -1;
+        }
+        final String level = line.substring(levelStart + SEPARATOR.length(), levelEnd);
+        if (level.isEmpty() || !CharMatcher.JAVA_UPPER_CASE.matchesAllOf(level)) {
+            return -1;
+        }
+        int id = levels.indexOf(level);
+        if (id < 0) {
+            // levels present in chunk are kept as bits of long
+            if (levels.size() == Long.SIZE) {
+                return -1;
+            }
+            id = levels.size();
+            levels.add(level);
+        }
+        return (byte) id;
+    }
+
+    private void spillIfNeeded() {
+        // the last chunk is still filled, so it is never spilled
+        for (int i = 0; i < chunks.size() - 1 && charsInMemory > maxCharsInMemory; i++) {
+            final Chunk chunk = chunks.get(i);
+            if (chunk.lines != null) {
+                try {
+                    spill(chunk);
+                } catch (final IOException e) {
+                    e.printStackTrace();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void spill(final Chunk chunk) throws IOException {
+        if (spill == null) {
+            spillFile = File.createTempFile("red_message_log", ".tmp");
+            spillFile.deleteOnExit();
+            spill = new RandomAccessFile(spillFile, "rw");
+        }
+        final byte[] bytes = Joiner.on('\n').join(chunk.lines).getBytes(StandardCharsets.UTF_8);
+        chunk.filePosition = spill.length();
+        chunk.byteLength = bytes.length;
+        spill.seek(chunk.filePosition);
+        spill.write(bytes);
+
+        charsInMemory -= chunk.charCount();
+        chunk.lines = null;
+    }
+
+    private List<String> linesOf(final Chunk chunk) {
+        if (chunk.lines != null) {
+            return chunk.lines;
+        }
+        List<String> lines = loadedChunks.get(chunk);
+        if (lines == null) {
+            lines = load(chunk);
+            loadedChunks.put(chunk, lines);
+        }
+        return lines;
+    }
+
+    private List<String> load(final Chunk chunk) {
+        try {
+            final byte[] bytes = new byte[chunk.byteLength];
+            spill.seek(chunk.filePosition);
+            spill.readFully(bytes);
+            return Splitter.on('\n').splitToList(new String(bytes, StandardCharsets.UTF_8));
+        } catch (final IOException e) {
+            e.printStackTrace();
+            final String[] lines = new String[chunk.lineCount];
+            Arrays.fill(lines, "");
+            return Arrays.asList(lines);
+        }
+    }
+
+    /**
+     * Number of this store content versions. It changes every time the store is cleared, so
+     * clients keeping line indexes can recognize that those are no longer valid.
+     */
+    public synchronized int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return number of lines ended with line delimiter
+     */
+    public synchronized int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return number of characters of all lines ended with line delimiter (including delimiters)
+     */
+    public synchronized int getCharCount() {
+        return charCount;
+    }
+
+    public synchronized String getLine(final int index) {
+        final Chunk chunk = chunkOfLine(index);
+        return linesOf(chunk).get(index - chunk.firstLine);
+    }
+
+    public synchronized int getLineLength(final int index) {
+        final Chunk chunk = chunkOfLine(index);
+        final int i = index - chunk.firstLine;
+        return chunk.offsets[i + 1] - chunk.offsets[i] - 1;
+    }
+
+    public synchronized int getOffsetAtLine(final int index) {
+        if (index == lineCount) {
+            return charCount;
+        }
+        final Chunk chunk = chunkOfLine(index);
+        return chunk.startOffset + chunk.offsets[index - chunk.firstLine];
+    }
+
+    public synchronized int getLineAtOffset(final int offset) {
+        if (offset >= charCount) {
+            return lineCount;
+        }
+        final Chunk chunk = chunks.get(chunkIndexOfOffset(offset));
+        final int relativeOffset = offset - chunk.startOffset;
+        int index = Arrays.binarySearch(chunk.offsets, 0, chunk.lineCount, relativeOffset);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return chunk.firstLine + index;
+    }
+
+    /**
+     * Returns indexes of lines having given level and logged by given test.
+     *
+     * @param level
+     *            level of lines or null for lines of any level
+     * @param test
+     *            name of test or null for lines of any test and lines logged outside of tests
+     * @param fromLine
+     *            index of first line to check
+     * @return increasing indexes of matching lines
+     */
+    public synchronized int[] findLines(final String level, final String test, final int fromLine) {
+        final int levelId = level == null ? -1 : levels.indexOf(level);
+        final Integer testId = test == null ? Integer.valueOf(-1) : testIds.get(test);
+        if (level != null && levelId < 0 || testId == null) {
+            return new int[0];
+        }
+
+        int[] result = new int[16];
+        int size = 0;
+        for (int c = fromLine >= lineCount ? chunks.size() : fromLine / linesPerChunk; c < chunks.size(); c++) {
+            final Chunk chunk = chunks.get(c);
+            if (level != null && (chunk.levelsMask & 1L << levelId) == 0
+                    || test != null && (testId < chunk.minTest || testId > chunk.maxTest)) {
+                continue;
+            }
+            for (int i = Math.max(0, fromLine - chunk.firstLine); i < chunk.lineCount; i++) {
+                if ((level == null || chunk.levels[i] == levelId) && (test == null || chunk.tests[i] == testId)) {
+                    if (size == result.length) {
+                        result = Arrays.copyOf(result, 2 * size);
+                    }
+                    result[size++] = chunk.firstLine + i;
+                }
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    public synchronized List<String> getLevels() {
+        return new ArrayList<>(levels);
+    }
+
+    public synchronized List<String> getTests() {
+        return new ArrayList<>(tests);
+    }
+
+    public synchronized void clear() {
+        chunks.clear();
+        loadedChunks.clear();
+        levels.clear();
+        tests.clear();
+        testIds.clear();
+        openLine.setLength(0);
+        currentTest = NO_TEST;
+        currentLevel = -1;
+        lineCount = 0;
+        charCount = 0;
+        charsInMemory = 0;
+        generation++;
+        closeSpill();
+    }
+
+    @Override
+    public synchronized void close() {
+        clear();
+    }
+
+    private void closeSpill() {
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (final IOException e) {
+                // nothing to do
+            }
+            spill = null;
+            spillFile.delete();
+            spillFile = null;
+        }
+    }
+
+    @VisibleForTesting
+    synchronized int getSpilledChunksCount() {
+        int count = 0;
+        for (final Chunk chunk : chunks) {
+            if (chunk.lines == null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Chunk chunkOfLine(final int index) {
+        if (index < 0 || index >= lineCount) {
+            throw new IndexOutOfBoundsException("Line " + index + " does not exist, there are " + lineCount + " lines");
+        }
+        return chunks.get(index / linesPerChunk);
+    }
+
+    private int chunkIndexOfOffset(final int offset) {
+        int low = 0;
+        int high = chunks.size() - 1;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (chunks.get(middle).startOffset <= offset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static final class Chunk {
+
+        private final int firstLine;
+
+        private final int startOffset;
+
+        // offsets of lines relative to chunk start; entry after the last line is the chunk length
+        private final int[] offsets;
+
+        private final byte[] levels;
+
+        private final int[] tests;
+
+        private int lineCount = 0;
+
+        private long levelsMask = 0;
+
+        private int minTest = Integer.MAX_VALUE;
+
+        private int maxTest = Integer.MIN_VALUE;
+
+        // null when lines were spilled to file
+        private List<String> lines;
+
+        private long filePosition;
+
+        private int byteLength;
+
+        Chunk(final int firstLine, final int startOffset, final int capacity) {
+            this.firstLine = firstLine;
+            this.startOffset = startOffset;
+            this.offsets = new int[capacity + 1];
+            this.levels = new byte[capacity];
+            this.tests = new int[capacity];
+            this.lines = new ArrayList<>(capacity);
+        }
+
+        void add(final String line, final byte level, final int test) {
+            offsets[lineCount + 1] = offsets[lineCount] + line.length() + 1;
+            levels[lineCount] = level;
+            tests[lineCount] = test;
+            lines.add(line);
+            lineCount++;
+
+            if (level >= 0) {
+                levelsMask |= 1L << level;
+            }
+            minTest = Math.min(minTest, test);
+            maxTest = Math.max(maxTest, test);
+        }
+
+        int charCount() {
+            return offsets[lineCount];
+        }
+    }
+}
@@ -12,7 +12,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.rf.ide.core.executor.RobotCommandRcpExecutor.RobotCommandExecutorException;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment.PythonInstallationDirectory;
 
 /**
@@ -29,7 +28,7 @@ class PythonInterpretersCommandExecutors {
         return InstanceHolder.INSTANCE;
     }
 
-    private final Map<String, RobotCommandRcpExecutor> executors = new HashMap<>();
+    private final Map<String, RobotCommandExecutorsPool> executors = new HashMap<>();
 
     private final List<PythonProcessListener> processListeners = new ArrayList<>(0);
 
@@ -65,19 +64,19 @@ class PythonInterpretersCommandExecutors {
                 .resolve(interpreterPath.getInterpreter().executableName())
                 .toAbsolutePath()
                 .toString();
-        final RobotCommandRcpExecutor executor = executors.remove(pathAsName);
-        if (executor != null) {
-            executor.kill();
+        final RobotCommandExecutorsPool pool = executors.remove(pathAsName);
+        if (pool != null) {
+            pool.kill();
         }
     }
 
-    synchronized RobotCommandExecutor getRobotCommandExecutor(final PythonInstallationDirectory interpreterPath) {
+    RobotCommandExecutor getRobotCommandExecutor(final PythonInstallationDirectory interpreterPath) {
         final SuiteExecutor interpreter = interpreterPath.getInterpreter();
         final String pathAsName = interpreterPath.toPath()
                 .resolve(interpreter.executableName())
                 .toAbsolutePath()
                 .toString();
-        
+
         if (RedSystemProperties.shouldUseDirectExecutor()) {
             return new RobotCommandDirectExecutor(pathAsName, interpreter);
         }
@@ -85,26 +84,53 @@ class PythonInterpretersCommandExecutors {
         if (xmlRpcServerScriptFile == null) {
             return new RobotCommandDirectExecutor(pathAsName, interpreter);
         }
+        return getPool(pathAsName, interpreter).getSharedExecutor();
+    }
+
+    /**
+     * Returns executor which is used exclusively by caller until it is given back with
+     * {@link #returnRobotCommandExecutor(PythonInstallationDirectory, RobotCommandExecutor)}.
+     * Executors are borrowed from pool of session servers of given interpreter, so this method
+     * blocks when all servers are borrowed.
+     */
+    RobotCommandExecutor borrowRobotCommandExecutor(final PythonInstallationDirectory interpreterPath)
+            throws InterruptedException {
+        final SuiteExecutor interpreter = interpreterPath.getInterpreter();
+        final String pathAsName = interpreterPath.toPath()
+                .resolve(interpreter.executableName())
+                .toAbsolutePath()
+                .toString();
 
-        RobotCommandRcpExecutor executor = executors.get(pathAsName);
-        if (executor != null && (executor.isAlive() || executor.isExternal())) {
-            return executor;
-        } else if (executor != null) {
-            //executor.kill();
-            executors.remove(pathAsName);
+        if (RedSystemProperties.shouldUseDirectExecutor()) {
+            return new RobotCommandDirectExecutor(pathAsName, interpreter);
         }
-        try {
-            executor = new RobotCommandRcpExecutor(pathAsName, interpreter, xmlRpcServerScriptFile);
-            executor.waitForEstablishedConnection();
-            if (executor.isAlive() || executor.isExternal()) {
-                executors.put(pathAsName, executor);
-                return executor;
-            } else {
-                return new RobotCommandDirectExecutor(pathAsName, interpreter);
-            }
-        } catch (final RobotCommandExecutorException e) {
+
+        if (xmlRpcServerScriptFile == null) {
             return new RobotCommandDirectExecutor(pathAsName, interpreter);
         }
+        return getPool(pathAsName, interpreter).borrow();
+    }
+
+    synchronized void returnRobotCommandExecutor(final PythonInstallationDirectory interpreterPath,
+            final RobotCommandExecutor executor) {
+        final String pathAsName = interpreterPath.toPath()
+                .resolve(interpreterPath.getInterpreter().executableName())
+                .toAbsolutePath()
+                .toString();
+        final RobotCommandExecutorsPool pool = executors.get(pathAsName);
+        if (pool != null) {
+            pool.giveBack(executor);
+        }
+    }
+
+    private synchronized RobotCommandExecutorsPool getPool(final String pathAsName, final SuiteExecutor interpreter) {
+        RobotCommandExecutorsPool pool = executors.get(pathAsName);
+        if (pool == null) {
+            pool = new RobotCommandExecutorsPool(pathAsName, interpreter, xmlRpcServerScriptFile,
+                    RedSystemProperties.getSessionServersPoolSize());
+            executors.put(pathAsName, pool);
+        }
+        return pool;
     }
 
     RobotCommandExecutor getDirectRobotCommandExecutor(final PythonInstallationDirectory interpreterPath) {
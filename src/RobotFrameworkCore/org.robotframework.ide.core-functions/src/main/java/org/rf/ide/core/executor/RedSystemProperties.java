@@ -23,6 +23,8 @@ public class RedSystemProperties {
 
     public static final String RED_USE_OLD_REPARSED_LINK_MODE = "red.useOldReparsedLinkMode";
 
+    public static final String RED_SESSION_SERVERS_POOL_SIZE = "red.sessionServersPoolSize";
+
     public static boolean shouldConnectToRunningServer() {
         return System.getProperty("red.connectToServerAt") != null;
     }
@@ -43,6 +45,23 @@ public class RedSystemProperties {
         return Boolean.valueOf(System.getProperty(RED_USE_OLD_REPARSED_LINK_MODE)).booleanValue();
     }
 
+    /**
+     * Returns number of python session servers which may be borrowed exclusively (e.g. for libdocs
+     * generation) for single interpreter, in addition to the server shared by all other calls. By
+     * default up to 4 servers are used, but not more than half of available processors.
+     */
+    public static int getSessionServersPoolSize() {
+        final String size = System.getProperty(RED_SESSION_SERVERS_POOL_SIZE);
+        if (size != null) {
+            try {
+                return Math.max(1, Integer.parseInt(size.trim()));
+            } catch (final NumberFormatException e) {
+                // default size will be used
+            }
+        }
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
     public static boolean isWindowsPlatform() {
         return System.getProperty("os.name").toLowerCase().indexOf("win") >= 0;
     }
@@ -75,6 +75,17 @@ class RobotCommandDirectExecutor implements RobotCommandExecutor {
 
     }
 
+    @Override
+    public List<Map<String, Object>> getVariables(final List<String> filesPaths,
+            final List<List<String>> filesArguments) {
+        // each file is read by separate process anyway
+        final List<Map<String, Object>> variablesOfFiles = newArrayList();
+        for (int i = 0; i < filesPaths.size(); i++) {
+            variablesOfFiles.add(getVariables(filesPaths.get(i), filesArguments.get(i)));
+        }
+        return variablesOfFiles;
+    }
+
     @Override
     public Map<String, Object> getGlobalVariables() {
         try {
@@ -23,6 +23,8 @@ interface RobotCommandExecutor {
 
     Map<String, Object> getVariables(final String filePath, final List<String> fileArguments);
 
+    List<Map<String, Object>> getVariables(final List<String> filesPaths, final List<List<String>> filesArguments);
+
     Map<String, Object> getGlobalVariables();
 
     List<String> getStandardLibrariesNames();
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import java.io.File;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+
+import org.rf.ide.core.executor.RobotCommandRcpExecutor.RobotCommandExecutorException;
+
+/**
+ * Pool of python session servers started for single interpreter. First server is shared by all
+ * calls, the same way as single server was used before. Long running calls (e.g. libdocs
+ * generation) borrow one of dedicated servers exclusively, so they may run in parallel in
+ * different processes and never share session with callers of the shared server.
+ * <p>
+ * Servers are started lazily and borrowing always takes free dedicated server with lowest number,
+ * so additional processes are started only when there are parallel calls. Dedicated server is
+ * checked before it is handed out, when nobody uses it; server which process has died or which
+ * does not respond is killed and started again. Shared server is only restarted when its process
+ * has died.
+ * <p>
+ * When connecting to already running server there are no dedicated servers, as all of them would
+ * connect to the same external server anyway, so shared executor is lent instead.
+ */
+class RobotCommandExecutorsPool {
+
+    private final String interpreterPath;
+
+    private final SuiteExecutor interpreter;
+
+    private final File scriptFile;
+
+    private static final int SHARED_SERVER = 0;
+
+    private final RobotCommandRcpExecutor[] servers;
+
+    private final Object[] serversLocks;
+
+    private final BlockingQueue<Integer> freeServers = new PriorityBlockingQueue<>();
+
+    private final Map<RobotCommandExecutor, Integer> borrowedServers = new IdentityHashMap<>();
+
+    private volatile boolean killed = false;
+
+    RobotCommandExecutorsPool(final String interpreterPath, final SuiteExecutor interpreter, final File scriptFile,
+            final int size) {
+        this.interpreterPath = interpreterPath;
+        this.interpreter = interpreter;
+        this.scriptFile = scriptFile;
+        // all servers would connect to the same external server anyway
+        final int dedicatedServers = RedSystemProperties.shouldConnectToRunningServer() ? 0 : size;
+        this.servers = new RobotCommandRcpExecutor[1 + dedicatedServers];
+        this.serversLocks = new Object[servers.length];
+        for (int i = 0; i < servers.length; i++) {
+            serversLocks[i] = new Object();
+            if (i != SHARED_SERVER) {
+                freeServers.add(i);
+            }
+        }
+    }
+
+    /**
+     * Returns executor of first server, which is shared by all callers. When server cannot be
+     * started direct executor is returned.
+     */
+    RobotCommandExecutor getSharedExecutor() {
+        // server may be in use by other thread, so it is not checked for response
+        return getExecutor(SHARED_SERVER, false);
+    }
+
+    /**
+     * Waits for free server and returns its executor, which is used exclusively by caller until it
+     * is given back with {@link #giveBack(RobotCommandExecutor)}.
+     *
+     * @return executor of healthy server or direct executor when server cannot be started
+     * @throws InterruptedException
+     */
+    RobotCommandExecutor borrow() throws InterruptedException {
+        if (servers.length == 1) {
+            return getSharedExecutor();
+        }
+        final int number = freeServers.take();
+        try {
+            // server was given back, so it is not used by anyone and may be restarted safely
+            final RobotCommandExecutor executor = getExecutor(number, true);
+            synchronized (borrowedServers) {
+                borrowedServers.put(executor, number);
+            }
+            return executor;
+        } catch (final RuntimeException e) {
+            freeServers.add(number);
+            throw e;
+        }
+    }
+
+    void giveBack(final RobotCommandExecutor executor) {
+        final Integer number;
+        synchronized (borrowedServers) {
+            number = borrowedServers.remove(executor);
+        }
+        if (number != null) {
+            freeServers.add(number);
+        }
+    }
+
+    void kill() {
+        killed = true;
+        for (int i = 0; i < servers.length; i++) {
+            synchronized (serversLocks[i]) {
+                if (servers[i] != null) {
+                    servers[i].kill();
+                    servers[i] = null;
+                }
+            }
+        }
+    }
+
+    private RobotCommandExecutor getExecutor(final int number, final boolean checkResponse) {
+        synchronized (serversLocks[number]) {
+            final RobotCommandRcpExecutor server = servers[number];
+            if (server != null && isHealthy(server, checkResponse)) {
+                return server;
+            } else if (server != null) {
+                server.kill();
+                servers[number] = null;
+            }
+            if (killed) {
+                return new RobotCommandDirectExecutor(interpreterPath, interpreter);
+            }
+            try {
+                final RobotCommandRcpExecutor newServer = new RobotCommandRcpExecutor(interpreterPath, interpreter,
+                        scriptFile, number);
+                newServer.waitForEstablishedConnection();
+                if (newServer.isAlive() || newServer.isExternal()) {
+                    servers[number] = newServer;
+                    return newServer;
+                }
+            } catch (final RobotCommandExecutorException e) {
+                // direct executor will be used
+            }
+            return new RobotCommandDirectExecutor(interpreterPath, interpreter);
+        }
+    }
+
+    private static boolean isHealthy(final RobotCommandRcpExecutor server, final boolean checkResponse) {
+        if (server.isExternal()) {
+            return true;
+        }
+        return server.isAlive() && (!checkResponse || server.isResponding());
+    }
+}
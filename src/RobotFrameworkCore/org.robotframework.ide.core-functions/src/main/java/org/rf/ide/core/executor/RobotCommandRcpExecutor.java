@@ -60,16 +60,24 @@ class RobotCommandRcpExecutor implements RobotCommandExecutor {
 
     private final File scriptFile;
 
-    private Process serverProcess;
+    private final int serverNumber;
+
+    private volatile Process serverProcess;
 
     private boolean isExternal = false;
 
     private XmlRpcClient client;
 
     RobotCommandRcpExecutor(final String interpreterPath, final SuiteExecutor interpreterType, final File scriptFile) {
+        this(interpreterPath, interpreterType, scriptFile, 0);
+    }
+
+    RobotCommandRcpExecutor(final String interpreterPath, final SuiteExecutor interpreterType, final File scriptFile,
+            final int serverNumber) {
         this.interpreterPath = interpreterPath;
         this.interpreterType = interpreterType;
         this.scriptFile = scriptFile;
+        this.serverNumber = serverNumber;
     }
 
     void waitForEstablishedConnection() {
@@ -106,8 +114,10 @@ class RobotCommandRcpExecutor implements RobotCommandExecutor {
 
             @Override
             public void run() {
+                final String serverName = serverNumber == 0 ? interpreterPath
+                        : interpreterPath + " #" + (serverNumber + 1);
                 for (final PythonProcessListener listener : getListeners()) {
-                    listener.processStarted(interpreterPath, process);
+                    listener.processStarted(serverName, process);
                 }
                 semaphore.release();
                 final InputStream inputStream = process.getInputStream();
@@ -219,6 +229,15 @@ class RobotCommandRcpExecutor implements RobotCommandExecutor {
         return isExternal;
     }
 
+    boolean isResponding() {
+        try {
+            callRpcFunction("checkServerAvailability");
+            return true;
+        } catch (final XmlRpcException | RobotEnvironmentException e) {
+            return false;
+        }
+    }
+
     void kill() {
         if (serverProcess != null) {
             try {
@@ -257,6 +276,26 @@ class RobotCommandRcpExecutor implements RobotCommandExecutor {
         }
     }
 
+    @Override
+    public List<Map<String, Object>> getVariables(final List<String> filesPaths,
+            final List<List<String>> filesArguments) {
+        try {
+            final List<Map<String, Object>> variablesOfFiles = newArrayList();
+            final Object[] results = (Object[]) callRpcFunction("getVariablesFromFiles", filesPaths, filesArguments);
+            for (final Object result : results) {
+                final Map<String, Object> variables = new LinkedHashMap<>();
+                for (final Entry<?, ?> entry : ((Map<?, ?>) result).entrySet()) {
+                    variables.put((String) entry.getKey(), entry.getValue());
+                }
+                variablesOfFiles.add(variables);
+            }
+            return variablesOfFiles;
+        } catch (final XmlRpcException e) {
+            throw new RobotEnvironmentException("Unable to communicate with XML-RPC server. Files " + filesPaths
+                    + " with arguments " + filesArguments, e);
+        }
+    }
+
     @Override
     public Map<String, Object> getGlobalVariables() {
         try {
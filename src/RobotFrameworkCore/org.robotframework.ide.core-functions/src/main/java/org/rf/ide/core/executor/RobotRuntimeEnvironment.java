@@ -22,6 +22,7 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -303,15 +304,32 @@ public class RobotRuntimeEnvironment {
     public void resetCommandExecutors() {
         if (hasRobotInstalled()) {
             PythonInterpretersCommandExecutors.getInstance().resetExecutorFor((PythonInstallationDirectory) location);
+            // modules imported by variable files will be imported again by new session
+            VariableFilesEvaluationCache.getInstance().clear();
         }
     }
 
+    /**
+     * Returns how many libdocs may be generated in parallel by
+     * {@link #createLibdocForStdLibrary(String, File)} and
+     * {@link #createLibdocForThirdPartyLibrary(String, String, EnvironmentSearchPaths, File)}
+     * methods. Each generation takes one python session server from pool of given size.
+     */
+    public static int getLibdocGenerationParallelism() {
+        return RedSystemProperties.getSessionServersPoolSize();
+    }
+
     public void createLibdocForStdLibrary(final String libName, final File outputFile)
             throws RobotEnvironmentException {
         if (hasRobotInstalled()) {
-            final RobotCommandExecutor executor = PythonInterpretersCommandExecutors.getInstance()
-                    .getRobotCommandExecutor((PythonInstallationDirectory) location);
-            executor.createLibdocForStdLibrary(outputFile.getAbsolutePath(), libName, "");
+            final PythonInstallationDirectory interpreterPath = (PythonInstallationDirectory) location;
+            final RobotCommandExecutor executor = borrowCommandExecutor(interpreterPath);
+            try {
+                executor.createLibdocForStdLibrary(outputFile.getAbsolutePath(), libName, "");
+            } finally {
+                PythonInterpretersCommandExecutors.getInstance().returnRobotCommandExecutor(interpreterPath,
+                        executor);
+            }
         }
     }
 
@@ -327,9 +345,24 @@ public class RobotRuntimeEnvironment {
     public void createLibdocForThirdPartyLibrary(final String libName, final String libPath,
             final EnvironmentSearchPaths additionalPaths, final File outputFile) throws RobotEnvironmentException {
         if (hasRobotInstalled()) {
-            final RobotCommandExecutor executor = PythonInterpretersCommandExecutors.getInstance()
-                    .getRobotCommandExecutor((PythonInstallationDirectory) location);
-            executor.createLibdocForThirdPartyLibrary(outputFile.getAbsolutePath(), libName, libPath, additionalPaths);
+            final PythonInstallationDirectory interpreterPath = (PythonInstallationDirectory) location;
+            final RobotCommandExecutor executor = borrowCommandExecutor(interpreterPath);
+            try {
+                executor.createLibdocForThirdPartyLibrary(outputFile.getAbsolutePath(), libName, libPath,
+                        additionalPaths);
+            } finally {
+                PythonInterpretersCommandExecutors.getInstance().returnRobotCommandExecutor(interpreterPath,
+                        executor);
+            }
+        }
+    }
+
+    private static RobotCommandExecutor borrowCommandExecutor(final PythonInstallationDirectory interpreterPath) {
+        try {
+            return PythonInterpretersCommandExecutors.getInstance().borrowRobotCommandExecutor(interpreterPath);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RobotEnvironmentException("Interrupted while waiting for python session server", e);
         }
     }
 
@@ -458,13 +491,51 @@ public class RobotRuntimeEnvironment {
     }
 
     public Map<String, Object> getVariablesFromFile(final String path, final List<String> args) {
-        if (hasRobotInstalled()) {
-            final String normalizedPath = path.replace('\\', '/');
+        return getVariablesFromFiles(Collections.singletonList(path), Collections.singletonList(args)).get(0);
+    }
+
+    /**
+     * Returns variables of given variable files, each called with arguments from the same position
+     * of arguments list. Files already evaluated with the same arguments are taken from
+     * {@link VariableFilesEvaluationCache}, the rest is read by python in single call.
+     */
+    public List<Map<String, Object>> getVariablesFromFiles(final List<String> paths, final List<List<String>> args) {
+        final List<Map<String, Object>> variables = new ArrayList<>();
+        if (!hasRobotInstalled()) {
+            for (int i = 0; i < paths.size(); i++) {
+                variables.add(new LinkedHashMap<String, Object>());
+            }
+            return variables;
+        }
+        final VariableFilesEvaluationCache cache = VariableFilesEvaluationCache.getInstance();
+        final String interpreter = location.getAbsolutePath();
+
+        final List<Integer> indexesToEvaluate = new ArrayList<>();
+        final List<String> pathsToEvaluate = new ArrayList<>();
+        final List<List<String>> argsToEvaluate = new ArrayList<>();
+        final List<VariableFilesEvaluationCache.FileStamp> stamps = new ArrayList<>();
+        for (int i = 0; i < paths.size(); i++) {
+            final String normalizedPath = paths.get(i).replace('\\', '/');
+            final Map<String, Object> cached = cache.get(interpreter, new File(normalizedPath), args.get(i));
+            variables.add(cached);
+            if (cached == null) {
+                indexesToEvaluate.add(i);
+                pathsToEvaluate.add(normalizedPath);
+                argsToEvaluate.add(args.get(i));
+                stamps.add(cache.stampOf(new File(normalizedPath)));
+            }
+        }
+        if (!pathsToEvaluate.isEmpty()) {
             final RobotCommandExecutor executor = PythonInterpretersCommandExecutors.getInstance()
                     .getRobotCommandExecutor((PythonInstallationDirectory) location);
-            return executor.getVariables(normalizedPath, args);
+            final List<Map<String, Object>> evaluated = executor.getVariables(pathsToEvaluate, argsToEvaluate);
+            for (int j = 0; j < evaluated.size(); j++) {
+                cache.put(interpreter, new File(pathsToEvaluate.get(j)), argsToEvaluate.get(j), stamps.get(j),
+                        evaluated.get(j));
+                variables.set(indexesToEvaluate.get(j), evaluated.get(j));
+            }
         }
-        return new LinkedHashMap<String, Object>();
+        return variables;
     }
     
     public boolean isVirtualenv() {
@@ -5,53 +5,115 @@
  */
 package org.rf.ide.core.executor;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.rf.ide.core.execution.AgentEvent;
+import org.rf.ide.core.execution.AgentEventReader;
+import org.rf.ide.core.execution.IAgentEventHandler;
 
 /**
- * @author mmarzec
+ * Receives events from TestRunnerAgent. Each event is decoded once and passed to all listeners
+ * by separate dispatching thread. Decoded events wait for dispatching in bounded queue; when
+ * listeners are not able to keep up, reading from the socket is suspended until the queue has
+ * free space, so the agent is slowed down instead of events piling up in memory.
+ * {@link #run()} returns only after all received events were dispatched to listeners.
  *
+ * @author mmarzec
  */
 public class TestRunnerAgentHandler implements Runnable {
 
-    private final List<ILineHandler> listeners;
-    
+    private static final int EVENTS_QUEUE_CAPACITY = 1000;
+
+    private static final AgentEvent END_OF_EVENTS = new AgentEvent("", Collections.emptyList());
+
+    private final List<IAgentEventHandler> listeners;
+
+    private final BlockingQueue<AgentEvent> events;
+
     private final int port;
-    
+
     public TestRunnerAgentHandler(final int port) {
-        listeners = new ArrayList<>();
+        this(port, EVENTS_QUEUE_CAPACITY);
+    }
+
+    TestRunnerAgentHandler(final int port, final int eventsQueueCapacity) {
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.events = new ArrayBlockingQueue<>(eventsQueueCapacity);
         this.port = port;
     }
 
     @Override
     public void run() {
+        final Thread dispatchingThread = startDispatchingThread();
         try (ServerSocket socket = new ServerSocket(port)) {
             socket.setReuseAddress(true);
-            final Socket client = socket.accept();
-            final BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream()));
-            
-            String line;
-            while ((line = reader.readLine()) != null) {
-                for (final ILineHandler listener : listeners) {
-                    listener.processLine(line);
+            try (Socket client = socket.accept();
+                    AgentEventReader reader = new AgentEventReader(client.getInputStream())) {
+                AgentEvent event;
+                while ((event = reader.nextEvent()) != null) {
+                    events.put(event);
                 }
             }
         } catch (final IOException e) {
             e.printStackTrace();
+        } catch (final InterruptedException e) {
+            dispatchingThread.interrupt();
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            events.put(END_OF_EVENTS);
+            dispatchingThread.join();
+        } catch (final InterruptedException e) {
+            dispatchingThread.interrupt();
+            Thread.currentThread().interrupt();
         }
     }
 
-    public void addListener(final ILineHandler listener) {
+    private Thread startDispatchingThread() {
+        final Thread dispatchingThread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    AgentEvent event;
+                    while ((event = events.take()) != END_OF_EVENTS) {
+                        dispatch(event);
+                    }
+                } catch (final InterruptedException e) {
+                    // dispatching is finished
+                }
+            }
+        }, "TestRunnerAgent events dispatcher");
+        dispatchingThread.setDaemon(true);
+        dispatchingThread.start();
+        return dispatchingThread;
+    }
+
+    private void dispatch(final AgentEvent event) {
+        for (final IAgentEventHandler listener : listeners) {
+            try {
+                listener.processEvent(event);
+            } catch (final RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public void addListener(final IAgentEventHandler listener) {
         listeners.add(listener);
     }
 
-    public void removeListener(final ILineHandler listener) {
+    public void removeListener(final IAgentEventHandler listener) {
         listeners.remove(listener);
     }
-    
+
 }
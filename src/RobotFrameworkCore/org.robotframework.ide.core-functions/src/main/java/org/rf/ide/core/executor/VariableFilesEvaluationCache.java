@@ -0,0 +1,176 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Process-wide cache of variables read by python from variable files. Evaluation is identified by
+ * interpreter, canonical path of variable file and arguments, and it is valid as long as
+ * modification time and length of the file are the same as before it was evaluated.
+ * <p>
+ * Modules imported by variable file are not known, so change of any other python file reported
+ * by {@link #fileChanged(File)} removes all evaluations.
+ */
+public class VariableFilesEvaluationCache {
+
+    private static final int MAX_EVALUATIONS = 2000;
+
+    private static class InstanceHolder {
+        private static final VariableFilesEvaluationCache INSTANCE = new VariableFilesEvaluationCache();
+    }
+
+    public static VariableFilesEvaluationCache getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    private final Cache<EvaluationKey, Evaluation> evaluations;
+
+    @VisibleForTesting
+    VariableFilesEvaluationCache() {
+        evaluations = CacheBuilder.newBuilder().maximumSize(MAX_EVALUATIONS).build();
+    }
+
+    /**
+     * Returns copy of variables evaluated earlier or null when file was not evaluated with given
+     * arguments or it has been changed since then.
+     */
+    Map<String, Object> get(final String interpreter, final File variableFile, final List<String> arguments) {
+        final EvaluationKey key = new EvaluationKey(interpreter, canonical(variableFile), arguments);
+        final Evaluation evaluation = evaluations.getIfPresent(key);
+        if (evaluation == null) {
+            return null;
+        } else if (!evaluation.stamp.equals(FileStamp.of(key.file))) {
+            evaluations.invalidate(key);
+            return null;
+        }
+        return new LinkedHashMap<>(evaluation.variables);
+    }
+
+    /**
+     * Takes stamp of file which is about to be evaluated; it has to be taken before evaluation, so
+     * change made during evaluation is not hidden.
+     */
+    FileStamp stampOf(final File variableFile) {
+        return FileStamp.of(canonical(variableFile));
+    }
+
+    void put(final String interpreter, final File variableFile, final List<String> arguments,
+            final FileStamp stamp, final Map<String, Object> variables) {
+        evaluations.put(new EvaluationKey(interpreter, canonical(variableFile), arguments),
+                new Evaluation(stamp, Collections.unmodifiableMap(new LinkedHashMap<>(variables))));
+    }
+
+    public void fileChanged(final File file) {
+        final File changedFile = canonical(file);
+        boolean isVariableFile = false;
+        for (final EvaluationKey key : evaluations.asMap().keySet()) {
+            if (key.file.equals(changedFile)) {
+                evaluations.invalidate(key);
+                isVariableFile = true;
+            }
+        }
+        if (!isVariableFile && changedFile.getName().endsWith(".py")) {
+            // it could be imported by any of evaluated files
+            evaluations.invalidateAll();
+        }
+    }
+
+    public void clear() {
+        evaluations.invalidateAll();
+    }
+
+    private static File canonical(final File file) {
+        try {
+            return file.getCanonicalFile();
+        } catch (final IOException e) {
+            return file.getAbsoluteFile();
+        }
+    }
+
+    private static final class EvaluationKey {
+
+        private final String interpreter;
+
+        private final File file;
+
+        private final List<String> arguments;
+
+        EvaluationKey(final String interpreter, final File file, final List<String> arguments) {
+            this.interpreter = interpreter;
+            this.file = file;
+            this.arguments = ImmutableList.copyOf(arguments);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj != null && obj.getClass() == EvaluationKey.class) {
+                final EvaluationKey that = (EvaluationKey) obj;
+                return this.interpreter.equals(that.interpreter) && this.file.equals(that.file)
+                        && this.arguments.equals(that.arguments);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(interpreter, file, arguments);
+        }
+    }
+
+    private static final class Evaluation {
+
+        private final FileStamp stamp;
+
+        private final Map<String, Object> variables;
+
+        Evaluation(final FileStamp stamp, final Map<String, Object> variables) {
+            this.stamp = stamp;
+            this.variables = variables;
+        }
+    }
+
+    static final class FileStamp {
+
+        private final long lastModified;
+
+        private final long length;
+
+        private FileStamp(final long lastModified, final long length) {
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        private static FileStamp of(final File file) {
+            return new FileStamp(file.lastModified(), file.length());
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj != null && obj.getClass() == FileStamp.class) {
+                final FileStamp that = (FileStamp) obj;
+                return this.lastModified == that.lastModified && this.length == that.length;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(lastModified, length);
+        }
+    }
+}
@@ -6,18 +6,25 @@
 package org.rf.ide.core.fileWatcher;
 
 import java.nio.file.Path;
+import java.util.Set;
 
 /**
  * @author mmarzec
  *
  */
 public interface IWatchEventHandler {
-    
+
     void registerPath(final Path dir, final String fileName, final IWatchEventHandler handler);
-    
-    void unregisterFile(final String fileName, final IWatchEventHandler handler);
-    
+
+    void unregisterFile(final Path dir, final String fileName, final IWatchEventHandler handler);
+
     void watchServiceInterrupted();
 
-    void handleModifyEvent(final String fileName);
+    /**
+     * Called with all registered files of this handler which were modified before watched files
+     * were left untouched for debouncing time window. Paths are absolute and normalized.
+     *
+     * @param modifiedFiles
+     */
+    void handleModifyEvents(final Set<Path> modifiedFiles);
 }
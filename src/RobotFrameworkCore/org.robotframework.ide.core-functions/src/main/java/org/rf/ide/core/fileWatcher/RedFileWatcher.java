@@ -5,8 +5,6 @@
  */
 package org.rf.ide.core.fileWatcher;
 
-import static com.google.common.collect.Lists.newArrayList;
-
 import java.io.IOException;
 import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.FileSystems;
@@ -15,216 +13,282 @@ import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
 
 /**
+ * Watches registered files and notifies their handlers about modifications. Files are identified
+ * by absolute, normalized paths. Events are coalesced: modified files are collected until no
+ * registered file was modified for debouncing time window (but no longer than ten such windows
+ * since first collected modification), then all modified files of given handler are passed to it
+ * in single batch. When events were lost by the watch service (overflow), registered files of the
+ * directory are rescanned and the ones with changed modification time are treated as modified.
+ *
  * @author mmarzec
  */
 public class RedFileWatcher {
 
+    private static final long DEFAULT_DEBOUNCE_WINDOW_MILLIS = 500;
+
     private static class InstanceHolder {
 
-        private static final RedFileWatcher INSTANCE = new RedFileWatcher();
+        private static final RedFileWatcher INSTANCE = new RedFileWatcher(DEFAULT_DEBOUNCE_WINDOW_MILLIS);
     }
 
     public static RedFileWatcher getInstance() {
         return InstanceHolder.INSTANCE;
     }
 
+    private final long debounceWindowNanos;
+
+    private final long maxDelayNanos;
+
     private WatchService watcher;
 
-    private final List<String> registeredDirs = new ArrayList<>();
+    private final Map<Path, WatchKey> registeredDirs = new HashMap<>();
 
-    private final Map<String, Collection<IWatchEventHandler>> registeredFiles = Collections
-            .synchronizedMap(new HashMap<String, Collection<IWatchEventHandler>>());
+    private final Map<Path, RegisteredFile> registeredFiles = new HashMap<>();
 
-    private final LinkedBlockingQueue<String> modifiedFilesQueue = new LinkedBlockingQueue<>(100);
+    // there is at most one entry for each registered file, so events storm never grows it
+    private final Set<Path> pendingFiles = new LinkedHashSet<>();
 
-    private final AtomicBoolean isEventProducerThreadStarted = new AtomicBoolean(false);
+    private long firstPendingEventTime;
 
-    private final AtomicBoolean isEventConsumerThreadStarted = new AtomicBoolean(false);
+    private long lastPendingEventTime;
 
-    private RedFileWatcher() {}
+    @VisibleForTesting
+    RedFileWatcher(final long debounceWindowMillis) {
+        this.debounceWindowNanos = TimeUnit.MILLISECONDS.toNanos(debounceWindowMillis);
+        this.maxDelayNanos = 10 * debounceWindowNanos;
+    }
 
     public synchronized void registerPath(final Path fileDir, final String fileName,
             final IWatchEventHandler watchEventHandler) {
-
+        if (fileDir == null || fileName == null || watchEventHandler == null) {
+            return;
+        }
         setupWatcher();
+        if (watcher == null) {
+            return;
+        }
 
-        if (watcher != null && fileDir != null && fileName != null) {
+        final Path dir = fileDir.toAbsolutePath().normalize();
+        if (!registeredDirs.containsKey(dir)) {
             try {
-                if (!registeredDirs.contains(fileDir.toString()) && isEventProducerThreadStarted.get()
-                        && isEventConsumerThreadStarted.get()) {
-                    fileDir.register(watcher, StandardWatchEventKinds.ENTRY_MODIFY);
-                    registeredDirs.add(fileDir.toString());
-                }
-                final Collection<IWatchEventHandler> handlers = registeredFiles.get(fileName);
-                if (handlers == null) {
-                    registeredFiles.put(fileName, newArrayList(watchEventHandler));
-                } else {
-                    if (!handlers.contains(watchEventHandler)) {
-                        handlers.add(watchEventHandler);
-                    }
-                }
+                registeredDirs.put(dir, dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY));
             } catch (final IOException e) {
                 e.printStackTrace();
+                return;
             }
         }
+        final Path file = dir.resolve(fileName);
+        RegisteredFile registeredFile = registeredFiles.get(file);
+        if (registeredFile == null) {
+            registeredFile = new RegisteredFile(lastModified(file));
+            registeredFiles.put(file, registeredFile);
+        }
+        registeredFile.handlers.add(watchEventHandler);
     }
 
-    public synchronized void unregisterFile(final String fileName, final IWatchEventHandler watchEventHandler) {
-        if (fileName != null) {
-            final Collection<IWatchEventHandler> handlers = registeredFiles.get(fileName);
-            if (handlers != null && !handlers.isEmpty()) {
-                if (handlers.size() == 1 && handlers.contains(watchEventHandler)) {
-                    registeredFiles.remove(fileName);
-                } else {
-                    handlers.remove(watchEventHandler);
+    public synchronized void unregisterFile(final Path fileDir, final String fileName,
+            final IWatchEventHandler watchEventHandler) {
+        if (fileDir == null || fileName == null) {
+            return;
+        }
+        final Path dir = fileDir.toAbsolutePath().normalize();
+        final Path file = dir.resolve(fileName);
+        final RegisteredFile registeredFile = registeredFiles.get(file);
+        if (registeredFile != null) {
+            registeredFile.handlers.remove(watchEventHandler);
+            if (registeredFile.handlers.isEmpty()) {
+                registeredFiles.remove(file);
+                pendingFiles.remove(file);
+                if (!hasRegisteredFiles(dir)) {
+                    final WatchKey key = registeredDirs.remove(dir);
+                    if (key != null) {
+                        key.cancel();
+                    }
                 }
             }
         }
     }
-    
+
+    private boolean hasRegisteredFiles(final Path dir) {
+        for (final Path file : registeredFiles.keySet()) {
+            if (dir.equals(file.getParent())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void closeWatchService() {
-        try {
-            if (watcher != null) {
+        final Set<IWatchEventHandler> handlers = new LinkedHashSet<>();
+        synchronized (this) {
+            if (watcher == null) {
+                return;
+            }
+            try {
                 watcher.close();
+            } catch (final IOException e) {
+                // nothing to do
+            } finally {
+                watcher = null;
             }
-        } catch (final IOException e) {
-            // nothing to do
-        } finally {
-            watcher = null;
+            for (final RegisteredFile registeredFile : registeredFiles.values()) {
+                handlers.addAll(registeredFile.handlers);
+            }
+            registeredDirs.clear();
+            registeredFiles.clear();
+            pendingFiles.clear();
+        }
+        for (final IWatchEventHandler handler : handlers) {
+            handler.watchServiceInterrupted();
         }
     }
 
     private void setupWatcher() {
-        if(watcher == null) {
-            registeredDirs.clear();
-            modifiedFilesQueue.clear();
+        if (watcher == null) {
             try {
                 watcher = FileSystems.getDefault().newWatchService();
             } catch (final IOException e) {
                 e.printStackTrace();
+                return;
             }
+            final WatchService service = watcher;
+            final Thread watchingThread = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    watchEvents(service);
+                }
+            }, "RED file watcher");
+            watchingThread.setDaemon(true);
+            watchingThread.start();
         }
-        setupWatchEventProducerThread();
-        setupWatchEventConsumerThread();
     }
 
-    private void setupWatchEventProducerThread() {
-        if (!isEventProducerThreadStarted.getAndSet(true)) {
-            new Thread(new Runnable() {
+    private void watchEvents(final WatchService service) {
+        while (true) {
+            WatchKey key;
+            try {
+                final long nanosToNextDispatch = nanosToNextDispatch();
+                key = nanosToNextDispatch < 0 ? service.take()
+                        : service.poll(nanosToNextDispatch, TimeUnit.NANOSECONDS);
+            } catch (final ClosedWatchServiceException e) {
+                return;
+            } catch (final InterruptedException e) {
+                // watching is stopped only by closing the service
+                continue;
+            }
+            if (key != null) {
+                handleEvents(key);
+            }
+            dispatch(collectSettledFiles());
+        }
+    }
 
-                @Override
-                public void run() {
+    private synchronized long nanosToNextDispatch() {
+        if (pendingFiles.isEmpty()) {
+            return -1;
+        }
+        final long dispatchTime = Math.min(lastPendingEventTime + debounceWindowNanos,
+                firstPendingEventTime + maxDelayNanos);
+        return Math.max(0, dispatchTime - System.nanoTime());
+    }
 
-                    while (true) {
-                        if (watcher == null) {
-                            break;
-                        }
-                        WatchKey key;
-                        try {
-                            key = watcher.take();
-                        } catch (InterruptedException | ClosedWatchServiceException e) {
-                            break;
-                        }
-                        for (final WatchEvent<?> eventFromKey : key.pollEvents()) {
-                            final WatchEvent.Kind<?> kind = eventFromKey.kind();
-                            final Path eventContext = (Path) eventFromKey.context();
-
-                            if (kind == StandardWatchEventKinds.OVERFLOW) {
-                                continue;
-                            } else if (kind == StandardWatchEventKinds.ENTRY_MODIFY) {
-
-                                final String fileName = eventContext.getFileName().toString();
-                                if (registeredFiles.get(fileName) != null) {
-                                    try {
-                                        if (!modifiedFilesQueue.contains(fileName)) {
-                                            modifiedFilesQueue.put(fileName);
-                                        }
-                                    } catch (final InterruptedException e) {
-                                        break;
-                                    }
-                                }
-                            }
-                        }
-                        final boolean valid = key.reset();
-                        if (!valid) {
-                            break;
-                        }
-                    }
-                    isEventProducerThreadStarted.set(false);
-                    closeWatchService();
-                    sendWatchServiceInterruptedEvent();
+    private synchronized void handleEvents(final WatchKey key) {
+        final Path dir = (Path) key.watchable();
+        final long now = System.nanoTime();
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                rescanModificationTimes(dir, now);
+            } else {
+                final Path file = dir.resolve((Path) event.context());
+                if (registeredFiles.containsKey(file)) {
+                    markAsModified(file, now);
                 }
-            }).start();
+            }
+        }
+        if (!key.reset() && registeredDirs.get(dir) == key) {
+            // directory is not accessible anymore, it will be watched again when its file is registered
+            registeredDirs.remove(dir);
         }
     }
 
-    private void setupWatchEventConsumerThread() {
-        if (!isEventConsumerThreadStarted.getAndSet(true)) {
-            new Thread(new Runnable() {
+    private void rescanModificationTimes(final Path dir, final long now) {
+        for (final Entry<Path, RegisteredFile> entry : registeredFiles.entrySet()) {
+            final Path file = entry.getKey();
+            if (dir.equals(file.getParent()) && lastModified(file) != entry.getValue().lastModified) {
+                markAsModified(file, now);
+            }
+        }
+    }
 
-                @Override
-                public void run() {
-                    while (true) {
-                        try {
-                            final String fileName = modifiedFilesQueue.take();
-                            final Collection<IWatchEventHandler> eventHandlers = registeredFiles.get(fileName);
-                            if (eventHandlers != null && !eventHandlers.isEmpty()) {
-                                for (final IWatchEventHandler watchEventHandler : eventHandlers) {
-                                    watchEventHandler.handleModifyEvent(fileName);
-                                }
-                            }
-                            waitForAndRemovePossibleDuplicatedEvents(fileName);
-                        } catch (final InterruptedException e) {
-                            break;
-                        }
+    private void markAsModified(final Path file, final long now) {
+        if (pendingFiles.isEmpty()) {
+            firstPendingEventTime = now;
+        }
+        pendingFiles.add(file);
+        lastPendingEventTime = now;
+    }
+
+    private synchronized Map<IWatchEventHandler, Set<Path>> collectSettledFiles() {
+        final Map<IWatchEventHandler, Set<Path>> batches = new LinkedHashMap<>();
+
+        final long now = System.nanoTime();
+        if (pendingFiles.isEmpty() || now - lastPendingEventTime < debounceWindowNanos
+                && now - firstPendingEventTime < maxDelayNanos) {
+            return batches;
+        }
+        for (final Path file : pendingFiles) {
+            final RegisteredFile registeredFile = registeredFiles.get(file);
+            if (registeredFile != null) {
+                registeredFile.lastModified = lastModified(file);
+                for (final IWatchEventHandler handler : registeredFile.handlers) {
+                    Set<Path> batch = batches.get(handler);
+                    if (batch == null) {
+                        batch = new LinkedHashSet<>();
+                        batches.put(handler, batch);
                     }
-                    isEventConsumerThreadStarted.set(false);
-                    closeWatchService();
-                    sendWatchServiceInterruptedEvent();
+                    batch.add(file);
                 }
-            }).start();
+            }
         }
+        pendingFiles.clear();
+        return batches;
     }
 
-    private void waitForAndRemovePossibleDuplicatedEvents(final String fileName) {
-        try {
-            Thread.sleep(400);
-        } catch (final InterruptedException e) {
-            return;
-        }
-        String nextFileName = modifiedFilesQueue.peek();
-        if (nextFileName != null && nextFileName.equals(fileName)) {
-            modifiedFilesQueue.remove();
+    private void dispatch(final Map<IWatchEventHandler, Set<Path>> batches) {
+        for (final Entry<IWatchEventHandler, Set<Path>> batch : batches.entrySet()) {
             try {
-                Thread.sleep(200);
-            } catch (final InterruptedException e) {
-                return;
-            }
-            nextFileName = modifiedFilesQueue.peek();
-            if (nextFileName != null && nextFileName.equals(fileName)) {
-                modifiedFilesQueue.remove();
+                batch.getKey().handleModifyEvents(batch.getValue());
+            } catch (final RuntimeException e) {
+                e.printStackTrace();
             }
         }
     }
 
-    private void sendWatchServiceInterruptedEvent() {
-        for (final String file : registeredFiles.keySet()) {
-            final Collection<IWatchEventHandler> eventHandlers = registeredFiles.get(file);
-            if (eventHandlers != null && !eventHandlers.isEmpty()) {
-                for (final IWatchEventHandler handler : eventHandlers) {
-                    handler.watchServiceInterrupted();
-                }
-            }
+    private static long lastModified(final Path file) {
+        return file.toFile().lastModified();
+    }
+
+    private static class RegisteredFile {
+
+        private final Set<IWatchEventHandler> handlers = new LinkedHashSet<>();
+
+        private long lastModified;
+
+        RegisteredFile(final long lastModified) {
+            this.lastModified = lastModified;
         }
     }
 }
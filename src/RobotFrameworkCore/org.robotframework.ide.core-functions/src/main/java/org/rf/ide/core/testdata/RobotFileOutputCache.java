@@ -0,0 +1,380 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.rf.ide.core.testdata.model.AModelElement;
+import org.rf.ide.core.testdata.model.FilePosition;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotFileOutput.BuildMessage;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.model.table.keywords.KeywordDocumentation;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Persistent cache of parsed files stored in given directory. Entries are keyed by hash of file
+ * content, file extension, robot version used for parsing and version of the cache owner (e.g.
+ * RED version), so entry is never used when any of those has changed. Files with the same content
+ * share single entry, so file names in build messages are changed to the loaded file. Cached
+ * outputs contain only the parsed model of the file itself; resources and variables are imported
+ * as usual after loading.
+ * <p>
+ * Entry names start with format version and owner version, so entries written by older versions
+ * are removed when cache is used for the first time. Number of entries is limited; when the limit
+ * is exceeded, least recently used entries are removed.
+ * <p>
+ * Model serialization is tailored for copying elements (positions are dropped, parents are not
+ * serialized), so entry streams replace those parts of the model, in order to restore exactly the
+ * same output.
+ */
+public class RobotFileOutputCache {
+
+    private static final int FORMAT_VERSION = 3;
+
+    private static final String ENTRY_EXTENSION = ".rfo";
+
+    private static final String TMP_EXTENSION = ".tmp";
+
+    private static final int MAX_ENTRIES = 5000;
+
+    private final File cacheDirectory;
+
+    private final String ownerVersion;
+
+    private final String entryPrefix;
+
+    private final int maxEntries;
+
+    private boolean isInitialized;
+
+    private int entriesCount;
+
+    public RobotFileOutputCache(final File cacheDirectory, final String ownerVersion) {
+        this(cacheDirectory, ownerVersion, MAX_ENTRIES);
+    }
+
+    @VisibleForTesting
+    RobotFileOutputCache(final File cacheDirectory, final String ownerVersion, final int maxEntries) {
+        this.cacheDirectory = cacheDirectory;
+        this.ownerVersion = ownerVersion;
+        this.entryPrefix = FORMAT_VERSION + "_" + ownerVersion.replaceAll("[^A-Za-z0-9.]", "_") + "-";
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Loads previously stored output for given file with given content.
+     *
+     * @param file
+     * @param content
+     * @param robotVersion
+     * @return cached output or null if there is no valid entry
+     */
+    public RobotFileOutput load(final File file, final byte[] content, final RobotVersion robotVersion) {
+        initialize();
+        final File entry = entryFile(key(file, content, robotVersion));
+        if (!entry.isFile()) {
+            return null;
+        }
+        // modification time is used to find least recently used entries
+        entry.setLastModified(System.currentTimeMillis());
+        try (ObjectInputStream input = new ObjectInputStream(
+                new GZIPInputStream(new BufferedInputStream(Files.newInputStream(entry.toPath()))))) {
+            final RobotFileOutput output = (RobotFileOutput) input.readObject();
+            restoreParents(input);
+            relocateMessages(output, file);
+            output.setProcessedFile(file);
+            return output;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // corrupted or incompatible entry will be overwritten
+            if (entry.delete()) {
+                entryRemoved();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stores output of parsing given file with given content.
+     *
+     * @param file
+     * @param content
+     * @param output
+     */
+    public void store(final File file, final byte[] content, final RobotFileOutput output) {
+        initialize();
+        final String key = key(file, content, output.getRobotVersion());
+        File tmpEntry = null;
+        try {
+            Files.createDirectories(cacheDirectory.toPath());
+            tmpEntry = File.createTempFile(key, TMP_EXTENSION, cacheDirectory);
+            try (OutputStream stream = Files.newOutputStream(tmpEntry.toPath());
+                    EntryOutputStream out = new EntryOutputStream(
+                            new GZIPOutputStream(new BufferedOutputStream(stream)))) {
+                out.writeObject(output);
+                out.writeParents();
+            }
+            final File entry = entryFile(key);
+            final boolean isNewEntry = !entry.exists();
+            Files.move(tmpEntry.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            if (isNewEntry) {
+                entryAdded();
+            }
+        } catch (final IOException e) {
+            // cache is only an optimization, file will be parsed again next time
+            if (tmpEntry != null) {
+                tmpEntry.delete();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries of this cache.
+     */
+    public synchronized void clear() {
+        for (final File entry : listFiles()) {
+            if (entry.getName().endsWith(ENTRY_EXTENSION)) {
+                entry.delete();
+            }
+        }
+        entriesCount = 0;
+    }
+
+    private File entryFile(final String key) {
+        return new File(cacheDirectory, entryPrefix + key + ENTRY_EXTENSION);
+    }
+
+    private synchronized void initialize() {
+        if (isInitialized) {
+            return;
+        }
+        isInitialized = true;
+        for (final File file : listFiles()) {
+            final String name = file.getName();
+            if (name.endsWith(ENTRY_EXTENSION) && name.startsWith(entryPrefix)) {
+                entriesCount++;
+            } else if (name.endsWith(ENTRY_EXTENSION) || name.endsWith(TMP_EXTENSION)) {
+                // written by other version or left after interrupted store
+                file.delete();
+            }
+        }
+        removeLeastRecentlyUsedEntries();
+    }
+
+    private synchronized void entryAdded() {
+        entriesCount++;
+        removeLeastRecentlyUsedEntries();
+    }
+
+    private synchronized void entryRemoved() {
+        entriesCount--;
+    }
+
+    private void removeLeastRecentlyUsedEntries() {
+        if (entriesCount <= maxEntries) {
+            return;
+        }
+        // modification times are read once, as they may change while sorting
+        final Map<File, Long> entries = new HashMap<>();
+        for (final File file : listFiles()) {
+            if (file.getName().endsWith(ENTRY_EXTENSION)) {
+                entries.put(file, file.lastModified());
+            }
+        }
+        final List<File> sortedEntries = new ArrayList<>(entries.keySet());
+        Collections.sort(sortedEntries, new Comparator<File>() {
+
+            @Override
+            public int compare(final File entry1, final File entry2) {
+                return Long.compare(entries.get(entry1), entries.get(entry2));
+            }
+        });
+
+        // some more space is freed at once, so that entries are not listed on every store
+        final int entriesToKeep = maxEntries - maxEntries / 4;
+        final int entriesToRemove = Math.max(sortedEntries.size() - entriesToKeep, 0);
+        for (final File entry : sortedEntries.subList(0, entriesToRemove)) {
+            entry.delete();
+        }
+        entriesCount = sortedEntries.size() - entriesToRemove;
+    }
+
+    private File[] listFiles() {
+        final File[] files = cacheDirectory.listFiles();
+        return files == null ? new File[0] : files;
+    }
+
+    /**
+     * Entry is shared by all files with the same content, so messages stored with output of other
+     * file are changed to point to given file.
+     */
+    private static void relocateMessages(final RobotFileOutput output, final File file) {
+        final File storedFile = output.getProcessedFile();
+        if (storedFile == null || storedFile.equals(file)) {
+            return;
+        }
+        for (final BuildMessage message : output.getBuildingMessages()) {
+            final String fileName = message.getFileName();
+            if (fileName.contains(storedFile.getAbsolutePath())) {
+                message.setFileName(fileName.replace(storedFile.getAbsolutePath(), file.getAbsolutePath()));
+            } else if (fileName.contains(storedFile.getPath())) {
+                message.setFileName(fileName.replace(storedFile.getPath(), file.getPath()));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static void restoreParents(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+        List<ParentLink> links = (List<ParentLink>) input.readObject();
+        while (links != null) {
+            for (final ParentLink link : links) {
+                ((AModelElement<Object>) link.element).setParent(link.parent);
+            }
+            links = (List<ParentLink>) input.readObject();
+        }
+    }
+
+    private String key(final File file, final byte[] content, final RobotVersion robotVersion) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            final Charset charset = Charset.forName("UTF-8");
+            final String name = file.getName();
+            final int lastDot = name.lastIndexOf('.');
+            final String extension = lastDot > -1 ? name.substring(lastDot + 1).toLowerCase() : "";
+
+            digest.update((FORMAT_VERSION + "|" + ownerVersion + "|" + robotVersion + "|" + extension + "|")
+                    .getBytes(charset));
+            digest.update(content);
+
+            final StringBuilder key = new StringBuilder();
+            for (final byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class EntryOutputStream extends ObjectOutputStream {
+
+        private final List<ParentLink> links = new ArrayList<>();
+
+        EntryOutputStream(final OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(final Object obj) throws IOException {
+            if (obj instanceof AModelElement<?> && ((AModelElement<?>) obj).getParent() != null) {
+                links.add(new ParentLink((AModelElement<?>) obj, ((AModelElement<?>) obj).getParent()));
+            }
+            if (obj instanceof FilePosition) {
+                return new StoredFilePosition((FilePosition) obj);
+            } else if (obj instanceof KeywordDocumentation) {
+                return new StoredKeywordDocumentation((KeywordDocumentation) obj);
+            }
+            return obj;
+        }
+
+        void writeParents() throws IOException {
+            // writing links may reach elements which were not written yet
+            while (!links.isEmpty()) {
+                final List<ParentLink> toWrite = new ArrayList<>(links);
+                links.clear();
+                writeObject(toWrite);
+            }
+            writeObject(null);
+        }
+    }
+
+    private static class ParentLink implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object element;
+
+        private final Object parent;
+
+        ParentLink(final Object element, final Object parent) {
+            this.element = element;
+            this.parent = parent;
+        }
+    }
+
+    private static class StoredFilePosition implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int line;
+
+        private final int column;
+
+        private final int offset;
+
+        StoredFilePosition(final FilePosition position) {
+            this.line = position.getLine();
+            this.column = position.getColumn();
+            this.offset = position.getOffset();
+        }
+
+        private Object readResolve() {
+            return new FilePosition(line, column, offset);
+        }
+    }
+
+    private static class StoredKeywordDocumentation implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RobotToken declaration;
+
+        private final List<RobotToken> text;
+
+        private final List<RobotToken> comment;
+
+        StoredKeywordDocumentation(final KeywordDocumentation documentation) {
+            this.declaration = documentation.getDeclaration();
+            this.text = new ArrayList<>(documentation.getDocumentationText());
+            this.comment = new ArrayList<>(documentation.getComment());
+        }
+
+        private Object readResolve() {
+            final KeywordDocumentation documentation = new KeywordDocumentation(declaration);
+            for (final RobotToken textToken : text) {
+                documentation.addDocumentationText(textToken);
+            }
+            for (final RobotToken commentToken : comment) {
+                documentation.addCommentPart(commentToken);
+            }
+            return documentation;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+import org.rf.ide.core.testdata.RobotFileOutputCache.EntryOutputStream;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+
+/**
+ * Creates deep copies of parsed outputs, so that copy can be modified while the original output is
+ * still read by others. Copying uses the same serialization as {@link RobotFileOutputCache}, so
+ * positions, parents and documentation are restored exactly.
+ */
+public class RobotFileOutputCopier {
+
+    public static RobotFileOutput copy(final RobotFileOutput output) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (EntryOutputStream out = new EntryOutputStream(bytes)) {
+                out.writeObject(output);
+                out.writeParents();
+            }
+            try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                final RobotFileOutput copy = (RobotFileOutput) input.readObject();
+                RobotFileOutputCache.restoreParents(input);
+                return copy;
+            }
+        } catch (final IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Unable to copy parsed output", e);
+        }
+    }
+}
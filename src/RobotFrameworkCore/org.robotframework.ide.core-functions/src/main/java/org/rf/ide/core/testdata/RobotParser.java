@@ -7,9 +7,13 @@ package org.rf.ide.core.testdata;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.rf.ide.core.testdata.importer.ResourceImporter;
 import org.rf.ide.core.testdata.importer.VariablesFileImportReference;
@@ -20,6 +24,7 @@ import org.rf.ide.core.testdata.model.RobotFileOutput.BuildMessage;
 import org.rf.ide.core.testdata.model.RobotFileOutput.Status;
 import org.rf.ide.core.testdata.model.RobotProjectHolder;
 import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.text.read.SectionReparser;
 import org.rf.ide.core.testdata.text.read.TsvRobotFileParser;
 import org.rf.ide.core.testdata.text.read.TxtRobotFileParser;
 
@@ -125,9 +130,43 @@ public class RobotParser {
         return robotFile;
     }
 
+    /**
+     * Should be used for unsaved editor content which was already parsed and then changed in a
+     * single region. Only the table section containing changed region is parsed again and spliced
+     * into a copy of given output; given output itself is not modified. When the change is not
+     * limited to single section whole content is parsed as in
+     * {@link #parseEditorContent(String, File)}.
+     * 
+     * @param previousOutput
+     * @param fileContent
+     * @param fileOrDir
+     * @param offset
+     * @param removedLength
+     * @param insertedLength
+     * @return
+     */
+    public RobotFileOutput reparseEditorContent(final RobotFileOutput previousOutput, final String fileContent,
+            final File fileOrDir, final int offset, final int removedLength, final int insertedLength) {
+        final IRobotFileParser parserToUse = getParser(fileOrDir, true);
+
+        if (parserToUse != null && previousOutput != null && fileContent != null) {
+            final SectionReparser reparser = new SectionReparser(parserToUse);
+            final RobotFileOutput reparsedOutput = reparser.reparse(previousOutput, fileContent, offset,
+                    removedLength, insertedLength);
+            if (reparsedOutput != null) {
+                return reparsedOutput;
+            }
+        }
+        return parseEditorContent(fileContent, fileOrDir);
+    }
+
     public List<RobotFileOutput> parse(final File fileOrDir) {
         final List<RobotFileOutput> output = new ArrayList<>();
-        parse(fileOrDir, output);
+        if (parserCfg.isParallelParsingOn() && fileOrDir != null && fileOrDir.isDirectory()) {
+            parseInParallel(fileOrDir, output);
+        } else {
+            parse(fileOrDir, output);
+        }
         return output;
     }
 
@@ -147,26 +186,9 @@ public class RobotParser {
                     // information
                 }
             } else if (robotProject.shouldBeLoaded(fileOrDir)) {
-                final IRobotFileParser parserToUse = getParser(fileOrDir, false);
-
-                if (parserToUse != null) {
-                    final RobotFileOutput robotFile = new RobotFileOutput(robotVersion);
-                    output.add(robotFile);
-
-                    // do not change order !!! for performance reason is better
-                    // to execute importing of variables before add to model,
-                    // which replace previous object
-                    parserToUse.parse(robotFile, fileOrDir);
-                    robotProject.addModelFile(robotFile);
-
-                    RobotFile fileModel = robotFile.getFileModel();
-                    if (fileModel.containsAnyRobotSection()) {
-                        importExternal(robotFile);
-                    } else {
-                        if (fileModel.getFileContent().size() > MAX_NUMBER_OF_TRASH_LINES) {
-                            fileModel.removeLines();
-                        }
-                    }
+                final RobotFileOutput robotFile = parseFile(fileOrDir);
+                if (robotFile != null) {
+                    addParsedFile(robotFile, output);
                 }
             } else {
                 final RobotFileOutput fileByName = robotProject.findFileByName(fileOrDir);
@@ -177,6 +199,105 @@ public class RobotParser {
         }
     }
 
+    /**
+     * Reading and tokenizing of files is done concurrently, each file with its own parser
+     * instance. Parsed files are then added to the project and their imports are resolved in
+     * directory traversal order, so the result is the same as in case of sequential parsing.
+     */
+    private void parseInParallel(final File directory, final List<RobotFileOutput> output) {
+        final List<File> files = new ArrayList<>();
+        collectFiles(directory, files);
+
+        final RobotFileOutput[] parsed = new RobotFileOutput[files.size()];
+        final ForkJoinPool pool = new ForkJoinPool(parserCfg.getParallelism());
+        try {
+            pool.invoke(new FilesParsingTask(files, parsed, 0, files.size()));
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int i = 0; i < parsed.length; i++) {
+            final File file = files.get(i);
+            if (robotProject.shouldBeLoaded(file)) {
+                // file could have been skipped when it was loaded in project at the beginning
+                final RobotFileOutput robotFile = parsed[i] != null ? parsed[i] : parseFile(file);
+                if (robotFile != null) {
+                    addParsedFile(robotFile, output);
+                }
+            } else {
+                final RobotFileOutput fileByName = robotProject.findFileByName(file);
+                if (fileByName != null) {
+                    output.add(fileByName);
+                }
+            }
+        }
+    }
+
+    private static void collectFiles(final File fileOrDir, final List<File> files) {
+        if (fileOrDir.isDirectory()) {
+            final File[] children = fileOrDir.listFiles();
+            if (children != null) {
+                for (final File child : children) {
+                    collectFiles(child, files);
+                }
+            }
+        } else {
+            files.add(fileOrDir);
+        }
+    }
+
+    private RobotFileOutput parseFile(final File file) {
+        final IRobotFileParser parserToUse = getParser(file, false);
+        if (parserToUse == null) {
+            return null;
+        }
+        final RobotFileOutputCache cache = parserCfg.getCache();
+        if (cache != null) {
+            try {
+                return parseFileUsingCache(parserToUse, file, cache);
+            } catch (final IOException e) {
+                // file will be parsed and problem reported in usual way
+            }
+        }
+        final RobotFileOutput robotFile = new RobotFileOutput(robotVersion);
+        parserToUse.parse(robotFile, file);
+        return robotFile;
+    }
+
+    private RobotFileOutput parseFileUsingCache(final IRobotFileParser parserToUse, final File file,
+            final RobotFileOutputCache cache) throws IOException {
+        final byte[] content = Files.readAllBytes(file.toPath());
+
+        final RobotFileOutput cached = cache.load(file, content, robotVersion);
+        if (cached != null) {
+            return cached;
+        }
+        final RobotFileOutput robotFile = new RobotFileOutput(robotVersion);
+        parserToUse.parse(robotFile, new ByteArrayInputStream(content), file);
+        if (robotFile.getStatus() == Status.PASSED) {
+            cache.store(file, content, robotFile);
+        }
+        return robotFile;
+    }
+
+    private void addParsedFile(final RobotFileOutput robotFile, final List<RobotFileOutput> output) {
+        output.add(robotFile);
+
+        // do not change order !!! for performance reason is better
+        // to execute importing of variables before add to model,
+        // which replace previous object
+        robotProject.addModelFile(robotFile);
+
+        final RobotFile fileModel = robotFile.getFileModel();
+        if (fileModel.containsAnyRobotSection()) {
+            importExternal(robotFile);
+        } else {
+            if (fileModel.getFileContent().size() > MAX_NUMBER_OF_TRASH_LINES) {
+                fileModel.removeLines();
+            }
+        }
+    }
+
     private void importExternal(final RobotFileOutput robotFile) {
         if (robotFile.getStatus() == Status.PASSED) {
             if (parserCfg.isEagerImportOn()) {
@@ -190,6 +311,7 @@ public class RobotParser {
                 final List<VariablesFileImportReference> varsImported = varImporter
                         .importVariables(robotProject.getRobotRuntime(), robotProject, robotFile);
                 robotFile.setVariablesImportReferences(varsImported);
+                robotProject.registerVariablesImports(robotFile);
             }
         }
     }
@@ -197,22 +319,63 @@ public class RobotParser {
     private IRobotFileParser getParser(final File fileOrDir, final boolean isFromStringContent) {
         IRobotFileParser parserToUse = null;
         for (final IRobotFileParser parser : AVAIL_FORMAT_PARSERS) {
-            synchronized (parser) {
-                if (parser.canParseFile(fileOrDir, isFromStringContent)) {
-                    parserToUse = parser.newInstance();
-                    break;
-                }
+            // format parsers are only used as stateless prototypes here
+            if (parser.canParseFile(fileOrDir, isFromStringContent)) {
+                parserToUse = parser.newInstance();
+                break;
             }
         }
         return parserToUse;
     }
 
+    private class FilesParsingTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final int FILES_PER_TASK = 8;
+
+        private final List<File> files;
+
+        private final RobotFileOutput[] parsed;
+
+        private final int from;
+
+        private final int to;
+
+        FilesParsingTask(final List<File> files, final RobotFileOutput[] parsed, final int from, final int to) {
+            this.files = files;
+            this.parsed = parsed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= FILES_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    final File file = files.get(i);
+                    if (robotProject.shouldBeLoaded(file)) {
+                        parsed[i] = parseFile(file);
+                    }
+                }
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new FilesParsingTask(files, parsed, from, middle),
+                        new FilesParsingTask(files, parsed, middle, to));
+            }
+        }
+    }
+
     public static class RobotParserConfig {
 
         private boolean shouldEagerImport = false;
 
         private boolean shouldImportVariables = true;
 
+        private int parallelism = 1;
+
+        private RobotFileOutputCache cache;
+
         public void setEagerImport(final boolean shouldEagerImport) {
             this.shouldEagerImport = shouldEagerImport;
         }
@@ -228,5 +391,40 @@ public class RobotParser {
         public boolean shouldImportVariables() {
             return this.shouldImportVariables;
         }
+
+        /**
+         * Sets number of threads used for parsing of files when directory is parsed. Value greater
+         * than 1 turns on parallel parsing.
+         * 
+         * @param parallelism
+         */
+        public void setParallelism(final int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism has to be positive, but was " + parallelism);
+            }
+            this.parallelism = parallelism;
+        }
+
+        public int getParallelism() {
+            return this.parallelism;
+        }
+
+        public boolean isParallelParsingOn() {
+            return this.parallelism > 1;
+        }
+
+        /**
+         * Sets cache used to avoid parsing of files which were already parsed with the same
+         * content. Cache is not used for editor content.
+         * 
+         * @param cache
+         */
+        public void setCache(final RobotFileOutputCache cache) {
+            this.cache = cache;
+        }
+
+        public RobotFileOutputCache getCache() {
+            return this.cache;
+        }
     }
 }
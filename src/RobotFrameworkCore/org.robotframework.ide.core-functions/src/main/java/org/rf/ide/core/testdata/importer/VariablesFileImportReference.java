@@ -97,6 +97,8 @@ public class VariablesFileImportReference {
     public VariablesFileImportReference copy(final VariablesImport importDeclaration) {
         final VariablesFileImportReference newVarImportRef = new VariablesFileImportReference(importDeclaration);
         newVarImportRef.setVariablesFile(variablesFile.getAbsoluteFile());
+        // variables are shared, so copy is as old as they are
+        newVarImportRef.lastModificationEpoch = lastModificationEpoch;
         newVarImportRef.variables = variables;
 
         return newVarImportRef;
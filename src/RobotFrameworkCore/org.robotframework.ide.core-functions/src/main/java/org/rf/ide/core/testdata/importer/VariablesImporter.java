@@ -36,6 +36,9 @@ public class VariablesImporter {
     public List<VariablesFileImportReference> importVariables(final RobotRuntimeEnvironment robotRunEnv,
             final RobotProjectHolder robotProject, final RobotFileOutput robotFile) {
         final List<VariablesFileImportReference> varsImported = new ArrayList<>();
+        final List<VariablesFileImportReference> varsToRead = new ArrayList<>();
+        final List<String> pathsToRead = new ArrayList<>();
+        final List<List<String>> argumentsToRead = new ArrayList<>();
         final SettingTable settingTable = robotFile.getFileModel().getSettingTable();
         if (settingTable.isPresent()) {
             final List<AImported> imports = settingTable.getImports();
@@ -90,10 +93,11 @@ public class VariablesImporter {
                     }
 
                     if (varImportRef == null) {
-                        final Map<?, ?> variablesFromFile = robotRunEnv.getVariablesFromFile(path, varFileArguments);
                         varImportRef = new VariablesFileImportReference(varImport);
                         varImportRef.setVariablesFile(varFile.getAbsoluteFile());
-                        varImportRef.map(variablesFromFile);
+                        varsToRead.add(varImportRef);
+                        pathsToRead.add(path);
+                        argumentsToRead.add(varFileArguments);
                     } else {
                         varImportRef = varImportRef.copy(varImport);
                     }
@@ -103,6 +107,15 @@ public class VariablesImporter {
             }
         }
 
+        if (!varsToRead.isEmpty()) {
+            // all variable files not imported yet by other files are read by python at once
+            final List<Map<String, Object>> variablesFromFiles = robotRunEnv.getVariablesFromFiles(pathsToRead,
+                    argumentsToRead);
+            for (int i = 0; i < variablesFromFiles.size(); i++) {
+                varsToRead.get(i).map(variablesFromFiles.get(i));
+            }
+        }
+
         return varsImported;
     }
 
@@ -136,7 +149,7 @@ public class VariablesImporter {
             final VariablesFileImportReference variableFile = findVariableFileByPath(robotProject, rfo, varFile);
             if (variableFile != null) {
                 if (checkIfImportDeclarationAreTheSame(varImport, variableFile.getImportDeclaration())) {
-                    if (varFile.lastModified() == varFile.lastModified()) {
+                    if (variableFile.getLastModificationEpochTime() == varFile.lastModified()) {
                         varImportRef = variableFile;
                         break;
                     }
@@ -5,6 +5,7 @@
  */
 package org.rf.ide.core.testdata.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -14,7 +15,9 @@ import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 
 import com.google.common.collect.Range;
 
-public class FileRegion {
+public class FileRegion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private FilePosition start;
 
@@ -5,10 +5,15 @@
  */
 package org.rf.ide.core.testdata.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.google.common.annotations.Beta;
@@ -17,73 +22,230 @@ import com.google.common.annotations.VisibleForTesting;
 /**
  * Please considerate to move this logic to global region cacher, in case of refactor API will be
  * made
- * 
+ * <p>
+ * Regions of registered elements are kept in two arrays (of offsets and of lines) sorted by region
+ * start, so finding elements in given position requires binary search and visiting matching
+ * regions only. Regions are computed lazily, when the cacher is queried for the first time after
+ * element has been registered, because elements are usually registered before all their tokens are
+ * parsed. Found elements are returned in order of registration.
+ *
  * @author wypych
  */
 @Beta
-public class FileRegionCacher<T> {
+public class FileRegionCacher<T> implements Serializable {
 
-    private final Set<IRegionCacheable<T>> cache = new LinkedHashSet<IRegionCacheable<T>>(0);
+    private static final long serialVersionUID = 1L;
 
-    public void register(final IRegionCacheable<T> newCacheable) {
+    private final Map<IRegionCacheable<T>, Registration<T>> cache = new LinkedHashMap<IRegionCacheable<T>, Registration<T>>(
+            0);
+
+    private final Set<Registration<T>> notIndexed = new LinkedHashSet<Registration<T>>(0);
+
+    private final RegionsIndex<T> offsetsIndex = new RegionsIndex<T>();
+
+    private final RegionsIndex<T> linesIndex = new RegionsIndex<T>();
+
+    private long registrationsCounter = 0;
+
+    public synchronized void register(final IRegionCacheable<T> newCacheable) {
         unregister(newCacheable);
-        cache.add(newCacheable);
+        final Registration<T> registration = new Registration<T>(newCacheable, registrationsCounter++);
+        cache.put(newCacheable, registration);
+        notIndexed.add(registration);
     }
 
-    public void unregister(final IRegionCacheable<T> removeCacheable) {
-        cache.remove(removeCacheable);
+    public synchronized void unregister(final IRegionCacheable<T> removeCacheable) {
+        final Registration<T> registration = cache.remove(removeCacheable);
+        if (registration != null && !notIndexed.remove(registration)) {
+            offsetsIndex.remove(registration);
+            linesIndex.remove(registration);
+        }
     }
 
-    public List<IRegionCacheable<T>> findByLineNumber(final int lineNumber) {
-        final List<IRegionCacheable<T>> inPosition = new ArrayList<IRegionCacheable<T>>(0);
+    /**
+     * Moves already computed regions which starts at given line and offset or after them, e.g.
+     * when tokens of elements following edited part of file were shifted.
+     *
+     * @param fromLine
+     * @param fromOffset
+     * @param linesDelta
+     * @param offsetDelta
+     */
+    public synchronized void shiftRegions(final int fromLine, final int fromOffset, final int linesDelta,
+            final int offsetDelta) {
+        linesIndex.shift(fromLine, linesDelta);
+        offsetsIndex.shift(fromOffset, offsetDelta);
+    }
 
+    public synchronized List<IRegionCacheable<T>> findByLineNumber(final int lineNumber) {
         if (lineNumber > FilePosition.NOT_SET) {
-            for (final IRegionCacheable<T> cacheElement : cache) {
-                if (isRegionContainsLine(cacheElement, lineNumber)) {
-                    inPosition.add(cacheElement);
-                }
-            }
+            indexRegions();
+            return linesIndex.find(lineNumber);
         }
+        return new ArrayList<IRegionCacheable<T>>(0);
+    }
 
-        return inPosition;
+    public synchronized List<IRegionCacheable<T>> findByOffset(final int offset) {
+        if (offset > FilePosition.NOT_SET) {
+            indexRegions();
+            return offsetsIndex.find(offset);
+        }
+        return new ArrayList<IRegionCacheable<T>>(0);
     }
 
-    public List<IRegionCacheable<T>> findByOffset(final int offset) {
-        final List<IRegionCacheable<T>> inPosition = new ArrayList<IRegionCacheable<T>>(0);
+    @VisibleForTesting
+    public Set<IRegionCacheable<T>> getUnmodificableCacheContent() {
+        return Collections.unmodifiableSet(cache.keySet());
+    }
 
-        if (offset > FilePosition.NOT_SET) {
-            for (final IRegionCacheable<T> cacheElement : cache) {
-                if (isRegionContainsOffset(cacheElement, offset)) {
-                    inPosition.add(cacheElement);
+    private void indexRegions() {
+        for (final Registration<T> registration : notIndexed) {
+            for (final FileRegion region : registration.element.getContinuousRegions()) {
+                final FilePosition start = region.getStart();
+                final FilePosition end = region.getEnd();
+                if (start != null && end != null) {
+                    offsetsIndex.add(registration, start.getOffset(), end.getOffset());
+                    linesIndex.add(registration, start.getLine(), end.getLine());
                 }
             }
         }
+        notIndexed.clear();
+    }
+
+    private static class Registration<T> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
-        return inPosition;
+        private final IRegionCacheable<T> element;
+
+        private final long number;
+
+        Registration(final IRegionCacheable<T> element, final long number) {
+            this.element = element;
+            this.number = number;
+        }
     }
 
-    @VisibleForTesting
-    public Set<IRegionCacheable<T>> getUnmodificableCacheContent() {
-        return Collections.unmodifiableSet(cache);
+    private static class Interval<T> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Registration<T> registration;
+
+        private int start;
+
+        private int end;
+
+        Interval(final Registration<T> registration, final int start, final int end) {
+            this.registration = registration;
+            this.start = start;
+            this.end = end;
+        }
     }
 
-    private boolean isRegionContainsLine(final IRegionCacheable<T> region, final int line) {
-        for (final FileRegion continuesRegion : region.getContinuousRegions()) {
-            if (continuesRegion.containsLine(line)) {
-                return true;
+    /**
+     * Closed intervals sorted by start, with maximal end of all intervals up to given index, so
+     * searching backwards from last interval starting before given position can stop as soon as no
+     * earlier interval reaches the position.
+     */
+    private static class RegionsIndex<T> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Interval<T>> intervals = new ArrayList<Interval<T>>(0);
+
+        private int[] maxEnds = new int[0];
+
+        private boolean isSorted = true;
+
+        void add(final Registration<T> registration, final int start, final int end) {
+            if (start > FilePosition.NOT_SET && end >= start) {
+                intervals.add(new Interval<T>(registration, start, end));
+                isSorted = false;
             }
         }
 
-        return false;
-    }
+        void remove(final Registration<T> registration) {
+            final Iterator<Interval<T>> iterator = intervals.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().registration == registration) {
+                    iterator.remove();
+                    isSorted = false;
+                }
+            }
+        }
 
-    private boolean isRegionContainsOffset(final IRegionCacheable<T> region, final int offset) {
-        for (final FileRegion continuesRegion : region.getContinuousRegions()) {
-            if (continuesRegion.isInside(offset)) {
-                return true;
+        void shift(final int from, final int delta) {
+            if (delta == 0) {
+                return;
+            }
+            for (final Interval<T> interval : intervals) {
+                if (interval.start >= from) {
+                    interval.start += delta;
+                    interval.end += delta;
+                    isSorted = false;
+                }
             }
         }
 
-        return false;
+        List<IRegionCacheable<T>> find(final int position) {
+            sortIfNeeded();
+
+            final List<Registration<T>> found = new ArrayList<Registration<T>>(0);
+            for (int i = lastStartingAtOrBefore(position); i >= 0 && maxEnds[i] >= position; i--) {
+                final Interval<T> interval = intervals.get(i);
+                if (interval.end >= position && !found.contains(interval.registration)) {
+                    found.add(interval.registration);
+                }
+            }
+            Collections.sort(found, new Comparator<Registration<T>>() {
+
+                @Override
+                public int compare(final Registration<T> r1, final Registration<T> r2) {
+                    return Long.compare(r1.number, r2.number);
+                }
+            });
+
+            final List<IRegionCacheable<T>> elements = new ArrayList<IRegionCacheable<T>>(found.size());
+            for (final Registration<T> registration : found) {
+                elements.add(registration.element);
+            }
+            return elements;
+        }
+
+        private int lastStartingAtOrBefore(final int position) {
+            int low = 0;
+            int high = intervals.size() - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                if (intervals.get(middle).start <= position) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return high;
+        }
+
+        private void sortIfNeeded() {
+            if (isSorted) {
+                return;
+            }
+            // intervals are nearly sorted after appending or shifting, so this is close to linear
+            Collections.sort(intervals, new Comparator<Interval<T>>() {
+
+                @Override
+                public int compare(final Interval<T> i1, final Interval<T> i2) {
+                    return Integer.compare(i1.start, i2.start);
+                }
+            });
+            maxEnds = new int[intervals.size()];
+            int maxEnd = FilePosition.NOT_SET;
+            for (int i = 0; i < intervals.size(); i++) {
+                maxEnd = Math.max(maxEnd, intervals.get(i).end);
+                maxEnds[i] = maxEnd;
+            }
+            isSorted = true;
+        }
     }
 }
@@ -5,6 +5,7 @@
  */
 package org.rf.ide.core.testdata.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -21,7 +22,9 @@ import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
 
 import com.google.common.base.Optional;
 
-public class RobotFile implements IChildElement<RobotFileOutput> {
+public class RobotFile implements Serializable, IChildElement<RobotFileOutput> {
+
+    private static final long serialVersionUID = 1L;
 
     private final RobotFileOutput parentFileOutput;
 
@@ -67,6 +70,14 @@ public class RobotFile implements IChildElement<RobotFileOutput> {
         this.fileContent.add(line);
     }
 
+    public void replaceLines(final int fromIndex, final int toIndex, final List<RobotLine> newLines) {
+        fileContent.subList(fromIndex, toIndex).clear();
+        for (final RobotLine line : newLines) {
+            line.setParent(this);
+        }
+        fileContent.addAll(fromIndex, newLines);
+    }
+
     public Optional<Integer> getRobotLineIndexBy(final int offset) {
         Optional<Integer> foundLine = Optional.absent();
         if (offset >= 0) {
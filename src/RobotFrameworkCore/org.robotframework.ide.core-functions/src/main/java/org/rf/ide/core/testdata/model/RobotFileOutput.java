@@ -7,6 +7,8 @@ package org.rf.ide.core.testdata.model;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -22,7 +24,9 @@ import org.rf.ide.core.testdata.text.read.separators.TokenSeparatorBuilder.FileF
 
 import com.google.common.base.Optional;
 
-public class RobotFileOutput {
+public class RobotFileOutput implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static final long FILE_NOT_EXIST_EPOCH = 0;
 
@@ -34,9 +38,10 @@ public class RobotFileOutput {
 
     private long lastModificationEpoch = FILE_NOT_EXIST_EPOCH;
 
-    private final List<ResourceImportReference> resourceReferences = new ArrayList<>();
+    // imports are not serialized, they are resolved again for deserialized output
+    private transient List<ResourceImportReference> resourceReferences = new ArrayList<>();
 
-    private List<VariablesFileImportReference> variablesReferenced = null;
+    private transient List<VariablesFileImportReference> variablesReferenced = null;
 
     private final List<BuildMessage> buildingMessages = new ArrayList<>();
 
@@ -216,11 +221,26 @@ public class RobotFileOutput {
             final List<VariablesFileImportReference> varsImported = new VariablesImporter()
                     .importVariables(robotProject.getRobotRuntime(), robotProject, this);
             variablesReferenced.addAll(varsImported);
+            robotProject.registerVariablesImports(this);
         }
         return Collections.unmodifiableList(variablesReferenced);
     }
 
-    public static class BuildMessage {
+    /**
+     * @return variables import references if those were already resolved, null otherwise
+     */
+    public List<VariablesFileImportReference> getResolvedVariablesImportReferences() {
+        return variablesReferenced == null ? null : Collections.unmodifiableList(variablesReferenced);
+    }
+
+    private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        resourceReferences = new ArrayList<>();
+    }
+
+    public static class BuildMessage implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         private final LogLevel type;
 
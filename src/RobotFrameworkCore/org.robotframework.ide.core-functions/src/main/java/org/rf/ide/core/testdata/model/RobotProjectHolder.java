@@ -8,10 +8,14 @@ package org.rf.ide.core.testdata.model;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.testdata.imported.ARobotInternalVariable;
@@ -27,7 +31,11 @@ public class RobotProjectHolder {
 
     private final RobotRuntimeEnvironment robotRuntime;
 
-    private final List<RobotFileOutput> readableProjectFiles = new ArrayList<>();
+    private final Map<String, RobotFileOutput> readableProjectFiles = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<RobotFileOutput>> variablesFilesImporters = new ConcurrentHashMap<>();
+
+    private final Map<RobotFileOutput, Set<String>> importedVariablesFiles = new HashMap<>();
 
     private final List<ARobotInternalVariable<?>> globalVariables = new ArrayList<>();
 
@@ -100,24 +108,28 @@ public class RobotProjectHolder {
         return map;
     }
 
-    public void addModelFile(final RobotFileOutput robotOutput) {
+    public synchronized void addModelFile(final RobotFileOutput robotOutput) {
         if (robotOutput != null) {
             final File processedFile = robotOutput.getProcessedFile();
             if (processedFile != null) {
-                final RobotFileOutput file = findFileByName(processedFile);
-                removeModelFile(file);
+                putModelFile(robotOutput);
             }
-
-            readableProjectFiles.add(robotOutput);
         }
     }
 
-    public void clearModelFiles() {
+    public synchronized void clearModelFiles() {
         readableProjectFiles.clear();
+        importedVariablesFiles.clear();
+        variablesFilesImporters.clear();
     }
 
-    public void removeModelFile(final RobotFileOutput robotOutput) {
-        readableProjectFiles.remove(robotOutput);
+    public synchronized void removeModelFile(final RobotFileOutput robotOutput) {
+        if (robotOutput != null) {
+            final File processedFile = robotOutput.getProcessedFile();
+            if (processedFile != null && readableProjectFiles.remove(pathKey(processedFile), robotOutput)) {
+                unregisterVariablesImports(robotOutput);
+            }
+        }
     }
 
     public void addImportedResources(final List<ResourceImportReference> referenced) {
@@ -127,102 +139,100 @@ public class RobotProjectHolder {
     }
 
     public void addImportedResource(final ResourceImportReference referenced) {
-        readableProjectFiles.add(referenced.getReference());
-    }
-
-    public boolean shouldBeLoaded(final RobotFileOutput robotOutput) {
-        return (robotOutput != null && shouldBeLoaded(robotOutput.getProcessedFile()));
-    }
-
-    public boolean shouldBeLoaded(final File file) {
-        final RobotFileOutput foundFile = findFileByName(file);
-        return (foundFile == null) || (file.lastModified() != foundFile.getLastModificationEpochTime());
+        addModelFile(referenced.getReference());
     }
 
-    public List<RobotFileOutput> findFilesWithImportedVariableFile(final File variableFile) {
-        final List<RobotFileOutput> found = new ArrayList<>();
-        final List<Integer> foundFiles = findFile(new SearchByVariablesImport(variableFile));
-        for (final Integer fileId : foundFiles) {
-            found.add(readableProjectFiles.get(fileId));
+    private void putModelFile(final RobotFileOutput robotOutput) {
+        final RobotFileOutput previous = readableProjectFiles.put(pathKey(robotOutput.getProcessedFile()),
+                robotOutput);
+        if (previous != null && previous != robotOutput) {
+            unregisterVariablesImports(previous);
         }
-
-        return found;
+        registerVariablesImports(robotOutput);
     }
 
-    private class SearchByVariablesImport implements ISearchCriteria {
-
-        private final File toFound;
-
-        public SearchByVariablesImport(final File toFound) {
-            this.toFound = toFound;
+    /**
+     * Indexes variable files imported by given model file, so that it can be found by
+     * {@link #findFilesWithImportedVariableFile(File)}. Should be called whenever variables imports
+     * references of the file were resolved. Files which are not held in this project are ignored.
+     * 
+     * @param robotOutput
+     */
+    public synchronized void registerVariablesImports(final RobotFileOutput robotOutput) {
+        final File processedFile = robotOutput.getProcessedFile();
+        final List<VariablesFileImportReference> varImports = robotOutput.getResolvedVariablesImportReferences();
+        if (processedFile == null || varImports == null
+                || readableProjectFiles.get(pathKey(processedFile)) != robotOutput) {
+            return;
         }
+        unregisterVariablesImports(robotOutput);
 
-        @Override
-        public boolean matchCriteria(final RobotFileOutput robotFile) {
-            boolean matchResult = false;
-            if (robotFile != null) {
-                final List<VariablesFileImportReference> varImports = robotFile
-                        .getVariablesImportReferences(RobotProjectHolder.this);
-                for (final VariablesFileImportReference variablesFileImportReference : varImports) {
-                    if (variablesFileImportReference.getVariablesFile()
-                            .getAbsolutePath()
-                            .equals(toFound.getAbsolutePath())) {
-                        matchResult = true;
-                        break;
+        final Set<String> variablesFiles = new HashSet<>();
+        for (final VariablesFileImportReference varImport : varImports) {
+            final File variablesFile = varImport.getVariablesFile();
+            if (variablesFile != null) {
+                variablesFiles.add(pathKey(variablesFile));
+            }
+        }
+        for (final String variablesFile : variablesFiles) {
+            Set<RobotFileOutput> importers = variablesFilesImporters.get(variablesFile);
+            if (importers == null) {
+                importers = Collections.newSetFromMap(new ConcurrentHashMap<RobotFileOutput, Boolean>());
+                variablesFilesImporters.put(variablesFile, importers);
+            }
+            importers.add(robotOutput);
+        }
+        importedVariablesFiles.put(robotOutput, variablesFiles);
+    }
+
+    private void unregisterVariablesImports(final RobotFileOutput robotOutput) {
+        final Set<String> variablesFiles = importedVariablesFiles.remove(robotOutput);
+        if (variablesFiles != null) {
+            for (final String variablesFile : variablesFiles) {
+                final Set<RobotFileOutput> importers = variablesFilesImporters.get(variablesFile);
+                if (importers != null) {
+                    importers.remove(robotOutput);
+                    if (importers.isEmpty()) {
+                        variablesFilesImporters.remove(variablesFile);
                     }
                 }
             }
-
-            return matchResult;
         }
-
     }
 
-    public RobotFileOutput findFileByName(final File file) {
-        RobotFileOutput found = null;
-        final List<Integer> findFile = findFile(new SearchByName(file));
-        if (!findFile.isEmpty()) {
-            found = readableProjectFiles.get(findFile.get(0));
-        }
-
-        return found;
+    public boolean shouldBeLoaded(final RobotFileOutput robotOutput) {
+        return (robotOutput != null && shouldBeLoaded(robotOutput.getProcessedFile()));
     }
 
-    private class SearchByName implements ISearchCriteria {
-
-        private final File toFound;
-
-        public SearchByName(final File toFound) {
-            this.toFound = toFound;
-        }
-
-        @Override
-        public boolean matchCriteria(final RobotFileOutput robotFile) {
-            boolean result = false;
-            if (robotFile != null && robotFile.getProcessedFile() != null) {
-                result = robotFile.getProcessedFile().getAbsolutePath().equals(toFound.getAbsolutePath());
-            }
-
-            return result;
-        }
+    public boolean shouldBeLoaded(final File file) {
+        final RobotFileOutput foundFile = readableProjectFiles.get(pathKey(file));
+        return (foundFile == null) || (file.lastModified() != foundFile.getLastModificationEpochTime());
     }
 
-    protected List<Integer> findFile(final ISearchCriteria criteria) {
-        final List<Integer> foundFiles = new ArrayList<>();
-        final int size = readableProjectFiles.size();
-        for (int i = 0; i < size; i++) {
-            final RobotFileOutput robotFile = readableProjectFiles.get(i);
-            if (criteria.matchCriteria(robotFile)) {
-                foundFiles.add(i);
-                break;
-            }
-        }
+    /**
+     * Finds project files which already resolved their imports of given variable file.
+     * 
+     * @param variableFile
+     * @return
+     */
+    public List<RobotFileOutput> findFilesWithImportedVariableFile(final File variableFile) {
+        final Set<RobotFileOutput> importers = variablesFilesImporters.get(pathKey(variableFile));
+        return importers == null ? new ArrayList<RobotFileOutput>() : new ArrayList<>(importers);
+    }
 
-        return foundFiles;
+    public RobotFileOutput findFileByName(final File file) {
+        return file == null ? null : readableProjectFiles.get(pathKey(file));
     }
 
-    protected interface ISearchCriteria {
+    public int getNumberOfModelFiles() {
+        return readableProjectFiles.size();
+    }
 
-        boolean matchCriteria(final RobotFileOutput robotFile);
+    /**
+     * Files are identified by absolute and normalized path, which in contrast to canonical path
+     * does not require file system access on each lookup.
+     */
+    private static String pathKey(final File file) {
+        return file.toPath().toAbsolutePath().normalize().toString();
     }
 }
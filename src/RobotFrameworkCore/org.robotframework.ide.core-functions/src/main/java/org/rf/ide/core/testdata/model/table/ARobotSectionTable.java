@@ -5,6 +5,7 @@
  */
 package org.rf.ide.core.testdata.model.table;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -13,7 +14,9 @@ import org.rf.ide.core.testdata.model.IChildElement;
 import org.rf.ide.core.testdata.model.IOptional;
 import org.rf.ide.core.testdata.model.RobotFile;
 
-public abstract class ARobotSectionTable implements IOptional, IChildElement<RobotFile> {
+public abstract class ARobotSectionTable implements Serializable, IOptional, IChildElement<RobotFile> {
+
+    private static final long serialVersionUID = 1L;
 
     private RobotFile parent;
 
@@ -35,6 +35,8 @@ import com.google.common.base.Optional;
 
 public class SettingTable extends ARobotSectionTable {
 
+    private static final long serialVersionUID = 1L;
+
     private final List<AImported> imports = new ArrayList<>();
 
     private final List<SuiteDocumentation> documentations = new ArrayList<>();
@@ -5,6 +5,7 @@
  */
 package org.rf.ide.core.testdata.model.table;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -17,7 +18,9 @@ import org.rf.ide.core.testdata.text.read.IRobotTokenType;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
 
-public class TableHeader<T> extends AModelElement<T> implements ICommentHolder {
+public class TableHeader<T> extends AModelElement<T> implements Serializable, ICommentHolder {
+
+    private static final long serialVersionUID = 1L;
 
     private final RobotToken tableHeader;
 
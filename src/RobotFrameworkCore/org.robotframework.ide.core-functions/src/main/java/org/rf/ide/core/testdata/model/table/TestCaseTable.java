@@ -16,6 +16,8 @@ import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 
 public class TestCaseTable extends ARobotSectionTable {
 
+    private static final long serialVersionUID = 1L;
+
     private final List<TestCase> testCases = new ArrayList<>();
 
     public TestCaseTable(final RobotFile parent) {
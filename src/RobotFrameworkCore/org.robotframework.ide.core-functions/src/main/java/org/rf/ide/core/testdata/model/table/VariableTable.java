@@ -26,6 +26,8 @@ import com.google.common.base.Optional;
 
 public class VariableTable extends ARobotSectionTable {
 
+    private static final long serialVersionUID = 1L;
+
     private final List<AVariable> variables = new ArrayList<>();
 
     public VariableTable(final RobotFile parent) {
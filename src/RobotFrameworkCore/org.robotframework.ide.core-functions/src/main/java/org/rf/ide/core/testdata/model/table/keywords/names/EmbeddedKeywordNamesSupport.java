@@ -10,6 +10,10 @@ import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 
 /**
  * @author Michal Anglart
@@ -18,6 +22,25 @@ public class EmbeddedKeywordNamesSupport {
 
     private static final Pattern VARIABLE_MATCHER = Pattern.compile("\\$\\{([^\\}]+)\\}");
 
+    /**
+     * Patterns of embedded names are compiled once, as the same definitions are matched against
+     * every keyword call during validation, assistance and hyperlinks detection.
+     */
+    private static final LoadingCache<String, Optional<Pattern>> EMBEDDED_NAME_PATTERNS = CacheBuilder.newBuilder()
+            .maximumSize(10_000)
+            .build(new CacheLoader<String, Optional<Pattern>>() {
+
+                @Override
+                public Optional<Pattern> load(final String lowerCaseDefinitionName) {
+                    final String regex = "^" + substituteVariablesWithRegex(lowerCaseDefinitionName) + "$";
+                    try {
+                        return Optional.of(Pattern.compile(regex));
+                    } catch (final PatternSyntaxException e) {
+                        return Optional.absent();
+                    }
+                }
+            });
+
     public static boolean matches(final String definitionName, final QualifiedKeywordName occurrenceQualifiedName) {
         return matchesWithLowerCase(definitionName, occurrenceQualifiedName.getKeywordName(),
                 occurrenceQualifiedName.getEmbeddedKeywordName());
@@ -43,12 +66,8 @@ public class EmbeddedKeywordNamesSupport {
         if (definitionName.indexOf('$') == -1) {
             return false;
         }
-        final String regex = "^" + substituteVariablesWithRegex(definitionName.toLowerCase()) + "$";
-        try {
-            return Pattern.matches(regex, occurrenceNameInEmbeddedForm);
-        } catch (final PatternSyntaxException e) {
-            return false;
-        }
+        final Optional<Pattern> pattern = EMBEDDED_NAME_PATTERNS.getUnchecked(definitionName.toLowerCase());
+        return pattern.isPresent() && pattern.get().matcher(occurrenceNameInEmbeddedForm).matches();
     }
 
     private static String substituteVariablesWithRegex(final String definitionName) {
@@ -5,6 +5,7 @@
  */
 package org.rf.ide.core.testdata.model.table.setting;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -20,7 +21,10 @@ import org.rf.ide.core.testdata.model.table.SettingTable;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
 
-public class SuiteDocumentation extends AModelElement<SettingTable> implements ICommentHolder, IDocumentationHolder {
+public class SuiteDocumentation extends AModelElement<SettingTable>
+        implements ICommentHolder, IDocumentationHolder, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final RobotToken declaration;
 
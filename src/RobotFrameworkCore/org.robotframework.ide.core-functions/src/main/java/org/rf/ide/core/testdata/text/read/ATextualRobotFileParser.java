@@ -58,6 +58,7 @@ import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
 import org.rf.ide.core.testdata.text.read.recognizer.SettingsRecognizersProvider;
 import org.rf.ide.core.testdata.text.read.recognizer.TestCaseRecognizersProvider;
+import org.rf.ide.core.testdata.text.read.recognizer.TokenRecognizersIndex;
 import org.rf.ide.core.testdata.text.read.recognizer.UserKeywordRecognizersProvider;
 import org.rf.ide.core.testdata.text.read.recognizer.VariablesDeclarationRecognizersProvider;
 import org.rf.ide.core.testdata.text.read.separators.ALineSeparator;
@@ -71,6 +72,8 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
 
     private final List<ATokenRecognizer> recognized = new ArrayList<>();
 
+    private final TokenRecognizersIndex recognizersIndex;
+
     private final List<IParsingMapper> mappers = new ArrayList<>();
 
     private final List<IParsingMapper> unknownTableElementsMapper = new ArrayList<>();
@@ -111,6 +114,7 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
         recognized.addAll(new VariablesDeclarationRecognizersProvider().getRecognizers());
         recognized.addAll(new TestCaseRecognizersProvider().getRecognizers());
         recognized.addAll(new UserKeywordRecognizersProvider().getRecognizers());
+        recognizersIndex = new TokenRecognizersIndex(recognized);
 
         mappers.addAll(new SettingsMapperProvider().getMappers());
         mappers.addAll(new VariablesDeclarationMapperProvider().getMappers());
@@ -316,6 +320,7 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
                     variableHelper.extractVariableAssignmentPart(line, processingState);
                     previousLineHandler.flushNew(processingState);
                 }
+                line.trimToSize();
                 fileModel.addNewLine(line);
 
                 parsingStateHelper.updateStatusesForNewLine(processingState);
@@ -378,18 +383,20 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
             parsingOutput.setStatus(Status.FAILED);
         } else {
             parsingOutput.setStatus(Status.PASSED);
-            clearDirtyFlags(parsingOutput);
+            finishTokens(parsingOutput);
         }
 
         return parsingOutput;
     }
 
-    private void clearDirtyFlags(final RobotFileOutput parsingOutput) {
+    private void finishTokens(final RobotFileOutput parsingOutput) {
         final List<RobotLine> fileContent = parsingOutput.getFileModel().getFileContent();
         for (final RobotLine line : fileContent) {
             for (final IRobotLineElement rle : line.getLineElements()) {
                 if (rle instanceof RobotToken) {
                     ((RobotToken) rle).clearDirtyFlag();
+                    // types are not modified after parsing, so those can be shared between tokens
+                    ((RobotToken) rle).freezeTypes();
                 }
             }
         }
@@ -587,9 +594,8 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
     @VisibleForTesting
     protected List<RobotToken> recognize(final FilePosition fp, final String text) {
         final List<RobotToken> possibleRobotTokens = new ArrayList<>();
-        final StringBuilder sb = new StringBuilder(text);
-        for (final ATokenRecognizer rec : recognized) {
-            if (rec.hasNext(sb, fp.getLine(), fp.getColumn())) {
+        for (final ATokenRecognizer rec : recognizersIndex.selectCandidates(text)) {
+            if (rec.hasNext(text, fp.getLine(), fp.getColumn())) {
                 final RobotToken t = rec.next();
                 t.setStartColumn(t.getStartColumn() + fp.getColumn());
                 possibleRobotTokens.add(t);
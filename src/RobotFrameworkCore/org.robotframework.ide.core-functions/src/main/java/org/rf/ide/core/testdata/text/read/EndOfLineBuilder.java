@@ -5,6 +5,7 @@
  */
 package org.rf.ide.core.testdata.text.read;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -98,6 +99,8 @@ public class EndOfLineBuilder {
 
     private static class LFCREndOfLine extends AEndOfLine {
 
+        private static final long serialVersionUID = 1L;
+
         public LFCREndOfLine(final int startOffset, final int lineNumber, final int startColumn) {
             super(EndOfLineTypes.LFCR, startOffset, lineNumber, startColumn);
         }
@@ -105,6 +108,8 @@ public class EndOfLineBuilder {
 
     private static class CRLFEndOfLine extends AEndOfLine {
 
+        private static final long serialVersionUID = 1L;
+
         public CRLFEndOfLine(final int startOffset, final int lineNumber, final int startColumn) {
             super(EndOfLineTypes.CRLF, startOffset, lineNumber, startColumn);
         }
@@ -112,6 +117,8 @@ public class EndOfLineBuilder {
 
     private static class EndOfFile extends AEndOfLine {
 
+        private static final long serialVersionUID = 1L;
+
         public EndOfFile(final int startOffset, final int lineNumber, final int startColumn) {
             super(EndOfLineTypes.EOF, startOffset, lineNumber, startColumn);
         }
@@ -119,6 +126,8 @@ public class EndOfLineBuilder {
 
     private static class LineFeedEndOfLine extends AEndOfLine {
 
+        private static final long serialVersionUID = 1L;
+
         public LineFeedEndOfLine(final int startOffset, final int lineNumber, final int startColumn) {
             super(EndOfLineTypes.LF, startOffset, lineNumber, startColumn);
         }
@@ -141,7 +150,9 @@ public class EndOfLineBuilder {
 
     }
 
-    private static abstract class AEndOfLine implements IRobotLineElement {
+    private static abstract class AEndOfLine implements Serializable, IRobotLineElement {
+
+        private static final long serialVersionUID = 1L;
 
         private final int lineNumber;
 
@@ -5,6 +5,7 @@
  */
 package org.rf.ide.core.testdata.text.read;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,9 +16,11 @@ import org.rf.ide.core.testdata.text.read.separators.Separator.SeparatorType;
 
 import com.google.common.base.Optional;
 
-public class RobotLine implements IChildElement<RobotFile> {
+public class RobotLine implements Serializable, IChildElement<RobotFile> {
 
-    private final RobotFile parent;
+    private static final long serialVersionUID = 1L;
+
+    private RobotFile parent;
 
     private int lineNumber = -1;
 
@@ -50,6 +53,10 @@ public class RobotLine implements IChildElement<RobotFile> {
         return parent;
     }
 
+    public void setParent(final RobotFile parent) {
+        this.parent = parent;
+    }
+
     public List<IRobotLineElement> getLineElements() {
         return lineElements;
     }
@@ -70,6 +77,15 @@ public class RobotLine implements IChildElement<RobotFile> {
         this.lineElements.set(position, lineElement);
     }
 
+    /**
+     * Releases unused capacity of line elements list, so parsed lines do not keep it.
+     */
+    public void trimToSize() {
+        if (lineElements instanceof ArrayList) {
+            ((ArrayList<IRobotLineElement>) lineElements).trimToSize();
+        }
+    }
+
     public Optional<Integer> getElementPositionInLine(final int offset, final PositionCheck posCheckStrategy) {
         Optional<Integer> pos = Optional.absent();
         final int size = lineElements.size();
@@ -130,6 +146,10 @@ public class RobotLine implements IChildElement<RobotFile> {
         return lineNumber;
     }
 
+    public void setLineNumber(final int lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
     public IRobotLineElement getEndOfLine() {
         return this.eol;
     }
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rf.ide.core.testdata.IRobotFileParser;
+import org.rf.ide.core.testdata.RobotFileOutputCopier;
+import org.rf.ide.core.testdata.model.AModelElement;
+import org.rf.ide.core.testdata.model.FileRegionCacher;
+import org.rf.ide.core.testdata.model.IDocumentationHolder;
+import org.rf.ide.core.testdata.model.RobotFile;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotFileOutput.Status;
+import org.rf.ide.core.testdata.model.table.ARobotSectionTable;
+import org.rf.ide.core.testdata.model.table.KeywordTable;
+import org.rf.ide.core.testdata.model.table.TableHeader;
+import org.rf.ide.core.testdata.model.table.TestCaseTable;
+import org.rf.ide.core.testdata.model.table.VariableTable;
+import org.rf.ide.core.testdata.model.table.keywords.KeywordDocumentation;
+import org.rf.ide.core.testdata.model.table.keywords.UserKeyword;
+import org.rf.ide.core.testdata.model.table.testcases.TestCase;
+import org.rf.ide.core.testdata.model.table.testcases.TestDocumentation;
+import org.rf.ide.core.testdata.model.table.variables.AVariable;
+import org.rf.ide.core.testdata.text.read.LineReader.Constant;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
+import org.rf.ide.core.testdata.text.read.separators.Separator;
+
+/**
+ * Parses again only the table section which contains changed region of already parsed content and
+ * splices the result into a copy of existing output. Each table header clears parsing state stack, so
+ * section parsed alone gives the same lines and model elements as when parsed together with the
+ * rest of the file. Lines and tokens following the section are shifted accordingly.
+ * <p>
+ * Only test cases, keywords and variables sections are handled this way. Whenever the change
+ * touches a table header, settings section or content outside of known tables the reparser gives
+ * up and whole content has to be parsed.
+ * <p>
+ * Existing output is never modified, as it may be still read by other threads.
+ */
+public class SectionReparser {
+
+    private final IRobotFileParser parser;
+
+    public SectionReparser(final IRobotFileParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * @param output
+     *            previously parsed output, not modified
+     * @param content
+     *            whole content after change
+     * @param offset
+     *            offset of changed region
+     * @param removedLength
+     *            length of changed region before change
+     * @param insertedLength
+     *            length of changed region after change
+     * @return new output with reparsed section spliced in, or null if the content has to be parsed
+     *         as a whole
+     */
+    public RobotFileOutput reparse(final RobotFileOutput output, final String content, final int offset,
+            final int removedLength, final int insertedLength) {
+        final RobotFile model = output.getFileModel();
+        final List<RobotLine> lines = model.getFileContent();
+        if (output.getStatus() != Status.PASSED || output.getProcessedFile() == null || lines.isEmpty()
+                || offset < 0 || removedLength < 0 || insertedLength < 0) {
+            return null;
+        }
+
+        final int firstChangedLine = findLineIndex(lines, offset);
+        final int lastChangedLine = findLineIndex(lines, offset + removedLength);
+        if (firstChangedLine < 0 || lastChangedLine < 0) {
+            return null;
+        }
+
+        final int headerLine = findHeaderLine(model, lines, firstChangedLine, -1);
+        if (headerLine < 0 || headerLine == firstChangedLine) {
+            return null;
+        }
+        final RobotTokenType sectionType = getSectionType(model, lines.get(headerLine));
+        if (sectionType != RobotTokenType.VARIABLES_TABLE_HEADER && sectionType != RobotTokenType.TEST_CASES_TABLE_HEADER
+                && sectionType != RobotTokenType.KEYWORDS_TABLE_HEADER) {
+            return null;
+        }
+        final int nextHeaderLine = findHeaderLine(model, lines, headerLine + 1, 1);
+        if (lastChangedLine >= nextHeaderLine) {
+            return null;
+        }
+
+        final boolean isLastSection = nextHeaderLine == lines.size();
+        final int delta = insertedLength - removedLength;
+        final int sectionStart = getStartOffset(lines.get(headerLine));
+        final int sectionEnd = isLastSection ? content.length() : getStartOffset(lines.get(nextHeaderLine)) + delta;
+        if (sectionStart < 0 || sectionEnd < sectionStart || sectionEnd > content.length()) {
+            return null;
+        }
+
+        final RobotFileOutput sectionOutput = new RobotFileOutput(output.getRobotVersion());
+        final byte[] sectionContent = content.substring(sectionStart, sectionEnd).getBytes(Charset.forName("UTF-8"));
+        parser.parse(sectionOutput, new ByteArrayInputStream(sectionContent), output.getProcessedFile());
+
+        final List<RobotLine> sectionLines = new ArrayList<>(sectionOutput.getFileModel().getFileContent());
+        if (!isValidSection(sectionOutput, sectionLines, sectionType, isLastSection)) {
+            return null;
+        }
+        if (!isLastSection) {
+            // section was cut just after line separator, so parser added empty line ended by EOF
+            sectionLines.remove(sectionLines.size() - 1);
+        }
+        final List<RobotLine> newLines = sectionLines.subList(1, sectionLines.size());
+
+        final RobotFileOutput newOutput = RobotFileOutputCopier.copy(output);
+        final RobotFile newModel = newOutput.getFileModel();
+        final List<RobotLine> newModelLines = newModel.getFileContent();
+
+        final int firstLineNumber = newModelLines.get(headerLine + 1).getLineNumber();
+        final int lastLineNumber = newModelLines.get(nextHeaderLine - 1).getLineNumber();
+        spliceModelElements(newOutput, sectionOutput, sectionType, firstLineNumber, lastLineNumber);
+
+        final int linesDelta = newLines.size() - (nextHeaderLine - headerLine - 1);
+        if (!isLastSection) {
+            final RobotLine nextHeader = newModelLines.get(nextHeaderLine);
+            newOutput.getDocumentationCacher().shiftRegions(nextHeader.getLineNumber(), getStartOffset(nextHeader),
+                    linesDelta, delta);
+        }
+        shift(newLines, newModelLines.get(headerLine).getLineNumber() - 1, sectionStart);
+        shift(newModelLines.subList(nextHeaderLine, newModelLines.size()), linesDelta, delta);
+        newModel.replaceLines(headerLine + 1, nextHeaderLine, newLines);
+
+        return newOutput;
+    }
+
+    private static int findLineIndex(final List<RobotLine> lines, final int offset) {
+        int low = 0;
+        int high = lines.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int start = getStartOffset(lines.get(middle));
+            if (start < 0) {
+                return -1;
+            } else if (start <= offset) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    private static int getStartOffset(final RobotLine line) {
+        final List<IRobotLineElement> elements = line.getLineElements();
+        return elements.isEmpty() ? line.getEndOfLine().getStartOffset() : elements.get(0).getStartOffset();
+    }
+
+    private static int findHeaderLine(final RobotFile model, final List<RobotLine> lines, final int startIndex,
+            final int step) {
+        for (int i = startIndex; i >= 0 && i < lines.size(); i += step) {
+            if (getSectionType(model, lines.get(i)) != null) {
+                return i;
+            }
+        }
+        return step > 0 ? lines.size() : -1;
+    }
+
+    private static RobotTokenType getSectionType(final RobotFile model, final RobotLine line) {
+        final RobotToken firstToken = getFirstToken(line);
+        if (firstToken == null) {
+            return null;
+        } else if (!firstToken.getTypes().isEmpty()
+                && firstToken.getTypes().get(0) == RobotTokenType.USER_OWN_TABLE_HEADER) {
+            return RobotTokenType.USER_OWN_TABLE_HEADER;
+        } else if (isHeaderOf(model.getSettingTable(), firstToken)) {
+            return RobotTokenType.SETTINGS_TABLE_HEADER;
+        } else if (isHeaderOf(model.getVariableTable(), firstToken)) {
+            return RobotTokenType.VARIABLES_TABLE_HEADER;
+        } else if (isHeaderOf(model.getTestCaseTable(), firstToken)) {
+            return RobotTokenType.TEST_CASES_TABLE_HEADER;
+        } else if (isHeaderOf(model.getKeywordTable(), firstToken)) {
+            return RobotTokenType.KEYWORDS_TABLE_HEADER;
+        }
+        return null;
+    }
+
+    private static RobotToken getFirstToken(final RobotLine line) {
+        for (final IRobotLineElement element : line.getLineElements()) {
+            if (element instanceof RobotToken) {
+                return (RobotToken) element;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isHeaderOf(final ARobotSectionTable table, final RobotToken token) {
+        for (final TableHeader<? extends ARobotSectionTable> header : table.getHeaders()) {
+            if (header.getTableHeader() == token) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isValidSection(final RobotFileOutput sectionOutput, final List<RobotLine> sectionLines,
+            final RobotTokenType sectionType, final boolean isLastSection) {
+        if (sectionOutput.getStatus() != Status.PASSED || sectionLines.size() < 2) {
+            return false;
+        }
+        final RobotFile sectionModel = sectionOutput.getFileModel();
+        if (getSectionType(sectionModel, sectionLines.get(0)) != sectionType) {
+            return false;
+        }
+        final int headers = sectionModel.getSettingTable().getHeaders().size()
+                + sectionModel.getVariableTable().getHeaders().size()
+                + sectionModel.getTestCaseTable().getHeaders().size()
+                + sectionModel.getKeywordTable().getHeaders().size();
+        if (headers != 1 || findHeaderLine(sectionModel, sectionLines, 1, 1) != sectionLines.size()) {
+            return false;
+        }
+        if (!isLastSection) {
+            final RobotLine lastLine = sectionLines.get(sectionLines.size() - 1);
+            return lastLine.getLineElements().isEmpty()
+                    && lastLine.getEndOfLine().getTypes().contains(EndOfLineBuilder.EndOfLineTypes.EOF);
+        }
+        return true;
+    }
+
+    private static void spliceModelElements(final RobotFileOutput output, final RobotFileOutput sectionOutput,
+            final RobotTokenType sectionType, final int firstLineNumber, final int lastLineNumber) {
+        final FileRegionCacher<IDocumentationHolder> docCacher = output.getDocumentationCacher();
+        if (sectionType == RobotTokenType.TEST_CASES_TABLE_HEADER) {
+            final TestCaseTable table = output.getFileModel().getTestCaseTable();
+            int position = findFirstElementIndex(table.getTestCases(), firstLineNumber);
+            for (final TestCase test : findElements(table.getTestCases(), firstLineNumber, lastLineNumber)) {
+                for (final TestDocumentation doc : test.getDocumentation()) {
+                    docCacher.unregister(doc);
+                }
+                table.removeTest(test);
+            }
+            for (final TestCase test : sectionOutput.getFileModel().getTestCaseTable().getTestCases()) {
+                table.addTest(test, position++);
+                for (final TestDocumentation doc : test.getDocumentation()) {
+                    docCacher.register(doc);
+                }
+            }
+
+        } else if (sectionType == RobotTokenType.KEYWORDS_TABLE_HEADER) {
+            final KeywordTable table = output.getFileModel().getKeywordTable();
+            int position = findFirstElementIndex(table.getKeywords(), firstLineNumber);
+            for (final UserKeyword keyword : findElements(table.getKeywords(), firstLineNumber, lastLineNumber)) {
+                for (final KeywordDocumentation doc : keyword.getDocumentation()) {
+                    docCacher.unregister(doc);
+                }
+                table.removeKeyword(keyword);
+            }
+            for (final UserKeyword keyword : sectionOutput.getFileModel().getKeywordTable().getKeywords()) {
+                table.addKeyword(keyword, position++);
+                for (final KeywordDocumentation doc : keyword.getDocumentation()) {
+                    docCacher.register(doc);
+                }
+            }
+
+        } else if (sectionType == RobotTokenType.VARIABLES_TABLE_HEADER) {
+            final VariableTable table = output.getFileModel().getVariableTable();
+            int position = findFirstElementIndex(table.getVariables(), firstLineNumber);
+            for (final AVariable variable : findElements(table.getVariables(), firstLineNumber, lastLineNumber)) {
+                table.removeVariable(variable);
+            }
+            for (final AVariable variable : sectionOutput.getFileModel().getVariableTable().getVariables()) {
+                table.addVariable(position++, variable);
+            }
+        }
+    }
+
+    private static <T extends AModelElement<?>> int findFirstElementIndex(final List<T> elements,
+            final int firstLineNumber) {
+        for (int i = 0; i < elements.size(); i++) {
+            if (getLineNumber(elements.get(i)) >= firstLineNumber) {
+                return i;
+            }
+        }
+        return elements.size();
+    }
+
+    private static <T extends AModelElement<?>> List<T> findElements(final List<T> elements,
+            final int firstLineNumber, final int lastLineNumber) {
+        final List<T> found = new ArrayList<>();
+        for (final T element : elements) {
+            final int line = getLineNumber(element);
+            if (firstLineNumber <= line && line <= lastLineNumber) {
+                found.add(element);
+            }
+        }
+        return found;
+    }
+
+    private static int getLineNumber(final AModelElement<?> element) {
+        final RobotToken declaration = element.getDeclaration();
+        return declaration == null ? IRobotLineElement.NOT_SET : declaration.getLineNumber();
+    }
+
+    private static void shift(final List<RobotLine> lines, final int linesDelta, final int offsetDelta) {
+        if (linesDelta == 0 && offsetDelta == 0) {
+            return;
+        }
+        for (final RobotLine line : lines) {
+            line.setLineNumber(line.getLineNumber() + linesDelta);
+            for (final IRobotLineElement element : line.getLineElements()) {
+                if (element instanceof RobotToken) {
+                    final RobotToken token = (RobotToken) element;
+                    if (token.getLineNumber() != IRobotLineElement.NOT_SET) {
+                        token.setLineNumber(token.getLineNumber() + linesDelta);
+                    }
+                    if (token.getStartOffset() != IRobotLineElement.NOT_SET) {
+                        token.setStartOffset(token.getStartOffset() + offsetDelta);
+                    }
+                } else if (element instanceof Separator) {
+                    final Separator separator = (Separator) element;
+                    if (separator.getLineNumber() != IRobotLineElement.NOT_SET) {
+                        separator.setLineNumber(separator.getLineNumber() + linesDelta);
+                    }
+                    if (separator.getStartOffset() != IRobotLineElement.NOT_SET) {
+                        separator.setStartOffset(separator.getStartOffset() + offsetDelta);
+                    }
+                }
+            }
+            final IRobotLineElement eol = line.getEndOfLine();
+            if (eol.getStartOffset() != IRobotLineElement.NOT_SET) {
+                line.setEndOfLine(Constant.get(eol), eol.getStartOffset() + offsetDelta, eol.getStartColumn());
+            }
+        }
+    }
+}
@@ -48,6 +48,13 @@ public abstract class ATokenRecognizer {
         return m.find();
     }
 
+    /**
+     * Forgets currently searched text, so next call of hasNext will start new search.
+     */
+    void reset() {
+        m = null;
+    }
+
     public RobotToken next() {
         final RobotToken t = new RobotToken();
         t.setLineNumber(lineNumber);
@@ -5,28 +5,59 @@
  */
 package org.rf.ide.core.testdata.text.read.recognizer;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 
 import org.rf.ide.core.testdata.model.FilePosition;
 import org.rf.ide.core.testdata.text.read.IRobotLineElement;
 import org.rf.ide.core.testdata.text.read.IRobotTokenType;
 import org.rf.ide.core.testdata.text.read.VersionAvailabilityInfo;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Token is kept compact, since there are millions of them in models of big workspaces: position
+ * is stored in primitive fields, text and raw are interned, so they share single instance when
+ * equal, and types are stored as canonical immutable list shared between tokens. List returned
+ * by {@link #getTypes()} is a view; when it is modified the token gets its own copy of types,
+ * which becomes canonical again on {@link #freezeTypes()}, called when file parsing is finished.
+ */
 public class RobotToken implements IRobotLineElement, Serializable {
 
     private static final long serialVersionUID = -7333635148571215189L;
 
-    private FilePosition fp = new FilePosition(NOT_SET, NOT_SET, NOT_SET);
+    private static final Interner<List<IRobotTokenType>> TYPES_INTERNER = Interners.newWeakInterner();
+
+    private static final List<IRobotTokenType> UNKNOWN_TYPE = canonicalTypes(
+            Arrays.<IRobotTokenType> asList(RobotTokenType.UNKNOWN));
+
+    private transient int lineNumber = NOT_SET;
+
+    private transient int startColumn = NOT_SET;
+
+    private transient int startOffset = NOT_SET;
 
     private String raw = "";
 
     private String text = "";
 
-    private final List<IRobotTokenType> types = new ArrayList<>(0);
+    private List<IRobotTokenType> types = UNKNOWN_TYPE;
+
+    // true when types list is owned by this token and modified in place instead of being canonical
+    private transient boolean ownsTypes = false;
+
+    private transient TypesView typesView;
 
     private boolean isDirty = false;
 
@@ -47,34 +78,35 @@ public class RobotToken implements IRobotLineElement, Serializable {
         return token;
     }
 
-    public RobotToken() {
-        types.add(RobotTokenType.UNKNOWN);
+    private static List<IRobotTokenType> canonicalTypes(final List<IRobotTokenType> types) {
+        final IRobotTokenType[] typesArray = types.toArray(new IRobotTokenType[types.size()]);
+        return TYPES_INTERNER.intern(Collections.unmodifiableList(Arrays.asList(typesArray)));
     }
 
     @Override
     public int getLineNumber() {
-        return fp.getLine();
+        return lineNumber;
     }
 
     public void setLineNumber(final int lineNumber) {
-        fp = new FilePosition(lineNumber, fp.getColumn(), fp.getOffset());
+        this.lineNumber = lineNumber;
     }
 
     @Override
     public int getStartColumn() {
-        return fp.getColumn();
+        return startColumn;
     }
 
     public void setStartColumn(final int startColumn) {
-        fp = new FilePosition(fp.getLine(), startColumn, fp.getOffset());
+        this.startColumn = startColumn;
     }
 
     @Override
     public int getEndColumn() {
         int endColumn = NOT_SET;
 
-        if (fp.getColumn() != NOT_SET) {
-            endColumn = fp.getColumn() + text.length();
+        if (startColumn != NOT_SET) {
+            endColumn = startColumn + text.length();
         }
 
         return endColumn;
@@ -85,12 +117,12 @@ public class RobotToken implements IRobotLineElement, Serializable {
     }
 
     public void setStartOffset(final int startOffset) {
-        fp = new FilePosition(fp.getLine(), fp.getColumn(), startOffset);
+        this.startOffset = startOffset;
     }
 
     @Override
     public int getStartOffset() {
-        return fp.getOffset();
+        return startOffset;
     }
 
     @Override
@@ -132,22 +164,45 @@ public class RobotToken implements IRobotLineElement, Serializable {
 
     @Override
     public List<IRobotTokenType> getTypes() {
-        return types;
+        if (typesView == null) {
+            typesView = new TypesView();
+        }
+        return typesView;
     }
 
     public void setType(final IRobotTokenType type) {
-        types.clear();
-        types.add(type);
+        final List<IRobotTokenType> newTypes = modifiableTypes();
+        newTypes.clear();
+        newTypes.add(type);
+    }
+
+    /**
+     * Replaces types modified since last freeze with canonical list shared with other tokens.
+     */
+    public void freezeTypes() {
+        if (ownsTypes) {
+            types = canonicalTypes(types);
+            ownsTypes = false;
+        }
+    }
+
+    private List<IRobotTokenType> modifiableTypes() {
+        if (!ownsTypes) {
+            types = new ArrayList<>(types);
+            ownsTypes = true;
+        }
+        return types;
     }
 
     @Override
     public String toString() {
-        return String.format("RobotToken [filePosition=%s, text=%s, types=%s, isDirty=%s]", fp, text, types, isDirty);
+        return String.format("RobotToken [filePosition=%s, text=%s, types=%s, isDirty=%s]", getFilePosition(), text,
+                types, isDirty);
     }
 
     @Override
     public FilePosition getFilePosition() {
-        return fp;
+        return new FilePosition(lineNumber, startColumn, startOffset);
     }
 
     @Override
@@ -197,12 +252,12 @@ public class RobotToken implements IRobotLineElement, Serializable {
         final RobotToken t = new RobotToken();
         t.setText(getText());
         t.setRaw(getRaw());
-        t.types.clear();
-        t.types.addAll(getTypes());
+        freezeTypes();
+        t.types = types;
         if (posInclude) {
-            t.fp = this.fp.copy();
-        } else {
-            t.fp = FilePosition.createNotSet();
+            t.lineNumber = lineNumber;
+            t.startColumn = startColumn;
+            t.startOffset = startOffset;
         }
         t.clearDirtyFlag();
 
@@ -218,4 +273,67 @@ public class RobotToken implements IRobotLineElement, Serializable {
     public final boolean equals(final Object obj) {
         return super.equals(obj);
     }
+
+    private void writeObject(final ObjectOutputStream output) throws IOException {
+        freezeTypes();
+        output.defaultWriteObject();
+        // position is written as file position object, so it is resolved in the same way
+        output.writeObject(getFilePosition());
+    }
+
+    private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        final FilePosition position = (FilePosition) input.readObject();
+        lineNumber = position.getLine();
+        startColumn = position.getColumn();
+        startOffset = position.getOffset();
+        types = canonicalTypes(types);
+    }
+
+    private class TypesView extends AbstractList<IRobotTokenType> implements RandomAccess {
+
+        @Override
+        public IRobotTokenType get(final int index) {
+            return types.get(index);
+        }
+
+        @Override
+        public int size() {
+            return types.size();
+        }
+
+        @Override
+        public IRobotTokenType set(final int index, final IRobotTokenType type) {
+            return modifiableTypes().set(index, type);
+        }
+
+        @Override
+        public void add(final int index, final IRobotTokenType type) {
+            modifiableTypes().add(index, type);
+            modCount++;
+        }
+
+        @Override
+        public boolean addAll(final Collection<? extends IRobotTokenType> typesToAdd) {
+            if (typesToAdd.isEmpty()) {
+                return false;
+            }
+            modifiableTypes().addAll(typesToAdd);
+            modCount++;
+            return true;
+        }
+
+        @Override
+        public IRobotTokenType remove(final int index) {
+            final IRobotTokenType removedType = modifiableTypes().remove(index);
+            modCount++;
+            return removedType;
+        }
+
+        @Override
+        public void clear() {
+            modifiableTypes().clear();
+            modCount++;
+        }
+    }
 }
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read.recognizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Index of characters required by recognizers. Patterns of all recognizers are analyzed once, so
+ * for each cell only a single pass over its characters is needed to find recognizers which are
+ * able to match it at all. Other recognizers would not produce any token, so skipping them does
+ * not change recognition result.
+ */
+public class TokenRecognizersIndex {
+
+    private static final int ASCII_SIZE = 128;
+
+    private static final int MAX_REQUIREMENTS = 8;
+
+    private static final String WHITESPACES = " \t\n\u000B\f\r";
+
+    private final List<ATokenRecognizer> recognizers;
+
+    /**
+     * For each recognizer pairs of masks (lower and upper half of ASCII) describing sets of
+     * characters; recognizer can match only text containing character from each set.
+     */
+    private final long[][] requirements;
+
+    public TokenRecognizersIndex(final List<ATokenRecognizer> recognizers) {
+        this.recognizers = new ArrayList<>(recognizers);
+        this.requirements = new long[this.recognizers.size()][];
+
+        for (int i = 0; i < requirements.length; i++) {
+            final List<CharSet> required = findRequiredCharacters(this.recognizers.get(i).getPattern());
+            requirements[i] = new long[2 * required.size()];
+            for (int j = 0; j < required.size(); j++) {
+                requirements[i][2 * j] = required.get(j).low;
+                requirements[i][2 * j + 1] = required.get(j).high;
+            }
+        }
+    }
+
+    /**
+     * Returns recognizers, in their original order, which may match given text. Recognizers which
+     * are not returned are reset, so that their state is the same as after unsuccessful search in
+     * given text.
+     *
+     * @param text
+     * @return
+     */
+    public List<ATokenRecognizer> selectCandidates(final String text) {
+        long low = 0L;
+        long high = 0L;
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c < Long.SIZE) {
+                low |= 1L << c;
+            } else if (c < ASCII_SIZE) {
+                high |= 1L << (c - Long.SIZE);
+            }
+        }
+
+        final List<ATokenRecognizer> selected = new ArrayList<>();
+        for (int i = 0; i < requirements.length; i++) {
+            final ATokenRecognizer recognizer = recognizers.get(i);
+            if (containsRequiredCharacters(requirements[i], low, high)) {
+                selected.add(recognizer);
+            } else {
+                recognizer.reset();
+            }
+        }
+        return selected;
+    }
+
+    private static boolean containsRequiredCharacters(final long[] required, final long low, final long high) {
+        for (int j = 0; j < required.length; j += 2) {
+            if ((required[j] & low) == 0 && (required[j + 1] & high) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes sets of ASCII characters, such that each match of given pattern contains at least
+     * one character from every set. Empty list is returned when nothing is known about the
+     * pattern, e.g. because it uses constructs which are not supported by this simple analysis.
+     */
+    @VisibleForTesting
+    static List<CharSet> findRequiredCharacters(final Pattern pattern) {
+        if (pattern.flags() != 0) {
+            return new ArrayList<>();
+        }
+        try {
+            final List<CharSet> required = new RequiredCharactersAnalyzer(pattern.pattern()).analyze();
+            return required.size() > MAX_REQUIREMENTS ? required.subList(0, MAX_REQUIREMENTS) : required;
+        } catch (final UnsupportedPatternException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    @VisibleForTesting
+    static class CharSet {
+
+        private long low;
+
+        private long high;
+
+        private boolean isComplete = true;
+
+        private void add(final char c) {
+            if (c < Long.SIZE) {
+                low |= 1L << c;
+            } else if (c < ASCII_SIZE) {
+                high |= 1L << (c - Long.SIZE);
+            } else {
+                // such requirement cannot be checked using ASCII masks
+                isComplete = false;
+            }
+        }
+
+        private CharSet union(final CharSet other) {
+            final CharSet union = new CharSet();
+            union.low = low | other.low;
+            union.high = high | other.high;
+            union.isComplete = isComplete && other.isComplete;
+            return union;
+        }
+
+        private int size() {
+            return Long.bitCount(low) + Long.bitCount(high);
+        }
+
+        @VisibleForTesting
+        boolean contains(final char c) {
+            return c < Long.SIZE ? (low & (1L << c)) != 0
+                    : c < ASCII_SIZE && (high & (1L << (c - Long.SIZE))) != 0;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj instanceof CharSet) {
+                final CharSet that = (CharSet) obj;
+                return low == that.low && high == that.high && isComplete == that.isComplete;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (low ^ (low >>> 32) ^ high ^ (high >>> 32));
+        }
+    }
+
+    /**
+     * Recursive descent over the subset of regular expressions syntax used by recognizers:
+     * literals, character classes, groups, lookaheads, alternatives and quantifiers.
+     */
+    private static class RequiredCharactersAnalyzer {
+
+        private final String regex;
+
+        private int position;
+
+        RequiredCharactersAnalyzer(final String regex) {
+            this.regex = regex;
+        }
+
+        List<CharSet> analyze() {
+            final List<CharSet> result = alternatives();
+            if (position != regex.length()) {
+                throw new UnsupportedPatternException();
+            }
+            return result;
+        }
+
+        private List<CharSet> alternatives() {
+            List<CharSet> result = sequence();
+            while (position < regex.length() && regex.charAt(position) == '|') {
+                position++;
+                result = either(result, sequence());
+            }
+            return result;
+        }
+
+        /**
+         * When one of two alternatives is matched, then for each set required by first one, its
+         * union with any set required by second one is required. The smallest unions are taken.
+         */
+        private static List<CharSet> either(final List<CharSet> first, final List<CharSet> second) {
+            final List<CharSet> result = new ArrayList<>();
+            for (final CharSet firstSet : first) {
+                CharSet smallest = null;
+                for (final CharSet secondSet : second) {
+                    final CharSet union = firstSet.union(secondSet);
+                    if (smallest == null || union.size() < smallest.size()) {
+                        smallest = union;
+                    }
+                }
+                if (smallest != null && !result.contains(smallest)) {
+                    result.add(smallest);
+                }
+            }
+            return result;
+        }
+
+        private List<CharSet> sequence() {
+            final List<CharSet> result = new ArrayList<>();
+            while (position < regex.length() && regex.charAt(position) != '|' && regex.charAt(position) != ')') {
+                for (final CharSet required : quantified(atom())) {
+                    if (required.isComplete && !result.contains(required)) {
+                        result.add(required);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private List<CharSet> quantified(final List<CharSet> atom) {
+            if (position < regex.length()) {
+                final char c = regex.charAt(position);
+                List<CharSet> result = atom;
+                if (c == '?' || c == '*') {
+                    position++;
+                    result = new ArrayList<>();
+                } else if (c == '+') {
+                    position++;
+                } else if (c == '{') {
+                    final int end = regex.indexOf('}', position);
+                    if (end < 0) {
+                        throw new UnsupportedPatternException();
+                    }
+                    final String bounds = regex.substring(position + 1, end);
+                    if (!bounds.matches("\\d+(,\\d*)?")) {
+                        throw new UnsupportedPatternException();
+                    }
+                    if (Integer.parseInt(bounds.split(",")[0]) == 0) {
+                        result = new ArrayList<>();
+                    }
+                    position = end + 1;
+                } else {
+                    return atom;
+                }
+                // lazy and possessive quantifiers do not change required characters
+                if (position < regex.length() && (regex.charAt(position) == '?' || regex.charAt(position) == '+')) {
+                    position++;
+                }
+                return result;
+            }
+            return atom;
+        }
+
+        private List<CharSet> atom() {
+            final char c = regex.charAt(position++);
+            final List<CharSet> result = new ArrayList<>();
+            if (c == '(') {
+                boolean isLookahead = false;
+                if (position < regex.length() && regex.charAt(position) == '?') {
+                    if (regex.startsWith("?:", position)) {
+                        position += 2;
+                    } else if (regex.startsWith("?=", position) || regex.startsWith("?!", position)) {
+                        position += 2;
+                        isLookahead = true;
+                    } else {
+                        throw new UnsupportedPatternException();
+                    }
+                }
+                final List<CharSet> group = alternatives();
+                if (position >= regex.length() || regex.charAt(position) != ')') {
+                    throw new UnsupportedPatternException();
+                }
+                position++;
+                // lookahead does not consume characters, so it only narrows possible matches
+                return isLookahead ? result : group;
+            }
+
+            final CharSet set = new CharSet();
+            if (c == '[') {
+                characterClass(set);
+            } else if (c == '\\') {
+                escape(set);
+            } else if (c == '^' || c == '$') {
+                return result;
+            } else if (c == '.') {
+                set.isComplete = false;
+            } else if (c == ')' || c == '?' || c == '*' || c == '+' || c == '{') {
+                throw new UnsupportedPatternException();
+            } else {
+                set.add(c);
+            }
+            result.add(set);
+            return result;
+        }
+
+        private void characterClass(final CharSet set) {
+            if (position < regex.length() && regex.charAt(position) == '^') {
+                throw new UnsupportedPatternException();
+            }
+            boolean first = true;
+            while (position < regex.length()) {
+                final char c = regex.charAt(position++);
+                if (c == ']' && !first) {
+                    return;
+                } else if (c == '[' || (c == '&' && position < regex.length() && regex.charAt(position) == '&')) {
+                    throw new UnsupportedPatternException();
+                } else if (c == '\\') {
+                    escape(set);
+                } else if (position + 1 < regex.length() && regex.charAt(position) == '-'
+                        && regex.charAt(position + 1) != ']') {
+                    final char end = regex.charAt(position + 1);
+                    if (end == '\\' || end == '[' || end < c) {
+                        throw new UnsupportedPatternException();
+                    }
+                    position += 2;
+                    addRange(set, c, end);
+                } else {
+                    set.add(c);
+                }
+                first = false;
+            }
+            throw new UnsupportedPatternException();
+        }
+
+        private void escape(final CharSet set) {
+            if (position >= regex.length()) {
+                throw new UnsupportedPatternException();
+            }
+            final char c = regex.charAt(position++);
+            if (c == 's') {
+                for (final char whitespace : WHITESPACES.toCharArray()) {
+                    set.add(whitespace);
+                }
+            } else if (c == 'd') {
+                addRange(set, '0', '9');
+            } else if (c == 'w') {
+                addRange(set, 'a', 'z');
+                addRange(set, 'A', 'Z');
+                addRange(set, '0', '9');
+                set.add('_');
+            } else if (c == 'S' || c == 'D' || c == 'W') {
+                set.isComplete = false;
+            } else if (Character.isLetterOrDigit(c)) {
+                throw new UnsupportedPatternException();
+            } else {
+                set.add(c);
+            }
+        }
+
+        private void addRange(final CharSet set, final char from, final char to) {
+            for (char c = from; c <= to; c++) {
+                set.add(c);
+            }
+        }
+    }
+
+    private static class UnsupportedPatternException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+    }
+}
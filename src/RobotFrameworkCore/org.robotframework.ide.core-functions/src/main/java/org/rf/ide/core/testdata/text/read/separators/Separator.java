@@ -5,6 +5,7 @@
  */
 package org.rf.ide.core.testdata.text.read.separators;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -15,7 +16,9 @@ import org.rf.ide.core.testdata.text.read.IRobotTokenType;
 import org.rf.ide.core.testdata.text.read.VersionAvailabilityInfo;
 import org.rf.ide.core.testdata.text.read.VersionAvailabilityInfo.VersionAvailabilityInfoBuilder;
 
-public class Separator implements IRobotLineElement {
+public class Separator implements Serializable, IRobotLineElement {
+
+    private static final long serialVersionUID = 1L;
 
     private FilePosition fp = new FilePosition(NOT_SET, NOT_SET, NOT_SET);
 
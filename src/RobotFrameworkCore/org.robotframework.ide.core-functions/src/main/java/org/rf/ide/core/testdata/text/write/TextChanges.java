@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.write;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds line replacements which turn old content into new one, so that dumped content can be
+ * applied to document as few small edits instead of replacing whole text. Common lines at the
+ * beginning and end are skipped and remaining lines are compared with Myers algorithm; when
+ * contents differ in more than {@link #MAX_EDIT_DISTANCE} lines single replacement of all
+ * remaining lines is returned.
+ */
+public class TextChanges {
+
+    private static final int MAX_EDIT_DISTANCE = 1000;
+
+    /**
+     * Returns replacements ordered by offset. Offsets are relative to old content, so they should
+     * be applied starting from the last one.
+     */
+    public static List<TextChange> between(final String oldContent, final String newContent) {
+        final List<String> oldLines = splitLines(oldContent);
+        final List<String> newLines = splitLines(newContent);
+
+        int prefix = 0;
+        while (prefix < oldLines.size() && prefix < newLines.size()
+                && oldLines.get(prefix).equals(newLines.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < oldLines.size() - prefix && suffix < newLines.size() - prefix
+                && oldLines.get(oldLines.size() - 1 - suffix).equals(newLines.get(newLines.size() - 1 - suffix))) {
+            suffix++;
+        }
+        final List<String> oldMiddle = oldLines.subList(prefix, oldLines.size() - suffix);
+        final List<String> newMiddle = newLines.subList(prefix, newLines.size() - suffix);
+
+        final int[] oldOffsets = new int[oldMiddle.size() + 1];
+        oldOffsets[0] = length(oldLines.subList(0, prefix));
+        for (int i = 0; i < oldMiddle.size(); i++) {
+            oldOffsets[i + 1] = oldOffsets[i] + oldMiddle.get(i).length();
+        }
+
+        final List<TextChange> changes = new ArrayList<>();
+        if (oldMiddle.isEmpty() && newMiddle.isEmpty()) {
+            return changes;
+        }
+        final List<int[]> matches = findMatchingLines(oldMiddle, newMiddle);
+        if (matches == null) {
+            changes.add(new TextChange(oldOffsets[0], oldOffsets[oldMiddle.size()] - oldOffsets[0], join(newMiddle)));
+            return changes;
+        }
+        matches.add(new int[] { oldMiddle.size(), newMiddle.size() });
+
+        int oldStart = 0;
+        int newStart = 0;
+        for (final int[] match : matches) {
+            if (match[0] > oldStart || match[1] > newStart) {
+                changes.add(new TextChange(oldOffsets[oldStart], oldOffsets[match[0]] - oldOffsets[oldStart],
+                        join(newMiddle.subList(newStart, match[1]))));
+            }
+            oldStart = match[0] + 1;
+            newStart = match[1] + 1;
+        }
+        return changes;
+    }
+
+    /**
+     * Returns pairs of indexes of lines which are left unchanged, ordered by indexes, or null if
+     * there are too many differences.
+     */
+    private static List<int[]> findMatchingLines(final List<String> oldLines, final List<String> newLines) {
+        final int n = oldLines.size();
+        final int m = newLines.size();
+        final int max = Math.min(n + m, MAX_EDIT_DISTANCE);
+        final int offset = max + 1;
+        final int[] v = new int[2 * max + 3];
+        // furthest reaching paths of previous step are remembered for each step
+        final List<int[]> trace = new ArrayList<>();
+
+        int distance = -1;
+        search: for (int d = 0; d <= max; d++) {
+            trace.add(Arrays.copyOfRange(v, offset - d - 1, offset + d + 2));
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || k != d && v[offset + k - 1] < v[offset + k + 1] ? v[offset + k + 1]
+                        : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && oldLines.get(x).equals(newLines.get(y))) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    distance = d;
+                    break search;
+                }
+            }
+        }
+        if (distance < 0) {
+            return null;
+        }
+
+        final List<int[]> matches = new ArrayList<>();
+        int x = n;
+        int y = m;
+        for (int d = distance; d >= 0; d--) {
+            final int[] previous = trace.get(d);
+            final int k = x - y;
+            final int prevK = k == -d || k != d && previous[k - 1 + d + 1] < previous[k + 1 + d + 1] ? k + 1 : k - 1;
+            final int prevX = d == 0 ? 0 : previous[prevK + d + 1];
+            final int prevY = d == 0 ? 0 : prevX - prevK;
+            final int snakeStartX = d == 0 ? 0 : prevK == k + 1 ? prevX : prevX + 1;
+            while (x > snakeStartX && y > snakeStartX - k) {
+                x--;
+                y--;
+                matches.add(new int[] { x, y });
+            }
+            x = prevX;
+            y = prevY;
+        }
+        Collections.reverse(matches);
+        return matches;
+    }
+
+    private static List<String> splitLines(final String content) {
+        final List<String> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < content.length(); i++) {
+            final char ch = content.charAt(i);
+            if (ch == '\n' || ch == '\r' && (i + 1 == content.length() || content.charAt(i + 1) != '\n')) {
+                lines.add(content.substring(start, i + 1));
+                start = i + 1;
+            }
+        }
+        if (start < content.length()) {
+            lines.add(content.substring(start));
+        }
+        return lines;
+    }
+
+    private static int length(final List<String> lines) {
+        int length = 0;
+        for (final String line : lines) {
+            length += line.length();
+        }
+        return length;
+    }
+
+    private static String join(final List<String> lines) {
+        final StringBuilder builder = new StringBuilder();
+        for (final String line : lines) {
+            builder.append(line);
+        }
+        return builder.toString();
+    }
+
+    public static final class TextChange {
+
+        private final int offset;
+
+        private final int length;
+
+        private final String text;
+
+        public TextChange(final int offset, final int length, final String text) {
+            this.offset = offset;
+            this.length = length;
+            this.text = text;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj != null && obj.getClass() == TextChange.class) {
+                final TextChange that = (TextChange) obj;
+                return this.offset == that.offset && this.length == that.length && this.text.equals(that.text);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * offset + length) + text.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "TextChange [offset=" + offset + ", length=" + length + ", text=" + text + "]";
+        }
+    }
+}
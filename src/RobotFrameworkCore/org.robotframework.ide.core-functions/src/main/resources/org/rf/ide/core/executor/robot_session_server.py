@@ -100,6 +100,14 @@ def get_variables(dir, args):
     return red_variables.get_variables(dir, args)
 
 
+@logresult
+@encode_result_or_exception
+@logargs
+def get_variables_from_files(paths, args):
+    import red_variables
+    return [red_variables.get_variables(path, file_args) for path, file_args in zip(paths, args)]
+
+
 @logresult
 @encode_result_or_exception
 @logargs
@@ -209,6 +217,7 @@ if __name__ == '__main__':
     server.register_function(get_modules_search_paths, 'getModulesSearchPaths')
     server.register_function(get_module_path, 'getModulePath')
     server.register_function(get_variables, 'getVariables')
+    server.register_function(get_variables_from_files, 'getVariablesFromFiles')
     server.register_function(get_global_variables, 'getGlobalVariables')
     server.register_function(get_standard_libraries_names, 'getStandardLibrariesNames')
     server.register_function(get_standard_library_path, 'getStandardLibraryPath')
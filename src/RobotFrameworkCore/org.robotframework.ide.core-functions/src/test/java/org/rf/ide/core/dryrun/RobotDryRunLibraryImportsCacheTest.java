@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.dryrun;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.rf.ide.core.dryrun.RobotDryRunLibraryImport.DryRunLibraryImportStatus;
+
+import com.google.common.collect.Lists;
+
+public class RobotDryRunLibraryImportsCacheTest {
+
+    private final RobotDryRunLibraryImportsCache cache = new RobotDryRunLibraryImportsCache();
+
+    @Test
+    public void importsAreReturned_onlyForSameImportsHash() {
+        cache.put("/project/suite.robot", "hash1", Lists.newArrayList(
+                new RobotDryRunLibraryImport("lib", "/project/lib.py", "/project/suite.robot", new ArrayList<String>())));
+
+        assertThat(cache.get("/project/suite.robot", "hash1").get()).hasSize(1);
+        assertThat(cache.get("/project/suite.robot", "hash2").isPresent()).isFalse();
+        assertThat(cache.get("/project/other.robot", "hash1").isPresent()).isFalse();
+    }
+
+    @Test
+    public void noImportsAreReturned_afterClearing() {
+        cache.put("/project/suite.robot", "hash", new ArrayList<RobotDryRunLibraryImport>());
+
+        cache.clear();
+
+        assertThat(cache.get("/project/suite.robot", "hash").isPresent()).isFalse();
+    }
+
+    @Test
+    public void modificationsOfImports_doNotAffectCachedOnes() {
+        final RobotDryRunLibraryImport libImport = new RobotDryRunLibraryImport("lib", "/project/lib.py",
+                "/project/suite.robot", new ArrayList<String>());
+        cache.put("/project/suite.robot", "hash", Lists.newArrayList(libImport));
+
+        libImport.addImporterPath("/project/other.robot");
+        libImport.setStatusAndAdditionalInfo(DryRunLibraryImportStatus.ADDED, "");
+        cache.get("/project/suite.robot", "hash").get().get(0).addImporterPath("/project/third.robot");
+
+        final List<RobotDryRunLibraryImport> cachedImports = cache.get("/project/suite.robot", "hash").get();
+        assertThat(cachedImports).containsExactly(libImport);
+        assertThat(cachedImports.get(0).getImportersPaths()).containsExactly("/project/suite.robot");
+        assertThat(cachedImports.get(0).getStatus()).isNull();
+    }
+}
@@ -10,6 +10,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -21,6 +23,8 @@ import org.rf.ide.core.dryrun.RobotDryRunLibraryImport;
 import org.rf.ide.core.dryrun.RobotDryRunLibraryImport.DryRunLibraryImportStatus;
 import org.rf.ide.core.dryrun.RobotDryRunLibraryImport.DryRunLibraryType;
 import org.rf.ide.core.dryrun.RobotDryRunOutputParser;
+import org.rf.ide.core.execution.AgentEvent;
+import org.rf.ide.core.execution.AgentEventReader;
 
 public class RobotDryRunOutputParserTest {
 
@@ -39,13 +43,13 @@ public class RobotDryRunOutputParserTest {
         List<String> importers = newArrayList("testProject/testSuite.robot");
         String source = "testProject/lib1.py";
 
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(0), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(0), source)));
         verifyLibraryImport(dryRunOutputParser, 0, 1, DryRunLibraryType.PYTHON, libName, args, importers, source);
 
         libName = "lib2";
         source = "testProject/lib2.py";
 
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(0), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(0), source)));
         verifyLibraryImport(dryRunOutputParser, 1, 2, DryRunLibraryType.PYTHON, libName, args, importers, source);
     }
 
@@ -56,7 +60,7 @@ public class RobotDryRunOutputParserTest {
         List<String> importers = newArrayList("testProject/testSuite.robot");
         String source = "testProject/lib1.pyc";
 
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(0), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(0), source)));
 
         String expectedSource = "testProject/lib1.py";
         verifyLibraryImport(dryRunOutputParser, 0, 1, DryRunLibraryType.PYTHON, libName, args, importers,
@@ -70,7 +74,7 @@ public class RobotDryRunOutputParserTest {
         List<String> importers = newArrayList("testProject/testSuite.robot");
         String source = "testProject/lib1$py.class";
 
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(0), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(0), source)));
 
         String expectedSource = "testProject/lib1.py";
         verifyLibraryImport(dryRunOutputParser, 0, 1, DryRunLibraryType.PYTHON, libName, args, importers,
@@ -85,9 +89,9 @@ public class RobotDryRunOutputParserTest {
                 "testProject/testSuite3.robot");
         String source = "testProject/lib1.py";
 
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(0), source));
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(1), source));
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(2), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(0), source)));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(1), source)));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(2), source)));
 
         verifyLibraryImport(dryRunOutputParser, 0, 1, DryRunLibraryType.PYTHON, libName, args, importers, source);
     }
@@ -99,12 +103,12 @@ public class RobotDryRunOutputParserTest {
         List<String> importers = newArrayList("testProject/testSuite.robot");
         String source = "testProject/lib1.py";
 
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(0), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(0), source)));
         verifyLibraryImport(dryRunOutputParser, 0, 1, DryRunLibraryType.PYTHON, libName, args, importers, source);
 
         libName = "lib1.class2";
 
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(0), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(0), source)));
         verifyLibraryImport(dryRunOutputParser, 1, 2, DryRunLibraryType.PYTHON, libName, args, importers, source);
     }
 
@@ -115,7 +119,7 @@ public class RobotDryRunOutputParserTest {
         List<String> importers = newArrayList();
         String source = null;
 
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, "", source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, "", source)));
 
         verifyLibraryImport(dryRunOutputParser, 0, 1, DryRunLibraryType.UNKNOWN, libName, args, importers, "");
     }
@@ -127,7 +131,7 @@ public class RobotDryRunOutputParserTest {
         List<String> importers = newArrayList("testProject/testSuite.robot");
         String source = "testProject/LibrarySource.jar";
 
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(0), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(0), source)));
 
         verifyLibraryImport(dryRunOutputParser, 0, 1, DryRunLibraryType.JAVA, libName, args, importers, source);
     }
@@ -143,7 +147,7 @@ public class RobotDryRunOutputParserTest {
         List<String> importers = newArrayList("testProject/testSuite.robot");
         String source = "python/String.py";
 
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(0), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(0), source)));
 
         assertTrue(dryRunOutputParser.getImportedLibraries().isEmpty());
     }
@@ -153,14 +157,14 @@ public class RobotDryRunOutputParserTest {
         String libName = "lib1.py";
         List<String> importers = newArrayList("testProject/testSuite1.robot", "testProject/testSuite2.robot");
 
-        dryRunOutputParser.processLine(createErrorMessageJSON(importers.get(0), libName));
-        dryRunOutputParser.processLine(createErrorMessageJSON(importers.get(1), libName));
+        dryRunOutputParser.processEvent(toEvent(createErrorMessageJSON(importers.get(0), libName)));
+        dryRunOutputParser.processEvent(toEvent(createErrorMessageJSON(importers.get(1), libName)));
 
         verifyMessage(dryRunOutputParser, 0, 1, libName, importers);
 
         libName = "lib2.py";
-        dryRunOutputParser.processLine(createErrorMessageJSON(importers.get(0), libName));
-        dryRunOutputParser.processLine(createErrorMessageJSON(importers.get(1), libName));
+        dryRunOutputParser.processEvent(toEvent(createErrorMessageJSON(importers.get(0), libName)));
+        dryRunOutputParser.processEvent(toEvent(createErrorMessageJSON(importers.get(1), libName)));
 
         verifyMessage(dryRunOutputParser, 1, 2, libName, importers);
     }
@@ -168,14 +172,14 @@ public class RobotDryRunOutputParserTest {
     @Test
     public void testProcessLine_withFailMessages() {
         String libName = "lib1";
-        dryRunOutputParser.processLine(createFailMessageJSON(libName));
-        dryRunOutputParser.processLine(createFailMessageJSON(libName));
+        dryRunOutputParser.processEvent(toEvent(createFailMessageJSON(libName)));
+        dryRunOutputParser.processEvent(toEvent(createFailMessageJSON(libName)));
 
         verifyMessage(dryRunOutputParser, 0, 1, libName, new ArrayList<String>());
 
         libName = "lib2";
-        dryRunOutputParser.processLine(createFailMessageJSON(libName));
-        dryRunOutputParser.processLine(createFailMessageJSON(libName));
+        dryRunOutputParser.processEvent(toEvent(createFailMessageJSON(libName)));
+        dryRunOutputParser.processEvent(toEvent(createFailMessageJSON(libName)));
 
         verifyMessage(dryRunOutputParser, 1, 2, libName, new ArrayList<String>());
     }
@@ -187,15 +191,15 @@ public class RobotDryRunOutputParserTest {
         List<String> importers = newArrayList("testProject/testSuite1.robot", "testProject/testSuite2.robot");
         String source = null;
 
-        dryRunOutputParser.processLine(createFailMessageJSON(libName));
+        dryRunOutputParser.processEvent(toEvent(createFailMessageJSON(libName)));
         verifyMessage(dryRunOutputParser, 0, 1, libName, new ArrayList<String>());
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(0), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(0), source)));
         verifyLibraryImport(dryRunOutputParser, 0, 1, DryRunLibraryType.UNKNOWN, libName, args,
                 newArrayList(importers.get(0)), "");
 
-        dryRunOutputParser.processLine(createFailMessageJSON(libName));
+        dryRunOutputParser.processEvent(toEvent(createFailMessageJSON(libName)));
         verifyMessage(dryRunOutputParser, 0, 1, libName, new ArrayList<String>());
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(1), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(1), source)));
         verifyLibraryImport(dryRunOutputParser, 0, 1, DryRunLibraryType.UNKNOWN, libName, args, importers, "");
     }
 
@@ -206,17 +210,17 @@ public class RobotDryRunOutputParserTest {
         List<String> importers = newArrayList("testProject/testSuite1.robot");
         String source = "testProject/lib1.py";
 
-        dryRunOutputParser.processLine(createFailMessageJSON(libName));
+        dryRunOutputParser.processEvent(toEvent(createFailMessageJSON(libName)));
         verifyMessage(dryRunOutputParser, 0, 1, libName, new ArrayList<String>());
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(0), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(0), source)));
         verifyLibraryImport(dryRunOutputParser, 0, 1, DryRunLibraryType.UNKNOWN, libName, args, importers, "");
 
         libName = "lib2";
         source = "testProject/lib2.py";
 
-        dryRunOutputParser.processLine(createFailMessageJSON(libName));
+        dryRunOutputParser.processEvent(toEvent(createFailMessageJSON(libName)));
         verifyMessage(dryRunOutputParser, 1, 2, libName, new ArrayList<String>());
-        dryRunOutputParser.processLine(createLibraryImportJSON(libName, args, importers.get(0), source));
+        dryRunOutputParser.processEvent(toEvent(createLibraryImportJSON(libName, args, importers.get(0), source)));
         verifyLibraryImport(dryRunOutputParser, 1, 2, DryRunLibraryType.UNKNOWN, libName, args, importers, "");
     }
     
@@ -230,7 +234,25 @@ public class RobotDryRunOutputParserTest {
                 assertEquals(suiteName, name);
             }
         });
-        dryRunOutputParser.processLine(createStartSuiteJSON(suiteName));
+        dryRunOutputParser.processEvent(toEvent(createStartSuiteJSON(suiteName)));
+    }
+
+    @Test
+    public void testCollectImportedLibraries_fromOtherParser() {
+        final List<String> args = newArrayList();
+        dryRunOutputParser.processEvent(
+                toEvent(createLibraryImportJSON("lib1", args, "testProject/suite1.robot", "testProject/lib1.py")));
+
+        final RobotDryRunOutputParser otherParser = new RobotDryRunOutputParser();
+        otherParser.setupRobotDryRunLibraryImportCollector(new HashSet<String>());
+        otherParser.processEvent(
+                toEvent(createLibraryImportJSON("lib1", args, "testProject/suite2.robot", "testProject/lib1.py")));
+        otherParser.processEvent(toEvent(createFailMessageJSON("lib2")));
+        dryRunOutputParser.collectImportedLibraries(otherParser.getImportedLibraries());
+
+        verifyLibraryImport(dryRunOutputParser, 0, 2, DryRunLibraryType.PYTHON, "lib1", args,
+                newArrayList("testProject/suite1.robot", "testProject/suite2.robot"), "testProject/lib1.py");
+        verifyMessage(dryRunOutputParser, 1, 2, "lib2", new ArrayList<String>());
     }
 
     private void verifyLibraryImport(RobotDryRunOutputParser dryRunOutputParser, int importedLibraryIndex,
@@ -294,4 +316,12 @@ public class RobotDryRunOutputParserTest {
     private String createStartSuiteJSON(String suiteName) {
         return "{\"start_suite\":[\"" + suiteName + "\",{\"longname\":\"" + suiteName + "\"}]}";
     }
+
+    private static AgentEvent toEvent(final String json) {
+        try {
+            return new AgentEventReader(new StringReader(json)).nextEvent();
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
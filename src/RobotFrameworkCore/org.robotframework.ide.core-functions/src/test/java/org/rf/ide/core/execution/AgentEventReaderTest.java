@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class AgentEventReaderTest {
+
+    @Test
+    public void nothingIsRead_fromEmptyStream() throws IOException {
+        final AgentEventReader reader = new AgentEventReader(new StringReader(""));
+
+        assertThat(reader.nextEvent()).isNull();
+    }
+
+    @Test
+    public void eventsAreReadOneByOne_fromJsonLines() throws IOException {
+        final String content = "{\"pid\":[1234]}\n"
+                + "{\"start_test\":[\"test\",{\"longname\":\"Suite.test\",\"tags\":[\"a\",\"b\"]}]}\n"
+                + "{\"paused\":[]}\n";
+        final AgentEventReader reader = new AgentEventReader(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+
+        final AgentEvent pidEvent = reader.nextEvent();
+        assertThat(pidEvent.getName()).isEqualTo("pid");
+        assertThat(pidEvent.getArguments()).containsExactly(1234);
+
+        final AgentEvent startTestEvent = reader.nextEvent();
+        assertThat(startTestEvent.getName()).isEqualTo("start_test");
+        assertThat(startTestEvent.getStringArgument(0)).isEqualTo("test");
+        final Map<String, Object> details = startTestEvent.getMapArgument(1);
+        assertThat(details.get("longname")).isEqualTo("Suite.test");
+
+        final AgentEvent pausedEvent = reader.nextEvent();
+        assertThat(pausedEvent.getName()).isEqualTo("paused");
+        assertThat(pausedEvent.getArguments()).isEmpty();
+
+        assertThat(reader.nextEvent()).isNull();
+    }
+
+    @Test
+    public void valuesWhichAreNotEvents_areSkipped() throws IOException {
+        final AgentEventReader reader = new AgentEventReader(
+                new StringReader("{}\n[1, 2]\n\"text\"\n{\"close\":[]}\n"));
+
+        assertThat(reader.nextEvent().getName()).isEqualTo("close");
+        assertThat(reader.nextEvent()).isNull();
+    }
+
+    @Test
+    public void missingArgumentsAreReturnedAsEmpty() throws IOException {
+        final AgentEvent event = new AgentEventReader(new StringReader("{\"end_test\":[\"test\"]}")).nextEvent();
+
+        assertThat(event.getStringArgument(1)).isNull();
+        assertThat(event.getMapArgument(1)).isEmpty();
+    }
+}
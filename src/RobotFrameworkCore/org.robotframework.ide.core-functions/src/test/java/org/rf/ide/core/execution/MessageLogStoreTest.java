@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class MessageLogStoreTest {
+
+    private MessageLogStore store;
+
+    @After
+    public void afterTest() {
+        store.close();
+    }
+
+    @Test
+    public void linesAreVisible_onlyWhenEndedWithDelimiter() {
+        store = new MessageLogStore(1000, 3);
+
+        store.append("first\nsec");
+        assertThat(store.getLineCount()).isEqualTo(1);
+        assertThat(store.getCharCount()).isEqualTo(6);
+
+        store.append("ond\nthird\n");
+        assertThat(store.getLineCount()).isEqualTo(3);
+        assertThat(store.getCharCount()).isEqualTo(19);
+        assertThat(store.getLine(0)).isEqualTo("first");
+        assertThat(store.getLine(1)).isEqualTo("second");
+        assertThat(store.getLine(2)).isEqualTo("third");
+    }
+
+    @Test
+    public void linesAndOffsetsAreMapped_acrossChunks() {
+        store = new MessageLogStore(1000, 2);
+        store.append("a\nbb\nccc\ndddd\neeeee\n");
+
+        assertThat(store.getOffsetAtLine(0)).isEqualTo(0);
+        assertThat(store.getOffsetAtLine(3)).isEqualTo(9);
+        assertThat(store.getOffsetAtLine(5)).isEqualTo(20);
+        assertThat(store.getLineLength(4)).isEqualTo(5);
+
+        assertThat(store.getLineAtOffset(0)).isEqualTo(0);
+        assertThat(store.getLineAtOffset(1)).isEqualTo(0);
+        assertThat(store.getLineAtOffset(2)).isEqualTo(1);
+        assertThat(store.getLineAtOffset(8)).isEqualTo(2);
+        assertThat(store.getLineAtOffset(9)).isEqualTo(3);
+        assertThat(store.getLineAtOffset(19)).isEqualTo(4);
+        assertThat(store.getLineAtOffset(20)).isEqualTo(5);
+    }
+
+    @Test
+    public void oldestChunksAreSpilled_whenMemoryLimitIsExceeded_andLinesAreStillReadable() {
+        store = new MessageLogStore(100, 10);
+        for (int i = 0; i < 100; i++) {
+            store.append("line number " + i + " ą\n");
+        }
+
+        assertThat(store.getSpilledChunksCount()).isGreaterThanOrEqualTo(8);
+        for (int i = 0; i < 100; i++) {
+            assertThat(store.getLine(i)).isEqualTo("line number " + i + " ą");
+        }
+        assertThat(store.getOffsetAtLine(50)).isEqualTo(store.getOffsetAtLine(49) + store.getLineLength(49) + 1);
+    }
+
+    @Test
+    public void linesAreFiltered_byLevelAndTest() {
+        store = new MessageLogStore(0, 2);
+        store.append("20160101 12:00:00.000 : INFO : outside\n");
+        store.append("Starting test: Suite.T1\n");
+        store.append("20160101 12:00:00.000 : INFO : info 1\n");
+        store.append("20160101 12:00:00.000 : FAIL : fail 1\nsecond line of failure\n");
+        store.append("Ending test: Suite.T1\n\n");
+        store.append("Starting test: Suite.T2\n");
+        store.append("20160101 12:00:00.000 : INFO : info 2\n");
+        store.append("Ending test: Suite.T2\n\n");
+
+        assertThat(store.getLevels()).containsExactly("INFO", "FAIL");
+        assertThat(store.getTests()).containsExactly("Suite.T1", "Suite.T2");
+
+        assertThat(store.findLines("INFO", null, 0)).containsExactly(0, 2, 8);
+        assertThat(store.findLines("FAIL", null, 0)).containsExactly(3, 4);
+        assertThat(store.findLines(null, "Suite.T1", 0)).containsExactly(1, 2, 3, 4, 5);
+        assertThat(store.findLines("INFO", "Suite.T2", 0)).containsExactly(8);
+        assertThat(store.findLines("INFO", null, 3)).containsExactly(8);
+        assertThat(store.findLines("WARN", null, 0)).isEmpty();
+        assertThat(store.findLines(null, "Suite.T3", 0)).isEmpty();
+    }
+
+    @Test
+    public void everythingIsRemoved_whenStoreIsCleared() {
+        store = new MessageLogStore(0, 2);
+        store.append("a\nb\nc\nd\n");
+        final int generation = store.getGeneration();
+
+        store.clear();
+
+        assertThat(store.getGeneration()).isNotEqualTo(generation);
+        assertThat(store.getLineCount()).isEqualTo(0);
+        assertThat(store.getCharCount()).isEqualTo(0);
+        assertThat(store.getSpilledChunksCount()).isEqualTo(0);
+
+        store.append("e\n");
+        assertThat(store.getLine(0)).isEqualTo("e");
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.rf.ide.core.execution.AgentEvent;
+import org.rf.ide.core.execution.IAgentEventHandler;
+
+public class TestRunnerAgentHandlerTest {
+
+    @Test
+    public void eachEventIsPassedToAllListeners_inOrderOfSending() throws Exception {
+        final int port = findFreePort();
+        final int numberOfEvents = 100;
+        // small queue, so reading has to wait for slow listeners
+        final TestRunnerAgentHandler handler = new TestRunnerAgentHandler(port, 4);
+        final RecordingListener firstListener = new RecordingListener(numberOfEvents, 0);
+        final RecordingListener secondListener = new RecordingListener(numberOfEvents, 1);
+        handler.addListener(firstListener);
+        handler.addListener(secondListener);
+        new Thread(handler).start();
+
+        try (Socket socket = connect(port)) {
+            final OutputStream stream = socket.getOutputStream();
+            for (int i = 0; i < numberOfEvents; i++) {
+                stream.write(("{\"start_test\":[\"test " + i + "\",{}]}\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        assertThat(firstListener.await()).isTrue();
+        assertThat(secondListener.await()).isTrue();
+        assertThat(firstListener.events).hasSize(numberOfEvents);
+        for (int i = 0; i < numberOfEvents; i++) {
+            assertThat(firstListener.events.get(i).getStringArgument(0)).isEqualTo("test " + i);
+            assertThat(secondListener.events.get(i)).isSameAs(firstListener.events.get(i));
+        }
+    }
+
+    @Test
+    public void handlerFinishes_afterAllEventsAreDispatched() throws Exception {
+        final int port = findFreePort();
+        final int numberOfEvents = 20;
+        final TestRunnerAgentHandler handler = new TestRunnerAgentHandler(port, 4);
+        final RecordingListener listener = new RecordingListener(numberOfEvents, 5);
+        handler.addListener(listener);
+        final Thread handlerThread = new Thread(handler);
+        handlerThread.start();
+
+        try (Socket socket = connect(port)) {
+            final OutputStream stream = socket.getOutputStream();
+            for (int i = 0; i < numberOfEvents; i++) {
+                stream.write(("{\"start_test\":[\"test " + i + "\",{}]}\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        handlerThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(handlerThread.isAlive()).isFalse();
+        assertThat(listener.events).hasSize(numberOfEvents);
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Socket connect(final int port) throws Exception {
+        for (int i = 0; i < 50; i++) {
+            try {
+                return new Socket("localhost", port);
+            } catch (final ConnectException e) {
+                Thread.sleep(100);
+            }
+        }
+        throw new IllegalStateException("Unable to connect to handler");
+    }
+
+    private static class RecordingListener implements IAgentEventHandler {
+
+        private final List<AgentEvent> events = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch latch;
+
+        private final long delay;
+
+        RecordingListener(final int expectedEvents, final long delay) {
+            this.latch = new CountDownLatch(expectedEvents);
+            this.delay = delay;
+        }
+
+        boolean await() throws InterruptedException {
+            return latch.await(10, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void processEvent(final AgentEvent event) {
+            try {
+                Thread.sleep(delay);
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            events.add(event);
+            latch.countDown();
+        }
+    }
+}
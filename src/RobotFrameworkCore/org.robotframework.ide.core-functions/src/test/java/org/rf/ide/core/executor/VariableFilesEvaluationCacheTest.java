@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rf.ide.core.executor.VariableFilesEvaluationCache.FileStamp;
+
+import com.google.common.collect.ImmutableMap;
+
+public class VariableFilesEvaluationCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final VariableFilesEvaluationCache cache = new VariableFilesEvaluationCache();
+
+    @Test
+    public void evaluationIsReturned_onlyForTheSameInterpreterFileAndArguments() throws IOException {
+        final File varFile = createFile("vars.py", "a = 1");
+        final List<String> args = Arrays.asList("x", "y");
+        cache.put("python", varFile, args, cache.stampOf(varFile), ImmutableMap.<String, Object> of("${a}", 1));
+
+        assertThat(cache.get("python", varFile, Arrays.asList("x", "y"))).containsEntry("${a}", 1);
+        assertThat(cache.get("python", new File(varFile.getParentFile(), "./vars.py"), args))
+                .containsEntry("${a}", 1);
+        assertThat(cache.get("python", varFile, Collections.<String> emptyList())).isNull();
+        assertThat(cache.get("jython", varFile, args)).isNull();
+    }
+
+    @Test
+    public void evaluationIsNotReturned_whenFileHasChangedSinceStampWasTaken() throws IOException {
+        final File varFile = createFile("vars.py", "a = 1");
+        final FileStamp stamp = cache.stampOf(varFile);
+        Files.write(varFile.toPath(), "a = 1000".getBytes(StandardCharsets.UTF_8));
+        cache.put("python", varFile, Collections.<String> emptyList(), stamp,
+                ImmutableMap.<String, Object> of("${a}", 1000));
+
+        assertThat(cache.get("python", varFile, Collections.<String> emptyList())).isNull();
+    }
+
+    @Test
+    public void returnedVariables_canBeModifiedWithoutAffectingCache() throws IOException {
+        final File varFile = createFile("vars.py", "a = 1");
+        cache.put("python", varFile, Collections.<String> emptyList(), cache.stampOf(varFile),
+                ImmutableMap.<String, Object> of("${a}", 1));
+
+        final Map<String, Object> variables = cache.get("python", varFile, Collections.<String> emptyList());
+        variables.clear();
+
+        assertThat(cache.get("python", varFile, Collections.<String> emptyList())).containsEntry("${a}", 1);
+    }
+
+    @Test
+    public void onlyEvaluationsOfChangedFileAreRemoved_whenVariableFileChanges() throws IOException {
+        final File varFile1 = createFile("vars1.py", "a = 1");
+        final File varFile2 = createFile("vars2.py", "b = 2");
+        cache.put("python", varFile1, Collections.<String> emptyList(), cache.stampOf(varFile1),
+                ImmutableMap.<String, Object> of("${a}", 1));
+        cache.put("python", varFile1, Arrays.asList("arg"), cache.stampOf(varFile1),
+                ImmutableMap.<String, Object> of("${a}", 1));
+        cache.put("python", varFile2, Collections.<String> emptyList(), cache.stampOf(varFile2),
+                ImmutableMap.<String, Object> of("${b}", 2));
+
+        cache.fileChanged(varFile1);
+
+        assertThat(cache.get("python", varFile1, Collections.<String> emptyList())).isNull();
+        assertThat(cache.get("python", varFile1, Arrays.asList("arg"))).isNull();
+        assertThat(cache.get("python", varFile2, Collections.<String> emptyList())).isNotNull();
+    }
+
+    @Test
+    public void allEvaluationsAreRemoved_whenOtherPythonModuleChanges() throws IOException {
+        final File varFile = createFile("vars.py", "from consts import *");
+        cache.put("python", varFile, Collections.<String> emptyList(), cache.stampOf(varFile),
+                ImmutableMap.<String, Object> of("${a}", 1));
+
+        cache.fileChanged(createFile("notes.txt", ""));
+        assertThat(cache.get("python", varFile, Collections.<String> emptyList())).isNotNull();
+
+        cache.fileChanged(createFile("consts.py", "a = 2"));
+        assertThat(cache.get("python", varFile, Collections.<String> emptyList())).isNull();
+    }
+
+    private File createFile(final String name, final String content) throws IOException {
+        final File file = tempFolder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
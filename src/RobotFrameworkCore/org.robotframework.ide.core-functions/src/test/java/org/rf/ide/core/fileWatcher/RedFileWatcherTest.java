@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.fileWatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RedFileWatcherTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final RedFileWatcher watcher = new RedFileWatcher(200);
+
+    @After
+    public void afterTest() {
+        watcher.closeWatchService();
+    }
+
+    @Test
+    public void onlyHandlerOfModifiedPathIsNotified_whenFilesWithSameNameAreWatched() throws Exception {
+        final File firstFile = createFile("first", "lib.py");
+        final File secondFile = createFile("second", "lib.py");
+        final RecordingHandler firstHandler = new RecordingHandler();
+        final RecordingHandler secondHandler = new RecordingHandler();
+        watcher.registerPath(firstFile.getParentFile().toPath(), "lib.py", firstHandler);
+        watcher.registerPath(secondFile.getParentFile().toPath(), "lib.py", secondHandler);
+
+        modify(secondFile);
+
+        assertThat(secondHandler.nextBatch()).containsOnly(normalized(secondFile));
+        assertThat(firstHandler.nextBatch()).isNull();
+    }
+
+    @Test
+    public void repeatedModificationsAreCoalesced_intoSingleBatchPerHandler() throws Exception {
+        final File firstFile = createFile("lib", "first.py");
+        final File secondFile = createFile("lib", "second.py");
+        final RecordingHandler handler = new RecordingHandler();
+        watcher.registerPath(firstFile.getParentFile().toPath(), "first.py", handler);
+        watcher.registerPath(secondFile.getParentFile().toPath(), "second.py", handler);
+
+        for (int i = 0; i < 10; i++) {
+            modify(firstFile);
+            modify(secondFile);
+        }
+
+        assertThat(handler.nextBatch()).containsOnly(normalized(firstFile), normalized(secondFile));
+        assertThat(handler.nextBatch()).isNull();
+    }
+
+    @Test
+    public void handlerIsNotNotified_whenFileWasUnregistered() throws Exception {
+        final File file = createFile("lib", "lib.py");
+        final RecordingHandler handler = new RecordingHandler();
+        watcher.registerPath(file.getParentFile().toPath(), "lib.py", handler);
+        watcher.unregisterFile(file.getParentFile().toPath(), "lib.py", handler);
+
+        modify(file);
+
+        assertThat(handler.nextBatch()).isNull();
+    }
+
+    @Test
+    public void handlersAreInterrupted_whenServiceIsClosed() throws Exception {
+        final File file = createFile("lib", "lib.py");
+        final RecordingHandler handler = new RecordingHandler();
+        watcher.registerPath(file.getParentFile().toPath(), "lib.py", handler);
+
+        watcher.closeWatchService();
+
+        assertThat(handler.interruptions).isEqualTo(1);
+    }
+
+    private File createFile(final String dirName, final String fileName) throws IOException {
+        final File dir = new File(tempFolder.getRoot(), dirName);
+        dir.mkdirs();
+        final File file = new File(dir, fileName);
+        Files.write(file.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static void modify(final File file) throws IOException {
+        Files.write(file.toPath(), "modified".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path normalized(final File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
+    private static class RecordingHandler implements IWatchEventHandler {
+
+        private final BlockingQueue<List<Path>> batches = new LinkedBlockingQueue<>();
+
+        private int interruptions = 0;
+
+        List<Path> nextBatch() throws InterruptedException {
+            return batches.poll(2, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void registerPath(final Path dir, final String fileName, final IWatchEventHandler handler) {
+            // not used
+        }
+
+        @Override
+        public void unregisterFile(final Path dir, final String fileName, final IWatchEventHandler handler) {
+            // not used
+        }
+
+        @Override
+        public void watchServiceInterrupted() {
+            interruptions++;
+        }
+
+        @Override
+        public void handleModifyEvents(final Set<Path> modifiedFiles) {
+            batches.add(new ArrayList<>(modifiedFiles));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+import org.rf.ide.core.testdata.RobotParser.RobotParserConfig;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotProjectHolder;
+
+/**
+ * Parses synthetic project consisting of many suites which import shared resource files. Not run
+ * as a part of unit tests; launch main method with optional number of files (10 000 by default),
+ * number of measured rounds and number of parsing threads (1 by default).
+ */
+public class ProjectParsingBenchmark {
+
+    private static final int FILES_IN_DIRECTORY = 100;
+
+    private static final int RESOURCES = 20;
+
+    public static void main(final String[] args) throws IOException {
+        final int numberOfFiles = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        final int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        final Path projectDir = Files.createTempDirectory("red_benchmark");
+        try {
+            createProject(projectDir, numberOfFiles);
+
+            for (int i = 0; i < rounds; i++) {
+                final RobotProjectHolder holder = new RobotProjectHolder();
+                final RobotParserConfig cfg = new RobotParserConfig();
+                cfg.setEagerImport(true);
+                cfg.setParallelism(parallelism);
+                final RobotParser parser = RobotParser.create(holder, cfg);
+
+                final long start = System.nanoTime();
+                final List<RobotFileOutput> outputs = parser.parse(projectDir.toFile());
+                final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+                System.out.println(String.format("Round %d: %d files parsed in %d ms (%d files held in project)",
+                        i + 1, outputs.size(), elapsedMillis, holder.getNumberOfModelFiles()));
+            }
+        } finally {
+            delete(projectDir);
+        }
+    }
+
+    private static void createProject(final Path projectDir, final int numberOfFiles) throws IOException {
+        final Path resourcesDir = Files.createDirectory(projectDir.resolve("resources"));
+        for (int i = 0; i < RESOURCES; i++) {
+            write(resourcesDir.resolve("res_" + i + ".robot"),
+                    "*** Keywords ***\n" + "kw " + i + "\n" + "    [Arguments]    ${arg}\n" + "    Log    ${arg}\n");
+        }
+
+        Path suitesDir = null;
+        for (int i = 0; i < numberOfFiles - RESOURCES; i++) {
+            if (i % FILES_IN_DIRECTORY == 0) {
+                suitesDir = Files.createDirectory(projectDir.resolve("suites_" + i / FILES_IN_DIRECTORY));
+            }
+            final int resource = i % RESOURCES;
+            write(suitesDir.resolve("suite_" + i + ".robot"),
+                    "*** Settings ***\n" + "Resource    ../resources/res_" + resource + ".robot\n"
+                            + "*** Variables ***\n" + "${var}    " + i + "\n" + "*** Test Cases ***\n" + "case " + i
+                            + "\n" + "    kw " + resource + "    ${var}\n" + "    Log    done\n");
+        }
+    }
+
+    private static void write(final Path file, final String content) throws IOException {
+        Files.write(file, content.getBytes(Charset.forName("UTF-8")));
+    }
+
+    private static void delete(final Path dir) throws IOException {
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
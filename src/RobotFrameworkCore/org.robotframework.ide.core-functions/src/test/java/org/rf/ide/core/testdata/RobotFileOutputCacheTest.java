@@ -0,0 +1,285 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rf.ide.core.testdata.model.AModelElement;
+import org.rf.ide.core.testdata.model.RobotFile;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotFileOutput.BuildMessage;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.model.table.RobotExecutableRow;
+import org.rf.ide.core.testdata.model.table.keywords.UserKeyword;
+import org.rf.ide.core.testdata.model.table.testcases.TestCase;
+import org.rf.ide.core.testdata.model.table.variables.AVariable;
+import org.rf.ide.core.testdata.text.read.IRobotLineElement;
+import org.rf.ide.core.testdata.text.read.RobotLine;
+import org.rf.ide.core.testdata.text.read.TxtRobotFileParser;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+
+public class RobotFileOutputCacheTest {
+
+    private static final RobotVersion VERSION = RobotVersion.from("2.9");
+
+    private static final byte[] CONTENT = ("*** Settings ***\n"
+            + "Documentation    suite doc\n"
+            + "Library    Collections\n"
+            + "Resource    res.robot\n"
+            + "*** Variables ***\n"
+            + "${var}    1\n"
+            + "@{list}    1    2\n"
+            + "*** Test Cases ***\n"
+            + "case\n"
+            + "    [Tags]    a    b\n"
+            + "    ${x}=    kw    ${var}\n"
+            + "    Log    @{list}    # comment\n"
+            + "*** Keywords ***\n"
+            + "kw\n"
+            + "    [Documentation]    first    second\n"
+            + "    ...    third    # doc comment\n"
+            + "    [Arguments]    ${arg}\n"
+            + "    [Return]    ${arg}\n").getBytes(Charset.forName("UTF-8"));
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void storedOutput_isLoadedWithTheSameModelAsParsedOutput() throws Exception {
+        final File file = new File("suite.robot");
+        final RobotFileOutputCache cache = new RobotFileOutputCache(tempFolder.getRoot(), "1.0");
+
+        final RobotFileOutput parsed = parse(file, CONTENT);
+        cache.store(file, CONTENT, parsed);
+        final RobotFileOutput loaded = cache.load(file, CONTENT, VERSION);
+
+        assertThat(loaded).isNotNull().isNotSameAs(parsed);
+        assertThat(loaded.getProcessedFile()).isEqualTo(file);
+        assertThat(loaded.getStatus()).isEqualTo(parsed.getStatus());
+        assertThat(loaded.getFileModel().getParent()).isSameAs(loaded);
+        assertThat(loaded.getFileModel().getTestCaseTable().getTestCases().get(0).getParent())
+                .isSameAs(loaded.getFileModel().getTestCaseTable());
+        assertThat(loaded.getFileModel().getKeywordTable().getKeywords().get(0).getDocumentation().get(0).getParent())
+                .isSameAs(loaded.getFileModel().getKeywordTable().getKeywords().get(0));
+        assertThat(dump(loaded)).isEqualTo(dump(parsed));
+    }
+
+    @Test
+    public void storedOutputsOfAllTestResourceFiles_areLoadedWithTheSameModelAsParsedOutputs() throws Exception {
+        final RobotFileOutputCache cache = new RobotFileOutputCache(tempFolder.getRoot(), "1.0");
+
+        final List<File> files = new ArrayList<>();
+        collectFiles(new File(RobotFileOutputCacheTest.class.getResource("/org/rf/ide/core/testdata").toURI()), files);
+        assertThat(files.size()).isGreaterThan(100);
+
+        for (final File file : files) {
+            final byte[] content = Files.readAllBytes(file.toPath());
+            cache.store(file, content, parse(file, content));
+
+            assertThat(dump(cache.load(file, content, VERSION))).as(file.getPath())
+                    .isEqualTo(dump(parse(file, content)));
+        }
+    }
+
+    @Test
+    public void storedOutput_isLoadedForOtherFileWithTheSameContent() throws Exception {
+        final RobotFileOutputCache cache = new RobotFileOutputCache(tempFolder.getRoot(), "1.0");
+
+        cache.store(new File("suite.robot"), CONTENT, parse(new File("suite.robot"), CONTENT));
+        final RobotFileOutput loaded = cache.load(new File("dir/other.robot"), CONTENT, VERSION);
+
+        assertThat(loaded).isNotNull();
+        assertThat(loaded.getProcessedFile()).isEqualTo(new File("dir/other.robot"));
+    }
+
+    @Test
+    public void buildMessagesOfStoredOutput_pointToFileForWhichOutputIsLoaded() throws Exception {
+        final File file = new File("suite.robot");
+        final File otherFile = new File("dir/other.robot");
+        final RobotFileOutputCache cache = new RobotFileOutputCache(tempFolder.getRoot(), "1.0");
+
+        final RobotFileOutput parsed = parse(file, CONTENT);
+        parsed.addBuildMessage(BuildMessage.createWarnMessage("absolute", file.getAbsolutePath()));
+        parsed.addBuildMessage(BuildMessage.createWarnMessage("described", "File " + file));
+        cache.store(file, CONTENT, parsed);
+
+        final List<BuildMessage> messages = cache.load(otherFile, CONTENT, VERSION).getBuildingMessages();
+        assertThat(messages).hasSize(2);
+        assertThat(messages.get(0).getFileName()).isEqualTo(otherFile.getAbsolutePath());
+        assertThat(messages.get(1).getFileName()).isEqualTo("File " + otherFile);
+
+        assertThat(cache.load(file, CONTENT, VERSION).getBuildingMessages().get(0).getFileName())
+                .isEqualTo(file.getAbsolutePath());
+    }
+
+    @Test
+    public void nothingIsLoaded_whenContentVersionsOrExtensionAreDifferent() throws Exception {
+        final File file = new File("suite.robot");
+        final RobotFileOutputCache cache = new RobotFileOutputCache(tempFolder.getRoot(), "1.0");
+        cache.store(file, CONTENT, parse(file, CONTENT));
+
+        final byte[] changedContent = CONTENT.clone();
+        changedContent[changedContent.length - 2]++;
+
+        assertThat(cache.load(file, changedContent, VERSION)).isNull();
+        assertThat(cache.load(file, CONTENT, RobotVersion.from("3.0"))).isNull();
+        assertThat(cache.load(new File("suite.txt"), CONTENT, VERSION)).isNull();
+        assertThat(new RobotFileOutputCache(tempFolder.getRoot(), "1.1").load(file, CONTENT, VERSION)).isNull();
+    }
+
+    @Test
+    public void corruptedEntry_isNotLoadedAndIsRemoved() throws Exception {
+        final File file = new File("suite.robot");
+        final RobotFileOutputCache cache = new RobotFileOutputCache(tempFolder.getRoot(), "1.0");
+        cache.store(file, CONTENT, parse(file, CONTENT));
+
+        final File[] entries = tempFolder.getRoot().listFiles();
+        assertThat(entries).hasSize(1);
+        Files.write(entries[0].toPath(), new byte[] { 1, 2, 3 });
+
+        assertThat(cache.load(file, CONTENT, VERSION)).isNull();
+        assertThat(tempFolder.getRoot().listFiles()).isEmpty();
+    }
+
+    @Test
+    public void allEntriesAreRemoved_whenCacheIsCleared() throws Exception {
+        final File file = new File("suite.robot");
+        final RobotFileOutputCache cache = new RobotFileOutputCache(tempFolder.getRoot(), "1.0");
+        cache.store(file, CONTENT, parse(file, CONTENT));
+
+        cache.clear();
+
+        assertThat(cache.load(file, CONTENT, VERSION)).isNull();
+        assertThat(tempFolder.getRoot().listFiles()).isEmpty();
+    }
+
+    @Test
+    public void entriesOfOtherVersionsAndTemporaryFiles_areRemovedWhenCacheIsUsedFirstTime() throws Exception {
+        final File file = new File("suite.robot");
+        new RobotFileOutputCache(tempFolder.getRoot(), "1.0").store(file, CONTENT, parse(file, CONTENT));
+        tempFolder.newFile("interrupted.tmp");
+        tempFolder.newFile("other.txt");
+
+        final RobotFileOutputCache cache = new RobotFileOutputCache(tempFolder.getRoot(), "1.1");
+
+        assertThat(cache.load(file, CONTENT, VERSION)).isNull();
+        assertThat(tempFolder.getRoot().list()).containsOnly("other.txt");
+    }
+
+    @Test
+    public void leastRecentlyUsedEntries_areRemovedWhenLimitIsExceeded() throws Exception {
+        final File file = new File("suite.robot");
+        final RobotFileOutputCache cache = new RobotFileOutputCache(tempFolder.getRoot(), "1.0", 4);
+        final List<byte[]> contents = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final byte[] content = CONTENT.clone();
+            content[content.length - 2] += i;
+            contents.add(content);
+        }
+        for (int i = 0; i < 4; i++) {
+            cache.store(file, contents.get(i), parse(file, contents.get(i)));
+        }
+        for (final File entry : tempFolder.getRoot().listFiles()) {
+            entry.setLastModified(1000L);
+        }
+        assertThat(cache.load(file, contents.get(2), VERSION)).isNotNull();
+
+        cache.store(file, contents.get(4), parse(file, contents.get(4)));
+
+        assertThat(tempFolder.getRoot().listFiles()).hasSize(3);
+        assertThat(cache.load(file, contents.get(2), VERSION)).isNotNull();
+        assertThat(cache.load(file, contents.get(4), VERSION)).isNotNull();
+    }
+
+    private static void collectFiles(final File fileOrDir, final List<File> files) {
+        if (fileOrDir.isDirectory()) {
+            for (final File child : fileOrDir.listFiles()) {
+                collectFiles(child, files);
+            }
+        } else if (fileOrDir.getName().endsWith(".robot") || fileOrDir.getName().endsWith(".txt")) {
+            files.add(fileOrDir);
+        }
+    }
+
+    private static RobotFileOutput parse(final File file, final byte[] content) {
+        final RobotFileOutput output = new RobotFileOutput(VERSION);
+        new TxtRobotFileParser().parse(output, new ByteArrayInputStream(content), file);
+        return output;
+    }
+
+    private static String dump(final RobotFileOutput output) {
+        final StringBuilder dump = new StringBuilder();
+        final RobotFile model = output.getFileModel();
+        for (final RobotLine line : model.getFileContent()) {
+            dump.append("line ").append(line.getLineNumber()).append(line.getParent() == model).append('\n');
+            for (final IRobotLineElement element : line.getLineElements()) {
+                dump(dump, element);
+            }
+            dump(dump, line.getEndOfLine());
+        }
+        for (final AModelElement<?> setting : model.getSettingTable().getImports()) {
+            dump(dump, setting);
+        }
+        for (final AModelElement<?> doc : model.getSettingTable().getDocumentation()) {
+            dump(dump, doc);
+        }
+        for (final TestCase test : model.getTestCaseTable().getTestCases()) {
+            dump(dump, test);
+            for (final RobotExecutableRow<TestCase> row : test.getTestExecutionRows()) {
+                dump(dump, row);
+            }
+        }
+        for (final UserKeyword keyword : model.getKeywordTable().getKeywords()) {
+            dump(dump, keyword);
+            for (final AModelElement<?> doc : keyword.getDocumentation()) {
+                dump(dump, doc);
+            }
+            for (final RobotExecutableRow<UserKeyword> row : keyword.getKeywordExecutionRows()) {
+                dump(dump, row);
+            }
+        }
+        for (final AVariable variable : model.getVariableTable().getVariables()) {
+            dump(dump, variable);
+        }
+        dump.append(output.getResourceImportReferences().size())
+                .append(' ')
+                .append(output.getDocumentationCacher().getUnmodificableCacheContent().size())
+                .append(' ')
+                .append(output.getBuildingMessages().size());
+        return dump.toString();
+    }
+
+    private static void dump(final StringBuilder dump, final AModelElement<?> element) {
+        dump.append(element.getClass().getSimpleName()).append(' ').append(element.getBeginPosition()).append('\n');
+        for (final RobotToken token : element.getElementTokens()) {
+            dump(dump, token);
+        }
+    }
+
+    private static void dump(final StringBuilder dump, final IRobotLineElement element) {
+        dump.append("  ")
+                .append(element.getClass().getSimpleName())
+                .append(" '")
+                .append(element.getRaw())
+                .append("' '")
+                .append(element.getText())
+                .append("' ")
+                .append(element.getTypes())
+                .append(' ')
+                .append(element.getFilePosition())
+                .append('\n');
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+
+import org.junit.Test;
+import org.rf.ide.core.testdata.importer.ResourceImportReference;
+import org.rf.ide.core.testdata.importer.VariablesFileImportReference;
+import org.rf.ide.core.testdata.model.FilePosition;
+import org.rf.ide.core.testdata.model.FileRegion;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotFileOutput.BuildMessage;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.text.read.TxtRobotFileParser;
+
+public class RobotFileOutputCopierTest {
+
+    private static final File FILE = new File("suite.robot");
+
+    private static final String CONTENT = "*** Settings ***\n"
+            + "Resource    res.robot\n"
+            + "*** Test Cases ***\n"
+            + "case\n"
+            + "    Log    1\n";
+
+    @Test
+    public void copiedOutput_hasSameContentButIsIndependentOfOriginal() {
+        final RobotFileOutput output = parse(CONTENT);
+
+        final RobotFileOutput copy = RobotFileOutputCopier.copy(output);
+
+        assertThat(copy).isNotSameAs(output);
+        assertThat(copy.getProcessedFile()).isEqualTo(FILE);
+        assertThat(copy.getStatus()).isEqualTo(output.getStatus());
+        assertThat(copy.getFileModel().getParent()).isSameAs(copy);
+        assertThat(copy.getFileModel().getFileContent()).hasSameSizeAs(output.getFileModel().getFileContent());
+        assertThat(copy.getFileModel().getFileContent().get(4)).isNotSameAs(
+                output.getFileModel().getFileContent().get(4));
+        assertThat(copy.getFileModel().getTestCaseTable().getTestCases().get(0).getTestName().getFilePosition())
+                .isEqualTo(output.getFileModel().getTestCaseTable().getTestCases().get(0).getTestName()
+                        .getFilePosition());
+    }
+
+    @Test
+    public void buildMessagesAreCopied_butImportsAreNot() {
+        final RobotFileOutput output = parse(CONTENT);
+        final BuildMessage message = BuildMessage.createWarnMessage("warning", FILE.getAbsolutePath());
+        message.setFileRegion(new FileRegion(new FilePosition(2, 0, 17), new FilePosition(2, 4, 21)));
+        output.addBuildMessage(message);
+        output.addResourceReference(new ResourceImportReference(null, new RobotFileOutput(output.getRobotVersion())));
+        output.setVariablesImportReferences(new ArrayList<VariablesFileImportReference>());
+
+        final RobotFileOutput copy = RobotFileOutputCopier.copy(output);
+
+        assertThat(copy.getBuildingMessages()).hasSize(1);
+        assertThat(copy.getBuildingMessages().get(0).getMessage()).isEqualTo("warning");
+        assertThat(copy.getBuildingMessages().get(0).getFileName()).isEqualTo(FILE.getAbsolutePath());
+        assertThat(copy.getBuildingMessages().get(0).getFileRegion().getEnd().getOffset()).isEqualTo(21);
+        assertThat(copy.getResourceImportReferences()).isEmpty();
+        assertThat(copy.getResolvedVariablesImportReferences()).isNull();
+    }
+
+    private static RobotFileOutput parse(final String content) {
+        final RobotFileOutput output = new RobotFileOutput(RobotVersion.from("2.9"));
+        new TxtRobotFileParser().parse(output, new ByteArrayInputStream(content.getBytes(Charset.forName("UTF-8"))),
+                FILE);
+        return output;
+    }
+}
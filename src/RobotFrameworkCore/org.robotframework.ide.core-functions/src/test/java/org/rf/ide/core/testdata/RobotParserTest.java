@@ -15,7 +15,9 @@ import java.util.List;
 import org.junit.Test;
 import org.mockito.InOrder;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.testdata.RobotParser.RobotParserConfig;
 import org.rf.ide.core.testdata.importer.ResourceImportReference;
+import org.rf.ide.core.testdata.model.AModelElement;
 import org.rf.ide.core.testdata.model.FilePosition;
 import org.rf.ide.core.testdata.model.RobotFile;
 import org.rf.ide.core.testdata.model.RobotFileOutput;
@@ -26,12 +28,14 @@ import org.rf.ide.core.testdata.model.table.TestCaseTable;
 import org.rf.ide.core.testdata.model.table.VariableTable;
 import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor;
 import org.rf.ide.core.testdata.model.table.exec.descs.RobotAction;
+import org.rf.ide.core.testdata.model.table.keywords.UserKeyword;
 import org.rf.ide.core.testdata.model.table.testcases.TestCase;
 import org.rf.ide.core.testdata.model.table.variables.AVariable;
 import org.rf.ide.core.testdata.model.table.variables.AVariable.VariableType;
 import org.rf.ide.core.testdata.model.table.variables.ScalarVariable;
 import org.rf.ide.core.testdata.model.table.variables.UnknownVariable;
 import org.rf.ide.core.testdata.text.read.EndOfLineBuilder.EndOfLineTypes;
+import org.rf.ide.core.testdata.text.read.IRobotLineElement;
 import org.rf.ide.core.testdata.text.read.RobotLine;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 
@@ -227,6 +231,85 @@ public class RobotParserTest {
 
     }
 
+    @Test
+    public void parallelParsingOfDirectory_givesSameOutputInSameOrderAsSequentialParsing() throws Exception {
+        final File directory = new File(this.getClass().getResource("parser").toURI());
+
+        final List<RobotFileOutput> sequentialOutput = createParserWithParallelism(1).parse(directory);
+        final List<RobotFileOutput> parallelOutput = createParserWithParallelism(4).parse(directory);
+
+        assertThat(parallelOutput).hasSameSizeAs(sequentialOutput).isNotEmpty();
+        for (int i = 0; i < sequentialOutput.size(); i++) {
+            assertThat(dump(parallelOutput.get(i))).isEqualTo(dump(sequentialOutput.get(i)));
+        }
+    }
+
+    private static String dump(final RobotFileOutput output) {
+        final StringBuilder dump = new StringBuilder();
+        dump.append(output.getProcessedFile()).append(' ').append(output.getStatus()).append('\n');
+        final RobotFile model = output.getFileModel();
+        for (final RobotLine line : model.getFileContent()) {
+            dump.append("line ").append(line.getLineNumber()).append('\n');
+            for (final IRobotLineElement element : line.getLineElements()) {
+                dump(dump, element);
+            }
+            dump(dump, line.getEndOfLine());
+        }
+        for (final AModelElement<?> setting : model.getSettingTable().getImports()) {
+            dump(dump, setting);
+        }
+        for (final AVariable variable : model.getVariableTable().getVariables()) {
+            dump(dump, variable);
+        }
+        for (final TestCase test : model.getTestCaseTable().getTestCases()) {
+            dump(dump, test);
+            for (final RobotExecutableRow<TestCase> row : test.getTestExecutionRows()) {
+                dump(dump, row);
+            }
+        }
+        for (final UserKeyword keyword : model.getKeywordTable().getKeywords()) {
+            dump(dump, keyword);
+            for (final RobotExecutableRow<UserKeyword> row : keyword.getKeywordExecutionRows()) {
+                dump(dump, row);
+            }
+        }
+        for (final ResourceImportReference reference : output.getResourceImportReferences()) {
+            dump.append("resource ").append(reference.getReference().getProcessedFile()).append('\n');
+        }
+        return dump.toString();
+    }
+
+    private static void dump(final StringBuilder dump, final AModelElement<?> element) {
+        dump.append(element.getClass().getSimpleName()).append(' ').append(element.getBeginPosition()).append('\n');
+        for (final RobotToken token : element.getElementTokens()) {
+            dump(dump, token);
+        }
+    }
+
+    private static void dump(final StringBuilder dump, final IRobotLineElement element) {
+        dump.append("  ")
+                .append(element.getClass().getSimpleName())
+                .append(" '")
+                .append(element.getRaw())
+                .append("' ")
+                .append(element.getTypes())
+                .append(' ')
+                .append(element.getFilePosition())
+                .append('\n');
+    }
+
+    private static RobotParser createParserWithParallelism(final int parallelism) {
+        final RobotRuntimeEnvironment runtime = mock(RobotRuntimeEnvironment.class);
+        when(runtime.getVersion()).thenReturn("2.9");
+        final RobotProjectHolder projectHolder = spy(RobotProjectHolder.class);
+        when(projectHolder.getRobotRuntime()).thenReturn(runtime);
+
+        final RobotParserConfig cfg = new RobotParserConfig();
+        cfg.setEagerImport(true);
+        cfg.setParallelism(parallelism);
+        return RobotParser.create(projectHolder, cfg);
+    }
+
     @Test
     public void testGivenFileTSV_withVariableTable_withOneWrongVariable_andOneCorrect_thenCheckRawAndTextParameter()
             throws Exception {
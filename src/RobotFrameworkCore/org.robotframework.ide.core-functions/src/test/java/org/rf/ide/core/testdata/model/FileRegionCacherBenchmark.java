@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import org.rf.ide.core.testdata.text.read.TxtRobotFileParser;
+
+/**
+ * Compares documentation lookups by offset and line done by {@link FileRegionCacher} with scanning
+ * regions of all documentations, in suite of about 10 000 lines with thousands of documented
+ * keywords. Not run as a part of unit tests; launch main method with optional number of keywords
+ * (2 000 by default), number of lookups in each round and number of measured rounds.
+ */
+public class FileRegionCacherBenchmark {
+
+    public static void main(final String[] args) {
+        final int numberOfKeywords = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        final int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        final String content = createSuite(numberOfKeywords);
+        final RobotFileOutput output = new RobotFileOutput(RobotVersion.from("2.9"));
+        new TxtRobotFileParser().parse(output, new ByteArrayInputStream(content.getBytes(Charset.forName("UTF-8"))),
+                new File("suite.robot"));
+        final FileRegionCacher<IDocumentationHolder> cacher = output.getDocumentationCacher();
+        final int numberOfLines = output.getFileModel().getFileContent().size();
+
+        System.out.println(String.format("Suite with %d lines and %d documentations", numberOfLines,
+                cacher.getUnmodificableCacheContent().size()));
+
+        final Random random = new Random(42);
+        for (int i = 0; i < rounds; i++) {
+            final int[] offsets = new int[lookups];
+            final int[] lines = new int[lookups];
+            for (int j = 0; j < lookups; j++) {
+                offsets[j] = random.nextInt(content.length());
+                lines[j] = 1 + random.nextInt(numberOfLines);
+            }
+
+            long start = System.nanoTime();
+            int scanned = 0;
+            for (int j = 0; j < lookups; j++) {
+                scanned += scanByOffset(cacher, offsets[j]) + scanByLine(cacher, lines[j]);
+            }
+            final long scanningNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int found = 0;
+            for (int j = 0; j < lookups; j++) {
+                found += cacher.findByOffset(offsets[j]).size() + cacher.findByLineNumber(lines[j]).size();
+            }
+            final long indexedNanos = System.nanoTime() - start;
+
+            System.out.println(String.format(
+                    "Round %d: scanning %d lookups/s (%d found), indexed %d lookups/s (%d found)", i + 1,
+                    perSecond(2 * lookups, scanningNanos), scanned, perSecond(2 * lookups, indexedNanos), found));
+        }
+    }
+
+    private static int scanByOffset(final FileRegionCacher<IDocumentationHolder> cacher, final int offset) {
+        int found = 0;
+        for (final IRegionCacheable<IDocumentationHolder> element : cacher.getUnmodificableCacheContent()) {
+            for (final FileRegion region : element.getContinuousRegions()) {
+                if (region.getStart().getOffset() > FilePosition.NOT_SET && region.isInside(offset)) {
+                    found++;
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int scanByLine(final FileRegionCacher<IDocumentationHolder> cacher, final int line) {
+        int found = 0;
+        for (final IRegionCacheable<IDocumentationHolder> element : cacher.getUnmodificableCacheContent()) {
+            for (final FileRegion region : element.getContinuousRegions()) {
+                if (region.containsLine(line)) {
+                    found++;
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static long perSecond(final int count, final long nanos) {
+        return nanos == 0 ? 0 : count * 1_000_000_000L / nanos;
+    }
+
+    private static String createSuite(final int numberOfKeywords) {
+        final StringBuilder content = new StringBuilder();
+        content.append("*** Settings ***\n");
+        content.append("Documentation    suite documentation\n");
+        content.append("*** Test Cases ***\n");
+        for (int i = 0; i < numberOfKeywords / 4; i++) {
+            content.append("case ").append(i).append('\n');
+            content.append("    [Documentation]    case ").append(i).append('\n');
+            content.append("    kw ").append(i).append("    arg\n");
+        }
+        content.append("*** Keywords ***\n");
+        for (int i = 0; i < numberOfKeywords; i++) {
+            content.append("kw ").append(i).append('\n');
+            content.append("    [Arguments]    ${arg}\n");
+            content.append("    [Documentation]    documentation of kw ").append(i).append('\n');
+            content.append("    ...    continued in second line\n");
+            content.append("    Log    ${arg}\n");
+        }
+        return content.toString();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class FileRegionCacherTest {
+
+    @Test
+    public void nothingIsFound_whenNothingIsRegistered() {
+        final FileRegionCacher<String> cacher = new FileRegionCacher<>();
+
+        assertThat(cacher.findByOffset(0)).isEmpty();
+        assertThat(cacher.findByLineNumber(1)).isEmpty();
+    }
+
+    @Test
+    public void elementsContainingPositionAreFound_inRegistrationOrder() {
+        final FileRegionCacher<String> cacher = new FileRegionCacher<>();
+        final Element outer = new Element("outer", region(1, 0, 10, 200));
+        final Element first = new Element("first", region(2, 20, 3, 40));
+        final Element second = new Element("second", region(5, 60, 6, 80), region(8, 120, 9, 140));
+        cacher.register(second);
+        cacher.register(outer);
+        cacher.register(first);
+
+        assertThat(cacher.findByOffset(30)).containsExactly(outer, first);
+        assertThat(cacher.findByOffset(60)).containsExactly(second, outer);
+        assertThat(cacher.findByOffset(100)).containsExactly(outer);
+        assertThat(cacher.findByOffset(130)).containsExactly(second, outer);
+        assertThat(cacher.findByOffset(201)).isEmpty();
+        assertThat(cacher.findByOffset(-1)).isEmpty();
+
+        assertThat(cacher.findByLineNumber(3)).containsExactly(outer, first);
+        assertThat(cacher.findByLineNumber(7)).containsExactly(outer);
+        assertThat(cacher.findByLineNumber(9)).containsExactly(second, outer);
+        assertThat(cacher.findByLineNumber(11)).isEmpty();
+        assertThat(cacher.findByLineNumber(-1)).isEmpty();
+    }
+
+    @Test
+    public void regionsAreComputed_whenCacherIsQueriedAfterRegistration() {
+        final FileRegionCacher<String> cacher = new FileRegionCacher<>();
+        final Element element = new Element("element");
+        cacher.register(element);
+
+        element.regions.add(region(1, 0, 1, 10));
+
+        assertThat(cacher.findByOffset(5)).containsExactly(element);
+    }
+
+    @Test
+    public void unregisteredElementsAreNotFound() {
+        final FileRegionCacher<String> cacher = new FileRegionCacher<>();
+        final Element first = new Element("first", region(1, 0, 2, 20));
+        final Element second = new Element("second", region(1, 0, 2, 20));
+        cacher.register(first);
+        cacher.register(second);
+        assertThat(cacher.findByOffset(10)).containsExactly(first, second);
+
+        cacher.unregister(first);
+
+        assertThat(cacher.findByOffset(10)).containsExactly(second);
+        assertThat(cacher.findByLineNumber(2)).containsExactly(second);
+        assertThat(cacher.getUnmodificableCacheContent()).containsExactly(second);
+    }
+
+    @Test
+    public void regionsAfterGivenPositionAreShifted() {
+        final FileRegionCacher<String> cacher = new FileRegionCacher<>();
+        final Element before = new Element("before", region(1, 0, 2, 20));
+        final Element after = new Element("after", region(5, 50, 6, 70));
+        cacher.register(before);
+        cacher.register(after);
+        assertThat(cacher.findByOffset(60)).containsExactly(after);
+
+        cacher.shiftRegions(5, 50, 2, 15);
+
+        assertThat(cacher.findByOffset(10)).containsExactly(before);
+        assertThat(cacher.findByOffset(60)).isEmpty();
+        assertThat(cacher.findByOffset(75)).containsExactly(after);
+        assertThat(cacher.findByLineNumber(5)).isEmpty();
+        assertThat(cacher.findByLineNumber(7)).containsExactly(after);
+    }
+
+    private static FileRegion region(final int startLine, final int startOffset, final int endLine,
+            final int endOffset) {
+        return new FileRegion(new FilePosition(startLine, 0, startOffset), new FilePosition(endLine, 0, endOffset));
+    }
+
+    private static class Element implements IRegionCacheable<String> {
+
+        private final String name;
+
+        private final List<FileRegion> regions;
+
+        Element(final String name, final FileRegion... regions) {
+            this.name = name;
+            this.regions = new ArrayList<>(Arrays.asList(regions));
+        }
+
+        @Override
+        public List<FileRegion> getContinuousRegions() {
+            return regions;
+        }
+
+        @Override
+        public String getCached() {
+            return name;
+        }
+    }
+}
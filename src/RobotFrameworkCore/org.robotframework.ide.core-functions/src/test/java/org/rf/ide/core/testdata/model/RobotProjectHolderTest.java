@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.rf.ide.core.testdata.importer.VariablesFileImportReference;
+
+public class RobotProjectHolderTest {
+
+    @Test
+    public void fileIsFoundByPath_evenWhenPathIsNotNormalized() {
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final RobotFileOutput output = createOutput(new File("dir/suite.robot"));
+        holder.addModelFile(output);
+
+        assertThat(holder.findFileByName(new File("dir/suite.robot"))).isSameAs(output);
+        assertThat(holder.findFileByName(new File("dir/other/../suite.robot"))).isSameAs(output);
+        assertThat(holder.findFileByName(new File("dir/suite.robot").getAbsoluteFile())).isSameAs(output);
+        assertThat(holder.findFileByName(new File("suite.robot"))).isNull();
+    }
+
+    @Test
+    public void fileAddedForTheSamePath_replacesPreviousOne() {
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final RobotFileOutput output1 = createOutput(new File("suite.robot"));
+        final RobotFileOutput output2 = createOutput(new File("suite.robot"));
+        holder.addModelFile(output1);
+        holder.addModelFile(output2);
+
+        assertThat(holder.getNumberOfModelFiles()).isEqualTo(1);
+        assertThat(holder.findFileByName(new File("suite.robot"))).isSameAs(output2);
+    }
+
+    @Test
+    public void onlyHeldFileIsRemoved() {
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final RobotFileOutput output1 = createOutput(new File("suite.robot"));
+        final RobotFileOutput output2 = createOutput(new File("suite.robot"));
+        holder.addModelFile(output1);
+
+        holder.removeModelFile(output2);
+        assertThat(holder.findFileByName(new File("suite.robot"))).isSameAs(output1);
+
+        holder.removeModelFile(output1);
+        assertThat(holder.findFileByName(new File("suite.robot"))).isNull();
+        assertThat(holder.getNumberOfModelFiles()).isEqualTo(0);
+    }
+
+    @Test
+    public void filesImportingVariableFile_areFoundUsingTheirResolvedImports() {
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final RobotFileOutput output1 = createOutput(new File("suite1.robot"), new File("vars.py"));
+        final RobotFileOutput output2 = createOutput(new File("suite2.robot"), new File("vars.py"),
+                new File("other.py"));
+        final RobotFileOutput output3 = createOutput(new File("suite3.robot"), new File("other.py"));
+        holder.addModelFile(output1);
+        holder.addModelFile(output2);
+        holder.addModelFile(output3);
+
+        assertThat(holder.findFilesWithImportedVariableFile(new File("vars.py"))).containsOnly(output1, output2);
+        assertThat(holder.findFilesWithImportedVariableFile(new File("other.py"))).containsOnly(output2, output3);
+        assertThat(holder.findFilesWithImportedVariableFile(new File("unknown.py"))).isEmpty();
+    }
+
+    @Test
+    public void variableFileImportersAreUpdated_whenFileIsReplacedOrRemoved() {
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final RobotFileOutput output1 = createOutput(new File("suite1.robot"), new File("vars.py"));
+        final RobotFileOutput output2 = createOutput(new File("suite2.robot"), new File("vars.py"));
+        final RobotFileOutput output1Replacement = createOutput(new File("suite1.robot"), new File("other.py"));
+        holder.addModelFile(output1);
+        holder.addModelFile(output2);
+
+        holder.addModelFile(output1Replacement);
+        assertThat(holder.findFilesWithImportedVariableFile(new File("vars.py"))).containsOnly(output2);
+        assertThat(holder.findFilesWithImportedVariableFile(new File("other.py"))).containsOnly(output1Replacement);
+
+        holder.removeModelFile(output2);
+        assertThat(holder.findFilesWithImportedVariableFile(new File("vars.py"))).isEmpty();
+
+        holder.clearModelFiles();
+        assertThat(holder.findFilesWithImportedVariableFile(new File("other.py"))).isEmpty();
+    }
+
+    @Test
+    public void importsOfFileNotHeldInProject_areNotRegistered() {
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final RobotFileOutput output = createOutput(new File("suite.robot"), new File("vars.py"));
+
+        holder.registerVariablesImports(output);
+
+        assertThat(holder.findFilesWithImportedVariableFile(new File("vars.py"))).isEmpty();
+    }
+
+    private static RobotFileOutput createOutput(final File file, final File... variableFiles) {
+        final RobotFileOutput output = new RobotFileOutput(RobotVersion.from("2.9"));
+        output.setProcessedFile(file);
+        if (variableFiles.length > 0) {
+            final List<VariablesFileImportReference> references = new ArrayList<>();
+            for (final File variableFile : Arrays.asList(variableFiles)) {
+                final VariablesFileImportReference reference = new VariablesFileImportReference(null);
+                reference.setVariablesFile(variableFile);
+                references.add(reference);
+            }
+            output.setVariablesImportReferences(references);
+        }
+        return output;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model.table.keywords.names;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class EmbeddedKeywordNamesSupportTest {
+
+    @Test
+    public void nameWithoutEmbeddedArguments_matchesOnlyTheSameName() {
+        assertThat(EmbeddedKeywordNamesSupport.matches("logmany", QualifiedKeywordName.fromOccurrence("Log Many")))
+                .isTrue();
+        assertThat(EmbeddedKeywordNamesSupport.matches("logmany", QualifiedKeywordName.fromOccurrence("Log")))
+                .isFalse();
+    }
+
+    @Test
+    public void nameWithEmbeddedArguments_matchesOccurrencesWithAnyValues() {
+        final String definition = "I Execute \"${cmd}\" With ${args}";
+
+        assertThat(EmbeddedKeywordNamesSupport.matches(definition,
+                QualifiedKeywordName.fromOccurrence("i execute \"ls\" with -l"))).isTrue();
+        assertThat(EmbeddedKeywordNamesSupport.matches(definition,
+                QualifiedKeywordName.fromOccurrence("I EXECUTE \"rm\" WITH -rf"))).isTrue();
+        assertThat(EmbeddedKeywordNamesSupport.matches(definition,
+                QualifiedKeywordName.fromOccurrence("I execute ls with -l"))).isFalse();
+    }
+
+    @Test
+    public void nameWithCustomRegexInEmbeddedArgument_matchesOnlyOccurrencesFittingTheRegex() {
+        final String definition = "Wait ${n:\\d+} Seconds";
+
+        assertThat(EmbeddedKeywordNamesSupport.matches(definition,
+                QualifiedKeywordName.fromOccurrence("Wait 10 Seconds"))).isTrue();
+        assertThat(EmbeddedKeywordNamesSupport.matches(definition,
+                QualifiedKeywordName.fromOccurrence("Wait ten Seconds"))).isFalse();
+    }
+
+    @Test
+    public void nameWithInvalidRegexInEmbeddedArgument_doesNotMatchAnything() {
+        final String definition = "Wait ${n:[0-} Seconds";
+
+        assertThat(EmbeddedKeywordNamesSupport.matches(definition,
+                QualifiedKeywordName.fromOccurrence("Wait 10 Seconds"))).isFalse();
+        assertThat(EmbeddedKeywordNamesSupport.matches(definition,
+                QualifiedKeywordName.fromOccurrence("Wait 0- Seconds"))).isFalse();
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.rf.ide.core.testdata.model.AModelElement;
+import org.rf.ide.core.testdata.model.FileRegion;
+import org.rf.ide.core.testdata.model.IDocumentationHolder;
+import org.rf.ide.core.testdata.model.IRegionCacheable;
+import org.rf.ide.core.testdata.model.RobotFile;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.model.table.RobotExecutableRow;
+import org.rf.ide.core.testdata.model.table.keywords.UserKeyword;
+import org.rf.ide.core.testdata.model.table.testcases.TestCase;
+import org.rf.ide.core.testdata.model.table.variables.AVariable;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+
+import com.google.common.base.Optional;
+
+/**
+ * Differential tests - result of section reparsing has to be exactly the same as result of parsing
+ * whole changed content.
+ */
+public class SectionReparserTest {
+
+    private static final File FILE = new File("suite.robot");
+
+    private static final String CONTENT = "*** Settings ***\n"
+            + "Library  Collections\n"
+            + "Documentation  suite doc\n"
+            + "*** Variables ***\n"
+            + "${scalar}  1\n"
+            + "@{list}  1  2\n"
+            + "...  3\n"
+            + "*** Test Cases ***\n"
+            + "case 1\n"
+            + "  [Documentation]  first\n"
+            + "  ...  continued\n"
+            + "  Log  ${scalar}\n"
+            + "  :FOR  ${i}  IN RANGE  10\n"
+            + "  \\  Log  ${i}\n"
+            + "case 2\n"
+            + "  ${x}=  Kw  arg\n"
+            + "  # comment\n"
+            + "\n"
+            + "*** Keywords ***\n"
+            + "Kw\n"
+            + "  [Arguments]  ${a}\n"
+            + "  [Documentation]  kw doc\n"
+            + "  Log  ${a}\n"
+            + "  [Return]  ${a}\n"
+            + "Other\n"
+            + "  No Operation\n";
+
+    @Test
+    public void insertingCellInTestCase_isReparsedIncrementallyAndGivesSameModelAsFullParse() {
+        assertIncremental(CONTENT.indexOf("  Log  ${scalar}") + "  Log".length(), 0, "  new arg");
+    }
+
+    @Test
+    public void insertingNewTestCase_isReparsedIncrementallyAndGivesSameModelAsFullParse() {
+        assertIncremental(CONTENT.indexOf("case 2"), 0, "case 1.5\n  Log  1\n  Log  2\n");
+    }
+
+    @Test
+    public void removingWholeTestCase_isReparsedIncrementallyAndGivesSameModelAsFullParse() {
+        final int start = CONTENT.indexOf("case 2");
+        assertIncremental(start, CONTENT.indexOf("\n*** Keywords") - start, "");
+    }
+
+    @Test
+    public void changingDocumentationOfKeyword_isReparsedIncrementallyAndGivesSameModelAsFullParse() {
+        assertIncremental(CONTENT.indexOf("kw doc"), "kw doc".length(), "changed\n  ...  documentation");
+    }
+
+    @Test
+    public void changingLastLineWithoutNewLine_isReparsedIncrementallyAndGivesSameModelAsFullParse() {
+        assertIncremental(CONTENT.length() - 1, 1, "  arg");
+    }
+
+    @Test
+    public void changingVariables_isReparsedIncrementallyAndGivesSameModelAsFullParse() {
+        assertIncremental(CONTENT.indexOf("...  3"), 0, "${new}  value\n");
+    }
+
+    @Test
+    public void changingForLoop_isReparsedIncrementallyAndGivesSameModelAsFullParse() {
+        assertIncremental(CONTENT.indexOf("\\  Log  ${i}"), 1, "");
+    }
+
+    @Test
+    public void changingSettings_isNotReparsedIncrementally() {
+        assertFullParseRequired(CONTENT.indexOf("Collections"), 0, "x");
+    }
+
+    @Test
+    public void changingTableHeader_isNotReparsedIncrementally() {
+        assertFullParseRequired(CONTENT.indexOf("*** Keywords ***") + 4, 8, "Settings");
+    }
+
+    @Test
+    public void removingLineSeparatorBeforeTableHeader_isNotReparsedIncrementally() {
+        assertFullParseRequired(CONTENT.indexOf("*** Keywords ***") - 1, 1, "");
+    }
+
+    @Test
+    public void insertingNewTableHeader_isNotReparsedIncrementally() {
+        assertFullParseRequired(CONTENT.indexOf("case 2"), 0, "*** Keywords ***\n");
+    }
+
+    @Test
+    public void everySingleCharacterRemoval_givesSameModelAsFullParse() {
+        for (int i = 0; i < CONTENT.length(); i++) {
+            assertSameAsFullParse(i, 1, "");
+        }
+    }
+
+    @Test
+    public void everySingleCellInsertion_givesSameModelAsFullParse() {
+        for (int i = 0; i <= CONTENT.length(); i++) {
+            assertSameAsFullParse(i, 0, "  c");
+        }
+    }
+
+    @Test
+    public void everyLineInsertion_givesSameModelAsFullParse() {
+        for (int i = 0; i <= CONTENT.length(); i++) {
+            if (i == 0 || CONTENT.charAt(i - 1) == '\n') {
+                assertSameAsFullParse(i, 0, "  ...  continuation\n");
+                assertSameAsFullParse(i, 0, "new element\n");
+            }
+        }
+    }
+
+    private static void assertIncremental(final int offset, final int removedLength, final String inserted) {
+        assertThat(assertSameAsFullParse(offset, removedLength, inserted)).isTrue();
+    }
+
+    private static void assertFullParseRequired(final int offset, final int removedLength, final String inserted) {
+        final RobotFileOutput output = parse(CONTENT);
+        final String before = dump(output);
+        final String changed = change(offset, removedLength, inserted);
+
+        assertThat(new SectionReparser(new TxtRobotFileParser()).reparse(output, changed, offset, removedLength,
+                inserted.length())).isNull();
+        assertThat(dump(output)).isEqualTo(before);
+    }
+
+    private static boolean assertSameAsFullParse(final int offset, final int removedLength, final String inserted) {
+        final RobotFileOutput output = parse(CONTENT);
+        // regions of documentations are computed, so they have to be shifted after reparsing
+        output.findDocumentationForOffset(0);
+        final String before = dump(output);
+        final String changed = change(offset, removedLength, inserted);
+
+        final RobotFileOutput reparsed = new SectionReparser(new TxtRobotFileParser()).reparse(output, changed,
+                offset, removedLength, inserted.length());
+
+        if (reparsed != null) {
+            assertThat(reparsed).isNotSameAs(output);
+            assertThat(dump(reparsed)).as("change at offset " + offset).isEqualTo(dump(parse(changed)));
+        }
+        assertThat(dump(output)).as("previous output after change at offset " + offset).isEqualTo(before);
+        return reparsed != null;
+    }
+
+    private static String change(final int offset, final int removedLength, final String inserted) {
+        return CONTENT.substring(0, offset) + inserted + CONTENT.substring(offset + removedLength);
+    }
+
+    private static RobotFileOutput parse(final String content) {
+        final RobotFileOutput output = new RobotFileOutput(RobotVersion.from("2.9"));
+        new TxtRobotFileParser().parse(output,
+                new ByteArrayInputStream(content.getBytes(Charset.forName("UTF-8"))), FILE);
+        return output;
+    }
+
+    private static String dump(final RobotFileOutput output) {
+        final StringBuilder dump = new StringBuilder();
+        final RobotFile model = output.getFileModel();
+        for (final RobotLine line : model.getFileContent()) {
+            dump.append("line ").append(line.getLineNumber()).append(line.getParent() == model).append('\n');
+            for (final IRobotLineElement element : line.getLineElements()) {
+                dump(dump, element);
+            }
+            dump(dump, line.getEndOfLine());
+        }
+        for (final TestCase test : model.getTestCaseTable().getTestCases()) {
+            dump(dump, test);
+            for (final RobotExecutableRow<TestCase> row : test.getTestExecutionRows()) {
+                dump(dump, row);
+            }
+        }
+        for (final UserKeyword keyword : model.getKeywordTable().getKeywords()) {
+            dump(dump, keyword);
+            for (final RobotExecutableRow<UserKeyword> row : keyword.getKeywordExecutionRows()) {
+                dump(dump, row);
+            }
+        }
+        for (final AVariable variable : model.getVariableTable().getVariables()) {
+            dump(dump, variable);
+        }
+        // documentation cache order is irrelevant, as regions do not overlap
+        final List<String> docs = new ArrayList<>();
+        for (final IRegionCacheable<IDocumentationHolder> doc : output.getDocumentationCacher()
+                .getUnmodificableCacheContent()) {
+            final List<FileRegion> regions = doc.getContinuousRegions();
+            docs.add("doc " + regions + "\n");
+        }
+        Collections.sort(docs);
+        for (final String doc : docs) {
+            dump.append(doc);
+        }
+        dumpDocumentationsLookup(dump, output);
+        return dump.toString();
+    }
+
+    private static void dumpDocumentationsLookup(final StringBuilder dump, final RobotFileOutput output) {
+        final List<RobotLine> lines = output.getFileModel().getFileContent();
+        final int lastLine = lines.isEmpty() ? 0 : lines.get(lines.size() - 1).getLineNumber();
+        String previous = null;
+        for (int line = 1; line <= lastLine + 1; line++) {
+            final String found = documentationRegions(output.findDocumentationForLine(line));
+            if (!found.equals(previous)) {
+                dump.append("doc for line ").append(line).append(": ").append(found).append('\n');
+                previous = found;
+            }
+        }
+        final int lastOffset = lines.isEmpty() ? 0 : lines.get(lines.size() - 1).getEndOfLine().getStartOffset();
+        previous = null;
+        for (int offset = 0; offset <= lastOffset + 1; offset++) {
+            final String found = documentationRegions(output.findDocumentationForOffset(offset));
+            if (!found.equals(previous)) {
+                dump.append("doc for offset ").append(offset).append(": ").append(found).append('\n');
+                previous = found;
+            }
+        }
+    }
+
+    private static String documentationRegions(final Optional<IDocumentationHolder> doc) {
+        return doc.isPresent() ? doc.get().getContinuousRegions().toString() : "none";
+    }
+
+    private static void dump(final StringBuilder dump, final AModelElement<?> element) {
+        dump.append(element.getClass().getSimpleName()).append(' ').append(element.getBeginPosition()).append('\n');
+        for (final RobotToken token : element.getElementTokens()) {
+            dump(dump, token);
+        }
+    }
+
+    private static void dump(final StringBuilder dump, final IRobotLineElement element) {
+        dump.append("  ")
+                .append(element.getClass().getSimpleName())
+                .append(" '")
+                .append(element.getRaw())
+                .append("' '")
+                .append(element.getText())
+                .append("' ")
+                .append(element.getTypes())
+                .append(' ')
+                .append(element.getFilePosition())
+                .append('\n');
+    }
+}
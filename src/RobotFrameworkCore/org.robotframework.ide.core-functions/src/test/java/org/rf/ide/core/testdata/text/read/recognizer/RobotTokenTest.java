@@ -0,0 +1,176 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read.recognizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.rf.ide.core.testdata.model.FilePosition;
+import org.rf.ide.core.testdata.text.read.IRobotTokenType;
+
+public class RobotTokenTest {
+
+    @Test
+    public void newToken_hasUnknownTypeAndNoPosition() {
+        final RobotToken token = new RobotToken();
+
+        assertThat(token.getTypes()).containsExactly(RobotTokenType.UNKNOWN);
+        assertThat(token.getFilePosition().isNotSet()).isTrue();
+        assertThat(token.getEndColumn()).isEqualTo(FilePosition.NOT_SET);
+    }
+
+    @Test
+    public void positionFields_areReturnedAsFilePosition() {
+        final RobotToken token = RobotToken.create("text");
+        token.setLineNumber(3);
+        token.setStartColumn(4);
+        token.setStartOffset(20);
+
+        assertThat(token.getFilePosition()).isEqualTo(new FilePosition(3, 4, 20));
+        assertThat(token.getEndColumn()).isEqualTo(8);
+        assertThat(token.getEndOffset()).isEqualTo(24);
+    }
+
+    @Test
+    public void modificationsOfTypesList_areVisibleInToken() {
+        final RobotToken token = RobotToken.create("text",
+                Arrays.<IRobotTokenType> asList(RobotTokenType.KEYWORD_ACTION_NAME));
+        final List<IRobotTokenType> types = token.getTypes();
+
+        types.add(0, RobotTokenType.VARIABLE_USAGE);
+        types.add(RobotTokenType.KEYWORD_ACTION_ARGUMENT);
+        assertThat(token.getTypes()).containsExactly(RobotTokenType.VARIABLE_USAGE,
+                RobotTokenType.KEYWORD_ACTION_NAME, RobotTokenType.KEYWORD_ACTION_ARGUMENT);
+
+        types.set(1, RobotTokenType.UNKNOWN);
+        types.remove(RobotTokenType.VARIABLE_USAGE);
+        assertThat(token.getTypes()).containsExactly(RobotTokenType.UNKNOWN, RobotTokenType.KEYWORD_ACTION_ARGUMENT);
+
+        final Iterator<IRobotTokenType> iterator = types.iterator();
+        iterator.next();
+        iterator.remove();
+        assertThat(token.getTypes()).containsExactly(RobotTokenType.KEYWORD_ACTION_ARGUMENT);
+
+        token.setType(RobotTokenType.START_HASH_COMMENT);
+        assertThat(types).containsExactly(RobotTokenType.START_HASH_COMMENT);
+
+        types.clear();
+        assertThat(token.getTypes()).isEmpty();
+    }
+
+    @Test
+    public void typesView_isCreatedOnce() {
+        final RobotToken token = RobotToken.create("text");
+
+        assertThat(token.getTypes()).isSameAs(token.getTypes());
+    }
+
+    @Test
+    public void tokensOfSameTypes_shareTypesInstances_whenTypesAreFrozen() throws Exception {
+        final RobotToken token1 = RobotToken.create("a");
+        token1.getTypes().add(RobotTokenType.VARIABLE_USAGE);
+        final RobotToken token2 = RobotToken.create("b");
+        token2.getTypes().add(RobotTokenType.VARIABLE_USAGE);
+
+        assertThat(typesOf(token1)).isNotSameAs(typesOf(token2));
+
+        token1.freezeTypes();
+        token2.freezeTypes();
+
+        assertThat(typesOf(token1)).isSameAs(typesOf(token2));
+        assertThat(token1.getTypes()).containsExactly(RobotTokenType.UNKNOWN, RobotTokenType.VARIABLE_USAGE);
+    }
+
+    @Test
+    public void frozenTypesAreNotChanged_whenOtherTokenIsModified() throws Exception {
+        final RobotToken token1 = RobotToken.create("a");
+        token1.setType(RobotTokenType.VARIABLE_USAGE);
+        token1.freezeTypes();
+        final RobotToken token2 = token1.copy();
+
+        token2.getTypes().add(RobotTokenType.KEYWORD_ACTION_NAME);
+
+        assertThat(token1.getTypes()).containsExactly(RobotTokenType.VARIABLE_USAGE);
+        assertThat(token2.getTypes()).containsExactly(RobotTokenType.VARIABLE_USAGE,
+                RobotTokenType.KEYWORD_ACTION_NAME);
+    }
+
+    @Test
+    public void copiedToken_sharesFrozenTypes() throws Exception {
+        final RobotToken token1 = RobotToken.create("a");
+        token1.setType(RobotTokenType.VARIABLE_USAGE);
+        final RobotToken copy = token1.copy();
+
+        assertThat(typesOf(copy)).isSameAs(typesOf(token1));
+    }
+
+    @Test
+    public void equalRawAndText_areSameInstance() {
+        final RobotToken token = RobotToken.create(new String("text"));
+        token.setRaw(new String("text"));
+
+        assertThat(token.getRaw()).isSameAs(token.getText());
+    }
+
+    @Test
+    public void copy_keepsPositionOnlyWhenRequested() {
+        final RobotToken token = RobotToken.create("text");
+        token.setLineNumber(1);
+        token.setStartColumn(2);
+        token.setStartOffset(3);
+        token.setType(RobotTokenType.VARIABLE_USAGE);
+
+        final RobotToken copy = token.copy();
+        final RobotToken copyWithoutPosition = token.copyWithoutPosition();
+
+        assertThat(copy.getFilePosition()).isEqualTo(new FilePosition(1, 2, 3));
+        assertThat(copy.getTypes()).containsExactly(RobotTokenType.VARIABLE_USAGE);
+        assertThat(copyWithoutPosition.getFilePosition().isNotSet()).isTrue();
+        assertThat(copyWithoutPosition.getText()).isEqualTo("text");
+    }
+
+    @Test
+    public void deserializedToken_hasTypesAndNoPosition() throws Exception {
+        final RobotToken token = RobotToken.create("text");
+        token.setLineNumber(1);
+        token.setStartColumn(2);
+        token.setStartOffset(3);
+        token.setType(RobotTokenType.VARIABLE_USAGE);
+
+        final RobotToken deserialized = serializeAndDeserialize(token);
+
+        assertThat(deserialized.getText()).isEqualTo("text");
+        assertThat(deserialized.getTypes()).containsExactly(RobotTokenType.VARIABLE_USAGE);
+        assertThat(deserialized.getFilePosition().isNotSet()).isTrue();
+        assertThat(typesOf(deserialized)).isSameAs(typesOf(token));
+    }
+
+    private static Object typesOf(final RobotToken token) throws ReflectiveOperationException {
+        final java.lang.reflect.Field field = RobotToken.class.getDeclaredField("types");
+        field.setAccessible(true);
+        return field.get(token);
+    }
+
+    private static RobotToken serializeAndDeserialize(final RobotToken token)
+            throws IOException, ClassNotFoundException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(token);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (RobotToken) input.readObject();
+        }
+    }
+}
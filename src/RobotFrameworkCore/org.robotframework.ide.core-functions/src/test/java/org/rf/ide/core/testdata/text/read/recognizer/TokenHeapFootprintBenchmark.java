@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read.recognizer;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.text.read.TxtRobotFileParser;
+
+/**
+ * Measures heap retained by parsed models of large suites and reports average number of bytes
+ * per {@link RobotToken}. Not run as a part of unit tests; launch main method with optional number
+ * of suites (20 by default) and number of test cases in each suite (2 000 by default).
+ */
+public class TokenHeapFootprintBenchmark {
+
+    public static void main(final String[] args) {
+        final int numberOfSuites = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        final int numberOfTests = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        final List<byte[]> contents = new ArrayList<>();
+        for (int i = 0; i < numberOfSuites; i++) {
+            contents.add(TokenRecognitionBenchmark.createSuite(numberOfTests).getBytes(Charset.forName("UTF-8")));
+        }
+
+        final long before = usedHeap();
+        final List<RobotFileOutput> outputs = new ArrayList<>();
+        int tokens = 0;
+        for (int i = 0; i < numberOfSuites; i++) {
+            final RobotFileOutput output = new RobotFileOutput(RobotVersion.from("2.9"));
+            new TxtRobotFileParser().parse(output, new ByteArrayInputStream(contents.get(i)),
+                    new File("suite_" + i + ".robot"));
+            outputs.add(output);
+            tokens += TokenRecognitionBenchmark.countTokens(output);
+        }
+        final long after = usedHeap();
+
+        System.out.println(String.format("%d suites, %d tokens, %d KB retained, %d bytes per token",
+                outputs.size(), tokens, (after - before) / 1024, (after - before) / Math.max(tokens, 1)));
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
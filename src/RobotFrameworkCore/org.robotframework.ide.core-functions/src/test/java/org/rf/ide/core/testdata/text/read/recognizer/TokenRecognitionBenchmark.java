@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read.recognizer;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.text.read.IRobotLineElement;
+import org.rf.ide.core.testdata.text.read.RobotLine;
+import org.rf.ide.core.testdata.text.read.TxtRobotFileParser;
+
+/**
+ * Compares cells recognition throughput when all recognizers are tried for each cell with
+ * recognition using {@link TokenRecognizersIndex}, and measures whole parsing throughput of large
+ * suite. Not run as a part of unit tests; launch main method with optional number of test cases
+ * (2 000 by default) and number of measured rounds.
+ */
+public class TokenRecognitionBenchmark {
+
+    public static void main(final String[] args) {
+        final int numberOfTests = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        final String content = createSuite(numberOfTests);
+        final List<String> cells = splitToCells(content);
+
+        for (int i = 0; i < rounds; i++) {
+            final List<ATokenRecognizer> recognizers = allRecognizers();
+            long start = System.nanoTime();
+            int matches = 0;
+            int line = 0;
+            for (final String cell : cells) {
+                matches += recognize(recognizers, cell, line++);
+            }
+            final long allRecognizersNanos = System.nanoTime() - start;
+
+            final TokenRecognizersIndex index = new TokenRecognizersIndex(allRecognizers());
+            start = System.nanoTime();
+            int indexedMatches = 0;
+            line = 0;
+            for (final String cell : cells) {
+                indexedMatches += recognize(index.selectCandidates(cell), cell, line++);
+            }
+            final long indexedNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            final RobotFileOutput output = new RobotFileOutput(RobotVersion.from("2.9"));
+            new TxtRobotFileParser().parse(output,
+                    new ByteArrayInputStream(content.getBytes(Charset.forName("UTF-8"))), new File("suite.robot"));
+            final long parsingNanos = System.nanoTime() - start;
+            final int tokens = countTokens(output);
+
+            System.out.println(String.format(
+                    "Round %d: all recognizers %d cells/s (%d matches), indexed %d cells/s (%d matches),"
+                            + " parsing %d tokens/s",
+                    i + 1, perSecond(cells.size(), allRecognizersNanos), matches,
+                    perSecond(cells.size(), indexedNanos), indexedMatches, perSecond(tokens, parsingNanos)));
+        }
+    }
+
+    private static int recognize(final List<ATokenRecognizer> recognizers, final String cell, final int line) {
+        int matches = 0;
+        for (final ATokenRecognizer recognizer : recognizers) {
+            if (recognizer.hasNext(cell, line, 0)) {
+                recognizer.next();
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static List<ATokenRecognizer> allRecognizers() {
+        final List<ATokenRecognizer> recognizers = new ArrayList<>();
+        recognizers.addAll(new SettingsRecognizersProvider().getRecognizers());
+        recognizers.addAll(new VariablesDeclarationRecognizersProvider().getRecognizers());
+        recognizers.addAll(new TestCaseRecognizersProvider().getRecognizers());
+        recognizers.addAll(new UserKeywordRecognizersProvider().getRecognizers());
+        return recognizers;
+    }
+
+    static String createSuite(final int numberOfTests) {
+        final StringBuilder suite = new StringBuilder();
+        suite.append("*** Settings ***\n")
+                .append("Library    Collections\n")
+                .append("Resource    resource.robot\n")
+                .append("Suite Setup    Log    setup\n")
+                .append("*** Variables ***\n");
+        for (int i = 0; i < numberOfTests / 10; i++) {
+            suite.append("${scalar_").append(i).append("}    value ").append(i).append('\n');
+            suite.append("@{list_").append(i).append("}    1    2    3\n");
+        }
+        suite.append("*** Test Cases ***\n");
+        for (int i = 0; i < numberOfTests; i++) {
+            suite.append("Test case number ").append(i).append('\n')
+                    .append("    [Documentation]    Checks behaviour of case ").append(i).append('\n')
+                    .append("    [Tags]    tag_").append(i % 7).append("    regression\n")
+                    .append("    ${result}=    Keyword With Arguments    ${scalar_0}    argument ").append(i)
+                    .append('\n')
+                    .append("    Should Be Equal    ${result}    expected value\n")
+                    .append("    Log Many    @{list_0}\n")
+                    .append("    # comment in test ").append(i).append('\n');
+        }
+        suite.append("*** Keywords ***\n")
+                .append("Keyword With Arguments\n")
+                .append("    [Arguments]    ${first}    ${second}\n")
+                .append("    [Return]    ${first}\n");
+        return suite.toString();
+    }
+
+    private static List<String> splitToCells(final String content) {
+        final List<String> cells = new ArrayList<>();
+        for (final String line : content.split("\n")) {
+            for (final String cell : line.split("    ")) {
+                if (!cell.isEmpty()) {
+                    cells.add(cell);
+                }
+            }
+        }
+        return cells;
+    }
+
+    static int countTokens(final RobotFileOutput output) {
+        int tokens = 0;
+        for (final RobotLine line : output.getFileModel().getFileContent()) {
+            for (final IRobotLineElement element : line.getLineElements()) {
+                if (element instanceof RobotToken) {
+                    tokens++;
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static long perSecond(final int count, final long nanos) {
+        return count * 1_000_000_000L / Math.max(nanos, 1);
+    }
+}
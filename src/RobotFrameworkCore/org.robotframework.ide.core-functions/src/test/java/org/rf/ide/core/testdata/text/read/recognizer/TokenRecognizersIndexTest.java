@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read.recognizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.rf.ide.core.testdata.text.read.recognizer.TokenRecognizersIndex.CharSet;
+import org.rf.ide.core.testdata.text.read.recognizer.settings.LibraryDeclarationRecognizer;
+import org.rf.ide.core.testdata.text.read.recognizer.variables.ListVariableDeclarationRecognizer;
+
+public class TokenRecognizersIndexTest {
+
+    @Test
+    public void requiredCharactersOfAllProvidedRecognizers_areComputed() {
+        for (final ATokenRecognizer recognizer : allRecognizers()) {
+            assertThat(TokenRecognizersIndex.findRequiredCharacters(recognizer.getPattern()))
+                    .as(recognizer.getPattern().pattern())
+                    .isNotEmpty();
+        }
+    }
+
+    @Test
+    public void requiredCharactersOfPattern_areComputedForSequencesAlternativesAndQuantifiers() {
+        final List<CharSet> required = TokenRecognizersIndex
+                .findRequiredCharacters(Pattern.compile("[ ]?(\\[\\s*[A|a]b+|c[ab]{1,2})d?e*"));
+
+        assertThat(required).hasSize(3);
+        assertThat(charactersOf(required.get(0))).isEqualTo("[c");
+        assertThat(charactersOf(required.get(1))).isEqualTo("Aac|");
+        assertThat(charactersOf(required.get(2))).isEqualTo("bc");
+    }
+
+    @Test
+    public void nothingIsRequired_byPatternsMatchingEmptyTextOrAnyCharacter() {
+        assertThat(TokenRecognizersIndex.findRequiredCharacters(Pattern.compile("a?"))).isEmpty();
+        assertThat(TokenRecognizersIndex.findRequiredCharacters(Pattern.compile("a|b*"))).isEmpty();
+        assertThat(TokenRecognizersIndex.findRequiredCharacters(Pattern.compile(".*"))).isEmpty();
+        assertThat(TokenRecognizersIndex.findRequiredCharacters(Pattern.compile("(?=a)"))).isEmpty();
+        assertThat(TokenRecognizersIndex.findRequiredCharacters(Pattern.compile("[^a]"))).isEmpty();
+        assertThat(TokenRecognizersIndex.findRequiredCharacters(Pattern.compile("(?<=a)a"))).isEmpty();
+        assertThat(TokenRecognizersIndex.findRequiredCharacters(Pattern.compile("a", Pattern.CASE_INSENSITIVE)))
+                .isEmpty();
+    }
+
+    @Test
+    public void onlyRecognizersWhichCanMatch_areSelected() {
+        final List<ATokenRecognizer> recognizers = allRecognizers();
+        final TokenRecognizersIndex index = new TokenRecognizersIndex(recognizers);
+
+        final List<ATokenRecognizer> candidates = index.selectCandidates("Library");
+        assertThat(candidates).hasSize(1);
+        assertThat(candidates.get(0)).isInstanceOf(LibraryDeclarationRecognizer.class);
+
+        final List<ATokenRecognizer> variableCandidates = index.selectCandidates("@{x}");
+        assertThat(variableCandidates).hasSize(1);
+        assertThat(variableCandidates.get(0)).isInstanceOf(ListVariableDeclarationRecognizer.class);
+
+        assertThat(index.selectCandidates("Log")).isEmpty();
+        assertThat(index.selectCandidates("123")).isEmpty();
+    }
+
+    @Test
+    public void recognitionWithIndex_givesSameTokensAsTryingAllRecognizers_forAllTestResourceCells()
+            throws Exception {
+        final List<ATokenRecognizer> all = allRecognizers();
+        final List<ATokenRecognizer> indexed = allRecognizers();
+        final TokenRecognizersIndex index = new TokenRecognizersIndex(indexed);
+
+        final List<String> cells = collectCells(
+                new File(TokenRecognizersIndexTest.class.getResource("/org/rf/ide/core/testdata").toURI()));
+        assertThat(cells.size()).isGreaterThan(1000);
+
+        int line = 1;
+        for (final String cell : cells) {
+            final List<String> expected = recognize(all, cell, line);
+            final List<String> actual = recognize(index.selectCandidates(cell), cell, line);
+
+            assertThat(actual).as(cell).isEqualTo(expected);
+            line++;
+        }
+    }
+
+    private static List<String> recognize(final List<ATokenRecognizer> recognizers, final String text,
+            final int line) {
+        final List<String> tokens = new ArrayList<>();
+        for (final ATokenRecognizer recognizer : recognizers) {
+            if (recognizer.hasNext(text, line, 0)) {
+                final RobotToken token = recognizer.next();
+                tokens.add(token.getTypes() + " " + token.getStartColumn() + " '" + token.getText() + "'");
+            }
+        }
+        return tokens;
+    }
+
+    private static List<ATokenRecognizer> allRecognizers() {
+        final List<ATokenRecognizer> recognizers = new ArrayList<>();
+        recognizers.addAll(new SettingsRecognizersProvider().getRecognizers());
+        recognizers.addAll(new VariablesDeclarationRecognizersProvider().getRecognizers());
+        recognizers.addAll(new TestCaseRecognizersProvider().getRecognizers());
+        recognizers.addAll(new UserKeywordRecognizersProvider().getRecognizers());
+        return recognizers;
+    }
+
+    private static List<String> collectCells(final File fileOrDir) throws Exception {
+        final List<String> cells = new ArrayList<>();
+        if (fileOrDir.isDirectory()) {
+            for (final File child : fileOrDir.listFiles()) {
+                cells.addAll(collectCells(child));
+            }
+        } else if (fileOrDir.getName().matches(".*\\.(robot|txt|tsv)")) {
+            for (final String line : Files.readAllLines(fileOrDir.toPath(), Charset.forName("UTF-8"))) {
+                cells.add(line);
+                cells.addAll(Arrays.asList(line.split("\\t|  +|\\s\\|\\s")));
+            }
+        }
+        return cells;
+    }
+
+    private static String charactersOf(final CharSet chars) {
+        final StringBuilder result = new StringBuilder();
+        for (char c = 0; c < 128; c++) {
+            if (chars.contains(c)) {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.write;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.rf.ide.core.testdata.text.write.TextChanges.TextChange;
+
+import com.google.common.collect.Lists;
+
+public class TextChangesTest {
+
+    @Test
+    public void thereAreNoChanges_forSameContents() {
+        assertThat(TextChanges.between("", "")).isEmpty();
+        assertThat(TextChanges.between("*** Test Cases ***\ncase\n", "*** Test Cases ***\ncase\n")).isEmpty();
+    }
+
+    @Test
+    public void onlyModifiedLineIsReplaced_whenSingleLineChanges() {
+        final String oldContent = "*** Test Cases ***\r\ncase\r\n    Log    1\r\n    Log    2\r\n";
+        final String newContent = "*** Test Cases ***\r\ncase\r\n    Log    10\r\n    Log    2\r\n";
+
+        assertThat(TextChanges.between(oldContent, newContent))
+                .containsExactly(new TextChange(26, 14, "    Log    10\r\n"));
+    }
+
+    @Test
+    public void linesAreInsertedAndRemoved_inSeparateChanges() {
+        final String oldContent = "a\nb\nc\nd\ne\n";
+        final String newContent = "a\nx\nb\nc\ne\n";
+
+        assertThat(TextChanges.between(oldContent, newContent)).containsExactly(new TextChange(2, 0, "x\n"),
+                new TextChange(6, 2, ""));
+    }
+
+    @Test
+    public void lastLineWithoutDelimiter_isHandled() {
+        assertThat(TextChanges.between("a\nb", "a\nb\n")).containsExactly(new TextChange(2, 1, "b\n"));
+        assertThat(TextChanges.between("a", "")).containsExactly(new TextChange(0, 1, ""));
+        assertThat(TextChanges.between("", "a\r")).containsExactly(new TextChange(0, 0, "a\r"));
+    }
+
+    @Test
+    public void singleChangeIsReturned_whenContentsAreCompletelyDifferent() {
+        final StringBuilder oldContent = new StringBuilder();
+        final StringBuilder newContent = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            oldContent.append("old").append(i).append('\n');
+            newContent.append("new").append(i).append('\n');
+        }
+
+        assertThat(TextChanges.between(oldContent.toString(), newContent.toString()))
+                .containsExactly(new TextChange(0, oldContent.length(), newContent.toString()));
+    }
+
+    @Test
+    public void appliedChanges_alwaysGiveNewContent() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            final String oldContent = randomContent(random);
+            final String newContent = randomContent(random);
+
+            assertThat(apply(oldContent, TextChanges.between(oldContent, newContent))).isEqualTo(newContent);
+        }
+    }
+
+    private static String randomContent(final Random random) {
+        final String[] lines = { "a\n", "b\n", "c\r\n", "d\r", "e\n", "" };
+        final StringBuilder content = new StringBuilder();
+        final int length = random.nextInt(15);
+        for (int i = 0; i < length; i++) {
+            content.append(lines[random.nextInt(lines.length)]);
+        }
+        if (random.nextBoolean()) {
+            content.append("last");
+        }
+        return content.toString();
+    }
+
+    private static String apply(final String content, final List<TextChange> changes) {
+        final StringBuilder builder = new StringBuilder(content);
+        int previousOffset = Integer.MAX_VALUE;
+        for (final TextChange change : Lists.reverse(new ArrayList<>(changes))) {
+            assertThat(change.getOffset() + change.getLength()).isLessThanOrEqualTo(previousOffset);
+            builder.replace(change.getOffset(), change.getOffset() + change.getLength(), change.getText());
+            previousOffset = change.getOffset();
+        }
+        return builder.toString();
+    }
+}